@@ -22,7 +22,7 @@ import de.amr.games.pacman.view.api.PacManGameView;
 public class PacManApp extends Application {
 
 	static {
-		Themes.registerTheme(ArcadeTheme.THEME);
+		Themes.registerTheme("ARCADE", () -> ArcadeTheme.THEME);
 	}
 
 	public static void main(String[] args) {
@@ -59,6 +59,18 @@ public class PacManApp extends Application {
 
 		@Parameter(names = { "-theme" }, description = "Used Theme (arcade, blocks, letters)")
 		public String theme = "arcade";
+
+		@Parameter(names = { "-worldFile" }, description = "World map file (default: Arcade world)")
+		public String worldFile = null;
+
+		@Parameter(names = { "-levelsFile" }, description = "Level table file (default: Arcade levels)")
+		public String levelsFile = null;
+
+		@Parameter(names = { "-lowResFramebuffer" }, description = "Renders at native resolution and scales up in one pass")
+		public boolean lowResFramebuffer = false;
+
+		@Parameter(names = { "-telemetryFile" }, description = "Binary file where gameplay telemetry is recorded")
+		public String telemetryFile = null;
 	}
 
 	public static final Settings settings = new Settings();
@@ -84,12 +96,17 @@ public class PacManApp extends Application {
 		settings.print("Skip Intro", settings.skipIntro);
 		settings.print("Startlevel", settings.startLevel);
 		settings.print("Theme", settings.theme.toUpperCase());
+		settings.print("World File", settings.worldFile != null ? settings.worldFile : "(Arcade world)");
+		settings.print("Levels File", settings.levelsFile != null ? settings.levelsFile : "(Arcade levels)");
+		settings.print("Low-res Framebuffer", settings.lowResFramebuffer);
+		settings.print("Telemetry File", settings.telemetryFile != null ? settings.telemetryFile : "(none)");
 		settings.print("User Language", PacManGameView.texts.getLocale().getDisplayLanguage());
 	}
 
 	@Override
 	public void init() {
+		Themes.loadInBackground(settings.theme);
 		setIcon("/images/pacman-icon.png");
-		setController(new GameController(Themes.all()));
+		setController(new GameController(Themes.names()));
 	}
 }
\ No newline at end of file
@@ -13,26 +13,69 @@ import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LOCKED;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import de.amr.easy.game.entity.Entity;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.api.TiledWorld.MembershipListener;
 import de.amr.games.pacman.model.world.components.Door;
 import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.core.SpatialIndex;
 
 /**
  * The folks from the original game with their individual behaviors.
- * 
+ * <p>
+ * The four original ghosts live in the first house. Further groups of ghosts living in other houses
+ * can be added, see {@link #addGhostGroup(House, int)}. All ghosts are kept in flat arrays such that
+ * iterating over them does not create any intermediate collections. Which guys are currently inside
+ * the world is tracked in a membership array that is kept current by the world's include/exclude
+ * notifications, so the indexed iteration methods like {@link #forEachGhostInWorld(Consumer)} do not
+ * allocate anything. Folks that are not used anymore must be {@link #dispose() disposed} to stop
+ * these and Pac-Man's food notifications.
+ *
  * @author Armin Reichert
  */
 public class Folks {
 
+	/** Personalities of the ghosts of a group in order of their preference for leaving the house. */
+	private static final GhostPersonality[] GROUP_PERSONALITIES = { GhostPersonality.SHADOW, GhostPersonality.SPEEDY,
+			GhostPersonality.BASHFUL, GhostPersonality.POKEY };
+
+	/** Index of the bed used by a ghost of the given personality (indexed by ordinal). */
+	private static final int[] BED_INDEX = { 0, 2, 1, 3 };
+
 	public final PacMan pacMan;
 	public final Ghost blinky, pinky, inky, clyde;
 
+	private final TiledWorld world;
+	private House[] houses = {};
+	private Ghost[][] groups = {};
+	private Ghost[] ghosts = {};
+	private Guy<?>[] guys;
+
+	/** Membership in the world, indexed like {@link #guys} (Pac-Man first, then the ghosts). */
+	private boolean[] inWorld;
+
+	/** Index of each guy in {@link #guys}. */
+	private final Map<Entity, Integer> guyIndices = new IdentityHashMap<>();
+
+	private final MembershipListener membershipListener = this::onMembershipChanged;
+
+	/** Guys inside the world by tile, brought up to date by each query. */
+	private final SpatialIndex<Guy<?>> guyIndex = new SpatialIndex<>(8);
+
 	public Folks(TiledWorld world, House ghostHouse) {
+		this.world = world;
 
 		pacMan = new PacMan(world, "Pac-Man");
 
@@ -41,59 +84,312 @@ public class Folks {
 		pinky = speedyGhost(world, "Pinky", pacMan);
 		clyde = pokeyGhost(world, "Clyde", pacMan);
 
-		ghosts().forEach(ghost -> ghost.house = ghostHouse);
+		you(pacMan).followTheCursorKeys().ok();
 
-		blinky.bed = ghostHouse.bed(0);
-		inky.bed = ghostHouse.bed(1);
-		pinky.bed = ghostHouse.bed(2);
-		clyde.bed = ghostHouse.bed(3);
+		addGroup(ghostHouse, new Ghost[] { blinky, pinky, inky, clyde });
+		world.addMembershipListener(membershipListener);
+		world.addFoodListener(pacMan.foodListener());
+	}
 
-		// define behavior
+	/**
+	 * Stops listening to the world (membership and food changes). Must be called when the folks are
+	 * not used anymore but the world is.
+	 */
+	public void dispose() {
+		world.removeMembershipListener(membershipListener);
+		world.removeFoodListener(pacMan.foodListener());
+	}
 
-		you(pacMan).followTheCursorKeys().ok();
+	private void onMembershipChanged(Entity entity, boolean included) {
+		Integer i = guyIndices.get(entity);
+		if (i != null) {
+			inWorld[i] = included;
+		}
+	}
 
-		Door door = ghostHouse.door(0);
+	/**
+	 * Adds a group of ghosts living in the given house. The personalities of the ghosts cycle through
+	 * Shadow, Speedy, Bashful and Pokey. Ghosts share beds if the house has not enough beds.
+	 *
+	 * @param house a house
+	 * @param count number of ghosts
+	 * @return the ghosts of the new group in order of their preference for leaving the house
+	 */
+	public Ghost[] addGhostGroup(House house, int count) {
+		if (count <= 0) {
+			throw new IllegalArgumentException("Ghost group must not be empty, but size is " + count);
+		}
+		Ghost[] group = new Ghost[count];
+		for (int i = 0; i < count; ++i) {
+			GhostPersonality personality = GROUP_PERSONALITIES[i % GROUP_PERSONALITIES.length];
+			String name = String.format("%s.%d.%d", personality.name().toLowerCase(), houses.length, i);
+			switch (personality) {
+			case SHADOW:
+				group[i] = shadowGhost(world, name, pacMan);
+				break;
+			case SPEEDY:
+				group[i] = speedyGhost(world, name, pacMan);
+				break;
+			case BASHFUL:
+				group[i] = bashfulGhost(world, name, pacMan);
+				break;
+			default:
+				group[i] = pokeyGhost(world, name, pacMan);
+				break;
+			}
+		}
+		addGroup(house, group);
+		return group;
+	}
+
+	private void addGroup(House house, Ghost[] group) {
+		int numBeds = (int) house.beds().count();
+		Ghost shadow = Arrays.stream(group).filter(ghost -> ghost.personality == GhostPersonality.SHADOW).findFirst()
+				.orElse(blinky);
+		for (Ghost ghost : group) {
+			ghost.house = house;
+			ghost.bed = house.bed(BED_INDEX[ghost.personality.ordinal()] % numBeds);
+			defineBehavior(ghost, shadow, house);
+		}
+		houses = Arrays.copyOf(houses, houses.length + 1);
+		houses[houses.length - 1] = house;
+		groups = Arrays.copyOf(groups, groups.length + 1);
+		groups[groups.length - 1] = group;
+		int numGhosts = ghosts.length;
+		ghosts = Arrays.copyOf(ghosts, numGhosts + group.length);
+		System.arraycopy(group, 0, ghosts, numGhosts, group.length);
+		guys = new Guy<?>[ghosts.length + 1];
+		guys[0] = pacMan;
+		System.arraycopy(ghosts, 0, guys, 1, ghosts.length);
+		inWorld = new boolean[guys.length];
+		for (int i = 0; i < guys.length; ++i) {
+			inWorld[i] = world.contains(guys[i]);
+			guyIndices.put(guys[i], i);
+		}
+	}
+
+	private void defineBehavior(Ghost ghost, Ghost shadow, House house) {
+		Door door = house.door(0);
 		Tile houseEntry = world.neighbor(door.tiles().findFirst().get(), door.intoHouse.opposite());
+		int numBeds = (int) house.beds().count();
+
+		you(ghost).when(LOCKED).bounceOnBed().ok();
+		you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).ok();
+		you(ghost).when(LEAVING_HOUSE).leaveHouse().house(house).ok();
+		you(ghost).when(FRIGHTENED).moveRandomly().ok();
+		you(ghost).when(DEAD).headFor().tile(houseEntry).ok();
+
+		switch (ghost.personality) {
+		case SHADOW:
+			// the shadow's own bed is outside the house, it goes to the speedy ghost's bed instead
+			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door)
+					.bed(house.bed(BED_INDEX[GhostPersonality.SPEEDY.ordinal()] % numBeds)).ok();
+			you(ghost).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
+			you(ghost).when(CHASING).headFor().tile(pacMan::tile).ok();
+			break;
+		case BASHFUL:
+			you(ghost).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
+			you(ghost).when(CHASING).headFor().tile(() -> {
+				Tile b = shadow.tile(), p = pacMan.tilesAhead(2);
+				return Tile.at(2 * p.col - b.col, 2 * p.row - b.row);
+			}).ok();
+			break;
+		case SPEEDY:
+			you(ghost).when(SCATTERING).headFor().tile(2, 0).ok();
+			you(ghost).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+			break;
+		case POKEY:
+			you(ghost).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
+			you(ghost).when(CHASING).headFor()
+					.tile(() -> ghost.tileDistance(pacMan) > 8 ? pacMan.tile() : Tile.at(0, world.height() - 1)).ok();
+			break;
+		default:
+			break;
+		}
+	}
 
-		ghosts().forEach(ghost -> {
-			you(ghost).when(LOCKED).bounceOnBed().ok();
-			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).ok();
-			you(ghost).when(LEAVING_HOUSE).leaveHouse().house(ghostHouse).ok();
-			you(ghost).when(FRIGHTENED).moveRandomly().ok();
-			you(ghost).when(DEAD).headFor().tile(houseEntry).ok();
-		});
+	/**
+	 * @return number of ghost groups (one per house)
+	 */
+	public int numGroups() {
+		return groups.length;
+	}
+
+	/**
+	 * @param i group index
+	 * @return the house of the i'th ghost group
+	 */
+	public House groupHouse(int i) {
+		return houses[i];
+	}
 
-		you(blinky).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).bed(pinky.bed).ok();
-		you(blinky).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
-		you(blinky).when(CHASING).headFor().tile(pacMan::tile).ok();
+	/**
+	 * @param i group index
+	 * @return the ghosts of the i'th group in order of their preference for leaving the house (the
+	 *         array must not be modified)
+	 */
+	public Ghost[] group(int i) {
+		return groups[i];
+	}
 
-		you(inky).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
-		you(inky).when(CHASING).headFor().tile(() -> {
-			Tile b = blinky.tile(), p = pacMan.tilesAhead(2);
-			return Tile.at(2 * p.col - b.col, 2 * p.row - b.row);
-		}).ok();
+	/**
+	 * @param house a house
+	 * @return the ghosts living in this house in order of their preference for leaving the house (the
+	 *         array must not be modified)
+	 */
+	public Ghost[] group(House house) {
+		for (int i = 0; i < houses.length; ++i) {
+			if (houses[i] == house) {
+				return groups[i];
+			}
+		}
+		throw new IllegalArgumentException("No ghosts are living in this house");
+	}
 
-		you(pinky).when(SCATTERING).headFor().tile(2, 0).ok();
-		you(pinky).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+	/**
+	 * @return number of ghosts
+	 */
+	public int numGhosts() {
+		return ghosts.length;
+	}
 
-		you(clyde).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
-		you(clyde).when(CHASING).headFor()
-				.tile(() -> clyde.tileDistance(pacMan) > 8 ? pacMan.tile() : Tile.at(0, world.height() - 1)).ok();
+	/**
+	 * @param i ghost index
+	 * @return the i'th ghost
+	 */
+	public Ghost ghost(int i) {
+		return ghosts[i];
+	}
+
+	/**
+	 * @param i ghost index
+	 * @return if the i'th ghost is currently inside the world
+	 */
+	public boolean isGhostInWorld(int i) {
+		return inWorld[i + 1];
+	}
+
+	/**
+	 * @return all ghosts (the array must not be modified)
+	 */
+	public Ghost[] ghostArray() {
+		return ghosts;
+	}
+
+	/**
+	 * @return number of guys (Pac-Man and the ghosts)
+	 */
+	public int numGuys() {
+		return guys.length;
+	}
+
+	/**
+	 * @param i guy index, Pac-Man has index 0, ghost {@code k} has index {@code k + 1}
+	 * @return the i'th guy
+	 */
+	public Guy<?> guy(int i) {
+		return guys[i];
+	}
+
+	/**
+	 * @param i guy index
+	 * @return if the i'th guy is currently inside the world
+	 */
+	public boolean isGuyInWorld(int i) {
+		return inWorld[i];
+	}
+
+	/**
+	 * @return if Pac-Man is currently inside the world
+	 */
+	public boolean isPacManInWorld() {
+		return inWorld[0];
+	}
+
+	/**
+	 * Calls the action for each ghost inside the world, in index order.
+	 * 
+	 * @param action action to perform
+	 */
+	public void forEachGhostInWorld(Consumer<? super Ghost> action) {
+		for (int i = 0; i < ghosts.length; ++i) {
+			if (inWorld[i + 1]) {
+				action.accept(ghosts[i]);
+			}
+		}
+	}
+
+	/**
+	 * Calls the action for each guy inside the world, Pac-Man first.
+	 * 
+	 * @param action action to perform
+	 */
+	public void forEachGuyInWorld(Consumer<? super Guy<?>> action) {
+		for (int i = 0; i < guys.length; ++i) {
+			if (inWorld[i]) {
+				action.accept(guys[i]);
+			}
+		}
+	}
+
+	/**
+	 * @param condition ghost condition
+	 * @return if some ghost inside the world fulfills the condition
+	 */
+	public boolean anyGhostInWorld(Predicate<? super Ghost> condition) {
+		for (int i = 0; i < ghosts.length; ++i) {
+			if (inWorld[i + 1] && condition.test(ghosts[i])) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public Stream<Ghost> ghosts() {
-		return Stream.of(blinky, pinky, inky, clyde);
+		return Arrays.stream(ghosts);
 	}
 
 	public Stream<Guy<?>> guys() {
-		return Stream.of(pacMan, blinky, pinky, inky, clyde);
+		return Arrays.stream(guys);
 	}
 
 	public Stream<Ghost> ghostsInWorld() {
-		return ghosts().filter(ghost -> ghost.world.contains(ghost));
+		return IntStream.range(0, ghosts.length).filter(i -> inWorld[i + 1]).mapToObj(i -> ghosts[i]);
 	}
 
 	public Stream<Guy<?>> guysInWorld() {
-		return guys().filter(guy -> guy.world.contains(guy));
+		return IntStream.range(0, guys.length).filter(i -> inWorld[i]).mapToObj(i -> guys[i]);
+	}
+
+	/**
+	 * @param tile   reference tile
+	 * @param radius radius in tiles
+	 * @return the guys inside the world that are at most {@code radius} tiles away from the given tile
+	 *         in both directions
+	 */
+	public Stream<Guy<?>> guysNear(Tile tile, int radius) {
+		updateGuyIndex();
+		return guyIndex.near(tile, radius);
+	}
+
+	/**
+	 * @param tile   reference tile
+	 * @param radius radius in tiles
+	 * @return the ghosts inside the world that are at most {@code radius} tiles away from the given
+	 *         tile in both directions
+	 */
+	public Stream<Ghost> ghostsNear(Tile tile, int radius) {
+		return guysNear(tile, radius).filter(guy -> guy != pacMan).map(Ghost.class::cast);
+	}
+
+	// moving a guy inside its index cell only updates its entry
+	private void updateGuyIndex() {
+		for (int i = 0; i < guys.length; ++i) {
+			if (inWorld[i]) {
+				guyIndex.put(guys[i], guys[i].col(), guys[i].row());
+			} else {
+				guyIndex.remove(guys[i]);
+			}
+		}
 	}
-}
\ No newline at end of file
+}
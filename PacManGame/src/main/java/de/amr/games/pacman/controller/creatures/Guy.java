@@ -1,9 +1,15 @@
 package de.amr.games.pacman.controller.creatures;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.controller.StateMachineControlled;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.controller.steering.common.MovementController;
+import de.amr.games.pacman.controller.steering.common.MovementType;
+import de.amr.games.pacman.controller.steering.common.StepPattern;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
@@ -22,6 +28,11 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 	public boolean enteredNewTile;
 
 	protected final MovementController movement;
+	private final List<TileEnteredListener> tileEnteredListeners = new ArrayList<>();
+	private int stepCount;
+
+	/** Fixed-point position (see {@link StepPattern}), the transform follows it for rendering. */
+	private int fixedX, fixedY;
 
 	public Guy(TiledWorld world, String name) {
 		super(world);
@@ -47,12 +58,21 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 	 */
 	public abstract Steering getSteering();
 
+	/**
+	 * Guys with equal movement rules can share precomputed steering decisions.
+	 * 
+	 * @return the movement rules this guy applies in its current state
+	 */
+	public abstract MovementRules movementRules();
+
 	/**
 	 * @param tile     some tile
 	 * @param neighbor neighbor of tile
 	 * @return if this guy can move from tile to neighbor
 	 */
-	public abstract boolean canMoveBetween(Tile tile, Tile neighbor);
+	public boolean canMoveBetween(Tile tile, Tile neighbor) {
+		return movementRules().canMoveBetween(world, tile, neighbor);
+	}
 
 	/**
 	 * @param dir some direction
@@ -69,11 +89,73 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 		movement.update();
 	}
 
+	/**
+	 * Adds a listener that is notified whenever this guy enters a new tile. Use this instead of
+	 * checking the guy's tile on every tick.
+	 * 
+	 * @param listener tile entered listener
+	 */
+	public void addTileEnteredListener(TileEnteredListener listener) {
+		tileEnteredListeners.add(Objects.requireNonNull(listener));
+	}
+
+	/**
+	 * @param listener tile entered listener to remove
+	 */
+	public void removeTileEnteredListener(TileEnteredListener listener) {
+		tileEnteredListeners.remove(listener);
+	}
+
+	private void fireTileEntered(Tile tile) {
+		for (int i = 0; i < tileEnteredListeners.size(); ++i) {
+			tileEnteredListeners.get(i).tileEntered(this, tile);
+		}
+	}
+
+	/**
+	 * Places this guy at the given position, rounded to the nearest sub-pixel. If the guy thereby enters
+	 * a new tile, the tile entered listeners are notified.
+	 */
 	@Override
-	public void placeAt(Tile tile, float dx, float dy) {
-		Tile oldTile = tile();
-		super.placeAt(tile, dx, dy);
-		enteredNewTile = !tile().equals(oldTile);
+	public void placeAt(float x, float y) {
+		placeAtFixed(StepPattern.fixed(x), StepPattern.fixed(y));
+	}
+
+	private void placeAtFixed(int x, int y) {
+		int oldCol = col(), oldRow = row();
+		fixedX = x;
+		fixedY = y;
+		super.placeAt(StepPattern.pixels(x), StepPattern.pixels(y));
+		int newCol = col(), newRow = row();
+		enteredNewTile = newCol != oldCol || newRow != oldRow;
+		if (enteredNewTile) {
+			fireTileEntered(Tile.at(newCol, newRow));
+		}
+	}
+
+	private int centerX() {
+		return fixedX + ((tf.width / 2) << StepPattern.FRACTION_BITS);
+	}
+
+	private int centerY() {
+		return fixedY + ((tf.height / 2) << StepPattern.FRACTION_BITS);
+	}
+
+	@Override
+	public int col() {
+		return centerX() >> StepPattern.TILE_SHIFT;
+	}
+
+	@Override
+	public int row() {
+		return centerY() >> StepPattern.TILE_SHIFT;
+	}
+
+	/**
+	 * @return if this guy is currently inside a portal
+	 */
+	public boolean isInsidePortal() {
+		return movement.is(MovementType.INSIDE_PORTAL);
 	}
 
 	/**
@@ -94,40 +176,51 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 	}
 
 	/**
-	 * Moves guy one step.
+	 * Moves guy one step. Positions and distances are computed in fixed-point integers, the speed is
+	 * taken from the {@link StepPattern step pattern} of the current speed. The transform is only
+	 * updated from the fixed-point position, it is never read back.
 	 */
 	public void makeStep() {
 		final boolean gridAligned = getSteering().requiresGridAlignment();
-		final float speed = getSpeed();
-		final Tile tileBeforeMove = tile();
-		float possibleDistance = possibleMoveDistance(moveDir, speed);
+		final int speed = StepPattern.ofSpeed(getSpeed()).distance(stepCount++);
+		int x = fixedX, y = fixedY;
+		final int centerX = centerX(), centerY = centerY();
+		final Tile tileBeforeMove = Tile.at(centerX >> StepPattern.TILE_SHIFT, centerY >> StepPattern.TILE_SHIFT);
+		int distance = possibleMoveDistance(tileBeforeMove, moveDir, speed, centerX, centerY);
 		if (wishDir != null && wishDir != moveDir) {
-			float possibleWishDirDistance = possibleMoveDistance(wishDir, speed);
-			if (possibleWishDirDistance > 0) {
+			int wishDirDistance = possibleMoveDistance(tileBeforeMove, wishDir, speed, centerX, centerY);
+			if (wishDirDistance > 0) {
 				if (gridAligned && (wishDir == moveDir.left() || wishDir == moveDir.right())) {
-					placeAt(tileBeforeMove, 0, 0);
+					x = tileBeforeMove.x() << StepPattern.FRACTION_BITS;
+					y = tileBeforeMove.y() << StepPattern.FRACTION_BITS;
 				}
 				moveDir = wishDir;
-				possibleDistance = possibleWishDirDistance;
+				distance = wishDirDistance;
 			}
 		}
-		tf.setVelocity(moveDir.vector().times(possibleDistance));
-		tf.move();
-		enteredNewTile = !tile().equals(tileBeforeMove);
+		final int dx = moveDir.dx * distance, dy = moveDir.dy * distance;
+		tf.vx = StepPattern.pixels(dx);
+		tf.vy = StepPattern.pixels(dy);
+		placeAtFixed(x + dx, y + dy);
 	}
 
 	/**
-	 * Computes how many pixels this creature can move towards the given direction.
+	 * Computes how far this guy can move towards the given direction.
 	 * 
-	 * @param dir a direction
-	 * @return speed the creature's max. possible speed towards this direction
+	 * @param tile    current tile
+	 * @param dir     a direction
+	 * @param speed   fixed-point distance the guy wants to move
+	 * @param centerX fixed-point x-position of the guy's center
+	 * @param centerY fixed-point y-position of the guy's center
+	 * @return fixed-point distance the guy can move towards this direction
 	 */
-	private float possibleMoveDistance(Direction dir, float speed) {
-		if (canMoveTo(dir)) {
+	private int possibleMoveDistance(Tile tile, Direction dir, int speed, int centerX, int centerY) {
+		if (canMoveBetween(tile, world.neighbor(tile, dir))) {
 			return speed;
 		}
-		float availableX = tileOffsetX() - Tile.SIZE / 2;
-		float availableY = tileOffsetY() - Tile.SIZE / 2;
+		final int halfTile = StepPattern.ONE * Tile.SIZE / 2;
+		int availableX = (centerX & StepPattern.TILE_MASK) - halfTile;
+		int availableY = (centerY & StepPattern.TILE_MASK) - halfTile;
 		switch (dir) {
 		case UP:
 			return Math.min(availableY, speed);
@@ -0,0 +1,23 @@
+package de.amr.games.pacman.controller.creatures;
+
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+
+/**
+ * The rules deciding where a guy can move. Guys applying equal rules in the same world can share
+ * precomputed steering decisions, so rules depending on parameters must implement {@code equals} and
+ * {@code hashCode} over these parameters.
+ * 
+ * @author Armin Reichert
+ */
+@FunctionalInterface
+public interface MovementRules {
+
+	/**
+	 * @param world    the world
+	 * @param tile     some tile
+	 * @param neighbor neighbor of tile
+	 * @return if a guy applying these rules can move from tile to neighbor
+	 */
+	boolean canMoveBetween(TiledWorld world, Tile tile, Tile neighbor);
+}
@@ -0,0 +1,18 @@
+package de.amr.games.pacman.controller.creatures;
+
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Listener notified when a guy enters a new tile, either by moving or by being placed there.
+ * 
+ * @author Armin Reichert
+ */
+@FunctionalInterface
+public interface TileEnteredListener {
+
+	/**
+	 * @param guy  the guy
+	 * @param tile the tile the guy entered
+	 */
+	void tileEntered(Guy<?> guy, Tile tile);
+}
@@ -8,7 +8,6 @@ import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LEAVING_
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LOCKED;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 import static de.amr.games.pacman.controller.game.Timing.sec;
-import static de.amr.games.pacman.controller.game.Timing.speed;
 import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import java.util.EnumMap;
@@ -16,22 +15,20 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.creatures.MovementRules;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
-import de.amr.games.pacman.controller.creatures.pacman.PacManState;
 import de.amr.games.pacman.controller.event.GhostKilledEvent;
 import de.amr.games.pacman.controller.event.GhostUnlockedEvent;
 import de.amr.games.pacman.controller.event.PacManGainsPowerEvent;
 import de.amr.games.pacman.controller.event.PacManGameEvent;
-import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
+import de.amr.games.pacman.controller.game.SpeedTable;
 import de.amr.games.pacman.controller.steering.api.Steering;
-import de.amr.games.pacman.controller.steering.common.MovementType;
 import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.model.world.components.Bed;
 import de.amr.games.pacman.model.world.components.House;
-import de.amr.games.pacman.model.world.components.OneWayTile;
 import de.amr.statemachine.core.StateMachine;
 import de.amr.statemachine.core.StateMachine.MissingTransitionBehavior;
 
@@ -69,18 +66,31 @@ public class Ghost extends Guy<GhostState> {
 
 	private final Map<GhostState, Steering> behaviors;
 	private Steering previousSteering;
+	private final GhostMovementRules[] movementRules = new GhostMovementRules[3];
+
+	// updated when a new tile is entered
+	private boolean insideTunnel;
+	private boolean insideHouse;
+	private boolean atHouseEntry;
 
 	private Ghost(TiledWorld world, String name, GhostPersonality personality, PacMan pacMan) {
 		super(world, name);
 		this.personality = personality;
 		behaviors = new EnumMap<>(GhostState.class);
 		ai = new StateMachine<>(GhostState.class);
-		buildGhostAI(pacMan);
+		buildGhostAI();
 		madness = personality == GhostPersonality.SHADOW ? new GhostMadness(this, pacMan) : null;
 		tf.width = tf.height = Tile.SIZE;
+		addTileEnteredListener((guy, tile) -> updateTileFlags(tile));
+	}
+
+	private void updateTileFlags(Tile tile) {
+		insideTunnel = world.isTunnel(tile) || world.isPortal(tile);
+		insideHouse = house != null && house.includes(tile);
+		atHouseEntry = house != null && house.isEntry(tile);
 	}
 
-	private void buildGhostAI(PacMan pacMan) {
+	private void buildGhostAI() {
 		/*@formatter:off*/
 		ai.beginStateMachine()
 			.description(name + " AI")
@@ -108,14 +118,12 @@ public class Ghost extends Guy<GhostState> {
 				.state(SCATTERING)
 					.onTick(() -> {
 						updateMentalHealth();
-						checkPacManCollision(pacMan);
 						move();
 					})
 	
 				.state(CHASING)
 					.onTick(() -> {
 						updateMentalHealth();
-						checkPacManCollision(pacMan);
 						move();
 					})
 	
@@ -123,7 +131,6 @@ public class Ghost extends Guy<GhostState> {
 					.timeoutAfter(this::getFrightenedTicks)
 					.onTick((state, consumed, remaining) -> {
 						updateMentalHealth();
-						checkPacManCollision(pacMan);
 						move();
 						recovering = remaining < getFlashTimeTicks();
 					})
@@ -218,6 +225,7 @@ public class Ghost extends Guy<GhostState> {
 		previousSteering = null;
 		movement.init();
 		ai.init();
+		updateTileFlags(tile());
 	}
 
 	@Override
@@ -249,35 +257,11 @@ public class Ghost extends Guy<GhostState> {
 		if (!PacManGame.started()) {
 			return 0;
 		}
-		Tile tile = tile();
-		boolean tunnel = world.isTunnel(tile) || world.isPortal(tile);
-		switch (ai.getState()) {
-		case LOCKED:
-			return speed(isInsideHouse() ? game.ghostSpeed / 2 : 0);
-		case LEAVING_HOUSE:
-			return speed(game.ghostSpeed / 2);
-		case ENTERING_HOUSE:
-			return speed(game.ghostSpeed);
-		case CHASING:
-		case SCATTERING:
-			if (tunnel) {
-				return speed(game.ghostTunnelSpeed);
-			}
-			GhostMentalState mentalState = getMentalState();
-			if (mentalState == GhostMentalState.ELROY1) {
-				return speed(game.elroy1Speed);
-			}
-			if (mentalState == GhostMentalState.ELROY2) {
-				return speed(game.elroy2Speed);
-			}
-			return speed(game.ghostSpeed);
-		case FRIGHTENED:
-			return speed(tunnel ? game.ghostTunnelSpeed : game.ghostFrightenedSpeed);
-		case DEAD:
-			return speed(2 * game.ghostSpeed);
-		default:
-			throw new IllegalStateException(String.format("Illegal ghost state %s", ai.getState()));
+		GhostState state = ai.getState();
+		if (state == LOCKED && !isInsideHouse()) {
+			return 0;
 		}
+		return SpeedTable.of(game).ghostSpeed(state, insideTunnel, SpeedTable.elroyLevel(getMentalState()));
 	}
 
 	@Override
@@ -302,38 +286,15 @@ public class Ghost extends Guy<GhostState> {
 		return PacManGame.started() ? game.numFlashes * sec(0.5f) : 0;
 	}
 
-	private void checkPacManCollision(PacMan pacMan) {
-		if (!visible || !pacMan.visible) {
-			return;
-		}
-		if (!tile().equals(pacMan.tile())) {
-			return;
-		}
-		if (!ai.is(CHASING, SCATTERING, FRIGHTENED)) {
-			return;
-		}
-		if (!pacMan.ai.is(PacManState.AWAKE, PacManState.POWERFUL)) {
-			return;
-		}
-		if (movement.is(MovementType.INSIDE_PORTAL)) {
-			return;
-		}
-		ai.publish(new PacManGhostCollisionEvent(this));
-	}
-
 	@Override
-	public boolean canMoveBetween(Tile tile, Tile neighbor) {
-		if (house.hasDoorAt(neighbor)) {
-			return ai.is(ENTERING_HOUSE, LEAVING_HOUSE);
-		}
-		if (ai.is(CHASING, SCATTERING)) {
-			OneWayTile oneWayNeighbor = world.oneWayTiles().filter(oneWay -> oneWay.tile.equals(neighbor)).findFirst()
-					.orElse(null);
-			if (oneWayNeighbor != null && tile.dirTo(neighbor).get().equals(oneWayNeighbor.dir.opposite())) {
-				return false;
-			}
+	public MovementRules movementRules() {
+		// 0: doors closed, 1: doors passable (entering or leaving house), 2: one-way tiles respected
+		int kind = ai.is(ENTERING_HOUSE, LEAVING_HOUSE) ? 1 : ai.is(CHASING, SCATTERING) ? 2 : 0;
+		GhostMovementRules rules = movementRules[kind];
+		if (rules == null || rules.house != house) {
+			rules = movementRules[kind] = new GhostMovementRules(house, kind == 1, kind == 2);
 		}
-		return world.isAccessible(neighbor);
+		return rules;
 	}
 
 	private void updateMentalHealth() {
@@ -343,18 +304,14 @@ public class Ghost extends Guy<GhostState> {
 	}
 
 	public boolean justLeftHouse() {
-		if (ai.is(LEAVING_HOUSE)) {
-			Tile location = tile();
-			return house.isEntry(location) && tf.y == location.row * Tile.SIZE;
-		}
-		return false;
+		return atHouseEntry && ai.is(LEAVING_HOUSE) && tf.y == row() * Tile.SIZE;
 	}
 
 	public boolean isAtHouseEntry() {
-		return house.isEntry(tile()) && (tileOffsetX() - Tile.SIZE / 2) <= 1;
+		return atHouseEntry && (tileOffsetX() - Tile.SIZE / 2) <= 1;
 	}
 
 	public boolean isInsideHouse() {
-		return house.includes(tile());
+		return insideHouse;
 	}
 }
\ No newline at end of file
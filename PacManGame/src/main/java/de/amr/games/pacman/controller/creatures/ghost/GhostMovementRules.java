@@ -0,0 +1,67 @@
+package de.amr.games.pacman.controller.creatures.ghost;
+
+import java.util.Objects;
+
+import de.amr.games.pacman.controller.creatures.MovementRules;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+
+/**
+ * Movement rules of the ghosts living in a house. Depending on the ghost state, the doors of the
+ * house can be passed and the one-way tiles have to be respected.
+ * 
+ * @author Armin Reichert
+ */
+final class GhostMovementRules implements MovementRules {
+
+	final House house;
+	final boolean passingDoors;
+	final boolean respectingOneWayTiles;
+
+	GhostMovementRules(House house, boolean passingDoors, boolean respectingOneWayTiles) {
+		this.house = house;
+		this.passingDoors = passingDoors;
+		this.respectingOneWayTiles = respectingOneWayTiles;
+	}
+
+	@Override
+	public boolean canMoveBetween(TiledWorld world, Tile tile, Tile neighbor) {
+		if (house != null && house.hasDoorAt(neighbor)) {
+			return passingDoors;
+		}
+		if (respectingOneWayTiles) {
+			OneWayTile oneWayNeighbor = world.oneWayTiles().filter(oneWay -> oneWay.tile.equals(neighbor)).findFirst()
+					.orElse(null);
+			if (oneWayNeighbor != null && tile.dirTo(neighbor).get().equals(oneWayNeighbor.dir.opposite())) {
+				return false;
+			}
+		}
+		return world.isAccessible(neighbor);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(house, passingDoors, respectingOneWayTiles);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		GhostMovementRules other = (GhostMovementRules) obj;
+		return house == other.house && passingDoors == other.passingDoors
+				&& respectingOneWayTiles == other.respectingOneWayTiles;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("GhostMovementRules(passingDoors=%s, respectingOneWayTiles=%s)", passingDoors,
+				respectingOneWayTiles);
+	}
+}
@@ -11,12 +11,12 @@ import static de.amr.games.pacman.model.game.PacManGame.game;
 import static de.amr.games.pacman.model.world.api.Direction.LEFT;
 import static de.amr.games.pacman.model.world.api.Direction.UP;
 
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.Application;
 import de.amr.games.pacman.PacManApp;
 import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.creatures.MovementRules;
 import de.amr.games.pacman.controller.event.BonusFoundEvent;
 import de.amr.games.pacman.controller.event.FoodFoundEvent;
 import de.amr.games.pacman.controller.event.PacManFallAsleepEvent;
@@ -25,9 +25,12 @@ import de.amr.games.pacman.controller.event.PacManGameEvent;
 import de.amr.games.pacman.controller.event.PacManKilledEvent;
 import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacman.controller.event.PacManWakeUpEvent;
+import de.amr.games.pacman.controller.game.SpeedTable;
 import de.amr.games.pacman.controller.game.Timing;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.FoodSource.FoodListener;
 import de.amr.games.pacman.model.world.api.TemporaryFood;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
@@ -45,14 +48,51 @@ import de.amr.statemachine.core.StateMachine.MissingTransitionBehavior;
  */
 public class PacMan extends Guy<PacManState> {
 
+	private static final MovementRules MOVEMENT_RULES = (world, tile, neighbor) -> {
+		if (world.houses().flatMap(House::doors).anyMatch(door -> door.includes(neighbor))) {
+			return false;
+		}
+		return world.isAccessible(neighbor);
+	};
+
 	public final StateMachine<PacManState, PacManGameEvent> ai;
 	private Steering walkingBehavior;
 	private int weight;
+	private boolean foodSearchPending;
+
+	// food can also appear at Pac-Man's current tile, not only by entering a new tile
+	private final FoodListener foodListener = new FoodListener() {
+
+		@Override
+		public void foodRemoved(Tile location, Food food) {
+		}
+
+		@Override
+		public void foodRestored() {
+			foodSearchPending = true;
+		}
+
+		@Override
+		public void temporaryFoodShown(TemporaryFood food) {
+			if (food.location().equals(tile())) {
+				foodSearchPending = true;
+			}
+		}
+	};
 
 	public PacMan(TiledWorld world, String name) {
 		super(world, name);
 		ai = buildAI();
 		tf.width = tf.height = Tile.SIZE;
+		addTileEnteredListener((guy, tile) -> foodSearchPending = true);
+	}
+
+	/**
+	 * @return listener that has to be added to the world when Pac-Man is eating there, it makes Pac-Man
+	 *         search for food that appears at his current tile
+	 */
+	public FoodListener foodListener() {
+		return foodListener;
 	}
 
 	private StateMachine<PacManState, PacManGameEvent> buildAI() {
@@ -75,16 +115,10 @@ public class PacMan extends Guy<PacManState> {
 				.state(SLEEPING)
 
 				.state(AWAKE)
-					.onTick(() -> {
-						move();
-						searchForFood().ifPresent(ai::publish);
-					})
+					.onTick(this::walk)
 					
 				.state(POWERFUL)
-					.onTick(() -> {
-						move();
-						searchForFood().ifPresent(ai::publish);
-					})
+					.onTick(this::walk)
 					
 				.state(DEAD)
 					.timeoutAfter(Timing.sec(2.5f))
@@ -161,11 +195,8 @@ public class PacMan extends Guy<PacManState> {
 	}
 
 	@Override
-	public boolean canMoveBetween(Tile tile, Tile neighbor) {
-		if (world.houses().flatMap(House::doors).anyMatch(door -> door.includes(neighbor))) {
-			return false;
-		}
-		return world.isAccessible(neighbor);
+	public MovementRules movementRules() {
+		return MOVEMENT_RULES;
 	}
 
 	/**
@@ -191,14 +222,7 @@ public class PacMan extends Guy<PacManState> {
 		if (ai.getState() == null || !PacManGame.started()) {
 			return 0;
 		}
-		if (ai.is(IN_BED, SLEEPING, DEAD, COLLAPSING)) {
-			return 0;
-		} else if (ai.is(POWERFUL)) {
-			return Timing.speed(game.pacManPowerSpeed);
-		} else if (ai.is(AWAKE)) {
-			return Timing.speed(game.pacManSpeed);
-		}
-		throw new IllegalStateException("Illegal Pac-Man state: " + ai.getState());
+		return SpeedTable.of(game).pacManSpeed(ai.getState());
 	}
 
 	@Override
@@ -224,21 +248,27 @@ public class PacMan extends Guy<PacManState> {
 		ai.state(POWERFUL).resetTimer();
 	}
 
-	private Optional<PacManGameEvent> searchForFood() {
-		Tile location = tile();
-		TemporaryFood consumableBonus = world.temporaryFood().filter(bonus -> bonus.isActive() && !bonus.isConsumed())
-				.filter(bonus -> bonus.location().equals(location)).orElse(null);
-		if (consumableBonus != null) {
-			return Optional.of(new BonusFoundEvent(location, consumableBonus));
+	/**
+	 * Moves and searches for food, which is only necessary after a new tile has been entered.
+	 */
+	private void walk() {
+		move();
+		if (foodSearchPending) {
+			foodSearchPending = false;
+			searchForFood(tile());
 		}
-		if (world.hasFood(ArcadeFood.ENERGIZER, location)) {
+	}
+
+	private void searchForFood(Tile location) {
+		TemporaryFood bonus = world.temporaryFood().orElse(null);
+		if (bonus != null && bonus.isActive() && !bonus.isConsumed() && bonus.location().equals(location)) {
+			ai.publish(new BonusFoundEvent(location, bonus));
+		} else if (world.hasFood(ArcadeFood.ENERGIZER, location)) {
 			weight = ArcadeFood.ENERGIZER.fat();
-			return Optional.of(new FoodFoundEvent(location, ArcadeFood.ENERGIZER));
-		}
-		if (world.hasFood(ArcadeFood.PELLET, location)) {
+			ai.publish(new FoodFoundEvent(location, ArcadeFood.ENERGIZER));
+		} else if (world.hasFood(ArcadeFood.PELLET, location)) {
 			weight = ArcadeFood.PELLET.fat();
-			return Optional.of(new FoodFoundEvent(location, ArcadeFood.PELLET));
+			ai.publish(new FoodFoundEvent(location, ArcadeFood.PELLET));
 		}
-		return Optional.empty();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package de.amr.games.pacman.controller.env;
+
+import de.amr.games.pacman.model.game.LevelTable;
+import de.amr.games.pacman.model.game.PacManGame;
+
+/**
+ * Configuration of a {@link PacManEnv}. The game rules (speeds, power time, ghost house release and
+ * attack timing) are not configured here but taken from the level data of the game, see
+ * {@link EnvRules}.
+ *
+ * @author Armin Reichert
+ */
+public class EnvConfig {
+
+	/** Number of simulation steps per call of {@link PacManEnv#step(int)}. */
+	public int frameSkip = 1;
+
+	/** Episode is truncated after this number of simulation steps. */
+	public int maxSteps = 5000;
+
+	/** Number of lives, the episode ends when all lives are lost. */
+	public int lives = 1;
+
+	/** Game level whose rules are simulated. */
+	public int level = 1;
+
+	/** Level table providing the level data, by default the table used by the game. */
+	public LevelTable levelTable = PacManGame.levelTable();
+}
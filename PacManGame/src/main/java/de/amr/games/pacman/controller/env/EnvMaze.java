@@ -0,0 +1,154 @@
+package de.amr.games.pacman.controller.env;
+
+import java.util.List;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+
+/**
+ * A tiled world compiled into primitive arrays for the {@link PacManEnv environment}. Tiles are
+ * addressed by their index {@code row * width + col}, neighbors are stored in tables with four
+ * entries per tile (in the order of {@link Direction}), portals are resolved.
+ * <p>
+ * A compiled maze is immutable and can be shared by any number of environments.
+ *
+ * @author Armin Reichert
+ */
+public class EnvMaze {
+
+	static final int NONE = -1;
+	static final int NUM_GHOSTS = 4;
+	static final int[] DX = { 0, 1, 0, -1 };
+	static final int[] DY = { -1, 0, 1, 0 };
+
+	/** Bed index of Blinky, Pinky, Inky and Clyde as in the arcade game. */
+	private static final int[] BED_INDEX = { 0, 2, 1, 3 };
+
+	/** Index of the scatter cape of Blinky, Pinky, Inky and Clyde in {@link TiledWorld#capes()}. */
+	private static final int[] CAPE_INDEX = { 1, 0, 2, 3 };
+
+	public final int width;
+	public final int height;
+	public final int numTiles;
+
+	/** 1 for walls, 0 for accessible tiles. */
+	final float[] wallPlane;
+
+	/** Neighbor tile for Pac-Man ({@link #NONE} if blocked). Doors and houses are not accessible. */
+	final int[] pacManNext;
+
+	/** Neighbor tile for ghosts ({@link #NONE} if blocked). Doors and houses are accessible. */
+	final int[] ghostNext;
+
+	/** Moves which are forbidden for chasing or scattering ghosts. */
+	final boolean[] oneWayBlocked;
+
+	/** Tiles inside a house or of a door. */
+	final boolean[] houseMask;
+
+	/** Tunnel and portal tiles where ghosts move with tunnel speed. */
+	final boolean[] tunnelMask;
+
+	/** 0 = no food, 1 = pellet, 2 = energizer. */
+	final byte[] food;
+	final int totalFood;
+
+	final int pacManStart;
+	final int pacManStartDir;
+	final int[] ghostStart = new int[NUM_GHOSTS];
+
+	/** Bed where a killed ghost is revived, Blinky's bed is outside the house so he uses Pinky's. */
+	final int[] ghostRevival = new int[NUM_GHOSTS];
+	final int houseEntry;
+	final int[] scatterTargetCol = new int[NUM_GHOSTS];
+	final int[] scatterTargetRow = new int[NUM_GHOSTS];
+
+	/**
+	 * Compiles the world in its current state. The world must have at least one house with a door.
+	 *
+	 * @param world the world
+	 */
+	public EnvMaze(TiledWorld world) {
+		width = world.width();
+		height = world.height();
+		numTiles = width * height;
+		wallPlane = new float[numTiles];
+		pacManNext = new int[4 * numTiles];
+		ghostNext = new int[4 * numTiles];
+		oneWayBlocked = new boolean[4 * numTiles];
+		houseMask = new boolean[numTiles];
+		tunnelMask = new boolean[numTiles];
+		food = new byte[numTiles];
+
+		House house = world.house(0).orElseThrow(() -> new IllegalArgumentException("World has no house"));
+		Door door = house.door(0);
+		int foodCount = 0;
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				Tile tile = Tile.at(col, row);
+				int index = row * width + col;
+				wallPlane[index] = world.isAccessible(tile) ? 0 : 1;
+				houseMask[index] = world.houses().anyMatch(h -> h.includes(tile) || h.hasDoorAt(tile));
+				tunnelMask[index] = world.isTunnel(tile) || world.isPortal(tile);
+				if (world.hasFood(tile)) {
+					food[index] = (byte) (world.hasFood(ArcadeFood.ENERGIZER, tile) ? 2 : 1);
+					++foodCount;
+				}
+			}
+		}
+		totalFood = foodCount;
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				Tile tile = Tile.at(col, row);
+				int index = row * width + col;
+				for (Direction dir : Direction.values()) {
+					int slot = 4 * index + dir.ordinal();
+					int neighbor = wallPlane[index] == 0 ? neighborIndex(world, tile, dir) : NONE;
+					ghostNext[slot] = neighbor;
+					pacManNext[slot] = neighbor != NONE && !houseMask[neighbor] && !houseMask[index] ? neighbor : NONE;
+					oneWayBlocked[slot] = world.isOneWay(tile, dir);
+				}
+			}
+		}
+
+		Bed pacManBed = world.pacManBed();
+		pacManStart = pacManBed.row() * width + pacManBed.col();
+		pacManStartDir = pacManBed.exitDir.ordinal();
+		int numBeds = (int) house.beds().count();
+		for (int i = 0; i < NUM_GHOSTS; ++i) {
+			Bed bed = house.bed(BED_INDEX[i] % numBeds);
+			ghostStart[i] = bed.row() * width + bed.col();
+		}
+		ghostRevival[0] = ghostStart[1];
+		for (int i = 1; i < NUM_GHOSTS; ++i) {
+			ghostRevival[i] = ghostStart[i];
+		}
+		Tile doorTile = door.tiles().findFirst().get();
+		Tile entry = world.neighbor(doorTile, door.intoHouse.opposite());
+		houseEntry = entry.row * width + entry.col;
+
+		List<Tile> capes = world.capes();
+		for (int i = 0; i < NUM_GHOSTS; ++i) {
+			Tile cape = capes.get(CAPE_INDEX[i]);
+			scatterTargetCol[i] = cape.col;
+			scatterTargetRow[i] = cape.row;
+		}
+	}
+
+	private int neighborIndex(TiledWorld world, Tile tile, Direction dir) {
+		Tile neighbor = world.neighbor(tile, dir);
+		// portal tiles are located outside of the world, pass through them
+		for (int i = 0; i < 3 && !world.includes(neighbor) && world.isPortal(neighbor); ++i) {
+			neighbor = world.neighbor(neighbor, dir);
+		}
+		if (!world.includes(neighbor) || !world.isAccessible(neighbor)) {
+			return NONE;
+		}
+		return neighbor.row * width + neighbor.col;
+	}
+}
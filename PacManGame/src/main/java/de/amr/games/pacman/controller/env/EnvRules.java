@@ -0,0 +1,130 @@
+package de.amr.games.pacman.controller.env;
+
+import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.game.GhostCommand;
+import de.amr.games.pacman.controller.game.SpeedTable;
+import de.amr.games.pacman.controller.game.Timing;
+import de.amr.games.pacman.controller.ghosthouse.DoorMan;
+import de.amr.games.pacman.model.game.LevelData;
+import de.amr.games.pacman.model.game.LevelTable;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * The game rules of one level converted into the units of the {@link PacManEnv environment}. The
+ * values are taken from the same sources as in the game: speeds from the {@link SpeedTable}, power
+ * time and Elroy dot counts from the {@link LevelData level data}, scatter/chase durations from the
+ * {@link GhostCommand}, the ghost house dot limits and starving time from the {@link DoorMan} and
+ * the points from the {@link PacManGame}.
+ * <p>
+ * One simulation step is the time the fastest creature of the level needs to move one tile. Speeds
+ * are given as the fraction of a tile a creature moves per step, durations in steps.
+ *
+ * @author Armin Reichert
+ */
+public class EnvRules {
+
+	/**
+	 * Game state providing the speed of each environment ghost state, released ghosts inside the house
+	 * move with the speed of {@link GhostState#LEAVING_HOUSE}.
+	 */
+	private static final GhostState[] GHOST_STATES = { GhostState.LEAVING_HOUSE, GhostState.SCATTERING,
+			GhostState.CHASING, GhostState.FRIGHTENED, GhostState.DEAD };
+
+	/** Personalities of Blinky, Pinky, Inky and Clyde. */
+	private static final GhostPersonality[] PERSONALITIES = { GhostPersonality.SHADOW, GhostPersonality.SPEEDY,
+			GhostPersonality.BASHFUL, GhostPersonality.POKEY };
+
+	public final LevelData levelData;
+	public final float ticksPerStep;
+
+	/** Tile fraction moved per step by Pac-Man without and with power. */
+	public final float pacManSpeed, pacManPowerSpeed;
+
+	/** Tile fraction moved per step by a ghost, indexed by {@link #ghostSpeedIndex(int, boolean, int)}. */
+	private final float[] ghostSpeeds = new float[GHOST_STATES.length * 2 * SpeedTable.ELROY_LEVELS];
+
+	public final int powerSteps;
+	public final int starvingSteps;
+
+	/** Personal and global dot limits of the ghosts, Blinky is never locked. */
+	public final int[] dotLimits = new int[EnvMaze.NUM_GHOSTS];
+	public final int[] globalDotLimits = new int[EnvMaze.NUM_GHOSTS];
+
+	/** Durations of the alternating scatter and chase phases, starting with scatter. */
+	public final int[] phaseSteps = new int[2 * GhostCommand.ROUNDS];
+
+	/**
+	 * @param levelTable level table
+	 * @param level      number of the simulated level
+	 */
+	public EnvRules(LevelTable levelTable, int level) {
+		levelData = levelTable.level(level);
+		SpeedTable speeds = SpeedTable.of(levelData);
+		float maxSpeed = Math.max(speeds.pacManSpeed(PacManState.AWAKE), speeds.pacManSpeed(PacManState.POWERFUL));
+		for (GhostState state : GHOST_STATES) {
+			for (int elroy = 0; elroy < SpeedTable.ELROY_LEVELS; ++elroy) {
+				maxSpeed = Math.max(maxSpeed, speeds.ghostSpeed(state, false, elroy));
+				maxSpeed = Math.max(maxSpeed, speeds.ghostSpeed(state, true, elroy));
+			}
+		}
+		ticksPerStep = Tile.SIZE / maxSpeed;
+		pacManSpeed = speeds.pacManSpeed(PacManState.AWAKE) / maxSpeed;
+		pacManPowerSpeed = speeds.pacManSpeed(PacManState.POWERFUL) / maxSpeed;
+		for (int state = 0; state < GHOST_STATES.length; ++state) {
+			for (int elroy = 0; elroy < SpeedTable.ELROY_LEVELS; ++elroy) {
+				ghostSpeeds[ghostSpeedIndex(state, false, elroy)] = speeds.ghostSpeed(GHOST_STATES[state], false, elroy)
+						/ maxSpeed;
+				ghostSpeeds[ghostSpeedIndex(state, true, elroy)] = speeds.ghostSpeed(GHOST_STATES[state], true, elroy)
+						/ maxSpeed;
+			}
+		}
+		powerSteps = steps(Timing.sec(levelData.pacManPowerSeconds));
+		starvingSteps = steps(DoorMan.pacManStarvingTimeLimit(level));
+		for (int g = 1; g < EnvMaze.NUM_GHOSTS; ++g) {
+			dotLimits[g] = DoorMan.personalDotLimit(PERSONALITIES[g], level);
+			globalDotLimits[g] = DoorMan.globalDotLimit(PERSONALITIES[g]);
+		}
+		for (int round = 0; round < GhostCommand.ROUNDS; ++round) {
+			phaseSteps[2 * round] = steps(GhostCommand.scatterTicks(level, round));
+			phaseSteps[2 * round + 1] = steps(GhostCommand.chaseTicks(level, round));
+		}
+	}
+
+	private static int ghostSpeedIndex(int state, boolean tunnel, int elroy) {
+		return ((state << 1) + (tunnel ? 1 : 0)) * SpeedTable.ELROY_LEVELS + elroy;
+	}
+
+	/**
+	 * @param ticks duration in ticks, {@link Long#MAX_VALUE} for infinite
+	 * @return number of steps, at least one for positive durations, {@link Integer#MAX_VALUE} for
+	 *         infinite
+	 */
+	private int steps(long ticks) {
+		if (ticks == Long.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		return ticks <= 0 ? 0 : Math.max(1, Math.round(ticks / ticksPerStep));
+	}
+
+	/**
+	 * @param killed number of ghosts killed by the current energizer, including the killed ghost
+	 * @return points for killing the ghost
+	 */
+	public int ghostBounty(int killed) {
+		return PacManGame.ghostBounty(Math.min(killed, EnvMaze.NUM_GHOSTS));
+	}
+
+	/**
+	 * @param state  environment ghost state ({@link PacManEnv#GHOST_LOCKED} for released ghosts leaving
+	 *               the house)
+	 * @param tunnel if the ghost is inside a tunnel
+	 * @param elroy  Elroy level (0..2)
+	 * @return tile fraction moved per step
+	 */
+	public float ghostSpeed(int state, boolean tunnel, int elroy) {
+		return ghostSpeeds[ghostSpeedIndex(state, tunnel, elroy)];
+	}
+}
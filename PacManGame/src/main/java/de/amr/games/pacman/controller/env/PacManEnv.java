@@ -0,0 +1,644 @@
+package de.amr.games.pacman.controller.env;
+
+import static de.amr.games.pacman.controller.env.EnvMaze.DX;
+import static de.amr.games.pacman.controller.env.EnvMaze.DY;
+import static de.amr.games.pacman.controller.env.EnvMaze.NONE;
+import static de.amr.games.pacman.controller.env.EnvMaze.NUM_GHOSTS;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+
+/**
+ * Reinforcement learning environment ("gym style") for training Pac-Man agents offline.
+ * <p>
+ * The environment runs a tile-based simulation of the game rules of the {@link EnvConfig#level
+ * configured level} on a {@link EnvMaze compiled maze}. Speeds, power time, points, scatter/chase
+ * phases, ghost house dot counters and Cruise Elroy are taken from the game's tables, see
+ * {@link EnvRules}. Ghosts use the arcade targeting rules for scattering and chasing. The state is
+ * kept in primitive fields and arrays, so {@link #reset(long)}, {@link #step(int)} and
+ * {@link #observe(float[], int)} do not allocate anything.
+ * <p>
+ * Simplifications compared to the game:
+ * <ul>
+ * <li>Creatures move from tile to tile. In each step a creature gains its speed relative to the
+ * fastest creature of the level and moves one tile when it has gained a whole tile. Turns are taken
+ * at tile centers only, there is no cornering.</li>
+ * <li>Ghosts scatter to the {@link TiledWorld#capes() capes} of the world instead of the tiles
+ * outside of the maze that the game uses.</li>
+ * <li>Frightened ghosts choose random directions from a generator seeded by
+ * {@link #reset(long)}.</li>
+ * <li>Ghosts are released from the house without the bouncing and leave it on the shortest path,
+ * dead ghosts are revived when they reach the house entry (no entering of the house).</li>
+ * <li>There are no bonus symbols and no extra lives, the episode covers a single level.</li>
+ * </ul>
+ * <p>
+ * Actions are the direction ordinals (0 = up, 1 = right, 2 = down, 3 = left) or {@link #NO_ACTION}
+ * to keep the current wish direction.
+ * <p>
+ * Observation layout ({@link #observationSize()} floats): wall plane, pellet plane and energizer
+ * plane ({@code numTiles} floats each, row-major), then Pac-Man's column, row (normalized), move
+ * direction (ordinal / 3) and remaining power (fraction), then for each ghost its column, row
+ * (normalized), state ({@code state / 4}) and whether it is inside the house.
+ *
+ * @author Armin Reichert
+ */
+public class PacManEnv {
+
+	public static final int NUM_ACTIONS = 5;
+	public static final int NO_ACTION = 4;
+
+	public static final int GHOST_LOCKED = 0;
+	public static final int GHOST_SCATTERING = 1;
+	public static final int GHOST_CHASING = 2;
+	public static final int GHOST_FRIGHTENED = 3;
+	public static final int GHOST_DEAD = 4;
+
+	private static final int[] PREFERRED_DIRS = { 0, 3, 2, 1 }; // up, left, down, right as in arcade
+	private static final int CLYDE = 3;
+
+	private final EnvMaze maze;
+	private final EnvConfig config;
+	private final EnvRules rules;
+	private final RewardShaper rewardShaper;
+	private final StepEvents events = new StepEvents();
+
+	// dynamic state
+	private final byte[] food;
+	private final float[] foodPlanes;
+	private int foodLeft;
+	private long rnd;
+	private int steps;
+	private int lives;
+	private int score;
+	private boolean done;
+
+	private int pacManTile;
+	private int pacManDir;
+	private int pacManWishDir;
+	private float pacManCredit;
+	private int powerLeft;
+	private int ghostsKilledByEnergizer;
+	private int ghostsKilledInLevel;
+
+	private final int[] ghostTile = new int[NUM_GHOSTS];
+	private final int[] ghostDir = new int[NUM_GHOSTS];
+	private final int[] ghostState = new int[NUM_GHOSTS];
+	private final float[] ghostCredit = new float[NUM_GHOSTS];
+	private final int[] ghostPrevTile = new int[NUM_GHOSTS];
+
+	// ghost house
+	private final int[] ghostDots = new int[NUM_GHOSTS];
+	private boolean globalDotCounterEnabled;
+	private int globalDots;
+	private int pacManStarvingSteps;
+	private boolean elroySuspended;
+
+	private int phase;
+	private int phaseLeft;
+
+	public PacManEnv(TiledWorld world) {
+		this(new EnvMaze(world), new EnvConfig(), RewardShaper.POINTS);
+	}
+
+	public PacManEnv(EnvMaze maze, EnvConfig config, RewardShaper rewardShaper) {
+		this(maze, config, new EnvRules(config.levelTable, config.level), rewardShaper);
+	}
+
+	public PacManEnv(EnvMaze maze, EnvConfig config, EnvRules rules, RewardShaper rewardShaper) {
+		if (config.frameSkip < 1) {
+			throw new IllegalArgumentException("Frame skip must be at least 1, but is " + config.frameSkip);
+		}
+		this.maze = maze;
+		this.config = config;
+		this.rules = rules;
+		this.rewardShaper = rewardShaper;
+		food = new byte[maze.numTiles];
+		foodPlanes = new float[2 * maze.numTiles];
+	}
+
+	public EnvMaze maze() {
+		return maze;
+	}
+
+	public EnvRules rules() {
+		return rules;
+	}
+
+	/**
+	 * @return number of floats of an observation
+	 */
+	public int observationSize() {
+		return 3 * maze.numTiles + 4 + 4 * NUM_GHOSTS;
+	}
+
+	/**
+	 * Starts a new episode.
+	 *
+	 * @param seed random seed (for the frightened ghosts' moves)
+	 */
+	public void reset(long seed) {
+		rnd = seed ^ 0x9E3779B97F4A7C15L;
+		if (rnd == 0) {
+			rnd = 1;
+		}
+		System.arraycopy(maze.food, 0, food, 0, food.length);
+		for (int i = 0; i < food.length; ++i) {
+			foodPlanes[i] = food[i] == 1 ? 1 : 0;
+			foodPlanes[maze.numTiles + i] = food[i] == 2 ? 1 : 0;
+		}
+		foodLeft = maze.totalFood;
+		steps = 0;
+		lives = config.lives;
+		score = 0;
+		done = false;
+		ghostsKilledInLevel = 0;
+		Arrays.fill(ghostDots, 0);
+		globalDotCounterEnabled = false;
+		globalDots = 0;
+		elroySuspended = false;
+		phase = -1;
+		nextPhase();
+		placeCreatures();
+	}
+
+	private void placeCreatures() {
+		pacManTile = maze.pacManStart;
+		pacManDir = pacManWishDir = maze.pacManStartDir;
+		pacManCredit = 0;
+		powerLeft = 0;
+		ghostsKilledByEnergizer = 0;
+		pacManStarvingSteps = 0;
+		for (int i = 0; i < NUM_GHOSTS; ++i) {
+			ghostTile[i] = maze.ghostStart[i];
+			ghostDir[i] = 0;
+			ghostState[i] = GHOST_LOCKED;
+			ghostCredit[i] = 0;
+		}
+	}
+
+	/**
+	 * @return a seed for the next episode derived from the random generator of this environment
+	 */
+	public long nextSeed() {
+		return nextRandom();
+	}
+
+	/**
+	 * Moves Pac-Man to the given tile, e.g. to start an episode from a scripted situation. The current
+	 * move and wish direction are set to the given direction.
+	 *
+	 * @param tile tile index
+	 * @param dir  move direction
+	 */
+	public void placePacMan(int tile, int dir) {
+		checkAccessible(tile);
+		checkDir(dir);
+		pacManTile = tile;
+		pacManDir = pacManWishDir = dir;
+		pacManCredit = 0;
+	}
+
+	/**
+	 * Moves a ghost to the given tile and sets its state, e.g. to start an episode from a scripted
+	 * situation.
+	 *
+	 * @param g     ghost index (0 = Blinky, 1 = Pinky, 2 = Inky, 3 = Clyde)
+	 * @param tile  tile index
+	 * @param state ghost state ({@link #GHOST_LOCKED} ... {@link #GHOST_DEAD})
+	 */
+	public void placeGhost(int g, int tile, int state) {
+		if (g < 0 || g >= NUM_GHOSTS) {
+			throw new IllegalArgumentException("Illegal ghost index: " + g);
+		}
+		if (state < GHOST_LOCKED || state > GHOST_DEAD) {
+			throw new IllegalArgumentException("Illegal ghost state: " + state);
+		}
+		checkAccessible(tile);
+		ghostTile[g] = tile;
+		ghostState[g] = state;
+		ghostCredit[g] = 0;
+	}
+
+	private void checkAccessible(int tile) {
+		if (tile < 0 || tile >= maze.numTiles || maze.wallPlane[tile] != 0) {
+			throw new IllegalArgumentException("Tile is not accessible: " + tile);
+		}
+	}
+
+	private static void checkDir(int dir) {
+		if (dir < 0 || dir > 3) {
+			throw new IllegalArgumentException("Illegal direction: " + dir);
+		}
+	}
+
+	/**
+	 * Performs an action for {@link EnvConfig#frameSkip} simulation steps.
+	 *
+	 * @param action action
+	 * @return the reward computed by the reward shaper
+	 */
+	public float step(int action) {
+		if (done) {
+			throw new IllegalStateException("Episode is done, call reset first");
+		}
+		if (action < 0 || action >= NUM_ACTIONS) {
+			throw new IllegalArgumentException("Illegal action: " + action);
+		}
+		events.clear();
+		for (int i = 0; i < config.frameSkip && !done; ++i) {
+			simulate(action);
+		}
+		return rewardShaper.reward(events);
+	}
+
+	public boolean isDone() {
+		return done;
+	}
+
+	public StepEvents events() {
+		return events;
+	}
+
+	public int score() {
+		return score;
+	}
+
+	public int steps() {
+		return steps;
+	}
+
+	public int lives() {
+		return lives;
+	}
+
+	public int foodLeft() {
+		return foodLeft;
+	}
+
+	public int powerLeft() {
+		return powerLeft;
+	}
+
+	public int pacManTile() {
+		return pacManTile;
+	}
+
+	public int ghostTile(int i) {
+		return ghostTile[i];
+	}
+
+	public int ghostState(int i) {
+		return ghostState[i];
+	}
+
+	/**
+	 * Writes the current observation into the given array.
+	 *
+	 * @param dst    destination array
+	 * @param offset start index in destination array
+	 */
+	public void observe(float[] dst, int offset) {
+		int n = maze.numTiles;
+		System.arraycopy(maze.wallPlane, 0, dst, offset, n);
+		System.arraycopy(foodPlanes, 0, dst, offset + n, 2 * n);
+		int i = offset + 3 * n;
+		dst[i++] = col(pacManTile) / (float) maze.width;
+		dst[i++] = row(pacManTile) / (float) maze.height;
+		dst[i++] = pacManDir / 3f;
+		dst[i++] = rules.powerSteps > 0 ? powerLeft / (float) rules.powerSteps : 0;
+		for (int g = 0; g < NUM_GHOSTS; ++g) {
+			dst[i++] = col(ghostTile[g]) / (float) maze.width;
+			dst[i++] = row(ghostTile[g]) / (float) maze.height;
+			dst[i++] = ghostState[g] / 4f;
+			dst[i++] = maze.houseMask[ghostTile[g]] ? 1 : 0;
+		}
+	}
+
+	// simulation
+
+	private void simulate(int action) {
+		++steps;
+		++events.steps;
+		int pacManPrevTile = pacManTile;
+		movePacMan(action);
+		eatFood();
+		updatePhase();
+		updateHouse();
+		for (int g = 0; g < NUM_GHOSTS; ++g) {
+			ghostPrevTile[g] = ghostTile[g];
+			moveGhost(g);
+		}
+		checkCollisions(pacManPrevTile);
+		if (done) {
+			return;
+		}
+		if (foodLeft == 0) {
+			events.levelCompleted = true;
+			done = true;
+		} else if (steps >= config.maxSteps) {
+			events.truncated = true;
+			done = true;
+		}
+	}
+
+	private void movePacMan(int action) {
+		if (action != NO_ACTION) {
+			pacManWishDir = action;
+		}
+		pacManCredit += powerLeft > 0 ? rules.pacManPowerSpeed : rules.pacManSpeed;
+		if (pacManCredit < 1) {
+			return;
+		}
+		pacManCredit -= 1;
+		if (maze.pacManNext[4 * pacManTile + pacManWishDir] != NONE) {
+			pacManDir = pacManWishDir;
+		}
+		int next = maze.pacManNext[4 * pacManTile + pacManDir];
+		if (next != NONE) {
+			pacManTile = next;
+		}
+	}
+
+	private void eatFood() {
+		byte kind = food[pacManTile];
+		if (kind == 0) {
+			return;
+		}
+		food[pacManTile] = 0;
+		--foodLeft;
+		countDot();
+		if (kind == 1) {
+			foodPlanes[pacManTile] = 0;
+			++events.pellets;
+			gain(PacManGame.POINTS_PELLET);
+		} else {
+			foodPlanes[maze.numTiles + pacManTile] = 0;
+			++events.energizers;
+			gain(PacManGame.POINTS_ENERGIZER);
+			ghostsKilledByEnergizer = 0;
+			if (rules.powerSteps > 0) {
+				powerLeft = rules.powerSteps;
+				for (int g = 0; g < NUM_GHOSTS; ++g) {
+					if (ghostState[g] == GHOST_SCATTERING || ghostState[g] == GHOST_CHASING) {
+						ghostState[g] = GHOST_FRIGHTENED;
+						ghostDir[g] = opposite(ghostDir[g]);
+					}
+				}
+			}
+		}
+	}
+
+	private void updatePhase() {
+		if (powerLeft > 0) {
+			if (--powerLeft == 0) {
+				for (int g = 0; g < NUM_GHOSTS; ++g) {
+					if (ghostState[g] == GHOST_FRIGHTENED) {
+						ghostState[g] = attackState();
+					}
+				}
+			}
+			return; // phase timer is paused while Pac-Man has power
+		}
+		if (phaseLeft != Integer.MAX_VALUE && --phaseLeft == 0) {
+			nextPhase();
+			for (int g = 0; g < NUM_GHOSTS; ++g) {
+				if (ghostState[g] == GHOST_SCATTERING || ghostState[g] == GHOST_CHASING) {
+					ghostState[g] = attackState();
+					ghostDir[g] = opposite(ghostDir[g]);
+				}
+			}
+		}
+	}
+
+	private void nextPhase() {
+		do {
+			++phase;
+			phaseLeft = phase < rules.phaseSteps.length ? rules.phaseSteps[phase] : Integer.MAX_VALUE;
+		} while (phaseLeft == 0);
+	}
+
+	private int attackState() {
+		return phase % 2 == 0 && phase < rules.phaseSteps.length ? GHOST_SCATTERING : GHOST_CHASING;
+	}
+
+	/** Releases the preferred locked ghost as the game's door man does. */
+	private void updateHouse() {
+		int g = preferredLockedGhost();
+		if (g != NONE && canLeaveHouse(g)) {
+			ghostState[g] = attackState();
+		}
+		++pacManStarvingSteps;
+	}
+
+	private int preferredLockedGhost() {
+		for (int g = 0; g < NUM_GHOSTS; ++g) {
+			if (ghostState[g] == GHOST_LOCKED) {
+				return g;
+			}
+		}
+		return NONE;
+	}
+
+	private boolean canLeaveHouse(int g) {
+		if (g == 0) {
+			return true; // Blinky can always leave
+		}
+		if (pacManStarvingSteps >= rules.starvingSteps) {
+			pacManStarvingSteps = 0;
+			return true;
+		}
+		if (globalDotCounterEnabled) {
+			return globalDots >= rules.globalDotLimits[g];
+		}
+		return ghostDots[g] >= rules.dotLimits[g];
+	}
+
+	private void countDot() {
+		pacManStarvingSteps = 0;
+		if (globalDotCounterEnabled) {
+			if (++globalDots == 32 && ghostState[CLYDE] == GHOST_LOCKED) {
+				globalDots = 0;
+				globalDotCounterEnabled = false;
+			}
+		} else {
+			int g = preferredLockedGhost();
+			if (g != NONE) {
+				++ghostDots[g];
+			}
+		}
+	}
+
+	private int elroyLevel() {
+		if (elroySuspended) {
+			return 0;
+		}
+		return foodLeft <= rules.levelData.elroy2DotsLeft ? 2 : foodLeft <= rules.levelData.elroy1DotsLeft ? 1 : 0;
+	}
+
+	private void moveGhost(int g) {
+		if (ghostState[g] == GHOST_LOCKED) {
+			return;
+		}
+		int tile = ghostTile[g];
+		boolean inHouse = maze.houseMask[tile];
+		ghostCredit[g] += rules.ghostSpeed(inHouse ? GHOST_LOCKED : ghostState[g], maze.tunnelMask[tile],
+				g == 0 ? elroyLevel() : 0);
+		if (ghostCredit[g] < 1) {
+			return;
+		}
+		ghostCredit[g] -= 1;
+		int dir;
+		if (inHouse) {
+			dir = bestDir(g, tile, col(maze.houseEntry), row(maze.houseEntry), true);
+		} else if (ghostState[g] == GHOST_FRIGHTENED) {
+			dir = randomDir(g, tile);
+		} else if (ghostState[g] == GHOST_DEAD) {
+			dir = bestDir(g, tile, col(maze.houseEntry), row(maze.houseEntry), false);
+		} else if (ghostState[g] == GHOST_SCATTERING && !(g == 0 && elroyLevel() > 0)) {
+			dir = bestDir(g, tile, maze.scatterTargetCol[g], maze.scatterTargetRow[g], false);
+		} else {
+			dir = chaseDir(g, tile);
+		}
+		if (dir != NONE) {
+			ghostDir[g] = dir;
+			ghostTile[g] = maze.ghostNext[4 * tile + dir];
+		}
+		if (ghostState[g] == GHOST_DEAD && ghostTile[g] == maze.houseEntry) {
+			// revived in the house, leaves it at once
+			ghostTile[g] = maze.ghostRevival[g];
+			ghostDir[g] = 0;
+			ghostState[g] = attackState();
+			ghostCredit[g] = 0;
+		} else if (g == CLYDE && inHouse && !maze.houseMask[ghostTile[g]]) {
+			elroySuspended = false;
+		}
+	}
+
+	private int chaseDir(int g, int tile) {
+		int pacCol = col(pacManTile), pacRow = row(pacManTile);
+		switch (g) {
+		case 0: // Blinky
+			return bestDir(g, tile, pacCol, pacRow, false);
+		case 1: // Pinky
+			return bestDir(g, tile, pacCol + 4 * DX[pacManDir], pacRow + 4 * DY[pacManDir], false);
+		case 2: { // Inky
+			int aheadCol = pacCol + 2 * DX[pacManDir], aheadRow = pacRow + 2 * DY[pacManDir];
+			return bestDir(g, tile, 2 * aheadCol - col(ghostTile[0]), 2 * aheadRow - row(ghostTile[0]), false);
+		}
+		default: { // Clyde
+			int dx = col(tile) - pacCol, dy = row(tile) - pacRow;
+			return dx * dx + dy * dy > 64 ? bestDir(g, tile, pacCol, pacRow, false)
+					: bestDir(g, tile, maze.scatterTargetCol[g], maze.scatterTargetRow[g], false);
+		}
+		}
+	}
+
+	private boolean canGhostMove(int g, int tile, int dir, boolean inHouse) {
+		int next = maze.ghostNext[4 * tile + dir];
+		if (next == NONE) {
+			return false;
+		}
+		if (inHouse) {
+			return true;
+		}
+		if (maze.houseMask[next]) {
+			return false;
+		}
+		boolean attacking = ghostState[g] == GHOST_SCATTERING || ghostState[g] == GHOST_CHASING;
+		return !attacking || !maze.oneWayBlocked[4 * tile + dir];
+	}
+
+	private int bestDir(int g, int tile, int targetCol, int targetRow, boolean inHouse) {
+		int reverse = opposite(ghostDir[g]);
+		int best = NONE;
+		long bestDist = Long.MAX_VALUE;
+		for (int dir : PREFERRED_DIRS) {
+			if (dir == reverse && !inHouse || !canGhostMove(g, tile, dir, inHouse)) {
+				continue;
+			}
+			int next = maze.ghostNext[4 * tile + dir];
+			long dx = col(next) - targetCol, dy = row(next) - targetRow;
+			long dist = dx * dx + dy * dy;
+			if (dist < bestDist) {
+				bestDist = dist;
+				best = dir;
+			}
+		}
+		if (best == NONE && canGhostMove(g, tile, reverse, inHouse)) {
+			best = reverse; // dead end
+		}
+		return best;
+	}
+
+	private int randomDir(int g, int tile) {
+		int reverse = opposite(ghostDir[g]);
+		int start = (int) (nextRandom() >>> 62);
+		for (int i = 0; i < 4; ++i) {
+			int dir = (start + i) & 3;
+			if (dir != reverse && canGhostMove(g, tile, dir, false)) {
+				return dir;
+			}
+		}
+		return canGhostMove(g, tile, reverse, false) ? reverse : NONE;
+	}
+
+	private void checkCollisions(int pacManPrevTile) {
+		for (int g = 0; g < NUM_GHOSTS; ++g) {
+			if (ghostState[g] == GHOST_LOCKED || ghostState[g] == GHOST_DEAD) {
+				continue;
+			}
+			boolean sameTile = ghostTile[g] == pacManTile;
+			boolean crossed = ghostTile[g] == pacManPrevTile && ghostPrevTile[g] == pacManTile;
+			if (!sameTile && !crossed) {
+				continue;
+			}
+			if (ghostState[g] == GHOST_FRIGHTENED) {
+				int points = rules.ghostBounty(++ghostsKilledByEnergizer);
+				if (++ghostsKilledInLevel == 16) {
+					points += PacManGame.POINTS_ALL_GHOSTS;
+				}
+				gain(points);
+				++events.ghostsKilled;
+				ghostState[g] = GHOST_DEAD;
+			} else {
+				events.pacManKilled = true;
+				if (--lives == 0) {
+					done = true;
+				} else {
+					globalDotCounterEnabled = true;
+					globalDots = 0;
+					elroySuspended = elroySuspended || elroyLevel() > 0;
+					placeCreatures();
+				}
+				return;
+			}
+		}
+	}
+
+	private void gain(int points) {
+		score += points;
+		events.points += points;
+	}
+
+	private long nextRandom() {
+		// xorshift64
+		rnd ^= rnd << 13;
+		rnd ^= rnd >>> 7;
+		rnd ^= rnd << 17;
+		return rnd;
+	}
+
+	private int col(int tile) {
+		return tile % maze.width;
+	}
+
+	private int row(int tile) {
+		return tile / maze.width;
+	}
+
+	private static int opposite(int dir) {
+		return (dir + 2) & 3;
+	}
+}
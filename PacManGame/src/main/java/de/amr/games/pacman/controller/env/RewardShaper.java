@@ -0,0 +1,28 @@
+package de.amr.games.pacman.controller.env;
+
+/**
+ * Computes the reward of a step from its events.
+ *
+ * @author Armin Reichert
+ */
+@FunctionalInterface
+public interface RewardShaper {
+
+	/** Reward is the number of points gained as in the game. */
+	RewardShaper POINTS = events -> events.points;
+
+	/**
+	 * @param stepPenalty  penalty per simulation step (encourages fast eating)
+	 * @param deathPenalty penalty for losing a life
+	 * @return shaper rewarding points with the given penalties
+	 */
+	static RewardShaper pointsWithPenalties(float stepPenalty, float deathPenalty) {
+		return events -> events.points - stepPenalty * events.steps - (events.pacManKilled ? deathPenalty : 0);
+	}
+
+	/**
+	 * @param events events of the step
+	 * @return the reward
+	 */
+	float reward(StepEvents events);
+}
@@ -0,0 +1,30 @@
+package de.amr.games.pacman.controller.env;
+
+/**
+ * What happened during one call of {@link PacManEnv#step(int)}. The instance is reused by the
+ * environment, so reward shapers must not keep a reference to it.
+ *
+ * @author Armin Reichert
+ */
+public class StepEvents {
+
+	public int steps;
+	public int points;
+	public int pellets;
+	public int energizers;
+	public int ghostsKilled;
+	public boolean pacManKilled;
+	public boolean levelCompleted;
+	public boolean truncated;
+
+	void clear() {
+		steps = 0;
+		points = 0;
+		pellets = 0;
+		energizers = 0;
+		ghostsKilled = 0;
+		pacManKilled = false;
+		levelCompleted = false;
+		truncated = false;
+	}
+}
@@ -0,0 +1,78 @@
+package de.amr.games.pacman.controller.env;
+
+import de.amr.games.pacman.model.world.api.TiledWorld;
+
+/**
+ * A batch of {@link PacManEnv environments} sharing one compiled maze and one set of level rules
+ * that are stepped together. Actions, rewards, done flags and observations are passed in flat
+ * primitive arrays, finished episodes are reset automatically (the returned observation then belongs
+ * to the new episode).
+ *
+ * @author Armin Reichert
+ */
+public class VectorEnv {
+
+	private final PacManEnv[] envs;
+	private final int observationSize;
+
+	public VectorEnv(TiledWorld world, int count, EnvConfig config, RewardShaper rewardShaper) {
+		if (count <= 0) {
+			throw new IllegalArgumentException("Number of environments must be positive, but is " + count);
+		}
+		EnvMaze maze = new EnvMaze(world);
+		EnvRules rules = new EnvRules(config.levelTable, config.level);
+		envs = new PacManEnv[count];
+		for (int i = 0; i < count; ++i) {
+			envs[i] = new PacManEnv(maze, config, rules, rewardShaper);
+		}
+		observationSize = envs[0].observationSize();
+	}
+
+	public int size() {
+		return envs.length;
+	}
+
+	public PacManEnv env(int i) {
+		return envs[i];
+	}
+
+	/**
+	 * @return number of floats of the observation of one environment
+	 */
+	public int observationSize() {
+		return observationSize;
+	}
+
+	/**
+	 * Resets all environments, environment {@code i} gets seed {@code seed + i}.
+	 *
+	 * @param seed         base seed
+	 * @param observations receives the observations ({@code size() * observationSize()} floats)
+	 */
+	public void reset(long seed, float[] observations) {
+		for (int i = 0; i < envs.length; ++i) {
+			envs[i].reset(seed + i);
+			envs[i].observe(observations, i * observationSize);
+		}
+	}
+
+	/**
+	 * Steps all environments.
+	 *
+	 * @param actions      action per environment
+	 * @param rewards      receives the reward per environment
+	 * @param dones        receives if the episode of an environment ended in this step
+	 * @param observations receives the observations ({@code size() * observationSize()} floats)
+	 */
+	public void step(int[] actions, float[] rewards, boolean[] dones, float[] observations) {
+		for (int i = 0; i < envs.length; ++i) {
+			PacManEnv env = envs[i];
+			rewards[i] = env.step(actions[i]);
+			dones[i] = env.isDone();
+			if (dones[i]) {
+				env.reset(env.nextSeed());
+			}
+			env.observe(observations, i * observationSize);
+		}
+	}
+}
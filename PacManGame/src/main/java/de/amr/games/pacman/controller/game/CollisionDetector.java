@@ -0,0 +1,154 @@
+package de.amr.games.pacman.controller.game;
+
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
+
+/**
+ * Detects collisions between Pac-Man and the ghosts in a single pass per tick.
+ * <p>
+ * The ghosts that can collide are bucketed by their tile into a spatial hash that is stored in
+ * reusable int arrays, so a detection pass does not allocate anything except the published events.
+ * Each Pac-Man then only looks at the ghosts in his own bucket (tile mode) or in the buckets of the
+ * 3x3 tile neighborhood (bounding box mode).
+ * <p>
+ * Collision events are handled immediately by the event listeners, so Pac-Man may get killed by a
+ * collision. Therefore his state is checked again after each published event and the scan for this
+ * Pac-Man ends as soon as he cannot collide anymore.
+ *
+ * @author Armin Reichert
+ */
+public class CollisionDetector {
+
+	private static final int NIL = -1;
+
+	private boolean boundingBoxMode;
+
+	// spatial hash: bucket heads, chained via next[], indexing the ghost slots
+	private int[] heads = new int[16];
+	private int[] next = new int[0];
+	private int[] ghostCol = new int[0];
+	private int[] ghostRow = new int[0];
+	private boolean[] collided = new boolean[0];
+
+	/**
+	 * @return if collisions are detected by overlapping bounding boxes instead of equal tiles
+	 */
+	public boolean isBoundingBoxMode() {
+		return boundingBoxMode;
+	}
+
+	/**
+	 * @param boundingBoxMode if {@code true}, Pac-Man and a ghost collide if their bounding boxes
+	 *                        overlap, otherwise if they are located at the same tile (arcade behavior)
+	 */
+	public void setBoundingBoxMode(boolean boundingBoxMode) {
+		this.boundingBoxMode = boundingBoxMode;
+	}
+
+	/**
+	 * Detects the collisions between the given Pac-Men and ghosts and publishes a
+	 * {@link PacManGhostCollisionEvent} for each colliding ghost (at most once per call) as long as the
+	 * Pac-Man can collide.
+	 *
+	 * @param pacMen the Pac-Men
+	 * @param ghosts the ghosts
+	 * @return number of published collision events
+	 */
+	public int detect(PacMan[] pacMen, Ghost[] ghosts) {
+		ensureCapacity(ghosts.length);
+		Arrays.fill(heads, NIL);
+		int mask = heads.length - 1;
+		for (int i = 0; i < ghosts.length; ++i) {
+			Ghost ghost = ghosts[i];
+			collided[i] = false;
+			if (!canCollide(ghost)) {
+				continue;
+			}
+			int col = ghost.col(), row = ghost.row();
+			int bucket = hash(col, row) & mask;
+			ghostCol[i] = col;
+			ghostRow[i] = row;
+			next[i] = heads[bucket];
+			heads[bucket] = i;
+		}
+		int count = 0;
+		for (PacMan pacMan : pacMen) {
+			if (!canCollide(pacMan)) {
+				continue;
+			}
+			int col = pacMan.col(), row = pacMan.row();
+			if (boundingBoxMode) {
+				for (int dy = -1; dy <= 1 && canCollide(pacMan); ++dy) {
+					for (int dx = -1; dx <= 1 && canCollide(pacMan); ++dx) {
+						count += detectInBucket(pacMan, col + dx, row + dy, ghosts, mask);
+					}
+				}
+			} else {
+				count += detectInBucket(pacMan, col, row, ghosts, mask);
+			}
+		}
+		return count;
+	}
+
+	private int detectInBucket(PacMan pacMan, int col, int row, Ghost[] ghosts, int mask) {
+		int count = 0;
+		for (int i = heads[hash(col, row) & mask]; i != NIL; i = next[i]) {
+			if (collided[i] || ghostCol[i] != col || ghostRow[i] != row) {
+				continue;
+			}
+			Ghost ghost = ghosts[i];
+			if (boundingBoxMode && !overlapping(pacMan, ghost)) {
+				continue;
+			}
+			collided[i] = true;
+			ghost.ai.publish(new PacManGhostCollisionEvent(ghost));
+			++count;
+			if (!canCollide(pacMan)) {
+				break; // e.g. killed by this ghost
+			}
+		}
+		return count;
+	}
+
+	private boolean canCollide(Ghost ghost) {
+		return ghost.visible && ghost.world.contains(ghost) && ghost.ai.is(CHASING, SCATTERING, FRIGHTENED)
+				&& !ghost.isInsidePortal();
+	}
+
+	private boolean canCollide(PacMan pacMan) {
+		return pacMan.visible && pacMan.world.contains(pacMan) && pacMan.ai.is(PacManState.AWAKE, PacManState.POWERFUL);
+	}
+
+	private boolean overlapping(PacMan pacMan, Ghost ghost) {
+		return pacMan.tf.x < ghost.tf.x + ghost.tf.width && ghost.tf.x < pacMan.tf.x + pacMan.tf.width
+				&& pacMan.tf.y < ghost.tf.y + ghost.tf.height && ghost.tf.y < pacMan.tf.y + pacMan.tf.height;
+	}
+
+	private static int hash(int col, int row) {
+		return (col * 31 + row) * 0x9E3779B1;
+	}
+
+	private void ensureCapacity(int numGhosts) {
+		if (next.length < numGhosts) {
+			next = new int[numGhosts];
+			ghostCol = new int[numGhosts];
+			ghostRow = new int[numGhosts];
+			collided = new boolean[numGhosts];
+		}
+		int numBuckets = heads.length;
+		while (numBuckets < 2 * numGhosts) {
+			numBuckets *= 2;
+		}
+		if (numBuckets != heads.length) {
+			heads = new int[numBuckets];
+		}
+	}
+}
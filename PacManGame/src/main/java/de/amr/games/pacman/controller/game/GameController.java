@@ -9,7 +9,6 @@ import static de.amr.games.pacman.controller.game.PacManGameState.GAME_OVER;
 import static de.amr.games.pacman.controller.game.PacManGameState.GETTING_READY;
 import static de.amr.games.pacman.controller.game.PacManGameState.GHOST_DYING;
 import static de.amr.games.pacman.controller.game.PacManGameState.INTRO;
-import static de.amr.games.pacman.controller.game.PacManGameState.LOADING_MUSIC;
 import static de.amr.games.pacman.controller.game.PacManGameState.PACMAN_DYING;
 import static de.amr.games.pacman.controller.game.PacManGameState.PLAYING;
 import static de.amr.games.pacman.controller.game.Timing.sec;
@@ -17,11 +16,12 @@ import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
+import java.io.File;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.view.View;
@@ -31,6 +31,7 @@ import de.amr.games.pacman.controller.bonus.BonusFoodState;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.event.BonusFoundEvent;
 import de.amr.games.pacman.controller.event.FoodFoundEvent;
 import de.amr.games.pacman.controller.event.GhostKilledEvent;
@@ -41,7 +42,11 @@ import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
 import de.amr.games.pacman.controller.event.PacManKilledEvent;
 import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacman.controller.ghosthouse.DoorMan;
+import de.amr.games.pacman.controller.telemetry.GameTelemetry;
+import de.amr.games.pacman.controller.telemetry.Telemetry;
+import de.amr.games.pacman.model.game.LevelTable;
 import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.game.score.ScoreEntry;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
@@ -49,11 +54,13 @@ import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacman.model.world.arcade.ArcadeFood;
 import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
 import de.amr.games.pacman.model.world.components.House;
-import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+import de.amr.games.pacman.model.world.core.WorldMapLoader;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.view.api.PacManGameSounds;
 import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.common.FramebufferView;
 import de.amr.games.pacman.view.intro.IntroView;
-import de.amr.games.pacman.view.loading.MusicLoadingView;
 import de.amr.games.pacman.view.play.PlayView;
 import de.amr.statemachine.core.State;
 import de.amr.statemachine.core.StateMachine;
@@ -68,38 +75,80 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	public final TiledWorld world;
 	public final Folks folks;
 	public final BonusFoodController bonusController;
+	public final DoorMan[] doorMen;
 	public final DoorMan doorMan;
 	public final GhostCommand ghostCommand;
+	public final CollisionDetector collisionDetector;
 	public final ThemeSelector themes;
 
 	protected final Random rnd = new Random();
 	protected PacManGameView currentView;
+	private final PacMan[] pacMen;
+	private final Telemetry telemetry;
+	private final GameTelemetry gameTelemetry;
+	private final FramebufferView framebufferView;
 
-	public GameController(List<Theme> supportedThemes) {
+	/* music that has been requested but was not yet loaded at that time */
+	private boolean readyMusicPending;
+	private boolean backgroundMusicPending;
+
+	public GameController(List<String> themeNames) {
 		super(PacManGameState.class);
 		buildStateMachine();
 
-		themes = new ThemeSelector(supportedThemes);
-		themes.select(settings.theme);
+		themes = new ThemeSelector(themeNames);
+		themes.select(settings.theme); // the theme is loaded in the background until it is used first
 		themes.addListener(theme -> {
+			theme.sounds().loadMusic();
 			if (currentView != null) {
 				currentView.setTheme(theme);
 			}
 		});
 
-		world = new ArcadeWorld();
+		MapBasedWorld mapBasedWorld = settings.worldFile != null
+				? new MapBasedWorld(WorldMapLoader.loadFile(new File(settings.worldFile)))
+				: new ArcadeWorld();
+		world = mapBasedWorld;
+		if (settings.levelsFile != null) {
+			PacManGame.useLevelTable(LevelTable.loadFile(new File(settings.levelsFile)));
+		}
+		PacManGame.hiscore(); // starts reading the score log in the background
 
 		folks = new Folks(world, world.house(0).get());
+		world.houses().skip(1).filter(house -> house.beds().count() > 0)
+				.forEach(house -> folks.addGhostGroup(house, (int) house.beds().count()));
 		folks.pacMan.ai.addEventListener(this::process);
+		pacMen = new PacMan[] { folks.pacMan };
+		collisionDetector = new CollisionDetector();
+		framebufferView = settings.lowResFramebuffer ? new FramebufferView(settings.width, settings.height) : null;
 		folks.ghosts().forEach(ghost -> ghost.ai.addEventListener(this::process));
 
-		doorMan = new DoorMan(world.house(0).get(), folks);
+		doorMen = new DoorMan[folks.numGroups()];
+		for (int i = 0; i < doorMen.length; ++i) {
+			doorMen[i] = new DoorMan(folks.groupHouse(i), folks);
+			Ghost[] group = folks.group(i);
+			if (group[0].madness != null) {
+				group[group.length - 1].ai.addStateExitListener(GhostState.LEAVING_HOUSE,
+						state -> group[0].madness.clydeExitsHouse());
+			}
+		}
+		doorMan = doorMen[0];
 		ghostCommand = new GhostCommand(folks);
-		bonusController = new BonusFoodController(world, () -> ArcadeBonus.of(game.bonusSymbol, game.bonusValue));
+		if (settings.telemetryFile != null) {
+			telemetry = new Telemetry(Paths.get(settings.telemetryFile));
+			gameTelemetry = new GameTelemetry(telemetry, folks);
+			gameTelemetry.attach(this, ghostCommand);
+		} else {
+			telemetry = null;
+			gameTelemetry = null;
+		}
+		bonusController = new BonusFoodController(world,
+				() -> ArcadeBonus.of(game.bonusSymbol, game.bonusValue, mapBasedWorld.bonusLocation()));
 
 		app().onClose(() -> {
-			if (PacManGame.started()) {
-				game.hiscore.save();
+			PacManGame.saveHiscore();
+			if (telemetry != null) {
+				telemetry.close();
 			}
 		});
 	}
@@ -111,16 +160,15 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		beginStateMachine()
 			
 			.description("Game Controller")
-			.initialState(LOADING_MUSIC)
+			.initialState(settings.skipIntro ? GETTING_READY : INTRO)
 			
 			.states()
 			
-				.state(LOADING_MUSIC)
-					.onEntry(() -> currentView = new MusicLoadingView(themes.current()))
-					.onExit(() -> currentView.exit())
-					
 				.state(INTRO)
-					.onEntry(() -> currentView = new IntroView(themes.current()))
+					.onEntry(() -> {
+						currentView = new IntroView(themes.current());
+						sounds().loadMusic();
+					})
 					.onExit(() -> currentView.exit())
 				
 				.state(GETTING_READY).customState(new GettingReadyState())
@@ -137,9 +185,11 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					})
 					.onTick(() -> {
 						bonusController.update();
-						folks.ghostsInWorld()
-							.filter(ghost -> ghost.ai.is(GhostState.DEAD, GhostState.ENTERING_HOUSE))
-							.forEach(Ghost::update);
+						folks.forEachGhostInWorld(ghost -> {
+							if (ghost.ai.is(GhostState.DEAD, GhostState.ENTERING_HOUSE)) {
+								ghost.update();
+							}
+						});
 					})
 					.onExit(() -> {
 						folks.pacMan.visible = true;
@@ -152,7 +202,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 							game.lives -= 1;
 						}
 						world.setFrozen(true);
-						folks.blinky.madness.pacManDies();
+						folks.ghosts().filter(ghost -> ghost.madness != null).forEach(ghost -> ghost.madness.pacManDies());
 						sounds().stopAll();
 					})
 					.onTick((state, passed, remaining) -> {
@@ -183,7 +233,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 						sounds().playMusic(sounds().musicGameOver());
 					})
 					.onTick(() -> {
-						folks.ghostsInWorld().forEach(Ghost::move);
+						folks.forEachGhostInWorld(Ghost::move);
 					})
 					.onExit(() -> {
 						world.restoreFood();
@@ -193,14 +243,6 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	
 			.transitions()
 			
-				.when(LOADING_MUSIC).then(GETTING_READY)
-					.condition(() -> sounds().isMusicLoaded()	&& settings.skipIntro)
-					.annotation("Music loaded, skipping intro")
-					
-				.when(LOADING_MUSIC).then(INTRO)
-					.condition(() -> sounds().isMusicLoaded())
-					.annotation("Music loaded")
-
 				.when(INTRO).then(GETTING_READY)
 					.condition(() -> currentView.isComplete())
 					.annotation("Intro complete")
@@ -272,19 +314,20 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	public class GettingReadyState extends State<PacManGameState> {
 
 		private void startNewGame() {
-			PacManGame.start(settings.startLevel, world.totalFoodCount());
+			PacManGame.start(settings.startLevel, world.totalFoodCount(),
+					settings.demoMode ? ScoreEntry.MODE_DEMO : ScoreEntry.MODE_ARCADE);
 			world.setFrozen(true);
 			closeAllDoors();
 			folks.guys().forEach(guy -> {
 				world.include(guy);
 				guy.init();
 			});
-			folks.blinky.madness.init();
+			folks.ghosts().filter(ghost -> ghost.madness != null).forEach(ghost -> ghost.madness.init());
 			ghostCommand.init();
 			bonusController.init();
 			currentView = createPlayView();
 			playView().messagesView.showMessage(2, "Ready!", Color.YELLOW);
-			sounds().playMusic(sounds().musicGameReady());
+			startReadyMusic();
 		}
 
 		public GettingReadyState() {
@@ -301,11 +344,15 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			if (remaining == sec(1)) {
 				world.setFrozen(false);
 			}
-			folks.guysInWorld().forEach(Lifecycle::update);
+			folks.forEachGuyInWorld(Lifecycle::update);
+			if (readyMusicPending) {
+				startReadyMusic();
+			}
 		}
 
 		@Override
 		public void onExit() {
+			readyMusicPending = false;
 			playView().messagesView.clearMessage(2);
 		}
 	}
@@ -326,25 +373,32 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		@Override
 		public void onTick(State<PacManGameState> state, long passed, long remaining) {
-			folks.guysInWorld().forEach(Lifecycle::update);
+			if (folks.isPacManInWorld()) {
+				folks.pacMan.update();
+			}
+			collisionDetector.detect(pacMen, folks.ghostArray());
+			folks.forEachGhostInWorld(Lifecycle::update);
+			if (backgroundMusicPending) {
+				startBackgroundMusicForPlaying();
+			}
 			if (passed == INITIAL_WAIT_TIME) {
 				folks.pacMan.wakeUp();
 			}
 			if (passed > INITIAL_WAIT_TIME) {
 				ghostCommand.update();
-				doorMan.update();
-				bonusController.update();
-				if (folks.clyde.justLeftHouse()) {
-					folks.blinky.madness.clydeExitsHouse();
+				for (DoorMan dm : doorMen) {
+					dm.update();
 				}
-				playView().soundState.chasingGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.CHASING));
-				playView().soundState.deadGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.DEAD));
+				bonusController.update();
+				playView().soundState.chasingGhosts = folks.anyGhostInWorld(ghost -> ghost.ai.is(GhostState.CHASING));
+				playView().soundState.deadGhosts = folks.anyGhostInWorld(ghost -> ghost.ai.is(GhostState.DEAD));
 			}
 		}
 
 		@Override
 		public void onExit() {
-			sounds().clips().forEach(SoundClip::stop);
+			backgroundMusicPending = false;
+			sounds().stopAllClips();
 			playView().soundState.chasingGhosts = false;
 			playView().soundState.deadGhosts = false;
 		}
@@ -367,18 +421,24 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			if (ghost.ai.is(FRIGHTENED)) {
 				boolean extraLife = game.gainGhostPoints();
 				playView().soundState.gotExtraLife = extraLife;
-				ghost.ai.process(new GhostKilledEvent(ghost));
-				enqueue(new GhostKilledEvent(ghost));
+				PacManGameEvent ghostKilled = new GhostKilledEvent(ghost);
+				ghost.ai.process(ghostKilled);
+				enqueue(ghostKilled);
+				recordTelemetry(ghostKilled);
 				loginfo("%s got killed at %s", ghost.name, ghost.tile());
 			}
 
 			else if (!settings.ghostsHarmless) {
 				loginfo("Pac-Man killed by %s at %s", ghost.name, ghost.tile());
-				doorMan.onPacManLostLife();
+				for (DoorMan dm : doorMen) {
+					dm.onPacManLostLife();
+				}
 				playView().soundState.chasingGhosts = false;
 				playView().soundState.deadGhosts = false;
-				folks.pacMan.ai.process(new PacManKilledEvent(ghost));
-				enqueue(new PacManKilledEvent(ghost));
+				PacManGameEvent pacManKilled = new PacManKilledEvent(ghost);
+				folks.pacMan.ai.process(pacManKilled);
+				enqueue(pacManKilled);
+				recordTelemetry(pacManKilled);
 			}
 		}
 
@@ -400,11 +460,15 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			playView().soundState.lastMealAt = System.currentTimeMillis();
 			playView().soundState.gotExtraLife = extraLife;
 
-			doorMan.onPacManFoundFood();
+			for (DoorMan dm : doorMen) {
+				dm.onPacManFoundFood();
+			}
 			world.removeFood(found.location);
 			if (game.remainingFoodCount() == 0) {
 				// enter next level
-				enqueue(new LevelCompletedEvent());
+				PacManGameEvent levelCompleted = new LevelCompletedEvent();
+				enqueue(levelCompleted);
+				recordTelemetry(levelCompleted);
 				return;
 			}
 
@@ -414,6 +478,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				PacManGameEvent pacManGainsPower = new PacManGainsPowerEvent(sec(game.pacManPowerSeconds));
 				folks.pacMan.ai.process(pacManGainsPower);
 				folks.ghostsInWorld().forEach(ghost -> ghost.ai.process(pacManGainsPower));
+				recordTelemetry(pacManGainsPower);
 			}
 		}
 	}
@@ -432,9 +497,11 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			loginfo("Ghosts killed in level %d: %d", game.level, game.ghostsKilledInLevel);
 			world.setFrozen(true);
 			folks.pacMan.fallAsleep();
-			doorMan.onLevelChange();
-			sounds().clips().forEach(SoundClip::stop);
-			flashingEnd = flashingStart + game.numFlashes * sec(themes.current().$float("maze-flash-sec"));
+			for (DoorMan dm : doorMen) {
+				dm.onLevelChange();
+			}
+			sounds().stopAllClips();
+			flashingEnd = flashingStart + game.numFlashes * sec(themes.current().$value(ThemeParameter.MAZE_FLASH_SEC));
 			complete = false;
 		}
 
@@ -454,13 +521,13 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				world.restoreFood();
 				PacManGame.nextLevel();
 				folks.guys().forEach(Lifecycle::init);
-				folks.blinky.madness.init();
+				folks.ghosts().filter(ghost -> ghost.madness != null).forEach(ghost -> ghost.madness.init());
 				playView().init();
 			}
 
 			// One second later, let ghosts jump again inside the house
 			if (passed >= flashingEnd + sec(2)) {
-				folks.guysInWorld().forEach(Lifecycle::update);
+				folks.forEachGuyInWorld(Lifecycle::update);
 			}
 
 			if (passed == flashingEnd + sec(4)) {
@@ -493,7 +560,14 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		return themes.current().sounds();
 	}
 
+	private void startReadyMusic() {
+		sounds().loadMusic();
+		readyMusicPending = sounds().musicGameReady().isEmpty();
+		sounds().playMusic(sounds().musicGameReady());
+	}
+
 	private void startBackgroundMusicForPlaying() {
+		backgroundMusicPending = sounds().musicGameRunning().isEmpty();
 		sounds().musicGameRunning().ifPresent(music -> {
 			if (!music.isRunning()) {
 				music.setVolume(0.4f);
@@ -504,6 +578,10 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 	@Override
 	public Optional<View> currentView() {
+		if (framebufferView != null && currentView != null) {
+			framebufferView.setView(currentView);
+			return Optional.of(framebufferView);
+		}
 		return Optional.ofNullable(currentView);
 	}
 
@@ -534,6 +612,18 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		return state(CHANGING_LEVEL);
 	}
 
+	/**
+	 * Records a game event that is not published by one of the folks (if telemetry is enabled). Callers
+	 * pass the event instance they also process or enqueue, so recording allocates nothing.
+	 * 
+	 * @param event game event
+	 */
+	protected void recordTelemetry(PacManGameEvent event) {
+		if (gameTelemetry != null) {
+			gameTelemetry.recordEvent(event);
+		}
+	}
+
 	protected void closeAllDoors() {
 		world.houses().flatMap(House::doors).forEach(doorMan::closeDoor);
 	}
@@ -29,29 +29,28 @@ public class GhostCommand extends StateMachine<Phase, String> {
 		SCATTER, CHASE, PAUSED
 	}
 
+	/** Number of scatter/chase rounds per level, the chasing of the last round lasts forever. */
+	public static final int ROUNDS = 4;
+
 	private static class Times {
 
 		long scatter, chase;
 	}
 
 	private static Times[] createTimes() {
-		Times[] times = new Times[4];
-		for (int i = 0; i < 4; ++i) {
+		Times[] times = new Times[ROUNDS];
+		for (int i = 0; i < ROUNDS; ++i) {
 			times[i] = new Times();
 		}
 		return times;
 	}
 
-	private Folks folks;
-	private int round;
-	private Phase pausedState;
-
-	private final Times[] L1 = createTimes(); // level 1
-	private final Times[] L2 = createTimes(); // levels 2-4
-	private final Times[] L5 = createTimes(); // levels 5...
+	private static final Times[] L1 = createTimes(); // level 1
+	private static final Times[] L2 = createTimes(); // levels 2-4
+	private static final Times[] L5 = createTimes(); // levels 5...
 
 	/*@formatter:off*/
-	{
+	static {
 		L1[0].scatter = sec(7);
 		L1[0].chase   = sec(20);
 		L1[1].scatter = sec(7);
@@ -81,10 +80,33 @@ public class GhostCommand extends StateMachine<Phase, String> {
 	}
 	/*@formatter:on*/
 
-	private Times times(int level) {
+	private static Times times(int level, int round) {
 		return level >= 5 ? L5[round] : level >= 2 ? L2[round] : L1[round];
 	}
 
+	/**
+	 * @param level game level
+	 * @param round round (0..{@link #ROUNDS}-1)
+	 * @return duration (ticks) of the scatter phase of this round
+	 */
+	public static long scatterTicks(int level, int round) {
+		return times(level, round).scatter;
+	}
+
+	/**
+	 * @param level game level
+	 * @param round round (0..{@link #ROUNDS}-1)
+	 * @return duration (ticks) of the chase phase of this round, {@link Long#MAX_VALUE} for the last
+	 *         round
+	 */
+	public static long chaseTicks(int level, int round) {
+		return times(level, round).chase;
+	}
+
+	private Folks folks;
+	private int round;
+	private Phase pausedState;
+
 	public GhostCommand(Folks folks) {
 		super(Phase.class, TransitionMatchStrategy.BY_VALUE);
 		this.folks = folks;
@@ -95,11 +117,11 @@ public class GhostCommand extends StateMachine<Phase, String> {
 			.initialState(SCATTER)
 		.states()
 			.state(SCATTER)
-				.timeoutAfter(() -> times(game.level).scatter)
+				.timeoutAfter(() -> scatterTicks(game.level, round))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(CHASE)
-				.timeoutAfter(() -> times(game.level).chase)
+				.timeoutAfter(() -> chaseTicks(game.level, round))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(PAUSED)
@@ -1,5 +1,5 @@
 package de.amr.games.pacman.controller.game;
 
 public enum PacManGameState {
-	LOADING_MUSIC, INTRO, GETTING_READY, PLAYING, GHOST_DYING, PACMAN_DYING, CHANGING_LEVEL, GAME_OVER
+	INTRO, GETTING_READY, PLAYING, GHOST_DYING, PACMAN_DYING, CHANGING_LEVEL, GAME_OVER
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package de.amr.games.pacman.controller.game;
+
+import static de.amr.games.pacman.controller.game.Timing.speed;
+
+import de.amr.games.pacman.controller.creatures.ghost.GhostMentalState;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.LevelData;
+import de.amr.games.pacman.model.game.PacManGame;
+
+/**
+ * The speeds (pixels/tick) of all actors in a game level, computed once per level from the level
+ * data. Ghost speeds are indexed by (state, tunnel flag, Elroy level), Pac-Man speeds by state.
+ *
+ * @author Armin Reichert
+ */
+public final class SpeedTable {
+
+	/** Number of Elroy levels (0 = not Elroy). */
+	public static final int ELROY_LEVELS = 3;
+
+	private static final GhostState[] GHOST_STATES = GhostState.values();
+	private static final PacManState[] PACMAN_STATES = PacManState.values();
+	private static final int[] ELROY_LEVEL = new int[GhostMentalState.values().length];
+
+	static {
+		ELROY_LEVEL[GhostMentalState.ELROY1.ordinal()] = 1;
+		ELROY_LEVEL[GhostMentalState.ELROY2.ordinal()] = 2;
+	}
+
+	private static SpeedTable current;
+
+	/**
+	 * @param game game level
+	 * @return the speed table of the given level (computed at the first call for the level)
+	 */
+	public static SpeedTable of(PacManGame game) {
+		SpeedTable table = current;
+		if (table == null || table.game != game) {
+			current = table = new SpeedTable(game, PacManGame.levelTable().level(game.level));
+		}
+		return table;
+	}
+
+	/**
+	 * @param level level data
+	 * @return a new speed table for the given level data
+	 */
+	public static SpeedTable of(LevelData level) {
+		return new SpeedTable(null, level);
+	}
+
+	/**
+	 * @param mentalState mental state of a ghost
+	 * @return Elroy level (0..2) of the mental state
+	 */
+	public static int elroyLevel(GhostMentalState mentalState) {
+		return ELROY_LEVEL[mentalState.ordinal()];
+	}
+
+	private final PacManGame game;
+	private final LevelData level;
+	private final float[] ghostSpeeds = new float[GHOST_STATES.length * 2 * ELROY_LEVELS];
+	private final float[] pacManSpeeds = new float[PACMAN_STATES.length];
+
+	private SpeedTable(PacManGame game, LevelData level) {
+		this.game = game;
+		this.level = level;
+		for (GhostState state : GHOST_STATES) {
+			for (int tunnel = 0; tunnel < 2; ++tunnel) {
+				for (int elroy = 0; elroy < ELROY_LEVELS; ++elroy) {
+					ghostSpeeds[ghostIndex(state, tunnel == 1, elroy)] = speed(ghostSpeedFraction(state, tunnel == 1, elroy));
+				}
+			}
+		}
+		for (PacManState state : PACMAN_STATES) {
+			pacManSpeeds[state.ordinal()] = speed(pacManSpeedFraction(state));
+		}
+	}
+
+	private static int ghostIndex(GhostState state, boolean tunnel, int elroy) {
+		return ((state.ordinal() << 1) + (tunnel ? 1 : 0)) * ELROY_LEVELS + elroy;
+	}
+
+	private float ghostSpeedFraction(GhostState state, boolean tunnel, int elroy) {
+		switch (state) {
+		case LOCKED:
+		case LEAVING_HOUSE:
+			return level.ghostSpeed / 2;
+		case ENTERING_HOUSE:
+			return level.ghostSpeed;
+		case CHASING:
+		case SCATTERING:
+			if (tunnel) {
+				return level.ghostTunnelSpeed;
+			}
+			return elroy == 2 ? level.elroy2Speed : elroy == 1 ? level.elroy1Speed : level.ghostSpeed;
+		case FRIGHTENED:
+			return tunnel ? level.ghostTunnelSpeed : level.ghostFrightenedSpeed;
+		case DEAD:
+			return 2 * level.ghostSpeed;
+		default:
+			throw new IllegalArgumentException(String.format("Illegal ghost state %s", state));
+		}
+	}
+
+	private float pacManSpeedFraction(PacManState state) {
+		switch (state) {
+		case AWAKE:
+			return level.pacManSpeed;
+		case POWERFUL:
+			return level.pacManPowerSpeed;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * @param state  ghost state
+	 * @param tunnel if the ghost is inside a tunnel or portal
+	 * @param elroy  Elroy level (0..2)
+	 * @return ghost speed in pixels/tick
+	 */
+	public float ghostSpeed(GhostState state, boolean tunnel, int elroy) {
+		return ghostSpeeds[ghostIndex(state, tunnel, elroy)];
+	}
+
+	/**
+	 * @param state Pac-Man state
+	 * @return Pac-Man speed in pixels/tick
+	 */
+	public float pacManSpeed(PacManState state) {
+		return pacManSpeeds[state.ordinal()];
+	}
+}
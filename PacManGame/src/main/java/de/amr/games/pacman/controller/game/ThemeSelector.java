@@ -6,18 +6,28 @@ import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.Themes;
 
+/**
+ * Selects one of the registered themes. A theme is loaded when it is accessed for the first time
+ * after being selected, so selecting a theme whose loading runs in the background does not wait for
+ * it.
+ * 
+ * @author Armin Reichert
+ */
 public class ThemeSelector {
 
 	private int current;
+	private String[] themeNames;
 	private Theme[] themes;
 	private List<Consumer<Theme>> listeners = new ArrayList<>();
 
-	public ThemeSelector(List<Theme> themes) {
-		this.themes = themes.toArray(Theme[]::new);
-		if (this.themes.length == 0) {
+	public ThemeSelector(List<String> themeNames) {
+		this.themeNames = themeNames.toArray(String[]::new);
+		if (this.themeNames.length == 0) {
 			throw new IllegalArgumentException("At least one theme must be provided");
 		}
+		themes = new Theme[this.themeNames.length];
 	}
 
 	public void addListener(Consumer<Theme> listener) {
@@ -25,6 +35,10 @@ public class ThemeSelector {
 	}
 
 	public Theme current() {
+		if (themes[current] == null) {
+			themes[current] = Themes.getTheme(themeNames[current])
+					.orElseThrow(() -> new IllegalStateException("Theme not registered: " + themeNames[current]));
+		}
 		return themes[current];
 	}
 
@@ -46,14 +60,22 @@ public class ThemeSelector {
 		return current();
 	}
 
-	public Theme select(String themeName) {
+	/**
+	 * Selects the theme with the given name. Listeners get the theme (which loads it if needed), the
+	 * theme itself is not accessed otherwise.
+	 * 
+	 * @param themeName theme name
+	 */
+	public void select(String themeName) {
 		//@formatter:off
-		current = IntStream.range(0, themes.length)
-			.filter(i -> themes[i].name().equalsIgnoreCase(themeName))
+		current = IntStream.range(0, themeNames.length)
+			.filter(i -> themeNames[i].equalsIgnoreCase(themeName))
 			.findFirst()
 			.orElseThrow(() -> new IllegalArgumentException("Illegal theme name: " + themeName));
 		//@formatter:on
-		listeners.forEach(l -> l.accept(current()));
-		return current();
+		if (!listeners.isEmpty()) {
+			Theme theme = current();
+			listeners.forEach(l -> l.accept(theme));
+		}
 	}
-}
\ No newline at end of file
+}
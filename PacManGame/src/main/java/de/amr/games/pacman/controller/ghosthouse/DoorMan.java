@@ -10,11 +10,14 @@ import static de.amr.games.pacman.controller.ghosthouse.Decision.rejected;
 import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacman.controller.event.GhostUnlockedEvent;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Door;
@@ -22,7 +25,8 @@ import de.amr.games.pacman.model.world.components.Door.DoorState;
 import de.amr.games.pacman.model.world.components.House;
 
 /**
- * This class controls when and in which order locked ghosts can leave the ghost house.
+ * This class controls when and in which order locked ghosts can leave the ghost house. Each house has
+ * its own door man controlling the group of ghosts living in that house.
  * 
  * @author Armin Reichert
  * 
@@ -32,18 +36,32 @@ import de.amr.games.pacman.model.world.components.House;
 public class DoorMan implements Lifecycle {
 
 	private final House house;
-	private final Folks folks;
 	private final Ghost[] ghost_preference;
+	private final Map<Ghost, Integer> preferenceIndex = new IdentityHashMap<>();
 	private final DotCounter globalCounter;
 	private final int[] ghostCounters;
 	private int pacManStarvingTicks;
+	private boolean doorsChanged;
 
 	public DoorMan(House house, Folks folks) {
 		this.house = house;
-		this.folks = folks;
-		ghost_preference = new Ghost[] { folks.blinky, folks.pinky, folks.inky, folks.clyde };
+		ghost_preference = folks.group(house);
+		for (int i = 0; i < ghost_preference.length; ++i) {
+			Ghost ghost = ghost_preference[i];
+			preferenceIndex.put(ghost, i);
+			// the doors only need to be updated when a ghost moves or starts/stops passing a door
+			ghost.addTileEnteredListener((guy, tile) -> doorsChanged = true);
+			ghost.ai.addStateEntryListener(ENTERING_HOUSE, state -> doorsChanged = true);
+			ghost.ai.addStateExitListener(ENTERING_HOUSE, state -> doorsChanged = true);
+			ghost.ai.addStateEntryListener(LEAVING_HOUSE, state -> doorsChanged = true);
+			ghost.ai.addStateExitListener(LEAVING_HOUSE, state -> doorsChanged = true);
+		}
 		globalCounter = new DotCounter();
-		ghostCounters = new int[4];
+		ghostCounters = new int[ghost_preference.length];
+	}
+
+	public House house() {
+		return house;
 	}
 
 	@Override
@@ -64,18 +82,21 @@ public class DoorMan implements Lifecycle {
 			}
 		});
 		pacManStarvingTicks += 1;
-		house.doors().forEach(this::closeDoor);
-		house.doors().filter(this::isOpeningDoorRequested).forEach(this::openDoor);
+		if (doorsChanged) {
+			doorsChanged = false;
+			house.doors().forEach(door -> door.state = isOpeningDoorRequested(door) ? DoorState.OPEN : DoorState.CLOSED);
+		}
 	}
 
 	public void onPacManFoundFood() {
 		pacManStarvingTicks = 0;
 		if (globalCounter.enabled) {
 			globalCounter.dots++;
-			if (globalCounter.dots == 32 && folks.clyde.ai.is(LOCKED)) {
+			Ghost last = ghost_preference[ghost_preference.length - 1];
+			if (globalCounter.dots == 32 && last.ai.is(LOCKED)) {
 				globalCounter.dots = 0;
 				globalCounter.enabled = false;
-				loginfo("Global dot counter reset and disabled (Clyde was locked when counter reached 32)");
+				loginfo("Global dot counter reset and disabled (%s was locked when counter reached 32)", last.name);
 			}
 		} else {
 			preferredLockedGhost().ifPresent(ghost -> {
@@ -121,29 +142,46 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public int personalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
+		return personalDotLimit(ghost.personality, game.level);
+	}
+
+	/**
+	 * @param personality ghost personality (not Shadow, Blinky is never locked)
+	 * @param level       game level
+	 * @return number of dots the ghost's personal counter must reach before it can leave the house
+	 */
+	public static int personalDotLimit(GhostPersonality personality, int level) {
+		switch (personality) {
+		case SPEEDY:
 			return 0;
+		case BASHFUL:
+			return level == 1 ? 30 : 0;
+		case POKEY:
+			return level == 1 ? 60 : level == 2 ? 50 : 0;
+		default:
+			throw new IllegalArgumentException("Ghost must be either speedy (Pinky), bashful (Inky) or pokey (Clyde)");
 		}
-		if (ghost == folks.inky) {
-			return game.level == 1 ? 30 : 0;
-		}
-		if (ghost == folks.clyde) {
-			return game.level == 1 ? 60 : game.level == 2 ? 50 : 0;
-		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
 	}
 
 	public int globalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
+		return globalDotLimit(ghost.personality);
+	}
+
+	/**
+	 * @param personality ghost personality (not Shadow, Blinky is never locked)
+	 * @return number of dots the global counter must reach before the ghost can leave the house
+	 */
+	public static int globalDotLimit(GhostPersonality personality) {
+		switch (personality) {
+		case SPEEDY:
 			return 7;
-		}
-		if (ghost == folks.inky) {
+		case BASHFUL:
 			return 17;
-		}
-		if (ghost == folks.clyde) {
+		case POKEY:
 			return 32;
+		default:
+			throw new IllegalArgumentException("Ghost must be either speedy (Pinky), bashful (Inky) or pokey (Clyde)");
 		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
 	}
 
 	public int pacManStarvingTicks() {
@@ -151,20 +189,22 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public Optional<Ghost> preferredLockedGhost() {
-		//@formatter:off
-		return Arrays.stream(ghost_preference)
-			.filter(ghost -> ghost.world.contains(ghost))
-			.filter(ghost -> ghost.ai.is(LOCKED))
-			.findFirst();
-		//@formatter:on
+		for (Ghost ghost : ghost_preference) {
+			if (ghost.world.contains(ghost) && ghost.ai.is(LOCKED)) {
+				return Optional.of(ghost);
+			}
+		}
+		return Optional.empty();
 	}
 
 	public void closeDoor(Door door) {
 		door.state = DoorState.CLOSED;
+		doorsChanged = true;
 	}
 
 	public void openDoor(Door door) {
 		door.state = DoorState.OPEN;
+		doorsChanged = true;
 	}
 
 	private void resetGhostDotCounters() {
@@ -173,7 +213,11 @@ public class DoorMan implements Lifecycle {
 	}
 
 	private int index(Ghost ghost) {
-		return ghost.personality.ordinal();
+		Integer index = preferenceIndex.get(ghost);
+		if (index == null) {
+			throw new IllegalArgumentException(String.format("%s does not live in this house", ghost.name));
+		}
+		return index;
 	}
 
 	private void unlock(Ghost ghost) {
@@ -181,21 +225,31 @@ public class DoorMan implements Lifecycle {
 	}
 
 	private boolean isOpeningDoorRequested(Door door) {
-		//@formatter:off
-		return folks.ghostsInWorld()
-			.filter(ghost -> ghost.ai.is(ENTERING_HOUSE, LEAVING_HOUSE))
-			.anyMatch(ghost -> isGhostNearDoor(ghost, door));
-		//@formatter:on
+		for (Ghost ghost : ghost_preference) {
+			if (ghost.world.contains(ghost) && ghost.ai.is(ENTERING_HOUSE, LEAVING_HOUSE) && isGhostNearDoor(ghost, door)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private boolean isGhostNearDoor(Ghost ghost, Door door) {
-		Tile fromGhostTowardsHouse = ghost.world.neighbor(ghost.tile(), door.intoHouse);
-		Tile fromGhostAwayFromHouse = ghost.world.neighbor(ghost.tile(), door.intoHouse.opposite());
-		return door.includes(ghost.tile()) || door.includes(fromGhostAwayFromHouse) || door.includes(fromGhostTowardsHouse);
+		Tile location = ghost.tile();
+		Tile fromGhostTowardsHouse = ghost.world.neighbor(location, door.intoHouse);
+		Tile fromGhostAwayFromHouse = ghost.world.neighbor(location, door.intoHouse.opposite());
+		return door.includes(location) || door.includes(fromGhostAwayFromHouse) || door.includes(fromGhostTowardsHouse);
 	}
 
 	private long pacManStarvingTimeLimit() {
-		return game.level < 5 ? sec(4) : sec(3);
+		return pacManStarvingTimeLimit(game.level);
+	}
+
+	/**
+	 * @param level game level
+	 * @return ticks after which a ghost is released when Pac-Man has not eaten anything
+	 */
+	public static long pacManStarvingTimeLimit(int level) {
+		return level < 5 ? sec(4) : sec(3);
 	}
 
 	/**
@@ -210,7 +264,7 @@ public class DoorMan implements Lifecycle {
 		if (!ghost.ai.is(LOCKED)) {
 			return confirmed("Ghost is not locked, can leave house");
 		}
-		if (ghost == folks.blinky) {
+		if (ghost.personality == GhostPersonality.SHADOW) {
 			return confirmed("%s can always leave house", ghost.name);
 		}
 		if (pacManStarvingTicks >= pacManStarvingTimeLimit()) {
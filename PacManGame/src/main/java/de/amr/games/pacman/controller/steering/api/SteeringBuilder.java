@@ -156,14 +156,23 @@ public class SteeringBuilder {
 	public class HeadsForTargetTileBuilder {
 
 		private Supplier<Tile> fnTargetTile;
+		private Tile constantTargetTile;
 
 		public HeadsForTargetTileBuilder tile(Supplier<Tile> fnTargetTile) {
 			this.fnTargetTile = Objects.requireNonNull(fnTargetTile);
+			constantTargetTile = null;
 			return this;
 		}
 
 		public HeadsForTargetTileBuilder tile(Tile targetTile) {
-			return tile(() -> targetTile);
+			tile(() -> targetTile);
+			constantTargetTile = Objects.requireNonNull(targetTile);
+			return this;
+		}
+
+		private HeadingForTargetTile steering() {
+			return constantTargetTile != null ? new HeadingForTargetTile(constantTargetTile)
+					: new HeadingForTargetTile(fnTargetTile);
 		}
 
 		public HeadsForTargetTileBuilder tile(int col, int row) {
@@ -173,10 +182,10 @@ public class SteeringBuilder {
 		public Steering ok() {
 			if (ghost != null) {
 				ensureGhostState();
-				ghost.setSteering(ghostState, new HeadingForTargetTile(fnTargetTile));
+				ghost.setSteering(ghostState, steering());
 				return ghost.getSteering();
 			} else if (pacMan != null) {
-				pacMan.setSteering(PacManState.AWAKE, new HeadingForTargetTile(fnTargetTile));
+				pacMan.setSteering(PacManState.AWAKE, steering());
 				return pacMan.getSteering();
 			}
 			throw new IllegalStateException();
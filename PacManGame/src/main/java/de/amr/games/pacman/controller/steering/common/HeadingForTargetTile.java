@@ -7,16 +7,22 @@ import static de.amr.games.pacman.model.world.api.Direction.UP;
 import static java.util.Comparator.comparing;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.WeakHashMap;
 import java.util.function.Supplier;
 
 import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.creatures.MovementRules;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
 
 /**
  * Steers a guy towards a target tile.
@@ -30,6 +36,41 @@ public class HeadingForTargetTile implements Steering {
 
 	private static final List<Direction> DIRECTION_ORDER = List.of(UP, LEFT, DOWN, RIGHT);
 
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private static final byte UNKNOWN = -1;
+
+	/**
+	 * The decision tables of a world for constant targets, per (target tile, movement rules). The
+	 * entry at {@code 4 * tileIndex + moveDir.ordinal()} is the ordinal of the best direction or
+	 * {@link #UNKNOWN} if not yet computed. The tables are only valid for the world structure version
+	 * they have been computed for.
+	 */
+	private static class DecisionTables {
+
+		final int structureVersion;
+		final Map<List<Object>, byte[]> tables = new HashMap<>();
+
+		DecisionTables(int structureVersion) {
+			this.structureVersion = structureVersion;
+		}
+	}
+
+	private static final Map<TiledWorld, DecisionTables> DECISION_TABLES = new WeakHashMap<>();
+
+	private static byte[] decisionTable(TiledWorld world, Tile target, MovementRules rules) {
+		DecisionTables worldTables = DECISION_TABLES.get(world);
+		if (worldTables == null || worldTables.structureVersion != world.structureVersion()) {
+			worldTables = new DecisionTables(world.structureVersion());
+			DECISION_TABLES.put(world, worldTables);
+		}
+		return worldTables.tables.computeIfAbsent(List.of(target, rules), key -> {
+			byte[] table = new byte[4 * world.numTiles()];
+			Arrays.fill(table, UNKNOWN);
+			return table;
+		});
+	}
+
 	/**
 	 * Computes the next direction to take for reaching the target tile as described
 	 * <a href= "http://gameinternals.com/understanding-pac-man-ghost-behavior">here.</a>
@@ -56,12 +97,30 @@ public class HeadingForTargetTile implements Steering {
 	}
 
 	private final Supplier<Tile> fnTargetTile;
+	private final Tile constantTarget;
+	private byte[] decisions;
+	private TiledWorld decisionsWorld;
+	private MovementRules decisionsRules;
+	private int decisionsStructureVersion;
 	private List<Tile> path;
 	private boolean pathComputed;
 	private boolean forced;
 
 	public HeadingForTargetTile(Supplier<Tile> fnTargetTile) {
 		this.fnTargetTile = Objects.requireNonNull(fnTargetTile);
+		constantTarget = null;
+		path = Collections.emptyList();
+	}
+
+	/**
+	 * Steering towards a target tile that never changes. The decisions are looked up in a table shared
+	 * by all guys with the same target and the same movement rules.
+	 * 
+	 * @param constantTarget target tile
+	 */
+	public HeadingForTargetTile(Tile constantTarget) {
+		this.constantTarget = Objects.requireNonNull(constantTarget);
+		fnTargetTile = () -> constantTarget;
 		path = Collections.emptyList();
 	}
 
@@ -75,13 +134,45 @@ public class HeadingForTargetTile implements Steering {
 		if (forced || guy.enteredNewTile) {
 			Tile target = fnTargetTile.get();
 			if (target != null) {
-				guy.wishDir = bestDirTowardsTarget(guy, guy.moveDir, guy.tile(), target);
+				if (constantTarget != null) {
+					updateDecisions(guy);
+				}
+				guy.wishDir = nextDir(guy, guy.moveDir, guy.tile(), target);
 				updatePath(guy, target);
 			}
 			forced = false;
 		}
 	}
 
+	/**
+	 * Selects the decision table for the guy's current world, world structure and movement rules.
+	 */
+	private void updateDecisions(Guy<?> guy) {
+		MovementRules rules = guy.movementRules();
+		int structureVersion = guy.world.structureVersion();
+		if (decisions == null || guy.world != decisionsWorld || rules != decisionsRules
+				|| structureVersion != decisionsStructureVersion) {
+			decisions = decisionTable(guy.world, constantTarget, rules);
+			decisionsWorld = guy.world;
+			decisionsRules = rules;
+			decisionsStructureVersion = structureVersion;
+		}
+	}
+
+	/**
+	 * Looks up the direction in the decision table if there is one, otherwise computes it.
+	 */
+	private Direction nextDir(Guy<?> guy, Direction moveDir, Tile tile, Tile target) {
+		if (decisions == null || !guy.world.includes(tile)) {
+			return bestDirTowardsTarget(guy, moveDir, tile, target);
+		}
+		int i = 4 * ((tile.row - guy.world.row()) * guy.world.width() + (tile.col - guy.world.col())) + moveDir.ordinal();
+		if (decisions[i] == UNKNOWN) {
+			decisions[i] = (byte) bestDirTowardsTarget(guy, moveDir, tile, target).ordinal();
+		}
+		return DIRECTIONS[decisions[i]];
+	}
+
 	/**
 	 * Computes the path the guy would traverse until either reaching the target tile, running into a
 	 * cycle or entering a portal.
@@ -93,7 +184,7 @@ public class HeadingForTargetTile implements Steering {
 			Tile next = guy.tile();
 			while (!next.equals(target) && guy.world.includes(next) && !path.contains(next)) {
 				path.add(next);
-				dir = bestDirTowardsTarget(guy, dir, next, target);
+				dir = nextDir(guy, dir, next, target);
 				next = guy.world.neighbor(next, dir);
 			}
 		}
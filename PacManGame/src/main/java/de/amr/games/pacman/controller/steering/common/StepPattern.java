@@ -0,0 +1,86 @@
+package de.amr.games.pacman.controller.steering.common;
+
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Movement speed as a pattern of step distances repeating every {@link #PERIOD} ticks, like the
+ * speed tables of the Arcade game. Distances are fixed-point numbers with {@link #FRACTION_BITS}
+ * bits for the sub-pixel part. Whole pixels are distributed over the period first (so speeds given
+ * in pixels per period move by whole pixels only), the sub-pixel remainder after that.
+ * <p>
+ * Patterns are computed once per distinct speed and shared.
+ * 
+ * @author Armin Reichert
+ */
+public final class StepPattern {
+
+	/** Number of fractional bits of fixed-point positions and distances. */
+	public static final int FRACTION_BITS = 8;
+
+	/** One pixel in fixed-point. */
+	public static final int ONE = 1 << FRACTION_BITS;
+
+	/** Shift converting a fixed-point position into a tile index. */
+	public static final int TILE_SHIFT = FRACTION_BITS + Tile.SIZE_SHIFT;
+
+	/** Mask giving the fixed-point offset of a position inside its tile. */
+	public static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+	/** Number of ticks after which a pattern repeats. */
+	public static final int PERIOD = 16;
+
+	/** Largest supported distance per period (4 pixels per tick). */
+	private static final int MAX_DISTANCE = 4 * PERIOD * ONE;
+
+	private static final StepPattern[] PATTERNS = new StepPattern[MAX_DISTANCE + 1];
+
+	/**
+	 * @param value pixels
+	 * @return fixed-point value (rounded to the nearest sub-pixel)
+	 */
+	public static int fixed(float value) {
+		return Math.round(value * ONE);
+	}
+
+	/**
+	 * @param value fixed-point value
+	 * @return the value in pixels (exact)
+	 */
+	public static float pixels(int value) {
+		return (float) value / ONE;
+	}
+
+	/**
+	 * @param speed speed in pixels per tick
+	 * @return the step pattern for the given speed
+	 */
+	public static StepPattern ofSpeed(float speed) {
+		int distance = Math.max(0, Math.min(MAX_DISTANCE, fixed(speed * PERIOD)));
+		StepPattern pattern = PATTERNS[distance];
+		if (pattern == null) {
+			pattern = PATTERNS[distance] = new StepPattern(distance);
+		}
+		return pattern;
+	}
+
+	private final int[] steps = new int[PERIOD];
+	public final int distancePerPeriod;
+
+	private StepPattern(int distancePerPeriod) {
+		this.distancePerPeriod = distancePerPeriod;
+		int pixels = distancePerPeriod >> FRACTION_BITS, rest = distancePerPeriod & (ONE - 1);
+		for (int i = 0; i < PERIOD; ++i) {
+			int wholePixels = (i + 1) * pixels / PERIOD - i * pixels / PERIOD;
+			int subPixels = (i + 1) * rest / PERIOD - i * rest / PERIOD;
+			steps[i] = wholePixels * ONE + subPixels;
+		}
+	}
+
+	/**
+	 * @param tick tick counter
+	 * @return fixed-point distance moved at the given tick
+	 */
+	public int distance(int tick) {
+		return steps[tick & (PERIOD - 1)];
+	}
+}
@@ -47,7 +47,7 @@ public class EnteringDoorAndGoingToBed extends StateMachine<State, Void> impleme
 						Transform tf = ghost.tf;
 						Direction awayFromHouse = door.intoHouse.opposite();
 						Vector2f houseEntry = door.center().add(awayFromHouse.vector().times(Tile.SIZE));
-						tf.setPosition(houseEntry.x - tf.width / 2, houseEntry.y - tf.height / 2);
+						ghost.placeAt(houseEntry.x - tf.width / 2, houseEntry.y - tf.height / 2);
 						ghost.wishDir = Direction.DOWN;					
 					})
 					
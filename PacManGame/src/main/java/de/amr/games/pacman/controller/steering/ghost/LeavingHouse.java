@@ -22,9 +22,9 @@ public class LeavingHouse implements Steering {
 		Tile exit = Tile.at(house.bed(0).col(), house.bed(0).row());
 		int targetX = exit.centerX(), targetY = exit.y();
 		if (guy.tf.y <= targetY) {
-			guy.tf.y = targetY;
+			guy.placeAt(guy.tf.x, targetY);
 		} else if (Math.round(guy.tf.x) == targetX) {
-			guy.tf.x = targetX;
+			guy.placeAt(targetX, guy.tf.y);
 			guy.wishDir = UP;
 		} else if (guy.tf.x < targetX) {
 			guy.wishDir = RIGHT;
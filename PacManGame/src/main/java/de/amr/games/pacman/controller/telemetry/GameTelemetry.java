@@ -0,0 +1,124 @@
+package de.amr.games.pacman.controller.telemetry;
+
+import static de.amr.easy.game.Application.app;
+import static de.amr.games.pacman.model.game.PacManGame.game;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.event.BonusFoundEvent;
+import de.amr.games.pacman.controller.event.FoodFoundEvent;
+import de.amr.games.pacman.controller.event.GhostKilledEvent;
+import de.amr.games.pacman.controller.event.LevelCompletedEvent;
+import de.amr.games.pacman.controller.event.PacManGainsPowerEvent;
+import de.amr.games.pacman.controller.event.PacManGameEvent;
+import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
+import de.amr.games.pacman.controller.event.PacManKilledEvent;
+import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
+import de.amr.games.pacman.controller.game.GhostCommand;
+import de.amr.games.pacman.controller.game.PacManGameState;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.statemachine.core.StateMachine;
+
+/**
+ * Translates the events and state changes of the game into telemetry records.
+ *
+ * @author Armin Reichert
+ */
+public class GameTelemetry {
+
+	public static final int ACTOR_NONE = 0;
+	public static final int ACTOR_PACMAN = 1;
+	public static final int ACTOR_FIRST_GHOST = 2;
+
+	private final Telemetry telemetry;
+	private final Folks folks;
+
+	public GameTelemetry(Telemetry telemetry, Folks folks) {
+		this.telemetry = telemetry;
+		this.folks = folks;
+	}
+
+	/**
+	 * Registers listeners for the events and state changes of the game controller, the folks and the
+	 * ghost command.
+	 *
+	 * @param gameController game controller state machine
+	 * @param ghostCommand   ghost command
+	 */
+	public void attach(StateMachine<PacManGameState, PacManGameEvent> gameController, GhostCommand ghostCommand) {
+		for (PacManGameState state : PacManGameState.values()) {
+			gameController.addStateEntryListener(state,
+					s -> record(TelemetryEventType.GAME_STATE, ACTOR_NONE, 0, 0, state.ordinal()));
+		}
+		for (GhostCommand.Phase phase : GhostCommand.Phase.values()) {
+			ghostCommand.addStateEntryListener(phase,
+					s -> record(TelemetryEventType.GHOST_COMMAND_PHASE, ACTOR_NONE, 0, 0, phase.ordinal()));
+		}
+		for (PacManState state : PacManState.values()) {
+			folks.pacMan.ai.addStateEntryListener(state, s -> record(TelemetryEventType.PACMAN_STATE, ACTOR_PACMAN,
+					folks.pacMan.col(), folks.pacMan.row(), state.ordinal()));
+		}
+		folks.pacMan.ai.addEventListener(this::recordEvent);
+		for (int i = 0; i < folks.numGhosts(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			int actor = ACTOR_FIRST_GHOST + i;
+			for (GhostState state : GhostState.values()) {
+				ghost.ai.addStateEntryListener(state,
+						s -> record(TelemetryEventType.GHOST_STATE, actor, ghost.col(), ghost.row(), state.ordinal()));
+			}
+			ghost.ai.addEventListener(this::recordEvent);
+		}
+	}
+
+	/**
+	 * Records a game event.
+	 *
+	 * @param event game event
+	 */
+	public void recordEvent(PacManGameEvent event) {
+		if (event instanceof BonusFoundEvent) {
+			BonusFoundEvent bonusFound = (BonusFoundEvent) event;
+			int value = bonusFound.food instanceof TemporaryFood ? ((TemporaryFood) bonusFound.food).value() : 0;
+			record(TelemetryEventType.BONUS_FOUND, ACTOR_PACMAN, bonusFound.location.col, bonusFound.location.row, value);
+		} else if (event instanceof FoodFoundEvent) {
+			FoodFoundEvent foodFound = (FoodFoundEvent) event;
+			record(TelemetryEventType.FOOD_FOUND, ACTOR_PACMAN, foodFound.location.col, foodFound.location.row,
+					foodFound.food == ArcadeFood.ENERGIZER ? 1 : 0);
+		} else if (event instanceof GhostKilledEvent) {
+			Ghost ghost = ((GhostKilledEvent) event).ghost;
+			record(TelemetryEventType.GHOST_KILLED, actor(ghost), ghost.col(), ghost.row(), ghost.bounty);
+		} else if (event instanceof PacManKilledEvent) {
+			Ghost killer = ((PacManKilledEvent) event).killer;
+			record(TelemetryEventType.PACMAN_KILLED, actor(killer), folks.pacMan.col(), folks.pacMan.row(), 0);
+		} else if (event instanceof PacManGhostCollisionEvent) {
+			Ghost ghost = ((PacManGhostCollisionEvent) event).ghost;
+			record(TelemetryEventType.PACMAN_GHOST_COLLISION, actor(ghost), ghost.col(), ghost.row(), 0);
+		} else if (event instanceof LevelCompletedEvent) {
+			record(TelemetryEventType.LEVEL_COMPLETED, ACTOR_NONE, 0, 0, PacManGame.started() ? game.level : 0);
+		} else if (event instanceof PacManGainsPowerEvent) {
+			record(TelemetryEventType.PACMAN_GAINS_POWER, ACTOR_PACMAN, folks.pacMan.col(), folks.pacMan.row(),
+					(int) ((PacManGainsPowerEvent) event).duration);
+		} else if (event instanceof PacManLostPowerEvent) {
+			record(TelemetryEventType.PACMAN_LOST_POWER, ACTOR_PACMAN, folks.pacMan.col(), folks.pacMan.row(), 0);
+		} else {
+			record(TelemetryEventType.OTHER_EVENT, ACTOR_NONE, 0, 0, 0);
+		}
+	}
+
+	private int actor(Ghost ghost) {
+		for (int i = 0; i < folks.numGhosts(); ++i) {
+			if (folks.ghost(i) == ghost) {
+				return ACTOR_FIRST_GHOST + i;
+			}
+		}
+		return ACTOR_NONE;
+	}
+
+	private void record(TelemetryEventType type, int actor, int x, int y, int value) {
+		telemetry.record(app().clock().getTotalTicks(), type, actor, x, y, value);
+	}
+}
@@ -0,0 +1,129 @@
+package de.amr.games.pacman.controller.telemetry;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Telemetry channel writing typed records into a {@link TelemetryRing} which is drained by a
+ * background thread into a compact binary file.
+ * <p>
+ * File format: header {@code [magic:int][version:short][start time millis:long][record size:short]}
+ * followed by fixed-size records {@code [tick:long][type:byte][actor:byte][x:short][y:short][value:int]}.
+ * Use {@link TelemetryReader} to read the file.
+ *
+ * @author Armin Reichert
+ */
+public class Telemetry {
+
+	static final int MAGIC = 0x504D544C; // "PMTL"
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 4 + 2 + 8 + 2;
+	static final int RECORD_SIZE = 8 + 1 + 1 + 2 + 2 + 4;
+
+	private static final int RING_CAPACITY = 1 << 14;
+	private static final int BUFFER_RECORDS = 4096;
+	private static final long IDLE_WAIT_MILLIS = 20;
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+	private final Path file;
+	private final TelemetryRing ring = new TelemetryRing(RING_CAPACITY);
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+	private final FileChannel channel;
+	private final Thread writer;
+	private volatile boolean running;
+	private long written;
+
+	/**
+	 * Creates the telemetry file and starts the background writer.
+	 *
+	 * @param file telemetry file (gets overwritten)
+	 */
+	public Telemetry(Path file) {
+		this.file = file;
+		try {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			buffer.putInt(MAGIC).putShort(VERSION).putLong(System.currentTimeMillis()).putShort((short) RECORD_SIZE);
+			writeBuffer();
+		} catch (IOException x) {
+			throw new IllegalStateException("Could not create telemetry file " + file, x);
+		}
+		running = true;
+		writer = new Thread(this::writeLoop, "TelemetryWriter");
+		writer.setDaemon(true);
+		writer.start();
+		loginfo("Telemetry is written to file '%s'", file);
+	}
+
+	/**
+	 * Records an event. Does not allocate or block, if the ring buffer is full the record is dropped.
+	 *
+	 * @param tick  clock tick
+	 * @param type  event type
+	 * @param actor actor id (0 = none, 1 = Pac-Man, 2 + i = ghost i)
+	 * @param x     x-coordinate (usually tile column)
+	 * @param y     y-coordinate (usually tile row)
+	 * @param value type-specific value
+	 */
+	public void record(long tick, TelemetryEventType type, int actor, int x, int y, int value) {
+		ring.offer(tick, type.ordinal(), actor, x, y, value);
+	}
+
+	/**
+	 * Writes the remaining records and closes the file.
+	 */
+	public void close() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeLoop() {
+		TelemetryRing.RecordConsumer appender = this::append;
+		try {
+			while (running) {
+				if (ring.drain(appender, BUFFER_RECORDS - buffer.position() / RECORD_SIZE) == 0) {
+					writeBuffer();
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(IDLE_WAIT_MILLIS));
+				} else if (!buffer.hasRemaining()) {
+					writeBuffer();
+				}
+			}
+			while (ring.drain(appender, BUFFER_RECORDS - buffer.position() / RECORD_SIZE) > 0) {
+				writeBuffer();
+			}
+			writeBuffer();
+			channel.close();
+			loginfo("Telemetry file '%s' closed, %d records written, %d dropped", file, written, ring.dropped());
+		} catch (IOException x) {
+			loginfo("Could not write telemetry file '%s': %s", file, x.getMessage());
+		}
+	}
+
+	private void append(long tick, int type, int actor, int x, int y, int value) {
+		buffer.putLong(tick).put((byte) type).put((byte) actor).putShort((short) x).putShort((short) y).putInt(value);
+		++written;
+	}
+
+	private void writeBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,59 @@
+package de.amr.games.pacman.controller.telemetry;
+
+/**
+ * Types of telemetry records. The ordinal is stored in the telemetry file, so new types must only be
+ * appended at the end.
+ *
+ * @author Armin Reichert
+ */
+public enum TelemetryEventType {
+
+	/** Pac-Man found a pellet (value 0) or an energizer (value 1) at (x, y). */
+	FOOD_FOUND,
+
+	/** Pac-Man found the bonus at (x, y), value is the bonus value. */
+	BONUS_FOUND,
+
+	/** Pac-Man killed the ghost (actor) at (x, y), value is the bounty. */
+	GHOST_KILLED,
+
+	/** Pac-Man got killed at (x, y) by the ghost (actor). */
+	PACMAN_KILLED,
+
+	/** Level completed, value is the level number. */
+	LEVEL_COMPLETED,
+
+	/** Pac-Man gains power, value is the duration in ticks. */
+	PACMAN_GAINS_POWER,
+
+	/** Pac-Man lost his power. */
+	PACMAN_LOST_POWER,
+
+	/** Pac-Man and the ghost (actor) collided at (x, y). */
+	PACMAN_GHOST_COLLISION,
+
+	/** Any other game event. */
+	OTHER_EVENT,
+
+	/** The game controller entered the state with the ordinal given by value. */
+	GAME_STATE,
+
+	/** Pac-Man (actor) entered the state with the ordinal given by value. */
+	PACMAN_STATE,
+
+	/** The ghost (actor) entered the state with the ordinal given by value. */
+	GHOST_STATE,
+
+	/** The ghost command entered the phase with the ordinal given by value. */
+	GHOST_COMMAND_PHASE;
+
+	private static final TelemetryEventType[] VALUES = values();
+
+	/**
+	 * @param ordinal ordinal value as stored in a telemetry file
+	 * @return the type with this ordinal or {@code null} if there is no such type
+	 */
+	public static TelemetryEventType byOrdinal(int ordinal) {
+		return 0 <= ordinal && ordinal < VALUES.length ? VALUES[ordinal] : null;
+	}
+}
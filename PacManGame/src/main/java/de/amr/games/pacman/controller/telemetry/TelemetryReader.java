@@ -0,0 +1,104 @@
+package de.amr.games.pacman.controller.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Offline reader for telemetry files written by {@link Telemetry}.
+ * <p>
+ * Can be run as a program: {@code TelemetryReader <file> [dump]} prints the number of records per
+ * event type and, with the {@code dump} option, all records.
+ *
+ * @author Armin Reichert
+ */
+public class TelemetryReader {
+
+	private final Path file;
+	private long startTime;
+	private long records;
+
+	public TelemetryReader(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * @return start time of the recording in epoch milliseconds (available after reading)
+	 */
+	public long startTime() {
+		return startTime;
+	}
+
+	/**
+	 * @return number of records read
+	 */
+	public long records() {
+		return records;
+	}
+
+	/**
+	 * Reads the file and passes each record to the consumer. An incomplete record at the end (from a
+	 * crash) is ignored.
+	 *
+	 * @param consumer record consumer
+	 * @throws IOException if the file cannot be read or has an unknown format
+	 */
+	public void read(TelemetryRing.RecordConsumer consumer) throws IOException {
+		records = 0;
+		try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(4096 * Telemetry.RECORD_SIZE);
+			buffer.limit(Telemetry.HEADER_SIZE);
+			while (buffer.hasRemaining() && in.read(buffer) != -1) {
+				// read header
+			}
+			buffer.flip();
+			if (buffer.remaining() < Telemetry.HEADER_SIZE || buffer.getInt() != Telemetry.MAGIC
+					|| buffer.getShort() != Telemetry.VERSION) {
+				throw new IOException("Not a telemetry file: " + file);
+			}
+			startTime = buffer.getLong();
+			int recordSize = buffer.getShort();
+			if (recordSize != Telemetry.RECORD_SIZE) {
+				throw new IOException("Unsupported telemetry record size: " + recordSize);
+			}
+			buffer.clear();
+			while (in.read(buffer) != -1) {
+				buffer.flip();
+				while (buffer.remaining() >= recordSize) {
+					consumer.accept(buffer.getLong(), buffer.get() & 0xFF, buffer.get() & 0xFF, buffer.getShort(),
+							buffer.getShort(), buffer.getInt());
+					++records;
+				}
+				buffer.compact();
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: TelemetryReader <file> [dump]");
+			return;
+		}
+		boolean dump = args.length > 1 && "dump".equals(args[1]);
+		TelemetryReader reader = new TelemetryReader(Paths.get(args[0]));
+		long[] countByType = new long[TelemetryEventType.values().length];
+		reader.read((tick, type, actor, x, y, value) -> {
+			TelemetryEventType eventType = TelemetryEventType.byOrdinal(type);
+			if (eventType != null) {
+				countByType[type]++;
+			}
+			if (dump) {
+				System.out.println(String.format("%8d %-22s actor=%d x=%d y=%d value=%d", tick, eventType, actor, x, y, value));
+			}
+		});
+		System.out.println(String.format("Recording started %s, %d records", Instant.ofEpochMilli(reader.startTime()),
+				reader.records()));
+		for (TelemetryEventType type : TelemetryEventType.values()) {
+			System.out.println(String.format("%-22s %8d", type, countByType[type.ordinal()]));
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package de.amr.games.pacman.controller.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded ring buffer of telemetry records for several producers and a single consumer.
+ * <p>
+ * Records are stored in primitive arrays, so offering a record does not allocate anything. A producer
+ * claims a slot by a CAS on the head sequence and marks the slot as published after writing it. If
+ * the buffer is full, the record is dropped and counted instead of blocking the producer.
+ *
+ * @author Armin Reichert
+ */
+public class TelemetryRing {
+
+	/**
+	 * Receives the fields of a telemetry record.
+	 */
+	@FunctionalInterface
+	public interface RecordConsumer {
+
+		void accept(long tick, int type, int actor, int x, int y, int value);
+	}
+
+	private final int capacity;
+	private final int mask;
+	private final long[] ticks;
+	private final long[] fields;
+	private final int[] values;
+	private final AtomicLongArray published;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * @param capacity capacity, must be a power of 2
+	 */
+	public TelemetryRing(int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Ring capacity must be a power of 2, but is " + capacity);
+		}
+		this.capacity = capacity;
+		mask = capacity - 1;
+		ticks = new long[capacity];
+		fields = new long[capacity];
+		values = new int[capacity];
+		published = new AtomicLongArray(capacity);
+	}
+
+	/**
+	 * Adds a record. Never blocks.
+	 *
+	 * @return {@code true} if the record was added, {@code false} if it was dropped because the buffer
+	 *         is full
+	 */
+	public boolean offer(long tick, int type, int actor, int x, int y, int value) {
+		long seq;
+		do {
+			seq = head.get();
+			if (seq - tail.get() >= capacity) {
+				dropped.incrementAndGet();
+				return false;
+			}
+		} while (!head.compareAndSet(seq, seq + 1));
+		int i = (int) seq & mask;
+		ticks[i] = tick;
+		fields[i] = ((long) (type & 0xFF) << 56) | ((long) (actor & 0xFF) << 48) | ((long) (x & 0xFFFF) << 16)
+				| (y & 0xFFFF);
+		values[i] = value;
+		published.lazySet(i, seq + 1);
+		return true;
+	}
+
+	/**
+	 * Passes the published records in order to the consumer and removes them. Must only be called by
+	 * the single consumer thread.
+	 *
+	 * @param consumer record consumer
+	 * @param max      maximum number of records to drain
+	 * @return number of drained records
+	 */
+	public int drain(RecordConsumer consumer, int max) {
+		long seq = tail.get();
+		int n = 0;
+		while (n < max) {
+			int i = (int) seq & mask;
+			if (published.get(i) != seq + 1) {
+				break;
+			}
+			long f = fields[i];
+			consumer.accept(ticks[i], (int) (f >>> 56), (int) (f >>> 48) & 0xFF, (short) (f >>> 16), (short) f, values[i]);
+			++seq;
+			++n;
+		}
+		tail.lazySet(seq);
+		return n;
+	}
+
+	/**
+	 * @return number of records dropped because the buffer was full
+	 */
+	public long dropped() {
+		return dropped.get();
+	}
+}
@@ -4,16 +4,21 @@ import static de.amr.easy.game.Application.loginfo;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Properties;
 
+import de.amr.games.pacman.model.game.score.ScoreEntry;
+import de.amr.games.pacman.model.game.score.ScoreStore;
+
 /**
  * Manages the game's highscore.
+ * <p>
+ * The results of all games are kept in a {@link ScoreStore} which reads and persists them
+ * asynchronously, so neither creating the highscore nor {@link #check(int, int)} blocks on file
+ * I/O. The stored highscore is taken over as soon as the store has been loaded.
  * 
  * @author Armin Reichert
  */
@@ -21,77 +26,98 @@ public class Hiscore {
 
 	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_ZONED_DATE_TIME;
 
-	public int points;
-	public int level;
+	public volatile int points;
+	public volatile int level;
 
-	private final File file;
-	private final Properties data = new Properties(3);
-	private ZonedDateTime time;
-	private boolean needsUpdate;
+	private final ScoreStore store;
+	private long lastGameId;
+	private long gameId;
+	private String gameMode;
+	private int gameStartLevel;
+	private int gamePoints;
 
-	public Hiscore(File file) {
-		this.file = file;
+	public Hiscore(ScoreStore store) {
+		this.store = store;
 		points = 0;
 		level = 1;
-		time = ZonedDateTime.now();
-		needsUpdate = true;
-		load();
+		store.loading().thenRun(() -> store.best().ifPresent(best -> update(best.level, best.points)));
+	}
+
+	private synchronized void update(int levelNumber, int points) {
+		if (points > this.points) {
+			this.points = points;
+			this.level = levelNumber;
+		}
+	}
+
+	/**
+	 * Imports the highscore from a file in the former XML format if the store is still empty after it
+	 * has been loaded.
+	 * 
+	 * @param file XML highscore file
+	 */
+	public void importLegacyFile(File file) {
+		store.loading().thenRun(() -> importLegacy(file));
 	}
 
-	public void load() {
-		loginfo("Loading highscore from file '%s'", file);
+	private void importLegacy(File file) {
+		if (store.size() > 0 || !file.canRead()) {
+			return;
+		}
+		loginfo("Importing highscore from file '%s'", file);
+		Properties data = new Properties(3);
 		try (FileInputStream is = new FileInputStream(file)) {
 			data.loadFromXML(is);
-			points = Integer.valueOf(data.getProperty("score"));
-			level = Integer.valueOf(data.getProperty("level"));
-			if (data.getProperty("time") != null) {
-				time = ZonedDateTime.parse(data.getProperty("time"), DATE_FORMAT);
-			} else {
-				time = ZonedDateTime.now();
-			}
-		} catch (FileNotFoundException e) {
-			loginfo("Hiscore file not available, creating new one");
-			save();
+			int points = Integer.parseInt(data.getProperty("score"));
+			int level = Integer.parseInt(data.getProperty("level"));
+			ZonedDateTime time = data.getProperty("time") != null ? ZonedDateTime.parse(data.getProperty("time"), DATE_FORMAT)
+					: ZonedDateTime.now();
+			long millis = time.toInstant().toEpochMilli();
+			store.submit(new ScoreEntry(millis, millis, ScoreEntry.MODE_ARCADE, 1, level, points));
+			update(level, points);
 		} catch (DateTimeParseException e) {
 			loginfo("Could not parse time in hiscore file '%s'", file);
 			e.printStackTrace();
-		} catch (Exception e) {
-			loginfo("Could not load hiscore file '%s'", file);
+		} catch (IOException | RuntimeException e) {
+			loginfo("Could not import hiscore file '%s'", file);
 			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * Starts recording the result of a new game.
+	 * 
+	 * @param startLevel start level of the game
+	 * @param mode       game mode, for example {@link ScoreEntry#MODE_ARCADE} or
+	 *                   {@link ScoreEntry#MODE_DEMO}
+	 */
+	public void startGame(int startLevel, String mode) {
+		gameId = Math.max(System.currentTimeMillis(), lastGameId + 1);
+		lastGameId = gameId;
+		gameMode = mode;
+		gameStartLevel = startLevel;
+		gamePoints = 0;
+	}
+
+	/**
+	 * Writes the pending results and closes the store (waits at most a few seconds).
+	 */
 	public void save() {
-		if (needsUpdate) {
-			data.setProperty("score", Integer.toString(points));
-			data.setProperty("level", Integer.toString(level));
-			if (time == null) {
-				time = ZonedDateTime.now();
-			}
-			data.setProperty("time", time.format(DATE_FORMAT));
-			try (FileOutputStream os = new FileOutputStream(file)) {
-				data.storeToXML(os, "Pac-Man Highscore");
-				needsUpdate = false;
-				loginfo("Saved highscore file '%s'", file);
-			} catch (IOException e) {
-				loginfo("Could not save hiscore file '%s'", file);
-				throw new RuntimeException(e);
-			}
-		}
+		store.close();
 	}
 
 	/**
-	 * Checks is the given level number and points mark a new hiscore.
+	 * Checks is the given level number and points mark a new hiscore. The result of the current game is
+	 * queued for writing, this takes constant time.
 	 * 
 	 * @param levelNumber level number
 	 * @param points      points
 	 */
 	public void check(int levelNumber, int points) {
-		if (points > this.points) {
-			this.points = points;
-			this.level = levelNumber;
-			time = ZonedDateTime.now();
-			needsUpdate = true;
+		update(levelNumber, points);
+		if (gameId != 0 && points > gamePoints) {
+			gamePoints = points;
+			store.submit(new ScoreEntry(gameId, System.currentTimeMillis(), gameMode, gameStartLevel, levelNumber, points));
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package de.amr.games.pacman.model.game;
+
+/**
+ * The data of one game level as given by one row of a {@link LevelTable}. Speeds are fractions of
+ * the base speed.
+ *
+ * @author Armin Reichert
+ */
+public class LevelData {
+
+	//@formatter:off
+	public final String bonusSymbol;
+	public final int    bonusValue;
+	public final float  pacManSpeed;
+	public final float  ghostSpeed;
+	public final float  ghostTunnelSpeed;
+	public final int    elroy1DotsLeft;
+	public final float  elroy1Speed;
+	public final int    elroy2DotsLeft;
+	public final float  elroy2Speed;
+	public final float  pacManPowerSpeed;
+	public final float  ghostFrightenedSpeed;
+	public final int    pacManPowerSeconds;
+	public final int    numFlashes;
+	//@formatter:on
+
+	/** Number of numeric values following the bonus symbol in a row. */
+	static final int NUM_VALUES = 12;
+
+	/**
+	 * @param bonusSymbol bonus symbol name
+	 * @param values      bonus value, speeds (in percent) and counts in table column order
+	 */
+	LevelData(String bonusSymbol, int[] values) {
+		if (values.length != NUM_VALUES) {
+			throw new IllegalArgumentException(
+					String.format("Level data needs %d values, but has %d", NUM_VALUES, values.length));
+		}
+		this.bonusSymbol = bonusSymbol;
+		bonusValue = values[0];
+		pacManSpeed = percent(values[1]);
+		ghostSpeed = percent(values[2]);
+		ghostTunnelSpeed = percent(values[3]);
+		elroy1DotsLeft = values[4];
+		elroy1Speed = percent(values[5]);
+		elroy2DotsLeft = values[6];
+		elroy2Speed = percent(values[7]);
+		pacManPowerSpeed = percent(values[8]);
+		ghostFrightenedSpeed = percent(values[9]);
+		pacManPowerSeconds = values[10];
+		numFlashes = values[11];
+	}
+
+	private static float percent(int value) {
+		return value / 100f;
+	}
+}
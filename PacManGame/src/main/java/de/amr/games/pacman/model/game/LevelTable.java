@@ -0,0 +1,111 @@
+package de.amr.games.pacman.model.game;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table of the level-specific data (bonus, speeds, Elroy dot counts, power time). The table is read
+ * from a text file with one row per level, starting with level 1. The last row applies to all
+ * higher levels.
+ *
+ * <img src="http://www.gamasutra.com/db_area/images/feature/3938/tablea1.png">
+ *
+ * @author Armin Reichert
+ */
+public class LevelTable {
+
+	/** Path of the Arcade level table resource. */
+	public static final String ARCADE = "/levels/arcade.levels";
+
+	/**
+	 * Loads a level table from a classpath resource.
+	 *
+	 * @param path resource path, e.g. {@link #ARCADE}
+	 * @return the level table
+	 */
+	public static LevelTable loadResource(String path) {
+		try (InputStream in = LevelTable.class.getResourceAsStream(path)) {
+			if (in == null) {
+				throw new IllegalArgumentException("Level table resource not found: " + path);
+			}
+			return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8), path);
+		} catch (IOException x) {
+			throw new IllegalArgumentException("Level table resource could not be read: " + path, x);
+		}
+	}
+
+	/**
+	 * Loads a level table from a file.
+	 *
+	 * @param file level table file
+	 * @return the level table
+	 */
+	public static LevelTable loadFile(File file) {
+		try {
+			return parse(Files.readString(file.toPath(), StandardCharsets.UTF_8), file.getPath());
+		} catch (IOException x) {
+			throw new IllegalArgumentException("Level table file could not be read: " + file, x);
+		}
+	}
+
+	static LevelTable parse(String text, String source) {
+		List<LevelData> rows = new ArrayList<>();
+		for (String line : text.split("\\R")) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] tokens = line.split("\\s+");
+			if (tokens.length != 1 + LevelData.NUM_VALUES) {
+				throw new IllegalArgumentException(String.format("Level %d in %s needs %d columns, but has %d",
+						rows.size() + 1, source, 1 + LevelData.NUM_VALUES, tokens.length));
+			}
+			int[] values = new int[LevelData.NUM_VALUES];
+			for (int i = 0; i < values.length; ++i) {
+				try {
+					values[i] = Integer.parseInt(tokens[1 + i]);
+				} catch (NumberFormatException x) {
+					throw new IllegalArgumentException(
+							String.format("Illegal value '%s' for level %d in %s", tokens[1 + i], rows.size() + 1, source));
+				}
+			}
+			rows.add(new LevelData(tokens[0], values));
+		}
+		if (rows.isEmpty()) {
+			throw new IllegalArgumentException("No levels specified in " + source);
+		}
+		loginfo("Level table '%s' read, %d levels", source, rows.size());
+		return new LevelTable(rows.toArray(LevelData[]::new));
+	}
+
+	private final LevelData[] rows;
+
+	private LevelTable(LevelData[] rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * @return number of rows, the last row applies to all higher levels
+	 */
+	public int size() {
+		return rows.length;
+	}
+
+	/**
+	 * @param level level number (1..)
+	 * @return data for level with given number
+	 */
+	public LevelData level(int level) {
+		if (level < 1) {
+			throw new IllegalArgumentException("Illegal game level number: " + level);
+		}
+		return rows[Math.min(level, rows.length) - 1];
+	}
+}
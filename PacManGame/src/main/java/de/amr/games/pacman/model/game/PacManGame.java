@@ -5,6 +5,10 @@ import static de.amr.easy.game.Application.loginfo;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+import de.amr.games.pacman.model.game.score.ScoreEntry;
+import de.amr.games.pacman.model.game.score.ScoreStore;
 
 /**
  * The "model" (in MVC speak) of the Pac-Man game.
@@ -18,68 +22,73 @@ public class PacManGame {
 
 	public static PacManGame game;
 
+	private static Hiscore hiscoreInstance;
+
 	static final int PACMAN_LIVES = 3;
-	static final int POINTS_PELLET = 10;
-	static final int POINTS_ENERGIZER = 50;
+	public static final int POINTS_PELLET = 10;
+	public static final int POINTS_ENERGIZER = 50;
 	static final int POINTS_EXTRA_LIFE = 10_000;
-	static final int POINTS_ALL_GHOSTS = 12_000;
+	public static final int POINTS_ALL_GHOSTS = 12_000;
 	static final int POINTS_GHOSTS[] = { 200, 400, 800, 1600 };
 	static final int BONUS_ACTIVATION[] = { 70, 170 };
 
+	private static LevelTable levelTable;
+
 	/**
-	 * Returns the level-specific data.
-	 * 
-	 * <img src="http://www.gamasutra.com/db_area/images/feature/3938/tablea1.png">
+	 * Sets the level table used for the levels started from now on.
 	 * 
-	 * @param level level number (1..)
-	 * @return data for level with given number
+	 * @param table level table
 	 */
-	static List<?> levelData(int level) {
-		if (level < 1) {
-			throw new IllegalArgumentException("Illegal game level number: " + level);
-		}
-		switch (level) {
-		/*@formatter:off*/
-		case  1: return List.of("CHERRIES",   100,  80,  75, 40,  20,  80, 10,  85,  90, 50, 6, 5);
-		case  2: return List.of("STRAWBERRY", 300,  90,  85, 45,  30,  90, 15,  95,  95, 55, 5, 5);
-		case  3: return List.of("PEACH",      500,  90,  85, 45,  40,  90, 20,  95,  95, 55, 4, 5);
-		case  4: return List.of("PEACH",      500,  90,  85, 50,  40, 100, 20,  95,  95, 55, 3, 5);
-		case  5: return List.of("APPLE",      700, 100,  95, 50,  40, 100, 20, 105, 100, 60, 2, 5);
-		case  6: return List.of("APPLE",      700, 100,  95, 50,  50, 100, 25, 105, 100, 60, 5, 5);
-		case  7: return List.of("GRAPES",    1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5);
-		case  8: return List.of("GRAPES",    1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5);
-		case  9: return List.of("GALAXIAN",  2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 1, 3);
-		case 10: return List.of("GALAXIAN",  2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 5, 5);
-		case 11: return List.of("BELL",      3000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 2, 5);
-		case 12: return List.of("BELL",      3000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3);
-		case 13: return List.of("KEY",       5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3);
-		case 14: return List.of("KEY",       5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 3, 5);
-		case 15: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 1, 3);
-		case 16: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 3);
-		case 17: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 0, 0);
-		case 18: return List.of("KEY",       5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 0);
-		case 19: return List.of("KEY",       5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		case 20: return List.of("KEY",       5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		default: return List.of("KEY",       5000,  90,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0);
-		//@formatter:on
+	public static void useLevelTable(LevelTable table) {
+		levelTable = Objects.requireNonNull(table);
+	}
+
+	/**
+	 * @return the level table, by default the Arcade table
+	 */
+	public static LevelTable levelTable() {
+		if (levelTable == null) {
+			levelTable = LevelTable.loadResource(LevelTable.ARCADE);
 		}
+		return levelTable;
 	}
 
-	private static float percent(Object value) {
-		return (int) value / 100f;
+	public static boolean started() {
+		return game != null;
 	}
 
-	private static int integer(Object value) {
-		return (int) value;
+	/**
+	 * Opens the score store. The score log is read in the background, call this at application start
+	 * such that the highscore is available when the first game starts.
+	 * 
+	 * @return the highscore
+	 */
+	public static synchronized Hiscore hiscore() {
+		if (hiscoreInstance == null) {
+			File dir = new File(System.getProperty("user.home"));
+			hiscoreInstance = new Hiscore(new ScoreStore(new File(dir, "pacman.hiscore.log").toPath(), 100));
+			hiscoreInstance.importLegacyFile(new File(dir, "pacman.hiscore.xml"));
+		}
+		return hiscoreInstance;
 	}
 
-	public static boolean started() {
-		return game != null;
+	/**
+	 * Writes the pending game results if the score store has been opened.
+	 */
+	public static synchronized void saveHiscore() {
+		if (hiscoreInstance != null) {
+			hiscoreInstance.save();
+		}
 	}
 
 	public static void start(int startLevel, int totalFoodCount) {
+		start(startLevel, totalFoodCount, ScoreEntry.MODE_ARCADE);
+	}
+
+	public static void start(int startLevel, int totalFoodCount, String mode) {
 		game = new PacManGame(startLevel, totalFoodCount, PACMAN_LIVES, 0);
-		game.hiscore = new Hiscore(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml"));
+		game.hiscore = hiscore();
+		game.hiscore.startGame(startLevel, mode);
 		game.levelCounter.add(game.bonusSymbol);
 		loginfo("Game started at level %d", startLevel);
 	}
@@ -131,20 +140,20 @@ public class PacManGame {
 		this.lives = lives;
 		this.score = score;
 		this.levelCounter = new ArrayList<>();
-		List<?> data = levelData(level);
-		bonusSymbol = (String) data.get(0);
-		bonusValue = integer(data.get(1));
-		pacManSpeed = percent(data.get(2));
-		ghostSpeed = percent(data.get(3));
-		ghostTunnelSpeed = percent(data.get(4));
-		elroy1DotsLeft = integer(data.get(5));
-		elroy1Speed = percent(data.get(6));
-		elroy2DotsLeft = integer(data.get(7));
-		elroy2Speed = percent(data.get(8));
-		pacManPowerSpeed = percent(data.get(9));
-		ghostFrightenedSpeed = percent(data.get(10));
-		pacManPowerSeconds = integer(data.get(11));
-		numFlashes = integer(data.get(12));
+		LevelData data = levelTable().level(level);
+		bonusSymbol = data.bonusSymbol;
+		bonusValue = data.bonusValue;
+		pacManSpeed = data.pacManSpeed;
+		ghostSpeed = data.ghostSpeed;
+		ghostTunnelSpeed = data.ghostTunnelSpeed;
+		elroy1DotsLeft = data.elroy1DotsLeft;
+		elroy1Speed = data.elroy1Speed;
+		elroy2DotsLeft = data.elroy2DotsLeft;
+		elroy2Speed = data.elroy2Speed;
+		pacManPowerSpeed = data.pacManPowerSpeed;
+		ghostFrightenedSpeed = data.ghostFrightenedSpeed;
+		pacManPowerSeconds = data.pacManPowerSeconds;
+		numFlashes = data.numFlashes;
 	}
 
 	public int remainingFoodCount() {
@@ -212,6 +221,15 @@ public class PacManGame {
 	 * @return value of killed ghost (doubles for each ghost killed by the same energizer)
 	 */
 	public int ghostBounty() {
+		return ghostBounty(ghostsKilledByEnergizer);
+	}
+
+	/**
+	 * @param ghostsKilledByEnergizer number of ghosts killed by the current energizer, including the
+	 *                                killed ghost
+	 * @return value of the killed ghost
+	 */
+	public static int ghostBounty(int ghostsKilledByEnergizer) {
 		return POINTS_GHOSTS[ghostsKilledByEnergizer > 0 ? ghostsKilledByEnergizer - 1 : 0];
 	}
 
@@ -0,0 +1,63 @@
+package de.amr.games.pacman.model.game.score;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+
+/**
+ * The result of one game as stored in the score log.
+ * <p>
+ * While a game is running, its result gets updated several times. All records with the same game id
+ * refer to the same game, the latest one counts.
+ *
+ * @author Armin Reichert
+ */
+public class ScoreEntry {
+
+	public static final String MODE_ARCADE = "arcade";
+	public static final String MODE_DEMO = "demo";
+
+	/** Orders entries by points (descending), then by time (ascending), then by game id. */
+	public static final Comparator<ScoreEntry> BY_RANK = Comparator.comparingInt((ScoreEntry entry) -> -entry.points)
+			.thenComparingLong(entry -> entry.time).thenComparingLong(entry -> entry.gameId);
+
+	/** Identifies the game, the start time of the game in epoch milliseconds. */
+	public final long gameId;
+
+	/** Time of the last update in epoch milliseconds. */
+	public final long time;
+
+	/** Game mode, for example "arcade" or "demo". */
+	public final String mode;
+
+	public final int startLevel;
+	public final int level;
+	public final int points;
+
+	public ScoreEntry(long gameId, long time, String mode, int startLevel, int level, int points) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Game mode must not be null");
+		}
+		this.gameId = gameId;
+		this.time = time;
+		this.mode = mode;
+		this.startLevel = startLevel;
+		this.level = level;
+		this.points = points;
+	}
+
+	/**
+	 * @param zone time zone
+	 * @return the day when the game was played
+	 */
+	public LocalDate day(ZoneId zone) {
+		return Instant.ofEpochMilli(gameId).atZone(zone).toLocalDate();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ScoreEntry(game: %d, mode: %s, start level: %d, level: %d, points: %d)", gameId, mode,
+				startLevel, level, points);
+	}
+}
@@ -0,0 +1,210 @@
+package de.amr.games.pacman.model.game.score;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of score entries.
+ * <p>
+ * The file starts with a header (magic number and version) followed by records of the form
+ * {@code [payload length][payload][CRC32 of payload]}. A record that was only partially written
+ * when the program crashed is detected by its length or checksum and cut off when the log is opened.
+ * Compaction rewrites the log into a temporary file which then atomically replaces the log.
+ *
+ * @author Armin Reichert
+ */
+class ScoreLog {
+
+	static final int MAGIC = 0x504D4853; // "PMHS"
+	static final short VERSION = 1;
+
+	private static final int HEADER_SIZE = 6;
+	private static final int MAX_PAYLOAD_SIZE = 1024;
+
+	private final Path path;
+	private FileChannel channel;
+	private int records;
+
+	ScoreLog(Path path) {
+		this.path = path;
+	}
+
+	Path path() {
+		return path;
+	}
+
+	/**
+	 * @return number of records in the log file (including outdated records of the same game)
+	 */
+	int records() {
+		return records;
+	}
+
+	/**
+	 * Opens the log for appending and returns its valid records in log order. A damaged tail is cut off,
+	 * a file with an unknown header is moved aside and a new log is started.
+	 *
+	 * @return the records read from the log
+	 * @throws IOException if the log cannot be read or created
+	 */
+	List<ScoreEntry> open() throws IOException {
+		List<ScoreEntry> entries = new ArrayList<>();
+		if (Files.exists(path) && Files.size(path) > 0) {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+			if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+				Path corrupt = path.resolveSibling(path.getFileName() + ".corrupt");
+				loginfo("Score log '%s' has an unknown format, moving it to '%s'", path, corrupt);
+				Files.move(path, corrupt, StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				int validEnd = readRecords(buffer, entries);
+				if (validEnd < buffer.limit()) {
+					loginfo("Score log '%s' has a damaged tail, truncating %d bytes", path, buffer.limit() - validEnd);
+					try (FileChannel truncating = FileChannel.open(path, StandardOpenOption.WRITE)) {
+						truncating.truncate(validEnd);
+						truncating.force(true);
+					}
+				}
+			}
+		}
+		if (!Files.exists(path) || Files.size(path) == 0) {
+			writeFile(path, List.of());
+		}
+		channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		records = entries.size();
+		return entries;
+	}
+
+	private static int readRecords(ByteBuffer buffer, List<ScoreEntry> entries) {
+		CRC32 crc = new CRC32();
+		int validEnd = buffer.position();
+		try {
+			while (buffer.hasRemaining()) {
+				int length = buffer.getInt();
+				if (length <= 0 || length > MAX_PAYLOAD_SIZE || buffer.remaining() < length + 4) {
+					break;
+				}
+				ByteBuffer payload = buffer.slice();
+				payload.limit(length);
+				buffer.position(buffer.position() + length);
+				crc.reset();
+				crc.update(payload.duplicate());
+				if ((int) crc.getValue() != buffer.getInt()) {
+					break;
+				}
+				entries.add(decode(payload));
+				validEnd = buffer.position();
+			}
+		} catch (BufferUnderflowException x) {
+			// incomplete record at the end
+		}
+		return validEnd;
+	}
+
+	/**
+	 * Appends the entries and forces them to the storage device (one sync for the whole batch).
+	 *
+	 * @param batch entries to append
+	 * @throws IOException if writing fails
+	 */
+	void append(Collection<ScoreEntry> batch) throws IOException {
+		ByteBuffer buffer = encode(batch);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		channel.force(false);
+		records += batch.size();
+	}
+
+	/**
+	 * Replaces the log by a new log containing only the given entries.
+	 *
+	 * @param entries the entries to keep
+	 * @throws IOException if writing fails
+	 */
+	void rewrite(Collection<ScoreEntry> entries) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		writeFile(tmp, entries);
+		channel.close();
+		try {
+			Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException x) {
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		records = entries.size();
+	}
+
+	void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private static void writeFile(Path file, Collection<ScoreEntry> entries) throws IOException {
+		ByteBuffer records = encode(entries);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (header.hasRemaining()) {
+				out.write(header);
+			}
+			while (records.hasRemaining()) {
+				out.write(records);
+			}
+			out.force(true);
+		}
+	}
+
+	private static ByteBuffer encode(Collection<ScoreEntry> entries) {
+		CRC32 crc = new CRC32();
+		List<byte[]> modes = new ArrayList<>(entries.size());
+		int size = 0;
+		for (ScoreEntry entry : entries) {
+			byte[] mode = entry.mode.getBytes(StandardCharsets.UTF_8);
+			modes.add(mode);
+			size += 4 + payloadSize(mode) + 4;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		int i = 0;
+		for (ScoreEntry entry : entries) {
+			byte[] mode = modes.get(i++);
+			buffer.putInt(payloadSize(mode));
+			int start = buffer.position();
+			buffer.putLong(entry.gameId).putLong(entry.time).putInt(entry.startLevel).putInt(entry.level)
+					.putInt(entry.points).putShort((short) mode.length).put(mode);
+			ByteBuffer payload = buffer.duplicate();
+			payload.position(start).limit(buffer.position());
+			crc.reset();
+			crc.update(payload);
+			buffer.putInt((int) crc.getValue());
+		}
+		return buffer.flip();
+	}
+
+	private static int payloadSize(byte[] mode) {
+		return 8 + 8 + 4 + 4 + 4 + 2 + mode.length;
+	}
+
+	private static ScoreEntry decode(ByteBuffer payload) {
+		long gameId = payload.getLong(), time = payload.getLong();
+		int startLevel = payload.getInt(), level = payload.getInt(), points = payload.getInt();
+		byte[] mode = new byte[payload.getShort()];
+		payload.get(mode);
+		return new ScoreEntry(gameId, time, new String(mode, StandardCharsets.UTF_8), startLevel, level, points);
+	}
+}
@@ -0,0 +1,257 @@
+package de.amr.games.pacman.model.game.score;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Persistent store for the top scores per day, game mode and start level.
+ * <p>
+ * Submitting a score is a constant-time operation that only puts the entry into a pending map where
+ * later updates of the same game replace earlier ones. A background thread periodically appends the
+ * pending entries to a binary {@link ScoreLog log}, syncing the whole batch at once, and then updates
+ * the in-memory index of sorted leaderboards. When the log contains too many outdated records, it is
+ * compacted to the entries that are still in the index.
+ * <p>
+ * The log is read by the background thread too, so opening a store does not block. Until
+ * {@link #loading()} is completed, the leaderboards are empty.
+ *
+ * @author Armin Reichert
+ */
+public class ScoreStore {
+
+	private static final long FLUSH_INTERVAL_MILLIS = 500;
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+	private static final int MIN_COMPACTION_RECORDS = 1000;
+
+	private final ScoreLog log;
+	private final int capacity;
+	private final ZoneId zone = ZoneId.systemDefault();
+	private final Map<Long, ScoreEntry> pending = new ConcurrentHashMap<>();
+
+	// index, guarded by "this"
+	private final Map<String, TreeSet<ScoreEntry>> boards = new HashMap<>();
+	private final Map<Long, ScoreEntry> entriesByGame = new HashMap<>();
+	private ScoreEntry best;
+
+	private final CompletableFuture<Void> loading = new CompletableFuture<>();
+	private final Thread writer;
+	private volatile boolean running;
+
+	/**
+	 * Opens the store and starts the background writer which first reads the log.
+	 *
+	 * @param file     log file
+	 * @param capacity number of entries kept per leaderboard
+	 */
+	public ScoreStore(Path file, int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Leaderboard capacity must be positive, but is " + capacity);
+		}
+		this.capacity = capacity;
+		log = new ScoreLog(file);
+		running = true;
+		writer = new Thread(this::writeLoop, "ScoreWriter");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * @return future that is completed when the log has been read, or completed exceptionally if the log
+	 *         could not be opened (the store then discards all submitted entries)
+	 */
+	public CompletableFuture<Void> loading() {
+		return loading;
+	}
+
+	/**
+	 * Submits the (updated) result of a game. Returns immediately, the entry is written later by the
+	 * background writer.
+	 *
+	 * @param entry score entry
+	 */
+	public void submit(ScoreEntry entry) {
+		if (loading.isCompletedExceptionally()) {
+			return;
+		}
+		if (!running) {
+			throw new IllegalStateException("Score store is closed");
+		}
+		pending.put(entry.gameId, entry);
+	}
+
+	/**
+	 * @param day        day
+	 * @param mode       game mode
+	 * @param startLevel start level
+	 * @param n          maximum number of entries
+	 * @return the best entries of the given leaderboard, best first
+	 */
+	public synchronized List<ScoreEntry> top(LocalDate day, String mode, int startLevel, int n) {
+		List<ScoreEntry> result = new ArrayList<>(n);
+		TreeSet<ScoreEntry> board = boards.get(boardKey(day, mode, startLevel));
+		if (board != null) {
+			Iterator<ScoreEntry> it = board.iterator();
+			while (it.hasNext() && result.size() < n) {
+				result.add(it.next());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the best entry of all leaderboards
+	 */
+	public synchronized Optional<ScoreEntry> best() {
+		return Optional.ofNullable(best);
+	}
+
+	/**
+	 * @return number of indexed games
+	 */
+	public synchronized int size() {
+		return entriesByGame.size();
+	}
+
+	/**
+	 * Writes all pending entries, stops the background writer and closes the log.
+	 */
+	public void close() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+		if (writer.isAlive()) {
+			loginfo("Score writer did not finish in time, %d entries not written", pending.size());
+		}
+	}
+
+	private boolean load() {
+		try {
+			List<ScoreEntry> entries = log.open();
+			synchronized (this) {
+				entries.forEach(this::index);
+			}
+			loginfo("Score log '%s' opened, %d records, %d games indexed", log.path(), entries.size(),
+					entriesByGame.size());
+			loading.complete(null);
+			return true;
+		} catch (IOException x) {
+			loginfo("Could not open score log '%s', scores are not saved: %s", log.path(), x.getMessage());
+			running = false;
+			pending.clear();
+			loading.completeExceptionally(x);
+			return false;
+		}
+	}
+
+	private void writeLoop() {
+		if (!load()) {
+			return;
+		}
+		while (running) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS));
+			flush();
+		}
+		flush();
+		try {
+			log.close();
+			loginfo("Score log '%s' closed", log.path());
+		} catch (IOException x) {
+			loginfo("Could not close score log '%s': %s", log.path(), x.getMessage());
+		}
+	}
+
+	private void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		List<ScoreEntry> batch = new ArrayList<>(pending.size());
+		for (Long gameId : pending.keySet()) {
+			ScoreEntry entry = pending.remove(gameId);
+			if (entry != null) {
+				batch.add(entry);
+			}
+		}
+		try {
+			log.append(batch);
+		} catch (IOException x) {
+			loginfo("Could not append %d entries to score log '%s': %s", batch.size(), log.path(), x.getMessage());
+			// keep the entries unless newer ones have been submitted meanwhile
+			batch.forEach(entry -> pending.putIfAbsent(entry.gameId, entry));
+			return;
+		}
+		synchronized (this) {
+			batch.forEach(this::index);
+		}
+		compactIfNeeded();
+	}
+
+	private void compactIfNeeded() {
+		List<ScoreEntry> live;
+		synchronized (this) {
+			if (log.records() < Math.max(MIN_COMPACTION_RECORDS, 2 * entriesByGame.size())) {
+				return;
+			}
+			live = new ArrayList<>(entriesByGame.values());
+		}
+		int before = log.records();
+		try {
+			log.rewrite(live);
+			loginfo("Score log '%s' compacted from %d to %d records", log.path(), before, live.size());
+		} catch (IOException x) {
+			loginfo("Could not compact score log '%s': %s", log.path(), x.getMessage());
+		}
+	}
+
+	private String boardKey(LocalDate day, String mode, int startLevel) {
+		return day + "/" + mode + "/" + startLevel;
+	}
+
+	private void index(ScoreEntry entry) {
+		ScoreEntry previous = entriesByGame.get(entry.gameId);
+		if (previous != null) {
+			if (previous.time > entry.time) {
+				return; // outdated record
+			}
+			TreeSet<ScoreEntry> board = boards.get(boardKey(previous.day(zone), previous.mode, previous.startLevel));
+			if (board != null) {
+				board.remove(previous);
+			}
+			entriesByGame.remove(entry.gameId);
+		}
+		TreeSet<ScoreEntry> board = boards.computeIfAbsent(boardKey(entry.day(zone), entry.mode, entry.startLevel),
+				key -> new TreeSet<>(ScoreEntry.BY_RANK));
+		board.add(entry);
+		entriesByGame.put(entry.gameId, entry);
+		if (board.size() > capacity) {
+			ScoreEntry dropped = board.pollLast();
+			entriesByGame.remove(dropped.gameId);
+		}
+		if (best == null || ScoreEntry.BY_RANK.compare(entry, best) < 0) {
+			best = entry;
+		} else if (previous == best) {
+			best = entriesByGame.values().stream().min(ScoreEntry.BY_RANK).orElse(null);
+		}
+	}
+}
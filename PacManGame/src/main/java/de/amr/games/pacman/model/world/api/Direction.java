@@ -35,9 +35,14 @@ public enum Direction {
 		return values()[new Random().nextInt(4)];
 	}
 
+	/** Unit vector components. */
+	public final int dx, dy;
+
 	private final Vector2f vector;
 
 	private Direction(int dx, int dy) {
+		this.dx = dx;
+		this.dy = dy;
 		vector = Vector2f.of(dx, dy);
 	}
 
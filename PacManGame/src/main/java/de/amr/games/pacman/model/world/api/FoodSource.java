@@ -1,6 +1,7 @@
 package de.amr.games.pacman.model.world.api;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Provides food-related functionality.
@@ -9,8 +10,55 @@ import java.util.Optional;
  */
 public interface FoodSource {
 
+	/**
+	 * Listener that gets notified when food is eaten, restored or temporary food is shown.
+	 */
+	@FunctionalInterface
+	interface FoodListener {
+
+		/**
+		 * @param location location of the removed food
+		 * @param food     the removed food
+		 */
+		void foodRemoved(Tile location, Food food);
+
+		/**
+		 * Called when all food has been restored.
+		 */
+		default void foodRestored() {
+		}
+
+		/**
+		 * Called when temporary food (a bonus) is shown.
+		 * 
+		 * @param food the temporary food
+		 */
+		default void temporaryFoodShown(TemporaryFood food) {
+		}
+	}
+
 	int totalFoodCount();
 
+	/**
+	 * @param food a kind of food, e.g. {@code ArcadeFood.PELLET}
+	 * @return number of not yet eaten food of this kind
+	 */
+	int remainingFoodCount(Food food);
+
+	/**
+	 * Performs the action for each tile with remaining (not eaten) food of the given kind. Takes time
+	 * proportional to the remaining food, not to the world size. Food must not be removed or restored
+	 * by the action.
+	 * 
+	 * @param food   a kind of food, e.g. {@code ArcadeFood.PELLET}
+	 * @param action action performed for each tile with remaining food of this kind
+	 */
+	void forEachRemainingFood(Food food, Consumer<Tile> action);
+
+	void addFoodListener(FoodListener listener);
+
+	void removeFoodListener(FoodListener listener);
+
 	void restoreFood();
 
 	Optional<Food> foodAt(Tile location);
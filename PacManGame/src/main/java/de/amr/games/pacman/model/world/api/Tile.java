@@ -15,6 +15,9 @@ public final class Tile {
 	/** Tile size in pixels. */
 	public static final byte SIZE = 8;
 
+	/** Tile size as power of two: {@code SIZE == 1 << SIZE_SHIFT}. */
+	public static final int SIZE_SHIFT = 3;
+
 	/**
 	 * @param either either tile
 	 * @param other  other tile
@@ -2,6 +2,7 @@ package de.amr.games.pacman.model.world.api;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.entity.Entity;
@@ -17,6 +18,15 @@ import de.amr.games.pacman.model.world.components.Portal;
  */
 public interface TiledWorld extends RectangularTiledArea, FoodSource {
 
+	/**
+	 * Listener that gets notified when an entity is included into or excluded from a territory.
+	 */
+	@FunctionalInterface
+	interface MembershipListener {
+
+		void membershipChanged(Entity entity, boolean included);
+	}
+
 	/**
 	 * @param tile reference tile
 	 * @param dir  some direction
@@ -34,6 +44,48 @@ public interface TiledWorld extends RectangularTiledArea, FoodSource {
 		return tileToDir(tile, dir, 1);
 	}
 
+	/**
+	 * Region-scoped tile iteration. The region is clipped to the world bounds.
+	 *
+	 * @param col    left column of region
+	 * @param row    top row of region
+	 * @param width  region width in tiles
+	 * @param height region height in tiles
+	 * @return the world tiles inside the region, in row-major order
+	 */
+	default Stream<Tile> tiles(int col, int row, int width, int height) {
+		int minCol = Math.max(col, col()), maxCol = Math.min(col + width, col() + width());
+		int minRow = Math.max(row, row()), maxRow = Math.min(row + height, row() + height());
+		if (minCol >= maxCol || minRow >= maxRow) {
+			return Stream.empty();
+		}
+		int regionWidth = maxCol - minCol;
+		return IntStream.range(0, regionWidth * (maxRow - minRow))
+				.mapToObj(i -> Tile.at(minCol + i % regionWidth, minRow + i / regionWidth));
+	}
+
+	/**
+	 * @param col    left column of region
+	 * @param row    top row of region
+	 * @param width  region width in tiles
+	 * @param height region height in tiles
+	 * @return the tiles inside the region that contain (not yet eaten) food
+	 */
+	default Stream<Tile> foodTiles(int col, int row, int width, int height) {
+		return tiles(col, row, width, height).filter(this::hasFood);
+	}
+
+	/**
+	 * @param col    left column of region
+	 * @param row    top row of region
+	 * @param width  region width in tiles
+	 * @param height region height in tiles
+	 * @return the tiles inside the region that contain eaten food
+	 */
+	default Stream<Tile> eatenFoodTiles(int col, int row, int width, int height) {
+		return tiles(col, row, width, height).filter(this::hasEatenFood);
+	}
+
 	/**
 	 * @param tile some tile
 	 * @return if this tile has a least three accessible neighbor tiles
@@ -112,6 +164,13 @@ public interface TiledWorld extends RectangularTiledArea, FoodSource {
 	 */
 	boolean isChanging();
 
+	/**
+	 * @return number of changes of the world structure (accessible tiles, tunnels, houses, portals,
+	 *         one-way tiles) so far, data derived from the structure must be recomputed when this
+	 *         number changes
+	 */
+	int structureVersion();
+
 	/**
 	 * Sets the world into "frozen" state where the creatures do not move and are not animated.
 	 * 
@@ -143,4 +202,16 @@ public interface TiledWorld extends RectangularTiledArea, FoodSource {
 	 * @param entity an entity
 	 */
 	void exclude(Entity entity);
+
+	/**
+	 * Adds a listener that is notified whenever an entity is included or excluded.
+	 * 
+	 * @param listener membership listener
+	 */
+	void addMembershipListener(MembershipListener listener);
+
+	/**
+	 * @param listener membership listener to remove
+	 */
+	void removeMembershipListener(MembershipListener listener);
 }
\ No newline at end of file
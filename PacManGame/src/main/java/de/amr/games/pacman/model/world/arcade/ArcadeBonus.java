@@ -18,10 +18,10 @@ public class ArcadeBonus implements TemporaryFood {
 		this.symbol = symbol;
 	}
 
-	public static ArcadeBonus of(String name, int value) {
+	public static ArcadeBonus of(String name, int value, Tile location) {
 		ArcadeBonus bonus = new ArcadeBonus(Symbol.valueOf(name));
 		bonus.value = value;
-		bonus.location = ArcadeWorld.BONUS_LOCATION;
+		bonus.location = location;
 		return bonus;
 	}
 
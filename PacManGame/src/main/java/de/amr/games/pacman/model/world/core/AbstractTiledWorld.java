@@ -1,5 +1,6 @@
 package de.amr.games.pacman.model.world.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.List;
 import de.amr.easy.game.entity.Entity;
 import de.amr.easy.game.math.Vector2f;
 import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.model.world.components.Portal;
@@ -20,28 +23,61 @@ import de.amr.games.pacman.model.world.components.TiledRectangle;
 public abstract class AbstractTiledWorld extends TiledRectangle implements TiledWorld {
 
 	private final Collection<Entity> outsiders = new HashSet<>();
+	private final List<MembershipListener> membershipListeners = new ArrayList<>(2);
+	private final List<FoodListener> foodListeners = new ArrayList<>(2);
 	private Tile capeNW, capeNE, capeSE, capeSW;
 
 	protected boolean changing;
 	protected boolean frozen;
+	private int structureVersion;
 
 	public AbstractTiledWorld(int width, int height) {
 		super(0, 0, width, height);
 	}
 
+	/*
+	 * The capes are found by scanning the diagonals starting from the corresponding corner, so only the
+	 * tiles near the corners are visited. Ties on a diagonal are resolved by taking the topmost tile.
+	 */
 	private void computeCapes() {
-		capeNW = tiles().filter(this::isAccessible).min(this::distFromCornerNW).get();
-		capeNE = tiles().filter(this::isAccessible).min(this::distFromCornerNE).get();
-		capeSE = tiles().filter(this::isAccessible).max(this::distFromCornerNW).get();
-		capeSW = tiles().filter(this::isAccessible).max(this::distFromCornerNE).get();
+		int maxDiagonal = width() + height() - 2;
+		for (int d = 0; capeNW == null && d <= maxDiagonal; ++d) {
+			capeNW = firstAccessibleOnDiagonalNW(d);
+		}
+		for (int d = maxDiagonal; capeSE == null && d >= 0; --d) {
+			capeSE = firstAccessibleOnDiagonalNW(d);
+		}
+		for (int d = 1; capeNE == null && d <= maxDiagonal + 1; ++d) {
+			capeNE = firstAccessibleOnDiagonalNE(d);
+		}
+		for (int d = maxDiagonal + 1; capeSW == null && d >= 1; --d) {
+			capeSW = firstAccessibleOnDiagonalNE(d);
+		}
+		if (capeNW == null) {
+			throw new IllegalStateException("World has no accessible tile");
+		}
 	}
 
-	private int distFromCornerNW(Tile t1, Tile t2) {
-		return Integer.compare(t1.col + t1.row, t2.col + t2.row);
+	// tiles with col + row = d
+	private Tile firstAccessibleOnDiagonalNW(int d) {
+		for (int row = Math.max(0, d - width() + 1); row <= Math.min(height() - 1, d); ++row) {
+			Tile tile = Tile.at(d - row, row);
+			if (isAccessible(tile)) {
+				return tile;
+			}
+		}
+		return null;
 	}
 
-	private int distFromCornerNE(Tile t1, Tile t2) {
-		return Integer.compare(width() - t1.col + t1.row, width() - t2.col + t2.row);
+	// tiles with width - col + row = d
+	private Tile firstAccessibleOnDiagonalNE(int d) {
+		for (int row = Math.max(0, d - width()); row <= Math.min(height() - 1, d - 1); ++row) {
+			Tile tile = Tile.at(width() - d + row, row);
+			if (isAccessible(tile)) {
+				return tile;
+			}
+		}
+		return null;
 	}
 
 	@Override
@@ -103,12 +139,56 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 	public void include(Entity entity) {
 		outsiders.remove(entity);
 		entity.visible = true;
+		for (MembershipListener listener : membershipListeners) {
+			listener.membershipChanged(entity, true);
+		}
 	}
 
 	@Override
 	public void exclude(Entity entity) {
 		outsiders.add(entity);
 		entity.visible = false;
+		for (MembershipListener listener : membershipListeners) {
+			listener.membershipChanged(entity, false);
+		}
+	}
+
+	@Override
+	public void addMembershipListener(MembershipListener listener) {
+		membershipListeners.add(listener);
+	}
+
+	@Override
+	public void removeMembershipListener(MembershipListener listener) {
+		membershipListeners.remove(listener);
+	}
+
+	@Override
+	public void addFoodListener(FoodListener listener) {
+		foodListeners.add(listener);
+	}
+
+	@Override
+	public void removeFoodListener(FoodListener listener) {
+		foodListeners.remove(listener);
+	}
+
+	protected void fireFoodRemoved(Tile location, Food food) {
+		for (int i = 0; i < foodListeners.size(); ++i) {
+			foodListeners.get(i).foodRemoved(location, food);
+		}
+	}
+
+	protected void fireFoodRestored() {
+		for (int i = 0; i < foodListeners.size(); ++i) {
+			foodListeners.get(i).foodRestored();
+		}
+	}
+
+	protected void fireTemporaryFoodShown(TemporaryFood food) {
+		for (int i = 0; i < foodListeners.size(); ++i) {
+			foodListeners.get(i).temporaryFoodShown(food);
+		}
 	}
 
 	@Override
@@ -135,4 +215,16 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 	public void setChanging(boolean changing) {
 		this.changing = changing;
 	}
+
+	@Override
+	public int structureVersion() {
+		return structureVersion;
+	}
+
+	/**
+	 * Must be called by subclasses whenever the world structure is changed.
+	 */
+	protected void structureChanged() {
+		structureVersion += 1;
+	}
 }
\ No newline at end of file
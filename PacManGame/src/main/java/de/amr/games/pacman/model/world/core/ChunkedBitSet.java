@@ -0,0 +1,193 @@
+package de.amr.games.pacman.model.world.core;
+
+/**
+ * A two-dimensional bit set that stores its bits in square chunks which are only allocated when
+ * some bit inside them gets set. The memory used is proportional to the number of used chunks, not
+ * to the area of the grid.
+ *
+ * @author Armin Reichert
+ */
+public class ChunkedBitSet {
+
+	/**
+	 * Receives the positions of set bits.
+	 */
+	@FunctionalInterface
+	public interface PositionConsumer {
+
+		void accept(int x, int y);
+	}
+
+	/** Chunk size in tiles (in both directions). */
+	public static final int CHUNK_SIZE = 64;
+
+	private static final int CHUNK_SHIFT = 6;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int WORDS_PER_CHUNK = CHUNK_SIZE * CHUNK_SIZE / 64;
+
+	private final int width;
+	private final int height;
+	private final int chunksX;
+	private final int chunksY;
+	private final long[][] chunks;
+	private final int[] chunkCardinality;
+	private int cardinality;
+
+	public ChunkedBitSet(int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException(String.format("Illegal size: %d x %d", width, height));
+		}
+		this.width = width;
+		this.height = height;
+		chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+		chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+		chunks = new long[chunksX * chunksY][];
+		chunkCardinality = new int[chunks.length];
+	}
+
+	public int width() {
+		return width;
+	}
+
+	public int height() {
+		return height;
+	}
+
+	/**
+	 * @return number of set bits
+	 */
+	public int cardinality() {
+		return cardinality;
+	}
+
+	/**
+	 * @return number of allocated chunks
+	 */
+	public int usedChunks() {
+		int count = 0;
+		for (long[] chunk : chunks) {
+			if (chunk != null) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	private boolean inside(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private int chunkIndex(int x, int y) {
+		return (y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT);
+	}
+
+	private static int bitIndex(int x, int y) {
+		return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+	}
+
+	public boolean get(int x, int y) {
+		if (!inside(x, y)) {
+			return false;
+		}
+		long[] chunk = chunks[chunkIndex(x, y)];
+		if (chunk == null) {
+			return false;
+		}
+		int bit = bitIndex(x, y);
+		return (chunk[bit >> 6] & (1L << bit)) != 0;
+	}
+
+	public void set(int x, int y, boolean value) {
+		if (!inside(x, y)) {
+			throw new IllegalArgumentException(String.format("Position (%d,%d) outside of bit set", x, y));
+		}
+		int c = chunkIndex(x, y);
+		long[] chunk = chunks[c];
+		if (chunk == null) {
+			if (!value) {
+				return;
+			}
+			chunk = chunks[c] = new long[WORDS_PER_CHUNK];
+		}
+		int bit = bitIndex(x, y);
+		long mask = 1L << bit;
+		boolean old = (chunk[bit >> 6] & mask) != 0;
+		if (old == value) {
+			return;
+		}
+		if (value) {
+			chunk[bit >> 6] |= mask;
+			++chunkCardinality[c];
+			++cardinality;
+		} else {
+			chunk[bit >> 6] &= ~mask;
+			--cardinality;
+			if (--chunkCardinality[c] == 0) {
+				chunks[c] = null; // release empty chunk
+			}
+		}
+	}
+
+	public void clear() {
+		for (int c = 0; c < chunks.length; ++c) {
+			chunks[c] = null;
+			chunkCardinality[c] = 0;
+		}
+		cardinality = 0;
+	}
+
+	/**
+	 * Copies all bits from the other bit set which must have the same size.
+	 *
+	 * @param other other bit set
+	 */
+	public void copyFrom(ChunkedBitSet other) {
+		if (other.width != width || other.height != height) {
+			throw new IllegalArgumentException("Bit sets have different size");
+		}
+		for (int c = 0; c < chunks.length; ++c) {
+			chunks[c] = other.chunks[c] != null ? other.chunks[c].clone() : null;
+			chunkCardinality[c] = other.chunkCardinality[c];
+		}
+		cardinality = other.cardinality;
+	}
+
+	/**
+	 * Calls the consumer for each set bit inside the given region, in row-major order per chunk. Empty
+	 * chunks are skipped without visiting their bits.
+	 *
+	 * @param x        left column of region
+	 * @param y        top row of region
+	 * @param w        region width
+	 * @param h        region height
+	 * @param consumer consumer of (x, y) positions
+	 */
+	public void forEachSetBit(int x, int y, int w, int h, PositionConsumer consumer) {
+		int minX = Math.max(0, x), maxX = Math.min(width, x + w);
+		int minY = Math.max(0, y), maxY = Math.min(height, y + h);
+		if (minX >= maxX || minY >= maxY) {
+			return;
+		}
+		for (int cy = minY >> CHUNK_SHIFT; cy <= (maxY - 1) >> CHUNK_SHIFT; ++cy) {
+			for (int cx = minX >> CHUNK_SHIFT; cx <= (maxX - 1) >> CHUNK_SHIFT; ++cx) {
+				long[] chunk = chunks[cy * chunksX + cx];
+				if (chunk == null) {
+					continue;
+				}
+				int fromY = Math.max(minY, cy << CHUNK_SHIFT), toY = Math.min(maxY, (cy + 1) << CHUNK_SHIFT);
+				int fromX = Math.max(minX, cx << CHUNK_SHIFT), toX = Math.min(maxX, (cx + 1) << CHUNK_SHIFT);
+				for (int py = fromY; py < toY; ++py) {
+					// one chunk row is exactly one word
+					long word = chunk[py & CHUNK_MASK];
+					while (word != 0) {
+						int px = (cx << CHUNK_SHIFT) + Long.numberOfTrailingZeros(word);
+						word &= word - 1;
+						if (fromX <= px && px < toX) {
+							consumer.accept(px, py);
+						}
+					}
+				}
+			}
+		}
+	}
+}
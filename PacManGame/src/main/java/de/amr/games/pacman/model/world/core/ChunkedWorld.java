@@ -0,0 +1,290 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+
+/**
+ * A world for large (e.g. procedurally generated) mazes. The tile content is stored in chunked bit
+ * sets such that memory is proportional to the used chunks, and food queries for a region only visit
+ * the chunks overlapping the region.
+ * <p>
+ * The world is empty (no accessible tiles) when created and gets filled using the mutator methods.
+ *
+ * @author Armin Reichert
+ */
+public class ChunkedWorld extends AbstractTiledWorld {
+
+	private final ChunkedBitSet accessible;
+	private final ChunkedBitSet tunnels;
+	private final ChunkedBitSet food;
+	private final ChunkedBitSet energizers;
+	private final ChunkedBitSet eaten;
+
+	private final List<House> houses = new ArrayList<>();
+	private final List<Portal> portals = new ArrayList<>();
+	private final List<OneWayTile> oneWayTiles = new ArrayList<>();
+	private Bed pacManBed;
+	private TemporaryFood bonus;
+
+	// number of food tiles and remaining food, per kind (pellets, energizers)
+	private int totalPellets, totalEnergizers;
+	private int remainingPellets, remainingEnergizers;
+
+	public ChunkedWorld(int width, int height) {
+		super(width, height);
+		// tile coordinates are stored as short values
+		if (width > Short.MAX_VALUE || height > Short.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("World size %d x %d is too large", width, height));
+		}
+		accessible = new ChunkedBitSet(width, height);
+		tunnels = new ChunkedBitSet(width, height);
+		food = new ChunkedBitSet(width, height);
+		energizers = new ChunkedBitSet(width, height);
+		eaten = new ChunkedBitSet(width, height);
+	}
+
+	// mutators
+
+	public void setAccessible(int col, int row, boolean value) {
+		accessible.set(col, row, value);
+		structureChanged();
+	}
+
+	public void setTunnel(int col, int row, boolean value) {
+		tunnels.set(col, row, value);
+		structureChanged();
+	}
+
+	/**
+	 * Places food at the given tile location.
+	 *
+	 * @param col  tile column
+	 * @param row  tile row
+	 * @param kind {@link ArcadeFood#PELLET}, {@link ArcadeFood#ENERGIZER} or {@code null} for no food
+	 */
+	public void setFood(int col, int row, ArcadeFood kind) {
+		if (food.get(col, row)) {
+			boolean remaining = !eaten.get(col, row);
+			if (energizers.get(col, row)) {
+				totalEnergizers -= 1;
+				remainingEnergizers -= remaining ? 1 : 0;
+			} else {
+				totalPellets -= 1;
+				remainingPellets -= remaining ? 1 : 0;
+			}
+		}
+		if (kind == ArcadeFood.ENERGIZER) {
+			totalEnergizers += 1;
+			remainingEnergizers += 1;
+		} else if (kind == ArcadeFood.PELLET) {
+			totalPellets += 1;
+			remainingPellets += 1;
+		}
+		food.set(col, row, kind != null);
+		energizers.set(col, row, kind == ArcadeFood.ENERGIZER);
+		eaten.set(col, row, false);
+	}
+
+	public void addHouse(House house) {
+		houses.add(house);
+		structureChanged();
+	}
+
+	public void addPortal(Portal portal) {
+		portals.add(portal);
+		structureChanged();
+	}
+
+	public void addOneWayTile(OneWayTile oneWayTile) {
+		oneWayTiles.add(oneWayTile);
+		structureChanged();
+	}
+
+	public void setPacManBed(Bed bed) {
+		pacManBed = bed;
+	}
+
+	/**
+	 * @return number of allocated chunks over all layers
+	 */
+	public int usedChunks() {
+		return accessible.usedChunks() + tunnels.usedChunks() + food.usedChunks() + energizers.usedChunks()
+				+ eaten.usedChunks();
+	}
+
+	// queries
+
+	@Override
+	public boolean isAccessible(Tile tile) {
+		return accessible.get(tile.col, tile.row);
+	}
+
+	@Override
+	public boolean isTunnel(Tile tile) {
+		return tunnels.get(tile.col, tile.row);
+	}
+
+	@Override
+	public boolean isIntersection(Tile tile) {
+		if (!accessible.get(tile.col, tile.row) || houses.stream().anyMatch(house -> house.includes(tile))) {
+			return false;
+		}
+		int numAccessibleNeighbors = 0;
+		for (Direction dir : Direction.values()) {
+			Tile neighbor = neighbor(tile, dir);
+			if (accessible.get(neighbor.col, neighbor.row)) {
+				++numAccessibleNeighbors;
+			}
+		}
+		return numAccessibleNeighbors > 2;
+	}
+
+	@Override
+	public Stream<Tile> foodTiles(int col, int row, int width, int height) {
+		Stream.Builder<Tile> tiles = Stream.builder();
+		food.forEachSetBit(col, row, width, height, (x, y) -> {
+			if (!eaten.get(x, y)) {
+				tiles.add(Tile.at(x, y));
+			}
+		});
+		return tiles.build();
+	}
+
+	@Override
+	public Stream<Tile> eatenFoodTiles(int col, int row, int width, int height) {
+		Stream.Builder<Tile> tiles = Stream.builder();
+		eaten.forEachSetBit(col, row, width, height, (x, y) -> tiles.add(Tile.at(x, y)));
+		return tiles.build();
+	}
+
+	@Override
+	public Bed pacManBed() {
+		return pacManBed;
+	}
+
+	@Override
+	public Stream<House> houses() {
+		return houses.stream();
+	}
+
+	@Override
+	public Optional<House> house(int i) {
+		return 0 <= i && i < houses.size() ? Optional.of(houses.get(i)) : Optional.empty();
+	}
+
+	@Override
+	public Stream<Portal> portals() {
+		return portals.stream();
+	}
+
+	@Override
+	public Stream<OneWayTile> oneWayTiles() {
+		return oneWayTiles.stream();
+	}
+
+	// food
+
+	@Override
+	public int totalFoodCount() {
+		return food.cardinality();
+	}
+
+	@Override
+	public int remainingFoodCount(Food kind) {
+		return kind == ArcadeFood.PELLET ? remainingPellets : kind == ArcadeFood.ENERGIZER ? remainingEnergizers : 0;
+	}
+
+	@Override
+	public void forEachRemainingFood(Food kind, Consumer<Tile> action) {
+		if (kind != ArcadeFood.PELLET && kind != ArcadeFood.ENERGIZER) {
+			return;
+		}
+		boolean energizer = kind == ArcadeFood.ENERGIZER;
+		food.forEachSetBit(0, 0, width(), height(), (x, y) -> {
+			if (!eaten.get(x, y) && energizers.get(x, y) == energizer) {
+				action.accept(Tile.at(x, y));
+			}
+		});
+	}
+
+	@Override
+	public void restoreFood() {
+		eaten.clear();
+		remainingPellets = totalPellets;
+		remainingEnergizers = totalEnergizers;
+		fireFoodRestored();
+	}
+
+	@Override
+	public void removeFood(Tile tile) {
+		if (food.get(tile.col, tile.row) && !eaten.get(tile.col, tile.row)) {
+			eaten.set(tile.col, tile.row, true);
+			if (energizers.get(tile.col, tile.row)) {
+				remainingEnergizers -= 1;
+				fireFoodRemoved(tile, ArcadeFood.ENERGIZER);
+			} else {
+				remainingPellets -= 1;
+				fireFoodRemoved(tile, ArcadeFood.PELLET);
+			}
+		}
+	}
+
+	@Override
+	public boolean hasFood(Tile tile) {
+		return food.get(tile.col, tile.row) && !eaten.get(tile.col, tile.row);
+	}
+
+	@Override
+	public boolean hasFood(Food kind, Tile tile) {
+		if (kind == ArcadeFood.PELLET || kind == ArcadeFood.ENERGIZER) {
+			return hasFood(tile) && energizers.get(tile.col, tile.row) == (kind == ArcadeFood.ENERGIZER);
+		}
+		return super.hasFood(kind, tile);
+	}
+
+	@Override
+	public boolean hasEatenFood(Tile tile) {
+		return eaten.get(tile.col, tile.row);
+	}
+
+	@Override
+	public Optional<Food> foodAt(Tile tile) {
+		if (bonus != null && bonus.location().equals(tile)) {
+			return Optional.of(bonus);
+		}
+		if (hasFood(tile)) {
+			return Optional.of(energizers.get(tile.col, tile.row) ? ArcadeFood.ENERGIZER : ArcadeFood.PELLET);
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<TemporaryFood> temporaryFood() {
+		return Optional.ofNullable(bonus);
+	}
+
+	@Override
+	public void showTemporaryFood(TemporaryFood food) {
+		bonus = food;
+		bonus.activate();
+		fireTemporaryFoodShown(food);
+	}
+
+	@Override
+	public void hideTemporaryFood() {
+		bonus = null;
+	}
+}
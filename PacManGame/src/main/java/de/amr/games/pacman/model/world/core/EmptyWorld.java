@@ -1,6 +1,7 @@
 package de.amr.games.pacman.model.world.core;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.model.world.api.Food;
@@ -62,6 +63,15 @@ public class EmptyWorld extends AbstractTiledWorld {
 		return 0;
 	}
 
+	@Override
+	public int remainingFoodCount(Food food) {
+		return 0;
+	}
+
+	@Override
+	public void forEachRemainingFood(Food food, Consumer<Tile> action) {
+	}
+
 	@Override
 	public void restoreFood() {
 	}
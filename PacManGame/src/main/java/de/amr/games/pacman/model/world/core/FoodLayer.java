@@ -0,0 +1,149 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.function.IntConsumer;
+
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+
+/**
+ * The food of a world as one byte (the food kind) per tile, indexed in row-major order.
+ * <p>
+ * For each food kind, the indices of the tiles with remaining food are kept in a dense array. When
+ * food is eaten, its index is swapped with the last index of the array, so removal is O(1) and
+ * enumerating the remaining food is O(remaining food).
+ *
+ * @author Armin Reichert
+ */
+public class FoodLayer {
+
+	public static final byte NONE = 0, PELLET = 1, ENERGIZER = 2;
+
+	private static final int NUM_KINDS = 3;
+
+	/**
+	 * @param food some food
+	 * @return kind of the food in this layer, {@link #NONE} for food not stored in a layer
+	 */
+	public static byte kindOf(Food food) {
+		return food == ArcadeFood.PELLET ? PELLET : food == ArcadeFood.ENERGIZER ? ENERGIZER : NONE;
+	}
+
+	/**
+	 * @param kind food kind
+	 * @return the food of this kind or {@code null} for {@link #NONE}
+	 */
+	public static ArcadeFood food(byte kind) {
+		return kind == PELLET ? ArcadeFood.PELLET : kind == ENERGIZER ? ArcadeFood.ENERGIZER : null;
+	}
+
+	private final byte[] initial;
+	private final byte[] current;
+
+	/** Per kind: tile indices of remaining food, the first {@code count[kind]} entries are valid. */
+	private final int[][] remaining = new int[NUM_KINDS][];
+	private final int[] count = new int[NUM_KINDS];
+
+	/** Position of each tile index in the remaining array of its kind. */
+	private final int[] position;
+
+	/**
+	 * @param kinds food kind ({@link #NONE}, {@link #PELLET}, {@link #ENERGIZER}) per tile
+	 */
+	public FoodLayer(byte[] kinds) {
+		initial = kinds.clone();
+		current = new byte[kinds.length];
+		position = new int[kinds.length];
+		int[] total = new int[NUM_KINDS];
+		for (byte kind : initial) {
+			if (kind < NONE || kind >= NUM_KINDS) {
+				throw new IllegalArgumentException("Illegal food kind: " + kind);
+			}
+			total[kind] += 1;
+		}
+		for (int kind = PELLET; kind < NUM_KINDS; ++kind) {
+			remaining[kind] = new int[total[kind]];
+		}
+		restore();
+	}
+
+	/**
+	 * Restores all food.
+	 */
+	public void restore() {
+		System.arraycopy(initial, 0, current, 0, initial.length);
+		count[PELLET] = count[ENERGIZER] = 0;
+		for (int i = 0; i < initial.length; ++i) {
+			byte kind = initial[i];
+			if (kind != NONE) {
+				position[i] = count[kind];
+				remaining[kind][count[kind]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Removes the food at the given tile index.
+	 *
+	 * @param i tile index
+	 * @return the kind of the removed food, {@link #NONE} if there was no food
+	 */
+	public byte remove(int i) {
+		byte kind = current[i];
+		if (kind != NONE) {
+			int[] indices = remaining[kind];
+			int last = indices[--count[kind]];
+			indices[position[i]] = last;
+			position[last] = position[i];
+			current[i] = NONE;
+		}
+		return kind;
+	}
+
+	/**
+	 * @param i tile index
+	 * @return kind of the remaining food at this tile, {@link #NONE} if there is none
+	 */
+	public byte kind(int i) {
+		return current[i];
+	}
+
+	/**
+	 * @param i tile index
+	 * @return if there was food at this tile that has been eaten
+	 */
+	public boolean eaten(int i) {
+		return initial[i] != NONE && current[i] == NONE;
+	}
+
+	/**
+	 * @return total number of food tiles
+	 */
+	public int total() {
+		return remaining[PELLET].length + remaining[ENERGIZER].length;
+	}
+
+	/**
+	 * @param kind food kind
+	 * @return number of remaining food of this kind
+	 */
+	public int count(byte kind) {
+		return kind == NONE ? 0 : count[kind];
+	}
+
+	/**
+	 * Performs the action for the tile index of each remaining food of the given kind. Food must not be
+	 * removed or restored by the action.
+	 *
+	 * @param kind   food kind
+	 * @param action action performed for each tile index
+	 */
+	public void forEach(byte kind, IntConsumer action) {
+		if (kind == NONE) {
+			return;
+		}
+		int[] indices = remaining[kind];
+		for (int j = 0, n = count[kind]; j < n; ++j) {
+			action.accept(indices[j]);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.HouseBuilder;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+
+/**
+ * A world created from a world map.
+ *
+ * @see WorldMapLoader
+ *
+ * @author Armin Reichert
+ */
+public class MapBasedWorld extends AbstractTiledWorld {
+
+	protected final WorldMap map;
+
+	private final List<House> houses = new ArrayList<>();
+	private final List<Portal> portals = new ArrayList<>();
+	private final List<OneWayTile> oneWayTiles = new ArrayList<>();
+	private final Bed pacManBed;
+	private final Tile bonusLocation;
+	private final List<Tile> capes;
+	private final FoodLayer food;
+	private TemporaryFood bonus;
+
+	public MapBasedWorld(WorldMap map) {
+		super(map.width, map.height);
+		this.map = map;
+		byte[] foodKinds = new byte[map.content.length];
+		for (int i = 0; i < foodKinds.length; ++i) {
+			foodKinds[i] = map.content[i] == WorldMap.ENERGIZER ? FoodLayer.ENERGIZER
+					: map.content[i] == WorldMap.PELLET ? FoodLayer.PELLET : FoodLayer.NONE;
+		}
+		food = new FoodLayer(foodKinds);
+		Direction[] dirs = Direction.values();
+		for (int h = 0; h < map.houses.length; ++h) {
+			int[] layout = map.houses[h];
+			HouseBuilder builder = new HouseBuilder().layout(layout[0], layout[1], layout[2], layout[3]);
+			for (int[] door : map.doors) {
+				if (door[0] == h) {
+					builder.door(new Door(dirs[door[5]], door[1], door[2], door[3], door[4]));
+				}
+			}
+			for (int[] bed : map.beds) {
+				if (bed[0] == h) {
+					builder.bed(bed[1], bed[2], dirs[bed[3]]);
+				}
+			}
+			houses.add(builder.build());
+		}
+		for (int[] portal : map.portals) {
+			portals.add(new Portal(Tile.at(portal[0], portal[1]), Tile.at(portal[2], portal[3]), portal[4] == 1));
+		}
+		for (int[] oneWay : map.oneWayTiles) {
+			oneWayTiles.add(new OneWayTile(oneWay[0], oneWay[1], dirs[oneWay[2]]));
+		}
+		pacManBed = new Bed(map.pacManBed[0], map.pacManBed[1], dirs[map.pacManBed[2]]);
+		bonusLocation = Tile.at(map.bonusLocation[0], map.bonusLocation[1]);
+		capes = List.of(tile(map.capes[0]), tile(map.capes[1]), tile(map.capes[2]), tile(map.capes[3]));
+	}
+
+	private Tile tile(int index) {
+		return Tile.at(index % map.width, index / map.width);
+	}
+
+	private boolean insideWorld(Tile tile) {
+		return map.insideMap(tile.col, tile.row);
+	}
+
+	/**
+	 * @return the location where bonus food is placed
+	 */
+	public Tile bonusLocation() {
+		return bonusLocation;
+	}
+
+	@Override
+	public List<Tile> capes() {
+		return capes;
+	}
+
+	@Override
+	public Tile neighbor(Tile tile, Direction dir) {
+		if (insideWorld(tile)) {
+			int neighbor = map.neighbors[4 * map.index(tile.col, tile.row) + dir.ordinal()];
+			if (neighbor != WorldMap.NO_NEIGHBOR) {
+				return tile(neighbor);
+			}
+		}
+		return tileToDir(tile, dir, 1);
+	}
+
+	@Override
+	public boolean isAccessible(Tile tile) {
+		return insideWorld(tile) && map.content(tile.col, tile.row) != WorldMap.WALL;
+	}
+
+	@Override
+	public boolean isIntersection(Tile tile) {
+		return insideWorld(tile) && map.intersections.get(map.index(tile.col, tile.row));
+	}
+
+	@Override
+	public boolean isTunnel(Tile tile) {
+		return insideWorld(tile) && map.tunnelTiles.get(map.index(tile.col, tile.row));
+	}
+
+	@Override
+	public Stream<House> houses() {
+		return houses.stream();
+	}
+
+	@Override
+	public Optional<House> house(int i) {
+		return 0 <= i && i < houses.size() ? Optional.of(houses.get(i)) : Optional.empty();
+	}
+
+	@Override
+	public Bed pacManBed() {
+		return pacManBed;
+	}
+
+	@Override
+	public Stream<Portal> portals() {
+		return portals.stream();
+	}
+
+	@Override
+	public Stream<OneWayTile> oneWayTiles() {
+		return oneWayTiles.stream();
+	}
+
+	@Override
+	public int totalFoodCount() {
+		return map.foodCount;
+	}
+
+	@Override
+	public int remainingFoodCount(Food kind) {
+		return food.count(FoodLayer.kindOf(kind));
+	}
+
+	@Override
+	public void forEachRemainingFood(Food kind, Consumer<Tile> action) {
+		food.forEach(FoodLayer.kindOf(kind), i -> action.accept(tile(i)));
+	}
+
+	@Override
+	public void restoreFood() {
+		food.restore();
+		fireFoodRestored();
+	}
+
+	@Override
+	public void removeFood(Tile tile) {
+		if (insideWorld(tile)) {
+			byte kind = food.remove(map.index(tile.col, tile.row));
+			if (kind != FoodLayer.NONE) {
+				fireFoodRemoved(tile, FoodLayer.food(kind));
+			}
+		}
+	}
+
+	@Override
+	public boolean hasFood(Tile tile) {
+		return insideWorld(tile) && food.kind(map.index(tile.col, tile.row)) != FoodLayer.NONE;
+	}
+
+	@Override
+	public boolean hasFood(Food kind, Tile tile) {
+		byte foodKind = FoodLayer.kindOf(kind);
+		if (foodKind == FoodLayer.NONE) {
+			return super.hasFood(kind, tile);
+		}
+		return insideWorld(tile) && food.kind(map.index(tile.col, tile.row)) == foodKind;
+	}
+
+	@Override
+	public boolean hasEatenFood(Tile tile) {
+		return insideWorld(tile) && food.eaten(map.index(tile.col, tile.row));
+	}
+
+	@Override
+	public void showTemporaryFood(TemporaryFood food) {
+		bonus = food;
+		bonus.activate();
+		fireTemporaryFoodShown(food);
+	}
+
+	@Override
+	public void hideTemporaryFood() {
+		bonus = null;
+	}
+
+	@Override
+	public Optional<TemporaryFood> temporaryFood() {
+		return Optional.ofNullable(bonus);
+	}
+
+	@Override
+	public Optional<Food> foodAt(Tile location) {
+		if (bonus != null && bonus.location().equals(location)) {
+			return Optional.of(bonus);
+		}
+		if (insideWorld(location)) {
+			return Optional.ofNullable(FoodLayer.food(food.kind(map.index(location.col, location.row))));
+		}
+		return Optional.empty();
+	}
+}
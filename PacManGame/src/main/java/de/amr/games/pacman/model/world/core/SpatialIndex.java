@@ -0,0 +1,167 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Spatial index over tile positions. Items are stored in buckets of square cells such that a query
+ * for items near some tile only visits the cells overlapping the query region.
+ *
+ * @param <T> item type
+ *
+ * @author Armin Reichert
+ */
+public class SpatialIndex<T> {
+
+	private static class Entry<T> {
+
+		final T item;
+		int col, row;
+		long cell;
+
+		Entry(T item) {
+			this.item = item;
+		}
+	}
+
+	private final int cellSize;
+	private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+	private final Map<T, Entry<T>> entries = new HashMap<>();
+
+	/**
+	 * @param cellSize cell size in tiles
+	 */
+	public SpatialIndex(int cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive, but is " + cellSize);
+		}
+		this.cellSize = cellSize;
+	}
+
+	private long cellKey(int cellX, int cellY) {
+		return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+	}
+
+	private long cellOf(int col, int row) {
+		return cellKey(Math.floorDiv(col, cellSize), Math.floorDiv(row, cellSize));
+	}
+
+	/**
+	 * @return number of indexed items
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Inserts the item at the given position or moves it there if it is already indexed.
+	 *
+	 * @param item some item
+	 * @param col  tile column
+	 * @param row  tile row
+	 */
+	public void put(T item, int col, int row) {
+		long cell = cellOf(col, row);
+		Entry<T> entry = entries.get(item);
+		if (entry == null) {
+			entry = new Entry<>(item);
+			entries.put(item, entry);
+		} else if (entry.cell != cell) {
+			removeFromCell(entry);
+		} else {
+			entry.col = col;
+			entry.row = row;
+			return;
+		}
+		entry.col = col;
+		entry.row = row;
+		entry.cell = cell;
+		cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(entry);
+	}
+
+	/**
+	 * Inserts the item at the given tile or moves it there if it is already indexed.
+	 *
+	 * @param item some item
+	 * @param tile tile position
+	 */
+	public void put(T item, Tile tile) {
+		put(item, tile.col, tile.row);
+	}
+
+	/**
+	 * Removes the item from the index.
+	 *
+	 * @param item some item
+	 */
+	public void remove(T item) {
+		Entry<T> entry = entries.remove(item);
+		if (entry != null) {
+			removeFromCell(entry);
+		}
+	}
+
+	private void removeFromCell(Entry<T> entry) {
+		List<Entry<T>> bucket = cells.get(entry.cell);
+		bucket.remove(entry);
+		if (bucket.isEmpty()) {
+			cells.remove(entry.cell);
+		}
+	}
+
+	public void clear() {
+		cells.clear();
+		entries.clear();
+	}
+
+	/**
+	 * @param col    tile column
+	 * @param row    tile row
+	 * @param radius radius in tiles
+	 * @return the items whose position is at most {@code radius} tiles away from the given position in
+	 *         both directions (Chebyshev distance)
+	 */
+	public Stream<T> near(int col, int row, int radius) {
+		List<T> result = new ArrayList<>();
+		int minCellX = Math.floorDiv(col - radius, cellSize), maxCellX = Math.floorDiv(col + radius, cellSize);
+		int minCellY = Math.floorDiv(row - radius, cellSize), maxCellY = Math.floorDiv(row + radius, cellSize);
+		long numCellsInRegion = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+		if (numCellsInRegion > cells.size()) {
+			// region covers more cells than are occupied, scan the items directly
+			for (Entry<T> entry : entries.values()) {
+				if (Math.abs(entry.col - col) <= radius && Math.abs(entry.row - row) <= radius) {
+					result.add(entry.item);
+				}
+			}
+			return result.stream();
+		}
+		for (int cellY = minCellY; cellY <= maxCellY; ++cellY) {
+			for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+				List<Entry<T>> bucket = cells.get(cellKey(cellX, cellY));
+				if (bucket != null) {
+					for (Entry<T> entry : bucket) {
+						if (Math.abs(entry.col - col) <= radius && Math.abs(entry.row - row) <= radius) {
+							result.add(entry.item);
+						}
+					}
+				}
+			}
+		}
+		return result.stream();
+	}
+
+	/**
+	 * @param tile   reference tile
+	 * @param radius radius in tiles
+	 * @return the items whose position is at most {@code radius} tiles away from the given tile in both
+	 *         directions (Chebyshev distance)
+	 */
+	public Stream<T> near(Tile tile, int radius) {
+		return near(tile.col, tile.row, radius);
+	}
+}
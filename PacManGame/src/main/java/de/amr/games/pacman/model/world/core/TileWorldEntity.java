@@ -32,8 +32,7 @@ public abstract class TileWorldEntity extends Entity {
 	 * @return column index of current tile
 	 */
 	public int col() {
-		float centerX = tf.x + tf.width / 2;
-		return (int) (centerX >= 0 ? centerX / Tile.SIZE : Math.floor(centerX / Tile.SIZE));
+		return (int) Math.floor(tf.x + tf.width / 2) >> Tile.SIZE_SHIFT;
 	}
 
 	/**
@@ -42,8 +41,7 @@ public abstract class TileWorldEntity extends Entity {
 	 * @return row index of current tile
 	 */
 	public int row() {
-		float centerY = tf.y + tf.height / 2;
-		return (int) (centerY >= 0 ? centerY / Tile.SIZE : Math.floor(centerY / Tile.SIZE));
+		return (int) Math.floor(tf.y + tf.height / 2) >> Tile.SIZE_SHIFT;
 	}
 
 	/**
@@ -74,7 +72,18 @@ public abstract class TileWorldEntity extends Entity {
 	 * @param dy   additional pixels in y-direction
 	 */
 	public void placeAt(Tile tile, float dx, float dy) {
-		tf.setPosition(tile.x() + dx, tile.y() + dy);
+		placeAt(tile.x() + dx, tile.y() + dy);
+	}
+
+	/**
+	 * Places this guy at the given position. Guys moving in the world change their position only by
+	 * this method, so subclasses can observe tile changes here.
+	 * 
+	 * @param x x-position
+	 * @param y y-position
+	 */
+	public void placeAt(float x, float y) {
+		tf.setPosition(x, y);
 	}
 
 	/**
@@ -0,0 +1,110 @@
+package de.amr.games.pacman.model.world.core;
+
+import java.util.BitSet;
+
+/**
+ * The data of a world as read from a world map file, together with the structures derived from it
+ * (intersections, tunnel tiles, neighbor table, capes).
+ * <p>
+ * Derived structures are computed once when the map is loaded and are stored in the binary sidecar
+ * file such that they need not be computed again.
+ *
+ * @see WorldMapLoader
+ *
+ * @author Armin Reichert
+ */
+public class WorldMap {
+
+	public static final byte SPACE = 0, WALL = 1, PELLET = 2, ENERGIZER = 3;
+
+	/** Marks a missing neighbor in the neighbor table. */
+	public static final int NO_NEIGHBOR = -1;
+
+	final int width;
+	final int height;
+
+	/** Content (one of SPACE, WALL, PELLET, ENERGIZER) of each tile in row-major order. */
+	final byte[] content;
+
+	/** { col, row, width, height } */
+	final int[][] houses;
+
+	/** { house, col, row, width, height, direction into house } */
+	final int[][] doors;
+
+	/** { house, col, row, exit direction } */
+	final int[][] beds;
+
+	/** { either col, either row, other col, other row, vertical ? 1 : 0 } */
+	final int[][] portals;
+
+	/** { col, row, direction } */
+	final int[][] oneWayTiles;
+
+	/** { col, row, width, height } */
+	final int[][] tunnels;
+
+	/** { col, row, exit direction } */
+	final int[] pacManBed;
+
+	/** { col, row } */
+	final int[] bonusLocation;
+
+	// derived structures
+
+	final BitSet intersections;
+	final BitSet tunnelTiles;
+
+	/** Index of neighbor tile at {@code 4 * tileIndex + direction.ordinal()}, portals included. */
+	final int[] neighbors;
+
+	/** Tile indices of the capes in order NW, NE, SE, SW. */
+	final int[] capes;
+
+	final int foodCount;
+
+	WorldMap(int width, int height, byte[] content, int[][] houses, int[][] doors, int[][] beds, int[][] portals,
+			int[][] oneWayTiles, int[][] tunnels, int[] pacManBed, int[] bonusLocation, BitSet intersections,
+			BitSet tunnelTiles, int[] neighbors, int[] capes, int foodCount) {
+		this.width = width;
+		this.height = height;
+		this.content = content;
+		this.houses = houses;
+		this.doors = doors;
+		this.beds = beds;
+		this.portals = portals;
+		this.oneWayTiles = oneWayTiles;
+		this.tunnels = tunnels;
+		this.pacManBed = pacManBed;
+		this.bonusLocation = bonusLocation;
+		this.intersections = intersections;
+		this.tunnelTiles = tunnelTiles;
+		this.neighbors = neighbors;
+		this.capes = capes;
+		this.foodCount = foodCount;
+	}
+
+	public int width() {
+		return width;
+	}
+
+	public int height() {
+		return height;
+	}
+
+	public int index(int col, int row) {
+		return row * width + col;
+	}
+
+	public boolean insideMap(int col, int row) {
+		return 0 <= col && col < width && 0 <= row && row < height;
+	}
+
+	public byte content(int col, int row) {
+		return content[index(col, row)];
+	}
+
+	public int foodCount() {
+		return foodCount;
+	}
+}
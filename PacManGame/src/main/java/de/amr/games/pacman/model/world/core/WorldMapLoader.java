@@ -0,0 +1,466 @@
+package de.amr.games.pacman.model.world.core;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import de.amr.games.pacman.model.world.api.Direction;
+
+/**
+ * Loads world maps from text files.
+ * <p>
+ * A world map file contains lines of the form {@code keyword arguments...}, lines starting with
+ * '#' are comments:
+ *
+ * <pre>
+ * size    width height
+ * tiles              (followed by one line per tile row, terminated by "end")
+ *                    '#' = wall, '-' = empty, '.' = pellet, '*' = energizer
+ * portal  col row col row horizontal|vertical
+ * pacman  col row exitDir
+ * bonus   col row
+ * house   col row width height
+ * door    col row width height intoHouseDir   (belongs to preceding house)
+ * bed     col row exitDir                     (belongs to preceding house)
+ * oneway  col row dir
+ * tunnel  col row width height
+ * </pre>
+ *
+ * After parsing, the derived structures (intersections, neighbor table etc.) are computed and the
+ * complete map is written into a binary sidecar file. As long as the text file does not change
+ * (checked by its CRC) and the sidecar has been written with the current
+ * {@link #SIDECAR_FORMAT_VERSION format version}, the map is read from the sidecar file.
+ *
+ * @author Armin Reichert
+ */
+public class WorldMapLoader {
+
+	private static final int SIDECAR_MAGIC = 0x504D5731; // "PMW1"
+
+	/**
+	 * Version of the sidecar layout and of the derived structures stored in it. Must be incremented
+	 * whenever the sidecar layout or the computation in {@code derive()} changes, so that sidecar files
+	 * written by older versions are ignored.
+	 */
+	static final int SIDECAR_FORMAT_VERSION = 2;
+
+	private static final Map<String, WorldMap> RESOURCE_CACHE = new ConcurrentHashMap<>();
+
+	private static final File RESOURCE_SIDECAR_DIR = new File(System.getProperty("java.io.tmpdir"), "pacman-worlds");
+
+	/**
+	 * Loads a world map from a classpath resource. Maps loaded from resources are cached in memory, the
+	 * sidecar file is stored in a temporary directory.
+	 *
+	 * @param path resource path, e.g. "/worlds/arcade.world"
+	 * @return the world map
+	 */
+	public static WorldMap loadResource(String path) {
+		return RESOURCE_CACHE.computeIfAbsent(path, p -> {
+			try (InputStream in = WorldMapLoader.class.getResourceAsStream(p)) {
+				if (in == null) {
+					throw new IllegalArgumentException("World map resource not found: " + p);
+				}
+				String sidecarName = p.replaceAll("[^A-Za-z0-9._-]", "_") + ".bin";
+				return load(in.readAllBytes(), new File(RESOURCE_SIDECAR_DIR, sidecarName), p);
+			} catch (IOException x) {
+				throw new IllegalArgumentException("World map resource could not be read: " + p, x);
+			}
+		});
+	}
+
+	/**
+	 * Loads a world map from a file. The sidecar file is stored next to the map file.
+	 *
+	 * @param file world map file
+	 * @return the world map
+	 */
+	public static WorldMap loadFile(File file) {
+		try {
+			return load(Files.readAllBytes(file.toPath()), new File(file.getPath() + ".bin"), file.getPath());
+		} catch (IOException x) {
+			throw new IllegalArgumentException("World map file could not be read: " + file, x);
+		}
+	}
+
+	private static WorldMap load(byte[] text, File sidecar, String source) {
+		long start = System.nanoTime();
+		CRC32 crc32 = new CRC32();
+		crc32.update(text);
+		long crc = crc32.getValue();
+		WorldMap map = readSidecar(sidecar, crc);
+		if (map != null) {
+			loginfo("World map '%s' read from sidecar file in %d microseconds", source, (System.nanoTime() - start) / 1000);
+			return map;
+		}
+		map = parse(new String(text, StandardCharsets.UTF_8), source);
+		writeSidecar(sidecar, crc, map);
+		loginfo("World map '%s' parsed in %d microseconds", source, (System.nanoTime() - start) / 1000);
+		return map;
+	}
+
+	// parsing
+
+	private static int[] ints(String[] tokens, int from, int count, String line) {
+		if (tokens.length < from + count) {
+			throw new IllegalArgumentException("Missing arguments in line: " + line);
+		}
+		int[] values = new int[count];
+		for (int i = 0; i < count; ++i) {
+			values[i] = Integer.parseInt(tokens[from + i]);
+		}
+		return values;
+	}
+
+	private static int dir(String[] tokens, int i, String line) {
+		if (tokens.length <= i) {
+			throw new IllegalArgumentException("Missing direction in line: " + line);
+		}
+		return Direction.valueOf(tokens[i].toUpperCase()).ordinal();
+	}
+
+	private static int[] concat(int[] first, int... rest) {
+		int[] all = new int[first.length + rest.length];
+		System.arraycopy(first, 0, all, 0, first.length);
+		System.arraycopy(rest, 0, all, first.length, rest.length);
+		return all;
+	}
+
+	static WorldMap parse(String text, String source) {
+		int width = -1, height = -1;
+		byte[] content = null;
+		List<int[]> houses = new ArrayList<>(), doors = new ArrayList<>(), beds = new ArrayList<>();
+		List<int[]> portals = new ArrayList<>(), oneWayTiles = new ArrayList<>(), tunnels = new ArrayList<>();
+		int[] pacManBed = null, bonusLocation = null;
+
+		String[] lines = text.split("\\R");
+		for (int i = 0; i < lines.length; ++i) {
+			String line = lines[i].trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] tokens = line.split("\\s+");
+			switch (tokens[0]) {
+			case "size":
+				int[] size = ints(tokens, 1, 2, line);
+				width = size[0];
+				height = size[1];
+				break;
+			case "tiles":
+				if (width <= 0 || height <= 0) {
+					throw new IllegalArgumentException("Size must be specified before tiles in " + source);
+				}
+				content = new byte[width * height];
+				for (int row = 0; row < height; ++row) {
+					if (++i == lines.length) {
+						throw new IllegalArgumentException("Missing tile rows in " + source);
+					}
+					String tileRow = lines[i].trim();
+					if (tileRow.length() != width) {
+						throw new IllegalArgumentException(
+								String.format("Tile row %d has length %d but should have %d in %s", row, tileRow.length(), width, source));
+					}
+					for (int col = 0; col < width; ++col) {
+						content[row * width + col] = tileContent(tileRow.charAt(col), col, row);
+					}
+				}
+				if (++i == lines.length || !lines[i].trim().equals("end")) {
+					throw new IllegalArgumentException("Tile rows must be terminated by 'end' in " + source);
+				}
+				break;
+			case "portal":
+				boolean vertical = tokens.length > 5 && tokens[5].equalsIgnoreCase("vertical");
+				portals.add(concat(ints(tokens, 1, 4, line), vertical ? 1 : 0));
+				break;
+			case "pacman":
+				pacManBed = concat(ints(tokens, 1, 2, line), dir(tokens, 3, line));
+				break;
+			case "bonus":
+				bonusLocation = ints(tokens, 1, 2, line);
+				break;
+			case "house":
+				houses.add(ints(tokens, 1, 4, line));
+				break;
+			case "door":
+				if (houses.isEmpty()) {
+					throw new IllegalArgumentException("Door without house: " + line);
+				}
+				doors.add(concat(concat(new int[] { houses.size() - 1 }, ints(tokens, 1, 4, line)), dir(tokens, 5, line)));
+				break;
+			case "bed":
+				if (houses.isEmpty()) {
+					throw new IllegalArgumentException("Bed without house: " + line);
+				}
+				beds.add(concat(concat(new int[] { houses.size() - 1 }, ints(tokens, 1, 2, line)), dir(tokens, 3, line)));
+				break;
+			case "oneway":
+				oneWayTiles.add(concat(ints(tokens, 1, 2, line), dir(tokens, 3, line)));
+				break;
+			case "tunnel":
+				tunnels.add(ints(tokens, 1, 4, line));
+				break;
+			default:
+				throw new IllegalArgumentException(String.format("Unknown keyword '%s' in %s", tokens[0], source));
+			}
+		}
+		if (content == null) {
+			throw new IllegalArgumentException("No tiles specified in " + source);
+		}
+		if (pacManBed == null) {
+			throw new IllegalArgumentException("No Pac-Man bed specified in " + source);
+		}
+		if (bonusLocation == null) {
+			throw new IllegalArgumentException("No bonus location specified in " + source);
+		}
+		return derive(width, height, content, houses.toArray(int[][]::new), doors.toArray(int[][]::new),
+				beds.toArray(int[][]::new), portals.toArray(int[][]::new), oneWayTiles.toArray(int[][]::new),
+				tunnels.toArray(int[][]::new), pacManBed, bonusLocation);
+	}
+
+	private static byte tileContent(char c, int col, int row) {
+		switch (c) {
+		case '#':
+			return WorldMap.WALL;
+		case '-':
+			return WorldMap.SPACE;
+		case '.':
+			return WorldMap.PELLET;
+		case '*':
+			return WorldMap.ENERGIZER;
+		default:
+			throw new IllegalArgumentException(String.format("Illegal tile symbol '%c' at col=%d row=%d", c, col, row));
+		}
+	}
+
+	// derived structures
+
+	private static boolean inside(int[] rect, int col, int row) {
+		return rect[0] <= col && col < rect[0] + rect[2] && rect[1] <= row && row < rect[1] + rect[3];
+	}
+
+	private static WorldMap derive(int width, int height, byte[] content, int[][] houses, int[][] doors, int[][] beds,
+			int[][] portals, int[][] oneWayTiles, int[][] tunnels, int[] pacManBed, int[] bonusLocation) {
+		int numTiles = width * height;
+		Direction[] dirs = Direction.values();
+
+		// neighbor table (same semantics as AbstractTiledWorld.tileToDir for one step)
+		int[] neighbors = new int[4 * numTiles];
+		for (int row = 0; row < height; ++row) {
+			for (int col = 0; col < width; ++col) {
+				for (Direction dir : dirs) {
+					int ncol = col + dir.vector().roundedX(), nrow = row + dir.vector().roundedY();
+					for (int[] portal : portals) {
+						boolean vertical = portal[4] == 1;
+						if (col == portal[0] && row == portal[1] && dir == (vertical ? Direction.UP : Direction.LEFT)) {
+							ncol = portal[2];
+							nrow = row;
+						} else if (col == portal[2] && row == portal[3] && dir == (vertical ? Direction.DOWN : Direction.RIGHT)) {
+							ncol = portal[0];
+							nrow = row;
+						}
+					}
+					boolean inside = 0 <= ncol && ncol < width && 0 <= nrow && nrow < height;
+					neighbors[4 * (row * width + col) + dir.ordinal()] = inside ? nrow * width + ncol : WorldMap.NO_NEIGHBOR;
+				}
+			}
+		}
+
+		// intersections: tiles with more than two accessible neighbors outside of any house
+		BitSet intersections = new BitSet(numTiles);
+		for (int i = 0; i < numTiles; ++i) {
+			int count = 0;
+			for (Direction dir : dirs) {
+				int n = neighbors[4 * i + dir.ordinal()];
+				if (n != WorldMap.NO_NEIGHBOR && content[n] != WorldMap.WALL) {
+					boolean inHouse = false;
+					for (int[] house : houses) {
+						inHouse |= inside(house, n % width, n / width);
+					}
+					if (!inHouse) {
+						++count;
+					}
+				}
+			}
+			intersections.set(i, count > 2);
+		}
+
+		BitSet tunnelTiles = new BitSet(numTiles);
+		for (int[] tunnel : tunnels) {
+			for (int row = Math.max(0, tunnel[1]); row < Math.min(height, tunnel[1] + tunnel[3]); ++row) {
+				for (int col = Math.max(0, tunnel[0]); col < Math.min(width, tunnel[0] + tunnel[2]); ++col) {
+					tunnelTiles.set(row * width + col);
+				}
+			}
+		}
+
+		// capes in order NW, NE, SE, SW (first tile in row-major order wins on ties)
+		int[] capes = { -1, -1, -1, -1 };
+		int foodCount = 0;
+		for (int i = 0; i < numTiles; ++i) {
+			if (content[i] == WorldMap.PELLET || content[i] == WorldMap.ENERGIZER) {
+				++foodCount;
+			}
+			if (content[i] == WorldMap.WALL) {
+				continue;
+			}
+			int col = i % width, row = i / width;
+			int distNW = col + row, distNE = width - col + row;
+			if (capes[0] == -1 || distNW < capes[0] % width + capes[0] / width) {
+				capes[0] = i;
+			}
+			if (capes[1] == -1 || distNE < width - capes[1] % width + capes[1] / width) {
+				capes[1] = i;
+			}
+			if (capes[2] == -1 || distNW > capes[2] % width + capes[2] / width) {
+				capes[2] = i;
+			}
+			if (capes[3] == -1 || distNE > width - capes[3] % width + capes[3] / width) {
+				capes[3] = i;
+			}
+		}
+
+		return new WorldMap(width, height, content, houses, doors, beds, portals, oneWayTiles, tunnels, pacManBed,
+				bonusLocation, intersections, tunnelTiles, neighbors, capes, foodCount);
+	}
+
+	// binary sidecar
+
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private static void writeTable(DataOutputStream out, int[][] table) throws IOException {
+		out.writeInt(table.length);
+		for (int[] row : table) {
+			writeInts(out, row);
+		}
+	}
+
+	private static int[][] readTable(DataInputStream in) throws IOException {
+		int[][] table = new int[in.readInt()][];
+		for (int i = 0; i < table.length; ++i) {
+			table[i] = readInts(in);
+		}
+		return table;
+	}
+
+	private static void writeBits(DataOutputStream out, BitSet bits) throws IOException {
+		long[] words = bits.toLongArray();
+		out.writeInt(words.length);
+		for (long word : words) {
+			out.writeLong(word);
+		}
+	}
+
+	private static BitSet readBits(DataInputStream in) throws IOException {
+		long[] words = new long[in.readInt()];
+		for (int i = 0; i < words.length; ++i) {
+			words[i] = in.readLong();
+		}
+		return BitSet.valueOf(words);
+	}
+
+	/**
+	 * Writes the sidecar into a temporary file in the same directory which then replaces the sidecar
+	 * file, so a concurrent reader never sees a partially written sidecar.
+	 */
+	private static void writeSidecar(File sidecar, long crc, WorldMap map) {
+		File dir = sidecar.getAbsoluteFile().getParentFile();
+		if (dir != null && !dir.exists() && !dir.mkdirs()) {
+			loginfo("Could not create directory for world map sidecar file '%s'", sidecar);
+			return;
+		}
+		File temp;
+		try {
+			temp = File.createTempFile(sidecar.getName(), ".tmp", dir);
+		} catch (IOException x) {
+			loginfo("Could not create temporary file for world map sidecar file '%s': %s", sidecar, x.getMessage());
+			return;
+		}
+		try {
+			writeSidecarContent(temp, crc, map);
+			try {
+				Files.move(temp.toPath(), sidecar.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException x) {
+				Files.move(temp.toPath(), sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException x) {
+			loginfo("Could not write world map sidecar file '%s': %s", sidecar, x.getMessage());
+			temp.delete();
+		}
+	}
+
+	private static void writeSidecarContent(File file, long crc, WorldMap map) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(SIDECAR_MAGIC);
+			out.writeInt(SIDECAR_FORMAT_VERSION);
+			out.writeLong(crc);
+			out.writeInt(map.width);
+			out.writeInt(map.height);
+			out.write(map.content);
+			writeTable(out, map.houses);
+			writeTable(out, map.doors);
+			writeTable(out, map.beds);
+			writeTable(out, map.portals);
+			writeTable(out, map.oneWayTiles);
+			writeTable(out, map.tunnels);
+			writeInts(out, map.pacManBed);
+			writeInts(out, map.bonusLocation);
+			writeBits(out, map.intersections);
+			writeBits(out, map.tunnelTiles);
+			writeInts(out, map.neighbors);
+			writeInts(out, map.capes);
+			out.writeInt(map.foodCount);
+		}
+	}
+
+	private static WorldMap readSidecar(File sidecar, long crc) {
+		if (!sidecar.canRead()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(sidecar)))) {
+			if (in.readInt() != SIDECAR_MAGIC || in.readInt() != SIDECAR_FORMAT_VERSION || in.readLong() != crc) {
+				return null;
+			}
+			int width = in.readInt(), height = in.readInt();
+			byte[] content = new byte[width * height];
+			in.readFully(content);
+			return new WorldMap(width, height, content, readTable(in), readTable(in), readTable(in), readTable(in),
+					readTable(in), readTable(in), readInts(in), readInts(in), readBits(in), readBits(in), readInts(in),
+					readInts(in), in.readInt());
+		} catch (IOException x) {
+			loginfo("Could not read world map sidecar file '%s': %s", sidecar, x.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,569 @@
+package de.amr.games.pacman.model.world.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.HouseBuilder;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+import de.amr.games.pacman.model.world.core.ChunkedWorld;
+
+/**
+ * Generates random Pac-Man worlds with a ghost house (door and four beds), portals, one-way tiles
+ * and food. The same seed and settings always produce the same maze.
+ * <p>
+ * A maze is carved as a spanning tree on a grid of cells (randomized depth-first search), then dead
+ * ends are removed ("braiding") according to the braiding factor. The ghost house with a surrounding
+ * corridor is placed in the center and connected to the maze. Each maze is validated by a breadth-first
+ * traversal which also computes its {@link MazeMetrics}. Mazes that are not connected are generated
+ * again from a seed derived from the original one.
+ * <p>
+ * Batches of mazes are carved and validated in parallel, one maze per task, see
+ * {@link #generate(long, int)}.
+ *
+ * @author Armin Reichert
+ */
+public class MazeGenerator {
+
+	/**
+	 * A generated maze.
+	 */
+	public static class GeneratedMaze {
+
+		public final long seed;
+		public final ChunkedWorld world;
+		public final MazeMetrics metrics;
+
+		GeneratedMaze(long seed, ChunkedWorld world, MazeMetrics metrics) {
+			this.seed = seed;
+			this.world = world;
+			this.metrics = metrics;
+		}
+	}
+
+	private static final byte WALL = 0, SPACE = 1, PELLET = 2, ENERGIZER = 3;
+
+	// direction vectors in the order UP, RIGHT, DOWN, LEFT
+	private static final int[] DX = { 0, 1, 0, -1 };
+	private static final int[] DY = { -1, 0, 1, 0 };
+
+	private static final int HOUSE_WIDTH = 8, HOUSE_HEIGHT = 5;
+	private static final int CONNECTIONS_PER_SIDE = 2;
+
+	private int width = 28;
+	private int height = 31;
+	private float braiding = 1;
+	private float foodDensity = 1;
+	private int numEnergizers = 4;
+	private int numPortals = 1;
+	private int numOneWayTiles = 2;
+	private int maxAttempts = 10;
+
+	/**
+	 * @param width  maze width in tiles (at least 20)
+	 * @param height maze height in tiles (at least 17)
+	 * @return this generator
+	 */
+	public MazeGenerator size(int width, int height) {
+		if (width < 20 || height < 17) {
+			throw new IllegalArgumentException(String.format("Maze size must be at least 20x17, but is %dx%d", width, height));
+		}
+		this.width = width;
+		this.height = height;
+		return this;
+	}
+
+	/**
+	 * @param braiding fraction (0..1) of dead ends that get removed, 1 means no dead ends
+	 * @return this generator
+	 */
+	public MazeGenerator braiding(float braiding) {
+		if (braiding < 0 || braiding > 1) {
+			throw new IllegalArgumentException("Braiding must be in range 0..1, but is " + braiding);
+		}
+		this.braiding = braiding;
+		return this;
+	}
+
+	/**
+	 * @param foodDensity fraction (0..1) of the corridor tiles that get a pellet
+	 * @return this generator
+	 */
+	public MazeGenerator foodDensity(float foodDensity) {
+		if (foodDensity < 0 || foodDensity > 1) {
+			throw new IllegalArgumentException("Food density must be in range 0..1, but is " + foodDensity);
+		}
+		this.foodDensity = foodDensity;
+		return this;
+	}
+
+	public MazeGenerator energizers(int numEnergizers) {
+		this.numEnergizers = requireNonNegative(numEnergizers, "Number of energizers");
+		return this;
+	}
+
+	public MazeGenerator portals(int numPortals) {
+		this.numPortals = requireNonNegative(numPortals, "Number of portals");
+		return this;
+	}
+
+	public MazeGenerator oneWayTiles(int numOneWayTiles) {
+		this.numOneWayTiles = requireNonNegative(numOneWayTiles, "Number of one-way tiles");
+		return this;
+	}
+
+	public MazeGenerator maxAttempts(int maxAttempts) {
+		if (maxAttempts <= 0) {
+			throw new IllegalArgumentException("Number of attempts must be positive, but is " + maxAttempts);
+		}
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	private static int requireNonNegative(int value, String what) {
+		if (value < 0) {
+			throw new IllegalArgumentException(what + " must not be negative, but is " + value);
+		}
+		return value;
+	}
+
+	/**
+	 * Generates a maze from the given seed.
+	 *
+	 * @param seed random seed
+	 * @return the generated maze
+	 */
+	public GeneratedMaze generate(long seed) {
+		long attemptSeed = seed;
+		for (int attempt = 0; attempt < maxAttempts; ++attempt) {
+			Carving carving = new Carving(attemptSeed);
+			carving.carve();
+			MazeMetrics metrics = carving.validate();
+			if (metrics.isConnected()) {
+				return new GeneratedMaze(seed, carving.buildWorld(), metrics);
+			}
+			attemptSeed = attemptSeed * 6364136223846793005L + 1442695040888963407L;
+		}
+		throw new IllegalStateException(
+				String.format("No valid maze found for seed %d after %d attempts", seed, maxAttempts));
+	}
+
+	/**
+	 * Generates the mazes for the seeds {@code firstSeed, firstSeed + 1, ...} in parallel. The result is
+	 * the same as generating them one after the other.
+	 *
+	 * @param firstSeed seed of first maze
+	 * @param count     number of mazes
+	 * @return list of generated mazes in seed order
+	 */
+	public List<GeneratedMaze> generate(long firstSeed, int count) {
+		return LongStream.range(firstSeed, firstSeed + count).parallel().mapToObj(this::generate)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * The state of a single maze generation.
+	 */
+	private class Carving {
+
+		final Random rnd;
+		final byte[] content = new byte[width * height];
+		final boolean[] tunnel = new boolean[width * height];
+		final boolean[] portalRow = new boolean[height];
+		final List<Integer> portalRows = new ArrayList<>();
+		final List<Integer> oneWayTiles = new ArrayList<>();
+
+		// left-upper corner of house layout
+		final int hx = width / 2 - HOUSE_WIDTH / 2, hy = height / 2 - HOUSE_HEIGHT / 2;
+		final int bedCol = hx + 3, bedRow = hy + HOUSE_HEIGHT;
+
+		Carving(long seed) {
+			rnd = new Random(seed);
+		}
+
+		int index(int col, int row) {
+			return row * width + col;
+		}
+
+		boolean inside(int col, int row) {
+			return 0 <= col && col < width && 0 <= row && row < height;
+		}
+
+		boolean isOpen(int col, int row) {
+			return inside(col, row) && content[index(col, row)] != WALL;
+		}
+
+		void open(int col, int row) {
+			int i = index(col, row);
+			if (content[i] == WALL) {
+				content[i] = SPACE;
+			}
+		}
+
+		// house, surrounding corridor and wall margin
+		boolean reserved(int col, int row) {
+			return hx - 2 <= col && col <= hx + HOUSE_WIDTH + 1 && hy - 2 <= row && row <= hy + HOUSE_HEIGHT + 1;
+		}
+
+		// house and surrounding corridor
+		boolean inHouseOrRing(int col, int row) {
+			return hx - 1 <= col && col <= hx + HOUSE_WIDTH && hy - 1 <= row && row <= hy + HOUSE_HEIGHT;
+		}
+
+		int neighbor(int i, int dir) {
+			int col = i % width + DX[dir], row = i / width + DY[dir];
+			if (row < 0 || row >= height) {
+				return -1;
+			}
+			if (col < 0 || col >= width) {
+				if (!portalRow[row]) {
+					return -1;
+				}
+				col = col < 0 ? width - 1 : 0;
+			}
+			return index(col, row);
+		}
+
+		int degree(int i) {
+			int degree = 0;
+			for (int dir = 0; dir < 4; ++dir) {
+				int neighbor = neighbor(i, dir);
+				if (neighbor != -1 && content[neighbor] != WALL) {
+					++degree;
+				}
+			}
+			return degree;
+		}
+
+		void shuffle(int[] values) {
+			for (int i = values.length - 1; i > 0; --i) {
+				int j = rnd.nextInt(i + 1);
+				int tmp = values[i];
+				values[i] = values[j];
+				values[j] = tmp;
+			}
+		}
+
+		void carve() {
+			carvePassages();
+			braid();
+			carveHouse();
+			connectHouse();
+			carvePortals();
+			placeFood();
+			chooseOneWayTiles();
+		}
+
+		// randomized depth-first search on the cells at odd tile coordinates
+		void carvePassages() {
+			int cellsX = (width - 1) / 2, cellsY = (height - 1) / 2;
+			boolean[] visited = new boolean[cellsX * cellsY];
+			int[] stack = new int[cellsX * cellsY];
+			int[] candidates = new int[4];
+			int sp = 0;
+			stack[sp++] = 0;
+			visited[0] = true;
+			open(1, 1);
+			while (sp > 0) {
+				int cell = stack[sp - 1];
+				int cx = cell % cellsX, cy = cell / cellsX;
+				int n = 0;
+				for (int dir = 0; dir < 4; ++dir) {
+					int nx = cx + DX[dir], ny = cy + DY[dir];
+					if (0 <= nx && nx < cellsX && 0 <= ny && ny < cellsY && !visited[ny * cellsX + nx]
+							&& !reserved(2 * nx + 1, 2 * ny + 1)) {
+						candidates[n++] = dir;
+					}
+				}
+				if (n == 0) {
+					--sp;
+					continue;
+				}
+				int dir = candidates[rnd.nextInt(n)];
+				int nx = cx + DX[dir], ny = cy + DY[dir];
+				open(2 * cx + 1 + DX[dir], 2 * cy + 1 + DY[dir]);
+				open(2 * nx + 1, 2 * ny + 1);
+				visited[ny * cellsX + nx] = true;
+				stack[sp++] = ny * cellsX + nx;
+			}
+		}
+
+		// removes dead ends by opening a wall to some other open cell
+		void braid() {
+			int[] candidates = new int[4];
+			for (int row = 1; row < height - 1; row += 2) {
+				for (int col = 1; col < width - 1; col += 2) {
+					if (!isOpen(col, row) || degree(index(col, row)) != 1 || rnd.nextFloat() >= braiding) {
+						continue;
+					}
+					int n = 0;
+					for (int dir = 0; dir < 4; ++dir) {
+						int wallCol = col + DX[dir], wallRow = row + DY[dir];
+						int cellCol = col + 2 * DX[dir], cellRow = row + 2 * DY[dir];
+						if (0 < cellCol && cellCol < width - 1 && 0 < cellRow && cellRow < height - 1
+								&& !isOpen(wallCol, wallRow) && isOpen(cellCol, cellRow) && !reserved(cellCol, cellRow)) {
+							candidates[n++] = dir;
+						}
+					}
+					if (n > 0) {
+						int dir = candidates[rnd.nextInt(n)];
+						open(col + DX[dir], row + DY[dir]);
+					}
+				}
+			}
+		}
+
+		void carveHouse() {
+			for (int col = hx - 1; col <= hx + HOUSE_WIDTH; ++col) {
+				open(col, hy - 1);
+				open(col, hy + HOUSE_HEIGHT);
+			}
+			for (int row = hy - 1; row <= hy + HOUSE_HEIGHT; ++row) {
+				open(hx - 1, row);
+				open(hx + HOUSE_WIDTH, row);
+			}
+			for (int row = hy + 1; row < hy + HOUSE_HEIGHT - 1; ++row) {
+				for (int col = hx + 1; col < hx + HOUSE_WIDTH - 1; ++col) {
+					open(col, row);
+				}
+			}
+			// door
+			open(hx + 3, hy);
+			open(hx + 4, hy);
+		}
+
+		// connects each side of the corridor around the house with the maze
+		void connectHouse() {
+			connectSide(hx - 1, hy - 1, 1, 0, HOUSE_WIDTH + 2, Direction.UP.ordinal());
+			connectSide(hx - 1, hy + HOUSE_HEIGHT, 1, 0, HOUSE_WIDTH + 2, Direction.DOWN.ordinal());
+			connectSide(hx - 1, hy - 1, 0, 1, HOUSE_HEIGHT + 2, Direction.LEFT.ordinal());
+			connectSide(hx + HOUSE_WIDTH, hy - 1, 0, 1, HOUSE_HEIGHT + 2, Direction.RIGHT.ordinal());
+		}
+
+		void connectSide(int col, int row, int stepX, int stepY, int length, int dir) {
+			int[] positions = new int[length];
+			for (int i = 0; i < length; ++i) {
+				positions[i] = i;
+			}
+			shuffle(positions);
+			int connections = 0;
+			for (int i = 0; i < length && connections < CONNECTIONS_PER_SIDE; ++i) {
+				if (connect(col + positions[i] * stepX, row + positions[i] * stepY, dir)) {
+					++connections;
+				}
+			}
+		}
+
+		// carves from the given tile into the given direction until an open tile is reached
+		boolean connect(int col, int row, int dir) {
+			int[] carved = new int[3];
+			int c = col, r = row;
+			for (int n = 0; n < carved.length; ++n) {
+				c += DX[dir];
+				r += DY[dir];
+				if (c <= 0 || c >= width - 1 || r <= 0 || r >= height - 1) {
+					return false;
+				}
+				if (isOpen(c, r)) {
+					for (int k = 0; k < n; ++k) {
+						content[carved[k]] = SPACE;
+					}
+					return true;
+				}
+				carved[n] = index(c, r);
+			}
+			return false;
+		}
+
+		void carvePortals() {
+			List<Integer> rows = new ArrayList<>();
+			for (int row = 1; row < height - 1; row += 2) {
+				if (row < hy - 2 || row > hy + HOUSE_HEIGHT + 1) {
+					rows.add(row);
+				}
+			}
+			int[] candidates = rows.stream().mapToInt(Integer::intValue).toArray();
+			shuffle(candidates);
+			for (int i = 0; i < Math.min(numPortals, candidates.length); ++i) {
+				int row = candidates[i];
+				for (int col = 0; col < width / 2 && !isOpen(col, row); ++col) {
+					open(col, row);
+					tunnel[index(col, row)] = true;
+				}
+				for (int col = width - 1; col >= width / 2 && !isOpen(col, row); --col) {
+					open(col, row);
+					tunnel[index(col, row)] = true;
+				}
+				portalRow[row] = true;
+				portalRows.add(row);
+			}
+		}
+
+		boolean isFoodEligible(int col, int row) {
+			int i = index(col, row);
+			return content[i] != WALL && !tunnel[i] && !inHouseOrRing(col, row);
+		}
+
+		void placeFood() {
+			for (int row = 0; row < height; ++row) {
+				for (int col = 0; col < width; ++col) {
+					if (isFoodEligible(col, row) && rnd.nextFloat() < foodDensity) {
+						content[index(col, row)] = PELLET;
+					}
+				}
+			}
+			// first energizers near the corners in order NW, NE, SW, SE, remaining ones at random places
+			int[][] corners = { { 0, 0 }, { width - 1, 0 }, { 0, height - 1 }, { width - 1, height - 1 } };
+			for (int k = 0; k < Math.min(numEnergizers, corners.length); ++k) {
+				int nearest = -1, nearestDist = Integer.MAX_VALUE;
+				for (int row = 0; row < height; ++row) {
+					for (int col = 0; col < width; ++col) {
+						int dist = Math.abs(col - corners[k][0]) + Math.abs(row - corners[k][1]);
+						if (dist < nearestDist && isFoodEligible(col, row) && content[index(col, row)] != ENERGIZER) {
+							nearest = index(col, row);
+							nearestDist = dist;
+						}
+					}
+				}
+				if (nearest != -1) {
+					content[nearest] = ENERGIZER;
+				}
+			}
+			int remaining = numEnergizers - corners.length;
+			for (int attempts = 0; remaining > 0 && attempts < 100 * numEnergizers; ++attempts) {
+				int col = rnd.nextInt(width), row = rnd.nextInt(height);
+				if (isFoodEligible(col, row) && content[index(col, row)] != ENERGIZER) {
+					content[index(col, row)] = ENERGIZER;
+					--remaining;
+				}
+			}
+		}
+
+		// intersections with an accessible tile below, ghosts cannot enter them upwards
+		void chooseOneWayTiles() {
+			List<Integer> candidates = new ArrayList<>();
+			for (int row = 1; row < height - 2; ++row) {
+				for (int col = 1; col < width - 1; ++col) {
+					int i = index(col, row);
+					if (content[i] != WALL && !reserved(col, row) && isOpen(col, row + 1) && degree(i) > 2) {
+						candidates.add(i);
+					}
+				}
+			}
+			for (int n = 0; n < numOneWayTiles && !candidates.isEmpty(); ++n) {
+				int k = rnd.nextInt(candidates.size());
+				oneWayTiles.add(candidates.get(k));
+				candidates.set(k, candidates.get(candidates.size() - 1));
+				candidates.remove(candidates.size() - 1);
+			}
+		}
+
+		MazeMetrics validate() {
+			int accessible = 0, intersections = 0, deadEnds = 0, degreeSum = 0, pellets = 0, energizers = 0;
+			for (int i = 0; i < content.length; ++i) {
+				if (content[i] == WALL) {
+					continue;
+				}
+				++accessible;
+				int degree = degree(i);
+				degreeSum += degree;
+				if (degree > 2) {
+					++intersections;
+				} else if (degree == 1) {
+					++deadEnds;
+				}
+				if (content[i] == PELLET) {
+					++pellets;
+				} else if (content[i] == ENERGIZER) {
+					++energizers;
+				}
+			}
+			// breadth-first traversals, starting with the component containing Pac-Man's bed
+			int[] distance = new int[content.length];
+			Arrays.fill(distance, -1);
+			int[] queue = new int[accessible];
+			int components = 0, maxDistance = 0;
+			long distanceSum = 0;
+			int reached = 0;
+			int start = index(bedCol, bedRow);
+			for (int source = -1; source < content.length; ++source) {
+				int s = source == -1 ? start : source;
+				if (content[s] == WALL || distance[s] != -1) {
+					continue;
+				}
+				++components;
+				int head = 0, tail = 0;
+				queue[tail++] = s;
+				distance[s] = 0;
+				while (head < tail) {
+					int current = queue[head++];
+					for (int dir = 0; dir < 4; ++dir) {
+						int neighbor = neighbor(current, dir);
+						if (neighbor != -1 && content[neighbor] != WALL && distance[neighbor] == -1) {
+							distance[neighbor] = distance[current] + 1;
+							queue[tail++] = neighbor;
+						}
+					}
+				}
+				if (source == -1) {
+					reached = tail;
+					for (int k = 0; k < tail; ++k) {
+						maxDistance = Math.max(maxDistance, distance[queue[k]]);
+						distanceSum += distance[queue[k]];
+					}
+				}
+			}
+			int cycles = degreeSum / 2 - accessible + components;
+			return new MazeMetrics(width, height, accessible, intersections, deadEnds, components, cycles,
+					accessible > 0 ? (float) degreeSum / accessible : 0, maxDistance,
+					reached > 0 ? (float) distanceSum / reached : 0, pellets, energizers);
+		}
+
+		ChunkedWorld buildWorld() {
+			ChunkedWorld world = new ChunkedWorld(width, height);
+			for (int row = 0; row < height; ++row) {
+				for (int col = 0; col < width; ++col) {
+					int i = index(col, row);
+					if (content[i] == WALL) {
+						continue;
+					}
+					world.setAccessible(col, row, true);
+					if (tunnel[i]) {
+						world.setTunnel(col, row, true);
+					}
+					if (content[i] == PELLET) {
+						world.setFood(col, row, ArcadeFood.PELLET);
+					} else if (content[i] == ENERGIZER) {
+						world.setFood(col, row, ArcadeFood.ENERGIZER);
+					}
+				}
+			}
+			//@formatter:off
+			world.addHouse(new HouseBuilder()
+					.layout(hx, hy, HOUSE_WIDTH, HOUSE_HEIGHT)
+					.door(Direction.DOWN, hx + 3, hy, 2, 1)
+					.bed(hx + 3, hy - 1, Direction.LEFT)
+					.bed(hx + 1, hy + 2, Direction.UP)
+					.bed(hx + 3, hy + 2, Direction.DOWN)
+					.bed(hx + 5, hy + 2, Direction.UP)
+					.build());
+			//@formatter:on
+			for (int row : portalRows) {
+				world.addPortal(new Portal(Tile.at(0, row), Tile.at(width - 1, row), false));
+			}
+			for (int i : oneWayTiles) {
+				world.addOneWayTile(new OneWayTile(i % width, i / width, Direction.DOWN));
+			}
+			world.setPacManBed(new Bed(bedCol, bedRow, Direction.RIGHT));
+			return world;
+		}
+	}
+}
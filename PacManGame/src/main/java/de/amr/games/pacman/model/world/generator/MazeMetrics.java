@@ -0,0 +1,72 @@
+package de.amr.games.pacman.model.world.generator;
+
+/**
+ * Connectivity metrics of a generated maze, used to compare mazes.
+ *
+ * @author Armin Reichert
+ */
+public class MazeMetrics {
+
+	public final int width;
+	public final int height;
+
+	/** Number of accessible tiles. */
+	public final int accessibleTiles;
+
+	/** Number of accessible tiles with at least three accessible neighbors. */
+	public final int intersections;
+
+	/** Number of accessible tiles with exactly one accessible neighbor. */
+	public final int deadEnds;
+
+	/** Number of connected components of accessible tiles. */
+	public final int components;
+
+	/** Number of independent cycles (edges - tiles + components). */
+	public final int cycles;
+
+	/** Average number of accessible neighbors of an accessible tile. */
+	public final float averageDegree;
+
+	/** Largest path distance from Pac-Man's bed to some reachable tile. */
+	public final int maxDistanceFromPacMan;
+
+	/** Average path distance from Pac-Man's bed to the reachable tiles. */
+	public final float averageDistanceFromPacMan;
+
+	public final int pellets;
+	public final int energizers;
+
+	MazeMetrics(int width, int height, int accessibleTiles, int intersections, int deadEnds, int components,
+			int cycles, float averageDegree, int maxDistanceFromPacMan, float averageDistanceFromPacMan, int pellets,
+			int energizers) {
+		this.width = width;
+		this.height = height;
+		this.accessibleTiles = accessibleTiles;
+		this.intersections = intersections;
+		this.deadEnds = deadEnds;
+		this.components = components;
+		this.cycles = cycles;
+		this.averageDegree = averageDegree;
+		this.maxDistanceFromPacMan = maxDistanceFromPacMan;
+		this.averageDistanceFromPacMan = averageDistanceFromPacMan;
+		this.pellets = pellets;
+		this.energizers = energizers;
+	}
+
+	/**
+	 * @return if all accessible tiles are connected
+	 */
+	public boolean isConnected() {
+		return components == 1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%dx%d tiles: accessible=%d intersections=%d deadEnds=%d components=%d cycles=%d avgDegree=%.2f "
+						+ "maxDist=%d avgDist=%.1f pellets=%d energizers=%d",
+				width, height, accessibleTiles, intersections, deadEnds, components, cycles, averageDegree,
+				maxDistanceFromPacMan, averageDistanceFromPacMan, pellets, energizers);
+	}
+}
@@ -7,4 +7,11 @@ import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 public interface GhostRenderer {
 
 	void render(Graphics2D g, Ghost ghost);
+
+	/**
+	 * Releases the resources (sprites etc.) held for the given ghost. Called when the ghost instance is
+	 * not used anymore.
+	 */
+	default void release(Ghost ghost) {
+	}
 }
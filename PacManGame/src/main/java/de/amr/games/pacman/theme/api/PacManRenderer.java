@@ -10,4 +10,11 @@ public interface PacManRenderer {
 
 	default void resetAnimations(PacMan pacMan) {
 	}
+
+	/**
+	 * Releases the resources (sprites etc.) held for the given Pac-Man. Called when the Pac-Man
+	 * instance is not used anymore.
+	 */
+	default void release(PacMan pacMan) {
+	}
 }
\ No newline at end of file
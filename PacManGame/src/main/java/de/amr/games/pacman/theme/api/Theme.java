@@ -8,6 +8,10 @@ import de.amr.games.pacman.view.api.PacManGameSounds;
 
 /**
  * Interface implemented by every theme.
+ * <p>
+ * Renderers are created once per theme and cached, renderers bind the theme parameters they need
+ * when they are created. The messages renderer is the exception: views configure it (row, color)
+ * before drawing, so each call returns a new instance.
  * 
  * @author Armin Reichert
  */
@@ -27,6 +31,8 @@ public interface Theme {
 
 	<T> T $value(String key);
 
+	<T> T $value(ThemeParameter<T> key);
+
 	WorldRenderer worldRenderer();
 
 	PacManRenderer pacManRenderer();
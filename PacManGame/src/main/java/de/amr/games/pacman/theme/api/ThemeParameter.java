@@ -0,0 +1,56 @@
+package de.amr.games.pacman.theme.api;
+
+import java.awt.Font;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed key of a theme parameter. Each key gets a unique index on creation such that themes can
+ * store the parameter values in an array and resolve them without hashing or casting at the call
+ * site.
+ * 
+ * @param <T> value type
+ * 
+ * @author Armin Reichert
+ */
+public final class ThemeParameter<T> {
+
+	private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+	/** Main font of the theme. */
+	public static final ThemeParameter<Font> FONT = of("font", Font.class);
+
+	/** Duration in seconds of one maze flash when a level is completed. */
+	public static final ThemeParameter<Float> MAZE_FLASH_SEC = of("maze-flash-sec", Float.class, 0f);
+
+	public static <T> ThemeParameter<T> of(String name, Class<T> type) {
+		return new ThemeParameter<>(name, type, null);
+	}
+
+	public static <T> ThemeParameter<T> of(String name, Class<T> type, T defaultValue) {
+		return new ThemeParameter<>(name, type, defaultValue);
+	}
+
+	public final String name;
+	public final Class<T> type;
+	public final T defaultValue;
+	public final int index;
+
+	private ThemeParameter(String name, Class<T> type, T defaultValue) {
+		this.name = name;
+		this.type = type;
+		this.defaultValue = defaultValue;
+		this.index = NEXT_INDEX.getAndIncrement();
+	}
+
+	/**
+	 * @return number of keys created so far
+	 */
+	public static int count() {
+		return NEXT_INDEX.get();
+	}
+
+	@Override
+	public String toString() {
+		return name + ":" + type.getSimpleName();
+	}
+}
@@ -1,29 +1,94 @@
 package de.amr.games.pacman.theme.api;
 
+import static de.amr.easy.game.Application.loginfo;
+import static java.util.stream.Collectors.toList;
+
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import de.amr.games.pacman.theme.core.LoadingTimeline;
 
 /**
  * The predefined themes.
+ * <p>
+ * Themes are registered by name together with a supplier that creates the theme. A theme is loaded
+ * when it is accessed for the first time or when its loading is started in the background using
+ * {@link #loadInBackground(String)}.
  * 
  * @author Armin Reichert
  */
 public class Themes {
 
-	private static Set<Theme> REGISTERED_THEMES = new HashSet<>();
+	private static final ExecutorService LOADER = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "ThemeLoader");
+		thread.setDaemon(true);
+		return thread;
+	});
 
+	private static final Map<String, Supplier<Theme>> REGISTERED_THEMES = new ConcurrentHashMap<>();
+	private static final Map<String, CompletableFuture<Theme>> LOADED_THEMES = new ConcurrentHashMap<>();
+
+	/**
+	 * @return all registered themes, themes not loaded yet are loaded now
+	 */
 	public static List<Theme> all() {
-		return new ArrayList<>(REGISTERED_THEMES);
+		return names().stream().map(Themes::load).collect(toList());
+	}
+
+	/**
+	 * @return the names of all registered themes (loaded or not)
+	 */
+	public static List<String> names() {
+		return new ArrayList<>(REGISTERED_THEMES.keySet());
+	}
+
+	public static void registerTheme(String name, Supplier<Theme> supplier) {
+		REGISTERED_THEMES.put(name.toUpperCase(), supplier);
 	}
 
-	public static void registerTheme(Theme theme) {
-		REGISTERED_THEMES.add(theme);
+	public static boolean isLoaded(String name) {
+		CompletableFuture<Theme> loading = LOADED_THEMES.get(name.toUpperCase());
+		return loading != null && loading.isDone();
+	}
+
+	/**
+	 * Starts loading the theme with the given name in the background.
+	 * 
+	 * @param name theme name
+	 */
+	public static void loadInBackground(String name) {
+		if (REGISTERED_THEMES.containsKey(name.toUpperCase())) {
+			loading(name.toUpperCase(), true);
+		}
 	}
 
 	public static Optional<Theme> getTheme(String name) {
-		return all().stream().filter(theme -> theme.name().equalsIgnoreCase(name)).findFirst();
+		return REGISTERED_THEMES.containsKey(name.toUpperCase()) ? Optional.of(load(name)) : Optional.empty();
+	}
+
+	private static Theme load(String name) {
+		return loading(name.toUpperCase(), false).join();
+	}
+
+	private static CompletableFuture<Theme> loading(String key, boolean async) {
+		Supplier<Theme> supplier = REGISTERED_THEMES.get(key);
+		if (supplier == null) {
+			throw new IllegalArgumentException("Unknown theme: " + key);
+		}
+		return LOADED_THEMES.computeIfAbsent(key, k -> {
+			Supplier<Theme> loader = () -> LoadingTimeline.measure("Theme " + k, supplier);
+			if (async) {
+				return CompletableFuture.supplyAsync(loader, LOADER);
+			}
+			loginfo("Loading theme %s on first access", k);
+			return CompletableFuture.completedFuture(loader.get());
+		});
 	}
-}
\ No newline at end of file
+}
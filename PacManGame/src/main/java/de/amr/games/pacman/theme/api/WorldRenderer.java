@@ -1,10 +1,31 @@
 package de.amr.games.pacman.theme.api;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
+import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.components.TiledRectangle;
 
 public interface WorldRenderer {
 
+	/**
+	 * @param g     graphics context
+	 * @param world the world
+	 * @return the region of world tiles covered by the clip bounds of the graphics context or the
+	 *         complete world if no clip is set
+	 */
+	static TiledRectangle visibleRegion(Graphics2D g, TiledWorld world) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			return new TiledRectangle(0, 0, world.width(), world.height());
+		}
+		int minCol = Math.max(0, Math.floorDiv(clip.x, Tile.SIZE));
+		int minRow = Math.max(0, Math.floorDiv(clip.y, Tile.SIZE));
+		int maxCol = Math.min(world.width(), Math.floorDiv(clip.x + clip.width + Tile.SIZE - 1, Tile.SIZE));
+		int maxRow = Math.min(world.height(), Math.floorDiv(clip.y + clip.height + Tile.SIZE - 1, Tile.SIZE));
+		return new TiledRectangle(minCol, minRow, Math.max(0, maxCol - minCol), Math.max(0, maxRow - minRow));
+	}
+
 	void render(Graphics2D g, TiledWorld world);
-}
\ No newline at end of file
+}
@@ -27,6 +27,11 @@ import de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.GhostColor;
  */
 class ArcadeGhostRenderer implements GhostRenderer {
 
+	@Override
+	public void release(Ghost ghost) {
+		THEME.releaseSpriteMap(ghost);
+	}
+
 	@Override
 	public void render(Graphics2D g, Ghost ghost) {
 		if (ghost.visible) {
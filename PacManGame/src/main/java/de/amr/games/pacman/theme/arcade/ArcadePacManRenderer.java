@@ -28,6 +28,11 @@ class ArcadePacManRenderer implements PacManRenderer {
 		spriteMap.forEach(sprite -> sprite.resetAnimation());
 	}
 
+	@Override
+	public void release(PacMan pacMan) {
+		ArcadeTheme.THEME.releaseSpriteMap(pacMan);
+	}
+
 	@Override
 	public void render(Graphics2D g, PacMan pacMan) {
 		if (pacMan.visible) {
@@ -49,7 +54,8 @@ class ArcadePacManRenderer implements PacManRenderer {
 			return spriteMap.select("full");
 		} else if (pacMan.ai.is(AWAKE, POWERFUL)) {
 			boolean blocked = !pacMan.canMoveTo(pacMan.moveDir);
-			return spriteMap.select((blocked ? "blocked-" : "walking-") + pacMan.moveDir);
+			return spriteMap.select(blocked ? ArcadeTheme.THEME.pacManSpriteKeyBlocked(pacMan.moveDir)
+					: ArcadeTheme.THEME.pacManSpriteKeyWalking(pacMan.moveDir));
 		} else if (pacMan.ai.is(DEAD)) {
 			return spriteMap.select("full");
 		} else if (pacMan.ai.is(PacManState.COLLAPSING)) {
@@ -1,8 +1,14 @@
 package de.amr.games.pacman.theme.arcade;
 
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.assets.Assets;
@@ -22,72 +28,143 @@ public class ArcadeSounds implements PacManGameSounds {
 		return Assets.sound("themes/arcade/sounds/" + name + ".mp3");
 	}
 
-	private SoundClip musicGameReady, musicGameRunning, musicGameOver;
+	private static final String[] CLIP_NAMES = {
+	//@formatter:off
+		"eating",
+		"eat-fruit",
+		"eat-ghost",
+		"extra-life",
+		"ghost-chase",
+		"ghost-dead",
+		"insert-coin",
+		"die",
+		"waza",
+	//@formatter:on
+	};
+
+	private static final int CRUNCHING = 0, EAT_FRUIT = 1, EAT_GHOST = 2, EXTRA_LIFE = 3, GHOST_CHASE = 4,
+			GHOST_DEAD = 5, INSERT_COIN = 6, PACMAN_DIES = 7, WAZA = 8;
+
+	private volatile SoundClip[] clips;
+	private volatile SoundClip musicGameReady, musicGameRunning, musicGameOver;
+	private boolean musicLoadingStarted;
+	private final Set<SoundClip> startedClips = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Loads all clips (in parallel) when first accessed. Loading is not done when the class is
+	 * initialized because the parallel loader threads would block on the class initialization lock.
+	 */
+	private SoundClip[] loadedClips() {
+		SoundClip[] loaded = clips;
+		if (loaded == null) {
+			synchronized (this) {
+				if (clips == null) {
+					long start = System.nanoTime();
+					clips = Arrays.stream(CLIP_NAMES).parallel().map(ArcadeSounds::mp3).toArray(SoundClip[]::new);
+					loginfo("%d sound clips loaded in %d ms", clips.length, (System.nanoTime() - start) / 1_000_000);
+				}
+				loaded = clips;
+			}
+		}
+		return loaded;
+	}
+
+	private SoundClip clip(int index) {
+		return loadedClips()[index];
+	}
 
 	@Override
 	public Stream<SoundClip> clips() {
-		return Stream.of(clipCrunching(), clipEatFruit(), clipEatGhost(), clipExtraLife(), clipGhostChase(),
-				clipGhostDead(), clipInsertCoin(), clipPacManDies(), clipWaza());
+		return Arrays.stream(loadedClips());
+	}
+
+	@Override
+	public void play(SoundClip clip) {
+		startedClips.add(clip);
+		clip.play();
+	}
+
+	@Override
+	public void loop(SoundClip clip) {
+		startedClips.add(clip);
+		clip.loop();
+	}
+
+	@Override
+	public void stopAllClips() {
+		for (Iterator<SoundClip> it = startedClips.iterator(); it.hasNext();) {
+			SoundClip clip = it.next();
+			if (clip.isRunning()) {
+				clip.stop();
+			}
+			it.remove();
+		}
 	}
 
 	@Override
 	public SoundClip clipEatFruit() {
-		return mp3("eat-fruit");
+		return clip(EAT_FRUIT);
 	}
 
 	@Override
 	public SoundClip clipEatGhost() {
-		return mp3("eat-ghost");
+		return clip(EAT_GHOST);
 	}
 
 	@Override
 	public SoundClip clipCrunching() {
-		return mp3("eating");
+		return clip(CRUNCHING);
 	}
 
 	@Override
 	public SoundClip clipExtraLife() {
-		return mp3("extra-life");
+		return clip(EXTRA_LIFE);
 	}
 
 	@Override
 	public SoundClip clipGhostChase() {
-		return mp3("ghost-chase");
+		return clip(GHOST_CHASE);
 	}
 
 	@Override
 	public SoundClip clipGhostDead() {
-		return mp3("ghost-dead");
+		return clip(GHOST_DEAD);
 	}
 
 	@Override
 	public SoundClip clipInsertCoin() {
-		return mp3("insert-coin");
+		return clip(INSERT_COIN);
 	}
 
 	@Override
 	public SoundClip clipPacManDies() {
-		return mp3("die");
+		return clip(PACMAN_DIES);
 	}
 
 	@Override
 	public SoundClip clipWaza() {
-		return mp3("waza");
+		return clip(WAZA);
 	}
 
 	@Override
 	public boolean isMusicLoaded() {
-		return musicGameReady().isPresent();
-//				&& musicGameRunning().isPresent() && musicGameOver().isPresent();
-	}
-
-	@Override
-	public void loadMusic() {
-		CompletableFuture.runAsync(() -> {
-			musicGameReady = mp3("ready");
-			musicGameRunning = mp3("bgmusic");
-			musicGameOver = mp3("ending");
-		});
+		return musicGameReady().isPresent() && musicGameRunning().isPresent() && musicGameOver().isPresent();
+	}
+
+	/**
+	 * Starts loading the clips and the music pieces in parallel. Each music piece becomes available as
+	 * soon as it has been loaded, the game does not have to wait until all music is loaded.
+	 */
+	@Override
+	public synchronized void loadMusic() {
+		if (musicLoadingStarted) {
+			return;
+		}
+		musicLoadingStarted = true;
+		CompletableFuture.runAsync(this::loadedClips);
+		CompletableFuture.runAsync(() -> musicGameReady = mp3("ready"));
+		CompletableFuture.runAsync(() -> musicGameRunning = mp3("bgmusic"));
+		CompletableFuture.runAsync(() -> musicGameOver = mp3("ending"));
 	}
 
 	@Override
@@ -12,12 +12,14 @@ import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import de.amr.easy.game.assets.Assets;
 import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.Spritesheet;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.theme.core.LoadingTimeline;
 
 /**
  * Arcade theme spritesheet.
@@ -37,8 +39,12 @@ public class ArcadeSpritesheet extends Spritesheet {
 		return DIRECTIONS.indexOf(dir);
 	}
 
-	BufferedImage empty_maze = Assets.readImage("themes/arcade/maze_empty.png");
-	BufferedImage full_maze = Assets.readImage("themes/arcade/maze_full.png");
+	private static CompletableFuture<BufferedImage> readImageAsync(String path) {
+		return CompletableFuture.supplyAsync(() -> LoadingTimeline.measure(path, () -> Assets.readImage(path)));
+	}
+
+	BufferedImage empty_maze;
+	BufferedImage full_maze;
 
 	BufferedImage empty_white_maze;
 	BufferedImage pacMan_full;
@@ -55,8 +61,16 @@ public class ArcadeSpritesheet extends Spritesheet {
 	BufferedImage bonus_symbols[];
 
 	public ArcadeSpritesheet() {
+		// maze images are decoded concurrently with the spritesheet image
+		this(readImageAsync("themes/arcade/maze_empty.png"), readImageAsync("themes/arcade/maze_full.png"));
+	}
+
+	private ArcadeSpritesheet(CompletableFuture<BufferedImage> emptyMaze, CompletableFuture<BufferedImage> fullMaze) {
 		super("themes/arcade/sprites.png", 16);
 
+		empty_maze = emptyMaze.join();
+		full_maze = fullMaze.join();
+
 		// Debugger told me RGB value of blue color in maze image
 		empty_white_maze = exchangeColor(empty_maze, -14605825, Color.WHITE.getRGB());
 
@@ -2,9 +2,7 @@ package de.amr.games.pacman.theme.arcade;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.awt.image.BufferedImage;
 
 import de.amr.easy.game.assets.Assets;
 import de.amr.easy.game.ui.sprites.Sprite;
@@ -21,12 +19,15 @@ import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.GhostColor;
+import de.amr.games.pacman.theme.core.LoadingTimeline;
 import de.amr.games.pacman.theme.core.ThemeParameterMap;
 import de.amr.games.pacman.view.api.PacManGameSounds;
 import de.amr.games.pacman.view.common.DefaultGameScoreRenderer;
 import de.amr.games.pacman.view.common.DefaultMessagesRenderer;
+import de.amr.games.pacman.view.common.Framebuffer;
 
 /**
  * This theme mimics the original Arcade version.
@@ -35,29 +36,72 @@ import de.amr.games.pacman.view.common.DefaultMessagesRenderer;
  */
 public class ArcadeTheme extends ThemeParameterMap implements Theme {
 
+	public static final ThemeParameter<ArcadeSpritesheet> SPRITES = ThemeParameter.of("sprites",
+			ArcadeSpritesheet.class);
+
+	static final int[] POINTS = { 100, 300, 500, 700, 1000, 2000, 3000, 5000 };
+
+	static final int[] GHOST_BOUNTIES = { 200, 400, 800, 1600 };
+
+	/** Maximum number of actors of one kind with a sprite map (intro animations create their own actors). */
+	static final int SPRITE_MAPS_CAPACITY = 64;
+
+	// sprite keys are shared by all actors, selecting a sprite does not create strings
+	private static final String[][] GHOST_COLORED_KEYS = new String[GhostColor.values().length][Direction
+			.values().length];
+	private static final String[] GHOST_EYES_KEYS = new String[Direction.values().length];
+	private static final String[] GHOST_POINTS_KEYS = new String[GHOST_BOUNTIES.length];
+	private static final String[] PACMAN_WALKING_KEYS = new String[Direction.values().length];
+	private static final String[] PACMAN_BLOCKED_KEYS = new String[Direction.values().length];
+
+	static {
+		for (Direction dir : Direction.values()) {
+			for (GhostColor color : GhostColor.values()) {
+				GHOST_COLORED_KEYS[color.ordinal()][dir.ordinal()] = String.format("colored-%s-%s", color, dir);
+			}
+			GHOST_EYES_KEYS[dir.ordinal()] = String.format("eyes-%s", dir);
+			PACMAN_WALKING_KEYS[dir.ordinal()] = "walking-" + dir;
+			PACMAN_BLOCKED_KEYS[dir.ordinal()] = "blocked-" + dir;
+		}
+		for (int i = 0; i < GHOST_BOUNTIES.length; ++i) {
+			GHOST_POINTS_KEYS[i] = String.format("points-%d", GHOST_BOUNTIES[i]);
+		}
+	}
+
+	// must be created after the static fields above have been initialized
 	public static final ArcadeTheme THEME = new ArcadeTheme();
 
-	private ArcadeSpritesheet spriteSheet = new ArcadeSpritesheet();
-	private Map<PacMan, SpriteMap> pacManSprites = new HashMap<>();
-	private Map<Ghost, SpriteMap> ghostSprites = new HashMap<>();
+	private ArcadeSpritesheet spriteSheet = LoadingTimeline.measure("Arcade spritesheet", ArcadeSpritesheet::new);
+	private final SpriteMapRegistry<PacMan> pacManSprites = new SpriteMapRegistry<>(this::makePacManSpriteMap,
+			pacMan -> pacMan.world.contains(pacMan), SPRITE_MAPS_CAPACITY);
+	private final SpriteMapRegistry<Ghost> ghostSprites = new SpriteMapRegistry<>(this::makeGhostSpriteMap,
+			ghost -> ghost.world.contains(ghost), SPRITE_MAPS_CAPACITY);
+
+	private WorldRenderer worldRenderer;
+	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
+	private GameRenderer levelCounterRenderer;
+	private GameRenderer livesCounterRenderer;
+	private GameRenderer gameScoreRenderer;
 
 	private ArcadeTheme() {
-		set("font", Assets.storeTrueTypeFont("PressStart2P", "themes/arcade/PressStart2P-Regular.ttf", Font.PLAIN, 8));
-		set("maze-flash-sec", 0.4f);
+		set(ThemeParameter.FONT, LoadingTimeline.measure("Arcade font", () -> Assets.storeTrueTypeFont("PressStart2P",
+				"themes/arcade/PressStart2P-Regular.ttf", Font.PLAIN, 8)));
+		set(ThemeParameter.MAZE_FLASH_SEC, 0.4f);
 		for (ArcadeBonus.Symbol symbol : ArcadeBonus.Symbol.values()) {
 			set("symbol-" + symbol.name(), spriteSheet.makeSprite_bonusSymbol(symbol.name()).frame(0));
 		}
-		for (int points : List.of(100, 300, 500, 700, 1000, 2000, 3000, 5000)) {
+		for (int points : POINTS) {
 			set("points-" + points, spriteSheet.imageNumber(points));
 		}
-		set("sprites", spriteSheet);
+		set(SPRITES, spriteSheet);
 	}
 
-	private SpriteMap makePacManSpriteMap() {
+	private SpriteMap makePacManSpriteMap(PacMan pacMan) {
 		SpriteMap map = new SpriteMap();
 		Direction.dirs().forEach(dir -> {
-			map.set("walking-" + dir, spriteSheet.makeSprite_pacManWalking(dir));
-			map.set("blocked-" + dir, spriteSheet.makeSprite_pacManBlocked(dir));
+			map.set(pacManSpriteKeyWalking(dir), spriteSheet.makeSprite_pacManWalking(dir));
+			map.set(pacManSpriteKeyBlocked(dir), spriteSheet.makeSprite_pacManBlocked(dir));
 		});
 		map.set("collapsing", spriteSheet.makeSprite_pacManCollapsing());
 		map.set("full", spriteSheet.makeSprite_pacManFull());
@@ -66,47 +110,57 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 
 	private SpriteMap makeGhostSpriteMap(Ghost ghost) {
 		SpriteMap map = new SpriteMap();
+		GhostColor color = color(ghost.personality);
 		for (Direction dir : Direction.values()) {
-			for (GhostColor color : GhostColor.values()) {
-				map.set(ghostSpriteKeyColor(color, dir), spriteSheet.makeSprite_ghostColored(color, dir));
-			}
+			map.set(ghostSpriteKeyColor(color, dir), spriteSheet.makeSprite_ghostColored(color, dir));
 			map.set(ghostSpriteKeyEyes(dir), spriteSheet.makeSprite_ghostEyes(dir));
 		}
 		map.set("frightened", spriteSheet.makeSprite_ghostFrightened());
 		map.set("flashing", spriteSheet.makeSprite_ghostFlashing());
-		for (int bounty : List.of(200, 400, 800, 1600)) {
-			map.set(ghostSpriteKeyPoints(bounty), Sprite.of(spriteSheet.imageNumber(bounty)));
+		for (int i = 0; i < GHOST_BOUNTIES.length; ++i) {
+			map.set(GHOST_POINTS_KEYS[i], Sprite.of(spriteSheet.imageNumber(GHOST_BOUNTIES[i])));
 		}
 		return map;
 	}
 
 	SpriteMap getSpriteMap(Ghost ghost) {
-		SpriteMap spriteMap = ghostSprites.get(ghost);
-		if (spriteMap == null) {
-			spriteMap = makeGhostSpriteMap(ghost);
-			ghostSprites.put(ghost, spriteMap);
-		}
-		return spriteMap;
+		return ghostSprites.get(ghost);
 	}
 
 	SpriteMap getSpriteMap(PacMan pacMan) {
-		SpriteMap spriteMap = pacManSprites.get(pacMan);
-		if (spriteMap == null) {
-			spriteMap = makePacManSpriteMap();
-			pacManSprites.put(pacMan, spriteMap);
-		}
-		return spriteMap;
+		return pacManSprites.get(pacMan);
+	}
+
+	void releaseSpriteMap(Ghost ghost) {
+		ghostSprites.release(ghost);
+	}
+
+	void releaseSpriteMap(PacMan pacMan) {
+		pacManSprites.release(pacMan);
+	}
+
+	String pacManSpriteKeyWalking(Direction dir) {
+		return PACMAN_WALKING_KEYS[dir.ordinal()];
+	}
+
+	String pacManSpriteKeyBlocked(Direction dir) {
+		return PACMAN_BLOCKED_KEYS[dir.ordinal()];
 	}
 
 	String ghostSpriteKeyColor(GhostColor color, Direction dir) {
-		return String.format("colored-%s-%s", color, dir);
+		return GHOST_COLORED_KEYS[color.ordinal()][dir.ordinal()];
 	}
 
 	String ghostSpriteKeyEyes(Direction dir) {
-		return String.format("eyes-%s", dir);
+		return GHOST_EYES_KEYS[dir.ordinal()];
 	}
 
 	String ghostSpriteKeyPoints(int points) {
+		for (int i = 0; i < GHOST_BOUNTIES.length; ++i) {
+			if (GHOST_BOUNTIES[i] == points) {
+				return GHOST_POINTS_KEYS[i];
+			}
+		}
 		return String.format("points-%d", points);
 	}
 
@@ -132,54 +186,93 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public WorldRenderer worldRenderer() {
-		return new ArcadeWorldRenderer(spriteSheet);
+		if (worldRenderer == null) {
+			worldRenderer = new ArcadeWorldRenderer(this);
+		}
+		return worldRenderer;
 	}
 
 	@Override
 	public PacManRenderer pacManRenderer() {
-		return new ArcadePacManRenderer();
+		if (pacManRenderer == null) {
+			pacManRenderer = new ArcadePacManRenderer();
+		}
+		return pacManRenderer;
 	}
 
 	@Override
 	public GhostRenderer ghostRenderer() {
-		return new ArcadeGhostRenderer();
+		if (ghostRenderer == null) {
+			ghostRenderer = new ArcadeGhostRenderer();
+		}
+		return ghostRenderer;
 	}
 
 	@Override
 	public MessagesRenderer messagesRenderer() {
 		DefaultMessagesRenderer messagesRenderer = new DefaultMessagesRenderer();
-		messagesRenderer.setFont($font("font"));
+		messagesRenderer.setFont($value(ThemeParameter.FONT));
 		return messagesRenderer;
 	}
 
 	@Override
 	public GameRenderer levelCounterRenderer() {
+		if (levelCounterRenderer == null) {
+			levelCounterRenderer = createLevelCounterRenderer();
+		}
+		return levelCounterRenderer;
+	}
+
+	private GameRenderer createLevelCounterRenderer() {
+		int width = 2 * Tile.SIZE;
+		BufferedImage[] symbolImages = new BufferedImage[ArcadeBonus.Symbol.values().length];
+		for (int i = 0; i < symbolImages.length; ++i) {
+			BufferedImage image = spriteSheet.imageBonusSymbol(i);
+			if (image.getWidth() != width || image.getHeight() != width) {
+				BufferedImage scaled = new BufferedImage(width, width, BufferedImage.TYPE_INT_ARGB);
+				Graphics2D g = scaled.createGraphics();
+				g.drawImage(image, 0, 0, width, width, null);
+				g.dispose();
+				image = scaled;
+			}
+			symbolImages[i] = Framebuffer.intImage(image);
+		}
 		return (Graphics2D g, PacManGame game) -> {
 			int max = 7;
 			int first = Math.max(0, game.levelCounter.size() - max);
 			int n = Math.min(max, game.levelCounter.size());
-			int width = 2 * Tile.SIZE;
 			for (int i = 0, x = -2 * width; i < n; ++i, x -= width) {
 				ArcadeBonus.Symbol symbol = ArcadeBonus.Symbol.valueOf(game.levelCounter.get(first + i));
-				g.drawImage(spriteSheet.imageBonusSymbol(symbol.ordinal()), x, 0, width, width, null);
+				Framebuffer.blit(g, symbolImages[symbol.ordinal()], x, 0);
 			}
 		};
 	}
 
 	@Override
 	public GameRenderer livesCounterRenderer() {
+		if (livesCounterRenderer == null) {
+			livesCounterRenderer = createLivesCounterRenderer();
+		}
+		return livesCounterRenderer;
+	}
+
+	private GameRenderer createLivesCounterRenderer() {
+		BufferedImage livesImage = Framebuffer.intImage(spriteSheet.imageLivesCounter());
 		return (Graphics2D g, PacManGame game) -> {
 			for (int i = 0, x = Tile.SIZE; i < game.lives; ++i, x += 2 * Tile.SIZE) {
-				g.drawImage(spriteSheet.imageLivesCounter(), x, 0, null);
+				Framebuffer.blit(g, livesImage, x, 0);
 			}
 		};
 	}
 
 	@Override
 	public GameRenderer gameScoreRenderer() {
-		DefaultGameScoreRenderer r = new DefaultGameScoreRenderer();
-		r.setFont($font("font"));
-		return r;
+		if (gameScoreRenderer == null) {
+			DefaultGameScoreRenderer r = new DefaultGameScoreRenderer();
+			r.setFont($value(ThemeParameter.FONT));
+			gameScoreRenderer = r;
+		}
+		return gameScoreRenderer;
 	}
 
 	@Override
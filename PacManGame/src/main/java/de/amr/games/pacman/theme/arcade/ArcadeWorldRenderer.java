@@ -4,8 +4,8 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 
-import de.amr.easy.game.math.Vector2f;
 import de.amr.easy.game.ui.sprites.CyclicAnimation;
 import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.SpriteAnimation;
@@ -15,21 +15,50 @@ import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacman.model.world.arcade.ArcadeFood;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
+import de.amr.games.pacman.model.world.components.TiledRectangle;
 import de.amr.games.pacman.theme.api.WorldRenderer;
+import de.amr.games.pacman.view.common.Framebuffer;
 
 class ArcadeWorldRenderer implements WorldRenderer {
 
+	private final ArcadeSpritesheet spriteSheet;
+	private final BufferedImage mazeImage;
+	private final Image[] symbolImages;
+	private final Image[] pointsImages;
 	private Sprite spriteFlashingMaze;
 	private final SpriteAnimation energizerAnimation;
 
-	public ArcadeWorldRenderer(ArcadeSpritesheet spriteSheet) {
+	public ArcadeWorldRenderer(ArcadeTheme theme) {
+		spriteSheet = theme.$value(ArcadeTheme.SPRITES);
+		mazeImage = Framebuffer.intImage(spriteSheet.imageFullMaze());
+		ArcadeBonus.Symbol[] symbols = ArcadeBonus.Symbol.values();
+		symbolImages = new Image[symbols.length];
+		for (ArcadeBonus.Symbol symbol : symbols) {
+			symbolImages[symbol.ordinal()] = intImage(theme.$image("symbol-" + symbol.name()));
+		}
+		pointsImages = new Image[ArcadeTheme.POINTS.length];
+		for (int i = 0; i < pointsImages.length; ++i) {
+			pointsImages[i] = intImage(theme.$image("points-" + ArcadeTheme.POINTS[i]));
+		}
 		energizerAnimation = new CyclicAnimation(2);
 		energizerAnimation.setFrameDuration(150);
 	}
 
+	private static Image intImage(Image image) {
+		return image instanceof BufferedImage ? Framebuffer.intImage((BufferedImage) image) : image;
+	}
+
+	private Image pointsImage(int value) {
+		for (int i = 0; i < ArcadeTheme.POINTS.length; ++i) {
+			if (ArcadeTheme.POINTS[i] == value) {
+				return pointsImages[i];
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public void render(Graphics2D g, TiledWorld world) {
-		ArcadeSpritesheet spriteSheet = ArcadeTheme.THEME.$value("sprites");
 		// no anti-aliasing for maze image for better performance
 		Graphics2D g2 = (Graphics2D) g.create();
 		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
@@ -40,7 +69,7 @@ class ArcadeWorldRenderer implements WorldRenderer {
 			spriteFlashingMaze.draw(g2, 0, 3 * Tile.SIZE);
 		} else {
 			spriteFlashingMaze = null;
-			g.drawImage(spriteSheet.imageFullMaze(), 0, 3 * Tile.SIZE, null);
+			Framebuffer.blit(g, mazeImage, 0, 3 * Tile.SIZE);
 			drawContent(g, world);
 			world.house(0).get().doors().filter(door -> door.state == DoorState.OPEN).forEach(door -> {
 				g.setColor(Color.BLACK);
@@ -53,7 +82,8 @@ class ArcadeWorldRenderer implements WorldRenderer {
 	private void drawContent(Graphics2D g, TiledWorld world) {
 		// hide eaten food
 		Color eatenFoodColor = Color.BLACK;
-		world.tiles().filter(world::hasEatenFood).forEach(tile -> {
+		TiledRectangle region = WorldRenderer.visibleRegion(g, world);
+		world.eatenFoodTiles(region.col(), region.row(), region.width(), region.height()).forEach(tile -> {
 			g.setColor(eatenFoodColor);
 			g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
 		});
@@ -61,23 +91,19 @@ class ArcadeWorldRenderer implements WorldRenderer {
 		energizerAnimation.update();
 		energizerAnimation.setEnabled(!world.isFrozen());
 		if (energizerAnimation.isEnabled() && energizerAnimation.currentFrameIndex() == 1) {
-			world.tiles().filter(tile -> world.hasFood(ArcadeFood.ENERGIZER, tile)).forEach(tile -> {
-				g.setColor(eatenFoodColor);
-				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
-			});
+			g.setColor(eatenFoodColor);
+			world.forEachRemainingFood(ArcadeFood.ENERGIZER,
+					tile -> g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE));
 		}
 		// draw bonus as image when active or as number when consumed
 		world.temporaryFood().ifPresent(bonus -> {
 			if (bonus.isActive()) {
+				int x = bonus.location().x(), y = bonus.location().y() - Tile.SIZE / 2;
 				if (bonus.isConsumed()) {
-					Vector2f position = Vector2f.of(bonus.location().x(), bonus.location().y() - Tile.SIZE / 2);
-					Image img = ArcadeTheme.THEME.$image("points-" + bonus.value());
-					g.drawImage(img, position.roundedX(), position.roundedY(), null);
+					Framebuffer.blit(g, pointsImage(bonus.value()), x, y);
 				} else {
 					ArcadeBonus arcadeBonus = (ArcadeBonus) bonus;
-					Vector2f position = Vector2f.of(bonus.location().x(), bonus.location().y() - Tile.SIZE / 2);
-					Image img = ArcadeTheme.THEME.$image("symbol-" + arcadeBonus.symbol.name());
-					g.drawImage(img, position.roundedX(), position.roundedY(), null);
+					Framebuffer.blit(g, symbolImages[arcadeBonus.symbol.ordinal()], x, y);
 				}
 			}
 		});
@@ -0,0 +1,96 @@
+package de.amr.games.pacman.theme.arcade;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import de.amr.easy.game.ui.sprites.SpriteMap;
+
+/**
+ * Registry of the sprite maps of actors. A sprite map only holds the animation state of an actor,
+ * the frames are shared images of the spritesheet.
+ * <p>
+ * Actors are weakly referenced, so the sprite map of an actor that is no longer reachable is
+ * dropped by the garbage collector. Views that know when their actors are gone release them
+ * explicitly. When the capacity is exceeded, the least recently used sprite map of an actor that is
+ * not in use is evicted (and recreated on demand). If all actors are in use, the registry grows
+ * beyond its capacity.
+ * 
+ * @param <A> actor type
+ * 
+ * @author Armin Reichert
+ */
+class SpriteMapRegistry<A> {
+
+	private static class Registration {
+
+		final SpriteMap spriteMap;
+		long lastUse;
+
+		Registration(SpriteMap spriteMap) {
+			this.spriteMap = spriteMap;
+		}
+	}
+
+	private final Map<A, Registration> registrations = new WeakHashMap<>();
+	private final Function<A, SpriteMap> factory;
+	private final Predicate<A> inUse;
+	private final int capacity;
+	private long clock;
+
+	/**
+	 * @param factory  creates the sprite map of an actor
+	 * @param inUse    tells if an actor is in use, the sprite maps of such actors are not evicted
+	 * @param capacity number of sprite maps kept before unused ones are evicted
+	 */
+	public SpriteMapRegistry(Function<A, SpriteMap> factory, Predicate<A> inUse, int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive, but is " + capacity);
+		}
+		this.factory = factory;
+		this.inUse = inUse;
+		this.capacity = capacity;
+	}
+
+	public SpriteMap get(A actor) {
+		Registration registration = registrations.get(actor);
+		if (registration == null) {
+			if (registrations.size() >= capacity) {
+				evictLeastRecentlyUsed();
+			}
+			registration = new Registration(factory.apply(actor));
+			registrations.put(actor, registration);
+		}
+		registration.lastUse = ++clock;
+		return registration.spriteMap;
+	}
+
+	private void evictLeastRecentlyUsed() {
+		A eldest = null;
+		long eldestUse = Long.MAX_VALUE;
+		for (Map.Entry<A, Registration> entry : registrations.entrySet()) {
+			A actor = entry.getKey();
+			if (actor != null && entry.getValue().lastUse < eldestUse && !inUse.test(actor)) {
+				eldest = actor;
+				eldestUse = entry.getValue().lastUse;
+			}
+		}
+		if (eldest != null) {
+			registrations.remove(eldest);
+		} else {
+			loginfo("Sprite map registry capacity (%d) exceeded, all %d actors are in use", capacity,
+					registrations.size());
+		}
+	}
+
+	public void release(A actor) {
+		registrations.remove(actor);
+	}
+
+	public int size() {
+		return registrations.size();
+	}
+}
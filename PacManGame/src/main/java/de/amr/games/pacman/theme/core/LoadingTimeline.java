@@ -0,0 +1,37 @@
+package de.amr.games.pacman.theme.core;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.function.Supplier;
+
+/**
+ * Logs when assets are loaded, relative to the first loaded asset, and how long loading took. Used
+ * to find out where startup time goes.
+ * 
+ * @author Armin Reichert
+ */
+public class LoadingTimeline {
+
+	private static final long START = System.nanoTime();
+
+	private static long millis(long nanos) {
+		return nanos / 1_000_000;
+	}
+
+	/**
+	 * Loads an asset and logs the loading time.
+	 * 
+	 * @param <T>    asset type
+	 * @param what   description of the asset
+	 * @param loader loads the asset
+	 * @return the asset
+	 */
+	public static <T> T measure(String what, Supplier<T> loader) {
+		long start = System.nanoTime();
+		T asset = loader.get();
+		long end = System.nanoTime();
+		loginfo("Timeline: %5d ms - %5d ms (%4d ms) %-40s [%s]", millis(start - START), millis(end - START),
+				millis(end - start), what, Thread.currentThread().getName());
+		return asset;
+	}
+}
@@ -3,17 +3,45 @@ package de.amr.games.pacman.theme.core;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import de.amr.games.pacman.theme.api.ThemeParameter;
+
 public class ThemeParameterMap {
 
 	protected final Map<String, Object> parameters = new HashMap<>();
+	private Object[] slots = new Object[ThemeParameter.count()];
 
 	public void set(String key, Object value) {
 		parameters.put(key, value);
 	}
 
+	/**
+	 * Stores a parameter under its typed key. The value is also available under the key name.
+	 * 
+	 * @param key   typed key
+	 * @param value parameter value
+	 */
+	public <T> void set(ThemeParameter<T> key, T value) {
+		if (key.index >= slots.length) {
+			slots = Arrays.copyOf(slots, Math.max(key.index + 1, ThemeParameter.count()));
+		}
+		slots[key.index] = value;
+		parameters.put(key.name, value);
+	}
+
+	/**
+	 * @param key typed key
+	 * @return the parameter value or the default value of the key if the parameter is not set
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T $value(ThemeParameter<T> key) {
+		Object value = key.index < slots.length ? slots[key.index] : null;
+		return value != null ? (T) value : key.defaultValue;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> T $value(String key) {
 		return (T) parameters.get(key);
@@ -38,4 +66,4 @@ public class ThemeParameterMap {
 	public Image $image(String key) {
 		return (Image) parameters.get(key);
 	}
-}
\ No newline at end of file
+}
@@ -32,6 +32,29 @@ public interface PacManGameSounds {
 
 	Stream<SoundClip> clips();
 
+	/**
+	 * Plays the clip once and remembers it as started.
+	 * 
+	 * @param clip one of the clips
+	 */
+	void play(SoundClip clip);
+
+	/**
+	 * Plays the clip in a loop and remembers it as started.
+	 * 
+	 * @param clip one of the clips
+	 */
+	void loop(SoundClip clip);
+
+	/**
+	 * Stops the clips started by {@link #play(SoundClip)} or {@link #loop(SoundClip)} since the last
+	 * call. Clips that have never been started are not touched.
+	 */
+	void stopAllClips();
+
+	/**
+	 * Starts loading the music in the background. The music pieces become available one by one.
+	 */
 	void loadMusic();
 
 	boolean isMusicLoaded();
@@ -57,7 +80,7 @@ public interface PacManGameSounds {
 	}
 
 	default void stopAll() {
-		clips().forEach(SoundClip::stop);
+		stopAllClips();
 		loadedMusic().forEach(SoundClip::stop);
 	}
 }
\ No newline at end of file
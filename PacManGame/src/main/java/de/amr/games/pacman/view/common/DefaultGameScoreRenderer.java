@@ -5,73 +5,67 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.theme.api.GameRenderer;
 
+/**
+ * Renders the score, high score, level and the number of remaining pellets. Labels are drawn from
+ * the text cache, numbers from digit atlases, so nothing is laid out while the values change.
+ * 
+ * @author Armin Reichert
+ */
 public class DefaultGameScoreRenderer implements GameRenderer {
 
+	private static final Color HILIGHT = Color.YELLOW;
+	private static final int INTERLINE_SPACING = 2;
+
+	private final TextCache textCache = new TextCache(16);
 	private Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 8);
 	private int topMargin = 1;
 	private int baselineOffset = Tile.SIZE;
+	private DigitAtlas whiteDigits;
+	private DigitAtlas grayDigits;
 
 	@Override
 	public void render(Graphics2D g, PacManGame game) {
+		float scale = Rendering.deviceScale(g);
+		if (whiteDigits == null || whiteDigits.font != font || whiteDigits.scale != scale) {
+			whiteDigits = new DigitAtlas(font, Color.WHITE, true, scale);
+			grayDigits = new DigitAtlas(font, Color.LIGHT_GRAY, true, scale);
+		}
+		int labelY = baselineOffset, valueY = baselineOffset + Tile.SIZE + INTERLINE_SPACING;
 		g.translate(0, topMargin);
-		try (Pen pen = new Pen(g)) {
-			Color hilight = Color.YELLOW;
-			int interlineSpacing = 2;
-			int col;
-			pen.down(baselineOffset);
-			pen.font(font);
-			pen.turnSmoothRenderingOn();
 
-			// Game score
-			col = 1;
-			pen.color(hilight);
-			pen.drawAtGridPosition("Score".toUpperCase(), col, 0);
+		// Game score
+		int x = 1 * Tile.SIZE;
+		textCache.draw(g, "SCORE", font, HILIGHT, true, x, labelY);
+		whiteDigits.draw(g, game.score, 7, false, x, valueY);
 
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%7d", game.score), col, 1);
-			pen.up(interlineSpacing);
+		// Highscore
+		x = 9 * Tile.SIZE;
+		textCache.draw(g, "HIGH SCORE", font, HILIGHT, true, x, labelY);
+		whiteDigits.draw(g, game.hiscore.points, 7, false, x, valueY);
+		x = 16 * Tile.SIZE;
+		textCache.draw(g, "L", font, Color.LIGHT_GRAY, true, x, valueY);
+		grayDigits.draw(g, game.hiscore.level, 2, true, x + textCache.width("L", font, Color.LIGHT_GRAY, true), valueY);
 
-			// Highscore
-			col = 9;
-			pen.color(hilight);
-			pen.drawAtGridPosition("High Score".toUpperCase(), col, 0);
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%7d", game.hiscore.points), col, 1);
-			pen.color(Color.LIGHT_GRAY);
-			pen.drawAtGridPosition(String.format("L%02d", game.hiscore.level), col + 7, 1);
-			pen.up(interlineSpacing);
+		// Level number
+		int col = 21;
+		textCache.draw(g, "LEVEL", font, HILIGHT, true, col * Tile.SIZE, labelY);
+		whiteDigits.draw(g, game.level, 2, true, col * Tile.SIZE, valueY);
 
-			col = 21;
-			pen.color(hilight);
-			pen.drawAtGridPosition(String.format("Level".toUpperCase()), col, 0);
-			// Level number
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%02d", game.level), col, 1);
-			pen.up(interlineSpacing);
+		// Number of remaining pellets
+		// dot image
+		int size = 4;
+		int dotX = (col + 3) * Tile.SIZE - size - 1;
+		int dotY = topMargin + Tile.SIZE + INTERLINE_SPACING + 1;
+		g.setColor(Color.PINK);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.fillOval(dotX, dotY, size, size);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		whiteDigits.draw(g, game.remainingFoodCount(), 3, true, (col + 3) * Tile.SIZE, valueY);
 
-			// Number of remaining pellets
-			// dot image
-			int size = 4;
-			int dotX = (col + 3) * Tile.SIZE - size - 1;
-			int dotY = topMargin + Tile.SIZE + interlineSpacing + 1;
-			g.setColor(Color.PINK);
-			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-			g.fillOval(dotX, dotY, size, size);
-			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
-			pen.color(Color.WHITE);
-			pen.down(interlineSpacing);
-			pen.drawAtGridPosition(String.format("%03d", game.remainingFoodCount()), col + 3, 1);
-			pen.up(interlineSpacing);
-		}
 		g.translate(0, -topMargin);
 	}
 
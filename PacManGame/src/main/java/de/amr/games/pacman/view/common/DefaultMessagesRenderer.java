@@ -4,7 +4,6 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 
@@ -15,6 +14,7 @@ public class DefaultMessagesRenderer implements MessagesRenderer {
 	private Font font;
 	private int fontSize;
 	private boolean textAntialiasing;
+	private final TextCache textCache = new TextCache(32);
 
 	public DefaultMessagesRenderer() {
 		row = 21;
@@ -26,15 +26,9 @@ public class DefaultMessagesRenderer implements MessagesRenderer {
 	@Override
 	public void draw(Graphics2D g, String message, int widthInTiles) {
 		if (message != null) {
-			try (Pen pen = new Pen(g)) {
-				if (textAntialiasing) {
-					pen.turnSmoothRenderingOn();
-				}
-				pen.font(font);
-				pen.color(textColor);
-				pen.move(0, row * Tile.SIZE);
-				pen.hcenter(message, widthInTiles * Tile.SIZE);
-			}
+			int width = textCache.width(message, font, textColor, textAntialiasing);
+			textCache.draw(g, message, font, textColor, textAntialiasing, (widthInTiles * Tile.SIZE - width) / 2,
+					row * Tile.SIZE);
 		}
 	}
 
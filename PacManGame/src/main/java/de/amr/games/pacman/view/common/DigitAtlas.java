@@ -0,0 +1,91 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+
+import de.amr.games.pacman.view.common.TextCache.Bitmap;
+
+/**
+ * Pre-rasterized digits of a font in a given color. Numbers are drawn digit by digit as image
+ * blits, so numeric counters neither format strings nor lay out text when their value changes.
+ * <p>
+ * The digits are rasterized for one device scale, renderers create a new atlas when the
+ * {@link Rendering#deviceScale(Graphics2D) device scale} of their graphics context changes.
+ * 
+ * @author Armin Reichert
+ */
+public class DigitAtlas {
+
+	private static final String CHARS = "0123456789 -";
+	private static final int SPACE = 10, MINUS = 11;
+
+	public final Font font;
+	public final Color color;
+	public final float scale;
+	private final Bitmap[] glyphs = new Bitmap[CHARS.length()];
+	private final int[] buffer = new int[20];
+
+	public DigitAtlas(Font font, Color color, boolean smooth, float scale) {
+		this.font = font;
+		this.color = color;
+		this.scale = scale;
+		for (int i = 0; i < CHARS.length(); ++i) {
+			glyphs[i] = TextCache.rasterize(CHARS.substring(i, i + 1), font, color, smooth, scale);
+		}
+	}
+
+	// stores the glyph indices of the number right-to-left into the buffer and returns their count
+	private int layout(long value, int minWidth, boolean zeroPadded) {
+		int n = 0;
+		long v = Math.abs(value);
+		do {
+			buffer[n++] = (int) (v % 10);
+			v /= 10;
+		} while (v > 0 && n < buffer.length);
+		if (zeroPadded) {
+			while (n < minWidth - (value < 0 ? 1 : 0) && n < buffer.length) {
+				buffer[n++] = 0;
+			}
+		}
+		if (value < 0 && n < buffer.length) {
+			buffer[n++] = MINUS;
+		}
+		while (n < minWidth && n < buffer.length) {
+			buffer[n++] = SPACE;
+		}
+		return n;
+	}
+
+	/**
+	 * Draws a number like {@code String.format("%<minWidth>d")} (or {@code "%0<minWidth>d"}) would
+	 * format it.
+	 * 
+	 * @param g          graphics context
+	 * @param value      number
+	 * @param minWidth   minimum number of characters
+	 * @param zeroPadded if the number is padded with zeroes instead of spaces
+	 * @param x          x-position
+	 * @param y          baseline position
+	 * @return x-position after the number
+	 */
+	public int draw(Graphics2D g, long value, int minWidth, boolean zeroPadded, int x, int y) {
+		for (int i = layout(value, minWidth, zeroPadded) - 1; i >= 0; --i) {
+			Bitmap glyph = glyphs[buffer[i]];
+			glyph.draw(g, x, y);
+			x += glyph.width;
+		}
+		return x;
+	}
+
+	/**
+	 * @return the width of the number when drawn with the same arguments
+	 */
+	public int width(long value, int minWidth, boolean zeroPadded) {
+		int width = 0;
+		for (int i = layout(value, minWidth, zeroPadded) - 1; i >= 0; --i) {
+			width += glyphs[buffer[i]].width;
+		}
+		return width;
+	}
+}
@@ -0,0 +1,167 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Frame buffer at the native (unscaled) resolution of the game. A frame is drawn into an integer
+ * pixel array and presented with a single nearest-neighbor upscale.
+ * <p>
+ * Images with an integer pixel raster are copied into the frame buffer pixel by pixel when the
+ * graphics context draws into a frame buffer image, is only translated, has no clip and uses the
+ * {@link AlphaComposite#SRC_OVER} rule (with any extra alpha). Otherwise, they are drawn by Java2D.
+ * A graphics context draws into a frame buffer if it is the frame buffer's context or has been
+ * derived from it by {@link Graphics2D#create()}: it carries a rendering hint referencing the frame
+ * buffer.
+ * 
+ * @author Armin Reichert
+ */
+public class Framebuffer {
+
+	private static final AffineTransform IDENTITY = new AffineTransform();
+
+	/** Rendering hint identifying the frame buffer a graphics context draws into. */
+	private static final RenderingHints.Key TARGET = new RenderingHints.Key(0x46425546) {
+
+		@Override
+		public boolean isCompatibleValue(Object value) {
+			return value == null || value instanceof Framebuffer;
+		}
+	};
+
+	/**
+	 * Draws an image at the given position. If the graphics context draws into a frame buffer, the
+	 * pixels are copied directly.
+	 * 
+	 * @param g     graphics context
+	 * @param image image
+	 * @param x     x-position in user space
+	 * @param y     y-position in user space
+	 */
+	public static void blit(Graphics2D g, Image image, int x, int y) {
+		Object target = g.getRenderingHint(TARGET);
+		if (target instanceof Framebuffer && g.getClip() == null && image instanceof BufferedImage
+				&& ((Framebuffer) target).copy(g, (BufferedImage) image, x, y)) {
+			return;
+		}
+		g.drawImage(image, x, y, null);
+	}
+
+	/**
+	 * @param image some image
+	 * @return the image if it has an integer raster, else a copy with an integer raster
+	 */
+	public static BufferedImage intImage(BufferedImage image) {
+		int type = image.getType();
+		if (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB) {
+			return image;
+		}
+		int intType = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), intType);
+		Graphics2D g = copy.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return copy;
+	}
+
+	public final int width;
+	public final int height;
+	private final BufferedImage image;
+	private final int[] pixels;
+	private final Graphics2D g;
+
+	public Framebuffer(int width, int height) {
+		this.width = width;
+		this.height = height;
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		g = image.createGraphics();
+		g.setRenderingHint(TARGET, this);
+	}
+
+	/**
+	 * Clears the frame buffer and resets its graphics context.
+	 * 
+	 * @return the graphics context for drawing the frame
+	 */
+	public Graphics2D beginFrame() {
+		Arrays.fill(pixels, 0);
+		g.setTransform(IDENTITY);
+		g.setClip(null);
+		g.setComposite(AlphaComposite.SrcOver);
+		Rendering.smoothOff(g);
+		return g;
+	}
+
+	/**
+	 * Ends the frame and draws the frame buffer upscaled using nearest-neighbor interpolation.
+	 * 
+	 * @param target graphics context (scaled to the window or screen)
+	 */
+	public void present(Graphics2D target) {
+		Object interpolation = target.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+		target.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		target.drawImage(image, 0, 0, null);
+		if (interpolation != null) {
+			target.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		}
+	}
+
+	private boolean copy(Graphics2D g, BufferedImage src, int x, int y) {
+		int type = src.getType();
+		if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB) {
+			return false;
+		}
+		Composite composite = g.getComposite();
+		if (!(composite instanceof AlphaComposite) || ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER) {
+			return false;
+		}
+		int extraAlpha = Math.round(((AlphaComposite) composite).getAlpha() * 255);
+		AffineTransform tf = g.getTransform();
+		if ((tf.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+			return false;
+		}
+		int[] srcPixels = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+		int srcWidth = src.getWidth();
+		int dx = x + (int) tf.getTranslateX(), dy = y + (int) tf.getTranslateY();
+		int minX = Math.max(0, dx), maxX = Math.min(width, dx + srcWidth);
+		int minY = Math.max(0, dy), maxY = Math.min(height, dy + src.getHeight());
+		if (minX >= maxX || minY >= maxY) {
+			return true;
+		}
+		int length = maxX - minX;
+		boolean opaque = type == BufferedImage.TYPE_INT_RGB;
+		for (int row = minY; row < maxY; ++row) {
+			int srcIndex = (row - dy) * srcWidth + (minX - dx), dstIndex = row * width + minX;
+			if (opaque && extraAlpha == 0xFF) {
+				System.arraycopy(srcPixels, srcIndex, pixels, dstIndex, length);
+			} else {
+				for (int i = 0; i < length; ++i) {
+					int argb = srcPixels[srcIndex + i];
+					int alpha = ((opaque ? 0xFF : argb >>> 24) * extraAlpha + 127) / 255;
+					if (alpha == 0xFF) {
+						pixels[dstIndex + i] = argb;
+					} else if (alpha != 0) {
+						pixels[dstIndex + i] = blend(pixels[dstIndex + i], argb, alpha);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private static int blend(int dst, int src, int alpha) {
+		int inv = 255 - alpha;
+		int r = (((src >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inv) / 255;
+		int gr = (((src >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inv) / 255;
+		int b = ((src & 0xFF) * alpha + (dst & 0xFF) * inv) / 255;
+		return (r << 16) | (gr << 8) | b;
+	}
+}
@@ -0,0 +1,33 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Graphics2D;
+
+import de.amr.easy.game.view.View;
+
+/**
+ * Draws another view into a native resolution {@link Framebuffer} and presents the result with one
+ * nearest-neighbor upscale, so drawing cost does not depend on the window scaling.
+ * 
+ * @author Armin Reichert
+ */
+public class FramebufferView implements View {
+
+	private final Framebuffer framebuffer;
+	private View view;
+
+	public FramebufferView(int width, int height) {
+		framebuffer = new Framebuffer(width, height);
+	}
+
+	public void setView(View view) {
+		this.view = view;
+	}
+
+	@Override
+	public void draw(Graphics2D g) {
+		if (view != null) {
+			view.draw(framebuffer.beginFrame());
+			framebuffer.present(g);
+		}
+	}
+}
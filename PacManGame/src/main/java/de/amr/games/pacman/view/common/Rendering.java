@@ -8,6 +8,7 @@ import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
 import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -32,6 +33,19 @@ public class Rendering {
 		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
 	}
 
+	/**
+	 * Returns the scaling from user space to device pixels of a graphics context, rounded up to quarter
+	 * steps. Images rasterized at this scale are drawn without being magnified.
+	 * 
+	 * @param g graphics context
+	 * @return device scale, at least 1
+	 */
+	public static float deviceScale(Graphics2D g) {
+		AffineTransform t = g.getTransform();
+		double scale = Math.max(Math.hypot(t.getScaleX(), t.getShearY()), Math.hypot(t.getShearX(), t.getScaleY()));
+		return (float) Math.max(1, Math.ceil(4 * scale) / 4);
+	}
+
 	public static void drawCircleWithText(Graphics2D g, Vector2f center, int radius, Color color, String text) {
 		g.translate(center.x, center.y);
 		g.setColor(color);
@@ -35,7 +35,11 @@ public class RoutesRenderer {
 		if (folks.pacMan.visible) {
 			drawPacManRoute(g, folks.pacMan);
 		}
-		folks.ghostsInWorld().filter(ghost -> ghost.visible).forEach(ghost -> drawGhostRoute(g, ghost));
+		folks.forEachGhostInWorld(ghost -> {
+			if (ghost.visible) {
+				drawGhostRoute(g, ghost);
+			}
+		});
 		if (folks.inky.visible) {
 			drawInkyChasing(g, folks);
 		}
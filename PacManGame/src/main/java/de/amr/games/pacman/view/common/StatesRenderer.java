@@ -15,9 +15,10 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
+import java.util.HashMap;
+import java.util.Map;
 
 import de.amr.easy.game.entity.Entity;
-import de.amr.easy.game.view.Pen;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -29,6 +30,38 @@ import de.amr.games.pacman.model.world.api.Tile;
 public class StatesRenderer {
 
 	private static final Font SMALL_FONT = new Font("Arial", Font.PLAIN, 6);
+	private static final String LIVES_INFINITE = " lives " + Rendering.INFTY;
+
+	/**
+	 * State label made of text parts (drawn from the text cache) and numbers (drawn from a digit
+	 * atlas). The label is reused for every actor.
+	 */
+	private static class Label {
+
+		final String[] texts = new String[12];
+		final long[] numbers = new long[12];
+		int count;
+
+		Label clear() {
+			count = 0;
+			return this;
+		}
+
+		Label text(String text) {
+			texts[count++] = text;
+			return this;
+		}
+
+		Label number(long number) {
+			texts[count] = null;
+			numbers[count++] = number;
+			return this;
+		}
+	}
+
+	private final TextCache textCache = new TextCache(64);
+	private final Map<Color, DigitAtlas> digitAtlases = new HashMap<>();
+	private final Label label = new Label();
 
 	public void renderStates(Graphics2D g, Folks folks, GhostCommand ghostCommand) {
 		drawActorStates(g, folks, ghostCommand);
@@ -36,7 +69,7 @@ public class StatesRenderer {
 	}
 
 	private void drawActorStates(Graphics2D g, Folks folks, GhostCommand ghostCommand) {
-		folks.ghostsInWorld().forEach(ghost -> drawGhostState(g, ghost, ghostCommand));
+		folks.forEachGhostInWorld(ghost -> drawGhostState(g, ghost, ghostCommand));
 		drawPacManState(g, folks.pacMan);
 	}
 
@@ -44,24 +77,42 @@ public class StatesRenderer {
 		if (!pacMan.visible || pacMan.ai.getState() == null) {
 			return;
 		}
-		String text = pacMan.ai.getState().name();
+		label.clear().text(pacMan.ai.getState().name());
 		if (pacMan.ai.is(POWERFUL)) {
-			text += String.format("(%d)", pacMan.ai.state(POWERFUL).getTicksRemaining());
+			label.text("(").number(pacMan.ai.state(POWERFUL).getTicksRemaining()).text(")");
 		}
 		if (pacMan.ai.state().hasTimer()) {
-			text += String.format("(%d of %d)", pacMan.ai.state().getTicksConsumed(), pacMan.ai.state().getDuration());
+			label.text("(").number(pacMan.ai.state().getTicksConsumed()).text(" of ")
+					.number(pacMan.ai.state().getDuration()).text(")");
 		}
 		if (settings.pacManImmortable) {
-			text += " lives " + Rendering.INFTY;
+			label.text(LIVES_INFINITE);
 		}
-		drawEntityState(g, pacMan, text, Color.YELLOW);
+		drawEntityState(g, pacMan, Color.YELLOW);
 	}
 
-	private void drawEntityState(Graphics2D g, Entity entity, String text, Color color) {
-		try (Pen pen = new Pen(g)) {
-			pen.color(color);
-			pen.font(SMALL_FONT);
-			pen.drawCentered(text, entity.tf.getCenter().x, entity.tf.getCenter().y - 2);
+	private void drawEntityState(Graphics2D g, Entity entity, Color color) {
+		float scale = Rendering.deviceScale(g);
+		DigitAtlas digits = digitAtlases.get(color);
+		if (digits == null || digits.scale != scale) {
+			digits = new DigitAtlas(SMALL_FONT, color, false, scale);
+			digitAtlases.put(color, digits);
+		}
+		int width = 0;
+		for (int i = 0; i < label.count; ++i) {
+			String text = label.texts[i];
+			width += text != null ? textCache.width(text, SMALL_FONT, color, false)
+					: digits.width(label.numbers[i], 0, false);
+		}
+		int x = Math.round(entity.tf.getCenter().x) - width / 2, y = Math.round(entity.tf.getCenter().y - 2);
+		for (int i = 0; i < label.count; ++i) {
+			String text = label.texts[i];
+			if (text != null) {
+				textCache.draw(g, text, SMALL_FONT, color, false, x, y);
+				x += textCache.width(text, SMALL_FONT, color, false);
+			} else {
+				x = digits.draw(g, label.numbers[i], 0, false, x, y);
+			}
 		}
 	}
 
@@ -72,43 +123,44 @@ public class StatesRenderer {
 		if (ghost.ai.getState() == null) {
 			return; // may happen in test applications where not all ghosts are used
 		}
-		StringBuilder text = new StringBuilder();
+		label.clear();
 		// show ghost name if not obvious
-		text.append(ghost.ai.is(DEAD, FRIGHTENED, ENTERING_HOUSE) ? ghost.name : "");
+		if (ghost.ai.is(DEAD, FRIGHTENED, ENTERING_HOUSE)) {
+			label.text(ghost.name);
+		}
 		// chasing or scattering time
 		if (ghostCommand != null && ghost.ai.is(SCATTERING, CHASING)) {
-			long remaining = ghostCommand.state().getTicksRemaining();
-			String remainingText = formatLargeTicks(remaining);
-			long duration = ghostCommand.state().getDuration();
-			String durationText = formatLargeTicks(duration);
-			text.append(String.format("(%s,%s|%s)", ghost.ai.getState(), remainingText, durationText));
+			label.text("(").text(ghost.ai.getState().name()).text(",");
+			appendLargeTicks(ghostCommand.state().getTicksRemaining());
+			label.text("|");
+			appendLargeTicks(ghostCommand.state().getDuration());
+			label.text(")");
 		} else {
 			if (ghost.ai.state().hasTimer()) {
-				text.append(String.format("(%s,%d|%d)", ghost.ai.getState(), ghost.ai.state().getTicksRemaining(),
-						ghost.ai.state().getDuration()));
+				label.text("(").text(ghost.ai.getState().name()).text(",").number(ghost.ai.state().getTicksRemaining())
+						.text("|").number(ghost.ai.state().getDuration()).text(")");
 			} else {
-				text.append(ghost.ai.getState());
+				label.text(ghost.ai.getState().name());
 			}
 		}
-		drawEntityState(g, ghost, text.toString(), ghostColor(ghost));
+		drawEntityState(g, ghost, ghostColor(ghost));
 	}
 
-	private String formatLargeTicks(long ticks) {
+	private void appendLargeTicks(long ticks) {
 		if (ticks <= 1000) {
-			return String.valueOf(ticks);
-		}
-		if (ticks <= 10_000) {
-			return ">1000";
-		}
-		if (ticks <= 100_000) {
-			return ">10_000";
+			label.number(ticks);
+		} else if (ticks <= 10_000) {
+			label.text(">1000");
+		} else if (ticks <= 100_000) {
+			label.text(">10_000");
+		} else {
+			label.text(">100_000");
 		}
-		return ">100_000";
 	}
 
 	private void drawActorsOffTrack(Graphics2D g, Folks folks) {
 		drawActorOffTrack(g, folks.pacMan);
-		folks.ghostsInWorld().forEach(ghost -> drawActorOffTrack(g, ghost));
+		folks.forEachGhostInWorld(ghost -> drawActorOffTrack(g, ghost));
 	}
 
 	private void drawActorOffTrack(Graphics2D g, Guy<?> guy) {
@@ -0,0 +1,185 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of rendered texts. A text is laid out and rasterized once for each combination of string,
+ * font, color and antialiasing, drawing it again is an image blit. The least recently used bitmaps
+ * are dropped when the cache is full.
+ * <p>
+ * Texts are rasterized at the {@link Rendering#deviceScale(Graphics2D) device scale} of the
+ * graphics context they are drawn into. The cache holds the bitmaps of one scale, when the scale
+ * changes (e.g. when the window is resized) it is cleared.
+ * <p>
+ * Each renderer uses its own cache. Not thread-safe, use it from the rendering thread only.
+ * 
+ * @author Armin Reichert
+ */
+public class TextCache {
+
+	/** Extra space around the text for glyphs extending their advance. */
+	static final int PADDING = 1;
+
+	/**
+	 * A rasterized text.
+	 */
+	static class Bitmap {
+
+		final BufferedImage image;
+		final int width;
+		final int ascent;
+		final int imageWidth;
+		final int imageHeight;
+
+		Bitmap(BufferedImage image, int width, int ascent, int imageWidth, int imageHeight) {
+			this.image = image;
+			this.width = width;
+			this.ascent = ascent;
+			this.imageWidth = imageWidth;
+			this.imageHeight = imageHeight;
+		}
+
+		void draw(Graphics2D g, int x, int y) {
+			g.drawImage(image, x - PADDING, y - ascent - PADDING, imageWidth, imageHeight, null);
+		}
+	}
+
+	private static class Key {
+
+		String text;
+		Font font;
+		Color color;
+		boolean smooth;
+
+		Key set(String text, Font font, Color color, boolean smooth) {
+			this.text = text;
+			this.font = font;
+			this.color = color;
+			this.smooth = smooth;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((text.hashCode() * 31 + font.hashCode()) * 31 + color.hashCode()) * 31 + (smooth ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return smooth == other.smooth && text.equals(other.text) && font.equals(other.font)
+					&& color.equals(other.color);
+		}
+	}
+
+	/**
+	 * Lays out and rasterizes the given text.
+	 * 
+	 * @param text   text
+	 * @param font   font
+	 * @param color  text color
+	 * @param smooth if text antialiasing is used
+	 * @param scale  device scale
+	 * @return bitmap of the text
+	 */
+	static Bitmap rasterize(String text, Font font, Color color, boolean smooth, float scale) {
+		Object antialiasing = smooth ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF;
+		FontRenderContext frc = new FontRenderContext(null, smooth, false);
+		LineMetrics lm = font.getLineMetrics(text, frc);
+		int width = (int) Math.round(font.getStringBounds(text, frc).getWidth());
+		int ascent = (int) Math.ceil(lm.getAscent()), descent = (int) Math.ceil(lm.getDescent());
+		int imageWidth = Math.max(1, width + 2 * PADDING), imageHeight = ascent + descent + 2 * PADDING;
+		BufferedImage image = new BufferedImage((int) Math.ceil(imageWidth * scale),
+				(int) Math.ceil(imageHeight * scale), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiasing);
+		g.scale(scale, scale);
+		g.setFont(font);
+		g.setColor(color);
+		g.drawString(text, PADDING, PADDING + ascent);
+		g.dispose();
+		return new Bitmap(image, width, ascent, imageWidth, imageHeight);
+	}
+
+	private final Map<Key, Bitmap> bitmaps;
+	private final Key probe = new Key();
+	private float scale = 1;
+
+	public TextCache(int capacity) {
+		bitmaps = new LinkedHashMap<>(capacity, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Bitmap> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	private Bitmap bitmap(String text, Font font, Color color, boolean smooth) {
+		Bitmap bitmap = bitmaps.get(probe.set(text, font, color, smooth));
+		if (bitmap == null) {
+			bitmap = rasterize(text, font, color, smooth, scale);
+			bitmaps.put(new Key().set(text, font, color, smooth), bitmap);
+		}
+		return bitmap;
+	}
+
+	/**
+	 * Draws a text like {@link Graphics2D#drawString(String, int, int)}.
+	 * 
+	 * @param g      graphics context
+	 * @param text   text
+	 * @param font   font
+	 * @param color  text color
+	 * @param smooth if text antialiasing is used
+	 * @param x      x-position of the text
+	 * @param y      baseline position of the text
+	 */
+	public void draw(Graphics2D g, String text, Font font, Color color, boolean smooth, int x, int y) {
+		float deviceScale = Rendering.deviceScale(g);
+		if (deviceScale != scale) {
+			bitmaps.clear();
+			scale = deviceScale;
+		}
+		bitmap(text, font, color, smooth).draw(g, x, y);
+	}
+
+	/**
+	 * @return the advance width of the given text
+	 */
+	public int width(String text, Font font, Color color, boolean smooth) {
+		return bitmap(text, font, color, smooth).width;
+	}
+
+	/**
+	 * @return the device scale of the cached bitmaps
+	 */
+	public float scale() {
+		return scale;
+	}
+
+	/**
+	 * @return number of cached bitmaps
+	 */
+	public int size() {
+		return bitmaps.size();
+	}
+
+	public void clear() {
+		bitmaps.clear();
+	}
+}
@@ -49,10 +49,21 @@ public class ChaseGhostsAnimation extends GameObject {
 	}
 
 	public void setTheme(Theme theme) {
+		if (this.theme != null) {
+			releaseSprites();
+		}
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
 	}
 
+	/**
+	 * Releases the sprites the current theme holds for the actors of this animation.
+	 */
+	public void releaseSprites() {
+		pacManRenderer.release(pacMan);
+		ghosts().forEach(theme.ghostRenderer()::release);
+	}
+
 	@Override
 	public void stop() {
 		theme.sounds().clipCrunching().stop();
@@ -68,7 +79,7 @@ public class ChaseGhostsAnimation extends GameObject {
 		points = 200;
 		guys().forEach(Lifecycle::init);
 
-		pacMan.tf.setPosition(tf.x, tf.y);
+		pacMan.placeAt(tf.x, tf.y);
 		pacMan.moveDir = Direction.RIGHT;
 		pacMan.tf.vx = 0.8f;
 		pacMan.ai.setState(PacManState.AWAKE);
@@ -81,7 +92,7 @@ public class ChaseGhostsAnimation extends GameObject {
 		});
 		Ghost[] ghosts = ghosts().toArray(Ghost[]::new);
 		for (int i = 0; i < ghosts.length; ++i) {
-			ghosts[i].tf.setPosition(tf.x + 20 * i, tf.y);
+			ghosts[i].placeAt(tf.x + 20 * i, tf.y);
 		}
 	}
 
@@ -95,10 +106,10 @@ public class ChaseGhostsAnimation extends GameObject {
 				ghost.ai.setState(GhostState.DEAD);
 				ghost.bounty = points;
 				points *= 2;
-				theme.sounds().clipEatGhost().play();
+				theme.sounds().play(theme.sounds().clipEatGhost());
 			});
 		//@formatter:on
-		guys().forEach(guy -> guy.tf.move());
+		guys().forEach(guy -> guy.placeAt(guy.tf.x + guy.tf.vx, guy.tf.y + guy.tf.vy));
 	}
 
 	@Override
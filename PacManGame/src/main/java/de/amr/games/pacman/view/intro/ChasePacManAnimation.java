@@ -54,10 +54,21 @@ public class ChasePacManAnimation extends GameObject {
 	}
 
 	public void setTheme(Theme theme) {
+		if (this.theme != null) {
+			releaseSprites();
+		}
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
 	}
 
+	/**
+	 * Releases the sprites the current theme holds for the actors of this animation.
+	 */
+	public void releaseSprites() {
+		pacManRenderer.release(pacMan);
+		ghosts().forEach(theme.ghostRenderer()::release);
+	}
+
 	@Override
 	public void init() {
 		pelletTimer = Timing.sec(6 * 0.5f);
@@ -80,15 +91,15 @@ public class ChasePacManAnimation extends GameObject {
 		int x = rightBorder;
 		Ghost[] ghosts = Stream.of(blinky, inky, pinky, clyde).toArray(Ghost[]::new);
 		for (int i = 0; i < ghosts.length; ++i) {
-			ghosts[i].tf.setPosition(x, tf.y);
+			ghosts[i].placeAt(x, tf.y);
 			x -= size;
 		}
-		pacMan.tf.setPosition(x, tf.y);
+		pacMan.placeAt(x, tf.y);
 	}
 
 	@Override
 	public void update() {
-		Stream.of(pacMan, blinky, inky, pinky, clyde).forEach(c -> c.tf.move());
+		guys().forEach(guy -> guy.placeAt(guy.tf.x + guy.tf.vx, guy.tf.y + guy.tf.vy));
 		if (pelletTimer > 0) {
 			if (pelletTimer % Timing.sec(0.5f) == 0)
 				if (pelletDisplay == PelletDisplay.FIFTY) {
@@ -105,9 +116,9 @@ public class ChasePacManAnimation extends GameObject {
 	@Override
 	public void start() {
 		init();
-		theme.sounds().clipGhostChase().loop();
+		theme.sounds().loop(theme.sounds().clipGhostChase());
 		if (!theme.sounds().clipCrunching().isRunning()) {
-			theme.sounds().clipCrunching().loop();
+			theme.sounds().loop(theme.sounds().clipCrunching());
 		}
 	}
 
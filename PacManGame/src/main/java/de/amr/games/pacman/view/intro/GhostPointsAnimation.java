@@ -64,10 +64,21 @@ public class GhostPointsAnimation extends GameObject {
 	}
 
 	public void setTheme(Theme theme) {
+		if (this.theme != null) {
+			releaseSprites();
+		}
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
 	}
 
+	/**
+	 * Releases the sprites the current theme holds for the actors of this animation.
+	 */
+	public void releaseSprites() {
+		pacManRenderer.release(pacMan);
+		ghosts().forEach(theme.ghostRenderer()::release);
+	}
+
 	@Override
 	public void draw(Graphics2D g) {
 		pacManRenderer.render(g, pacMan);
@@ -112,11 +123,11 @@ public class GhostPointsAnimation extends GameObject {
 
 	private void initPositions() {
 		float x = tf.x;
-		pacMan.tf.setPosition(x, tf.y);
+		pacMan.placeAt(x, tf.y);
 		x += 2 * dx; // space for drawing pellet
 		Ghost[] ghosts = ghosts().toArray(Ghost[]::new);
 		for (int i = 0; i < ghosts.length; ++i) {
-			ghosts[i].tf.setPosition(x, tf.y);
+			ghosts[i].placeAt(x, tf.y);
 			x += dx;
 		}
 	}
@@ -155,7 +166,7 @@ public class GhostPointsAnimation extends GameObject {
 					stop();
 				} else {
 					Ghost[] ghosts = ghosts().toArray(Ghost[]::new);
-					theme.sounds().clipEatGhost().play();
+					theme.sounds().play(theme.sounds().clipEatGhost());
 					ghosts[ghostToKill].ai.setState(GhostState.DEAD);
 					ghosts[ghostToKill].bounty = POINTS_GHOSTS.get(ghostToKill);
 					killed.set(ghostToKill);
@@ -9,17 +9,14 @@ import static de.amr.games.pacman.view.intro.IntroView.IntroState.WAITING_FOR_IN
 
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
-import java.util.Arrays;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.assets.Assets;
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.ui.widgets.ImageWidget;
 import de.amr.easy.game.ui.widgets.LinkWidget;
-import de.amr.easy.game.view.Pen;
 import de.amr.easy.game.view.View;
 import de.amr.games.pacman.controller.game.Timing;
 import de.amr.games.pacman.model.world.api.Tile;
@@ -28,6 +25,7 @@ import de.amr.games.pacman.model.world.core.EmptyWorld;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 import de.amr.games.pacman.theme.api.Theme;
 import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.common.TextCache;
 import de.amr.games.pacman.view.intro.IntroView.IntroState;
 import de.amr.statemachine.core.State;
 import de.amr.statemachine.core.StateMachine;
@@ -46,6 +44,9 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 	private static final String GITHUB_URL = "https://github.com/armin-reichert/pacman";
 	private static final Color ORANGE = new Color(255, 163, 71);
 	private static final Color RED = new Color(171, 19, 0);
+	private static final String[] SPEED_TEXTS = { "1-" + texts.getString("normal"), "2-" + texts.getString("fast"),
+			"3-" + texts.getString("insane") };
+	private static final int[] SPEED_FRAMERATES = { 60, 70, 80 };
 
 	private final TiledWorld world;
 	private final int width;
@@ -58,6 +59,9 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 
 	private Theme theme;
 	private MessagesRenderer messagesRenderer;
+	private final TextCache textCache = new TextCache(8);
+	private Font speedTextsFont;
+	private final int[] speedTextsX = new int[3];
 
 	public IntroView(Theme theme) {
 		super(IntroState.class);
@@ -109,6 +113,9 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 	@Override
 	public void exit() {
 		theme.sounds().stopAll();
+		chasePacMan.releaseSprites();
+		chaseGhosts.releaseSprites();
+		ghostPointsAnimation.releaseSprites();
 	}
 
 	@Override
@@ -148,19 +155,23 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 	}
 
 	private void drawSpeedSelectionTexts(Graphics2D g, int row) {
-		String[] speedTexts = { "1-" + texts.getString("normal"), "2-" + texts.getString("fast"),
-				"3-" + texts.getString("insane") };
-		try (Pen pen = new Pen(g)) {
-			pen.font(messagesRenderer.getFont());
-			FontMetrics fm = pen.getFontMetrics();
-			int[] w = { fm.stringWidth(speedTexts[0]), fm.stringWidth(speedTexts[1]), fm.stringWidth(speedTexts[2]) };
-			float s = (width - (w[0] + w[1] + w[2])) / 4f;
-			float[] x = { s, s + w[0] + s, s + w[0] + s + w[1] + s };
-			int selectedSpeed = Arrays.asList(60, 70, 80).indexOf(app().clock().getTargetFramerate());
+		Font font = messagesRenderer.getFont();
+		if (font != speedTextsFont) {
+			// layout only changes with the font
+			int[] w = new int[3];
 			for (int i = 0; i < 3; ++i) {
-				pen.color(selectedSpeed == i ? ORANGE : RED);
-				pen.draw(speedTexts[i], x[i], row * Tile.SIZE);
+				w[i] = textCache.width(SPEED_TEXTS[i], font, RED, false);
 			}
+			float s = (width - (w[0] + w[1] + w[2])) / 4f;
+			speedTextsX[0] = Math.round(s);
+			speedTextsX[1] = Math.round(s + w[0] + s);
+			speedTextsX[2] = Math.round(s + w[0] + s + w[1] + s);
+			speedTextsFont = font;
+		}
+		int framerate = app().clock().getTargetFramerate();
+		for (int i = 0; i < 3; ++i) {
+			Color color = SPEED_FRAMERATES[i] == framerate ? ORANGE : RED;
+			textCache.draw(g, SPEED_TEXTS[i], font, color, false, speedTextsX[i], row * Tile.SIZE);
 		}
 	}
 
@@ -213,7 +224,7 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 			pacManLogo.setCompletion(() -> pacManLogo.tf.y <= 20);
 			pacManLogo.visible = true;
 			pacManLogo.start();
-			theme.sounds().clipInsertCoin().play();
+			theme.sounds().play(theme.sounds().clipInsertCoin());
 		}
 
 		@Override
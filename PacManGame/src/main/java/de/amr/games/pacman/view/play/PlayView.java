@@ -120,11 +120,20 @@ public class PlayView implements PacManGameView {
 	}
 
 	protected void drawFolks(Graphics2D g) {
-		folks.ghostsInWorld().filter(ghost -> ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED))
-				.forEach(ghost -> drawGhost(g, ghost));
+		// ghosts which are dead, entering the house or frightened are drawn below Pac-Man
+		for (int i = 0; i < folks.numGhosts(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			if (folks.isGhostInWorld(i) && ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED)) {
+				drawGhost(g, ghost);
+			}
+		}
 		drawPacMan(g, folks.pacMan);
-		folks.ghostsInWorld().filter(ghost -> !ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED))
-				.forEach(ghost -> drawGhost(g, ghost));
+		for (int i = 0; i < folks.numGhosts(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			if (folks.isGhostInWorld(i) && !ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED)) {
+				drawGhost(g, ghost);
+			}
+		}
 	}
 
 	protected void drawMessages(Graphics2D g) {
@@ -137,23 +146,23 @@ public class PlayView implements PacManGameView {
 		if (starvingMillis > 300) {
 			theme.sounds().clipCrunching().stop();
 		} else if (!theme.sounds().clipCrunching().isRunning()) {
-			theme.sounds().clipCrunching().loop();
+			theme.sounds().loop(theme.sounds().clipCrunching());
 		}
 		if (!folks.pacMan.ai.is(PacManState.POWERFUL)) {
 			theme.sounds().clipWaza().stop();
 		} else if (!theme.sounds().clipWaza().isRunning()) {
-			theme.sounds().clipWaza().loop();
+			theme.sounds().loop(theme.sounds().clipWaza());
 		}
 		if (soundState.pacManDied) {
-			theme.sounds().clipPacManDies().play();
+			theme.sounds().play(theme.sounds().clipPacManDies());
 			soundState.pacManDied = false;
 		}
 		if (soundState.bonusEaten) {
-			theme.sounds().clipEatFruit().play();
+			theme.sounds().play(theme.sounds().clipEatFruit());
 			soundState.bonusEaten = false;
 		}
 		if (soundState.gotExtraLife) {
-			theme.sounds().clipExtraLife().play();
+			theme.sounds().play(theme.sounds().clipExtraLife());
 			soundState.gotExtraLife = false;
 		}
 
@@ -162,15 +171,15 @@ public class PlayView implements PacManGameView {
 			theme.sounds().clipGhostChase().stop();
 		} else if (!theme.sounds().clipGhostChase().isRunning()) {
 			theme.sounds().clipGhostChase().setVolume(0.5f);
-			theme.sounds().clipGhostChase().loop();
+			theme.sounds().loop(theme.sounds().clipGhostChase());
 		}
 		if (!soundState.deadGhosts) {
 			theme.sounds().clipGhostDead().stop();
 		} else if (!theme.sounds().clipGhostDead().isRunning()) {
-			theme.sounds().clipGhostDead().loop();
+			theme.sounds().loop(theme.sounds().clipGhostDead());
 		}
 		if (soundState.ghostEaten) {
-			theme.sounds().clipEatGhost().play();
+			theme.sounds().play(theme.sounds().clipEatGhost());
 			soundState.ghostEaten = false;
 		}
 	}
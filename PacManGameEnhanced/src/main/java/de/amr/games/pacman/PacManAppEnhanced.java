@@ -26,9 +26,9 @@ import guru.nidi.graphviz.engine.GraphvizV8Engine;
 public class PacManAppEnhanced extends PacManApp {
 
 	static {
-		Themes.registerTheme(ArcadeTheme.THEME);
-		Themes.registerTheme(BlocksTheme.THEME);
-		Themes.registerTheme(LettersTheme.THEME);
+		Themes.registerTheme("ARCADE", () -> ArcadeTheme.THEME);
+		Themes.registerTheme("BLOCKS", () -> BlocksTheme.THEME);
+		Themes.registerTheme("LETTERS", () -> LettersTheme.THEME);
 	}
 
 	public static void main(String[] args) {
@@ -43,9 +43,10 @@ public class PacManAppEnhanced extends PacManApp {
 
 	@Override
 	public void init() {
+		Themes.loadInBackground(settings.theme);
 		Graphviz.useEngine(new GraphvizV8Engine());
 		setIcon("/images/pacman-icon.png");
-		setController(new ExtendedGameController(Themes.all()));
+		setController(new ExtendedGameController(Themes.names()));
 	}
 
 	@Override
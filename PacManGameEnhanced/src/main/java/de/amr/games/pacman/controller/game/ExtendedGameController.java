@@ -2,7 +2,6 @@ package de.amr.games.pacman.controller.game;
 
 import static de.amr.easy.game.Application.app;
 import static de.amr.easy.game.Application.loginfo;
-import static de.amr.easy.game.controller.StateMachineRegistry.REGISTRY;
 import static de.amr.games.pacman.PacManApp.settings;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
@@ -12,10 +11,12 @@ import static de.amr.games.pacman.controller.game.PacManGameState.GETTING_READY;
 import static de.amr.games.pacman.controller.game.PacManGameState.INTRO;
 import static de.amr.games.pacman.controller.game.PacManGameState.PLAYING;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
+import static de.amr.games.pacman.model.fsm.FsmRegistry.FSM_REGISTRY;
 import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -25,11 +26,12 @@ import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
 import de.amr.games.pacman.controller.event.GhostKilledEvent;
 import de.amr.games.pacman.controller.event.LevelCompletedEvent;
+import de.amr.games.pacman.controller.ghosthouse.DoorMan;
 import de.amr.games.pacman.controller.steering.ghost.FleeingToSafeTile;
 import de.amr.games.pacman.controller.steering.pacman.SearchingForFoodAndAvoidingGhosts;
+import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.arcade.ArcadeFood;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
-import de.amr.games.pacman.theme.api.Theme;
 import de.amr.games.pacman.view.play.ExtendedPlayView;
 import de.amr.games.pacman.view.play.PlayView;
 
@@ -46,26 +48,26 @@ public class ExtendedGameController extends GameController {
 	private boolean showingScores = true;
 	private WorldGraph graph;
 
-	public ExtendedGameController(List<Theme> themes) {
-		super(themes);
-		REGISTRY.register("Game", Stream.of(this, bonusController, ghostCommand));
+	public ExtendedGameController(List<String> themeNames) {
+		super(themeNames);
+		FSM_REGISTRY.register("Game", Stream.of(this, bonusController, ghostCommand));
 		addStateEntryListener(INTRO, state -> {
-			REGISTRY.register(currentView.getClass().getSimpleName(), currentView.machines());
+			FSM_REGISTRY.register(currentView.getClass().getSimpleName(), currentView.machines());
 		});
 		addStateExitListener(INTRO, state -> {
-			REGISTRY.unregister(currentView.machines());
+			FSM_REGISTRY.unregister(currentView.machines());
 		});
 		addStateEntryListener(GETTING_READY, state -> {
-			REGISTRY.register(currentView.getClass().getSimpleName(), currentView.machines());
-			REGISTRY.unregister(folks.pacMan.machines());
-			REGISTRY.register("Pac-Man", folks.pacMan.machines());
+			FSM_REGISTRY.register(currentView.getClass().getSimpleName(), currentView.machines());
+			FSM_REGISTRY.unregister(folks.pacMan.machines());
+			FSM_REGISTRY.register("Pac-Man", folks.pacMan.machines());
 			folks.ghosts().forEach(ghost -> {
-				REGISTRY.unregister(ghost.machines());
-				REGISTRY.register("Ghosts", ghost.machines());
+				FSM_REGISTRY.unregister(ghost.machines());
+				FSM_REGISTRY.register("Ghosts", ghost.machines());
 			});
 		});
 		addStateEntryListener(GAME_OVER, state -> {
-			REGISTRY.unregister(currentView.machines());
+			FSM_REGISTRY.unregister(currentView.machines());
 		});
 	}
 
@@ -300,11 +302,15 @@ public class ExtendedGameController extends GameController {
 		if (getState() != PLAYING) {
 			return;
 		}
-		world.tiles().filter(location -> world.hasFood(ArcadeFood.PELLET, location)).forEach(tile -> {
+		List<Tile> pellets = new ArrayList<>(world.remainingFoodCount(ArcadeFood.PELLET));
+		world.forEachRemainingFood(ArcadeFood.PELLET, pellets::add);
+		pellets.forEach(tile -> {
 			world.removeFood(tile);
 			game.gainPelletPoints();
-			doorMan.onPacManFoundFood();
-			doorMan.update();
+			for (DoorMan dm : doorMen) {
+				dm.onPacManFoundFood();
+				dm.update();
+			}
 		});
 		loginfo("All simple pellets have been eaten");
 		if (game.remainingFoodCount() == 0) {
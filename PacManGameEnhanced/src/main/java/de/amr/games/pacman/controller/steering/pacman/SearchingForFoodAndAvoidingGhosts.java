@@ -157,10 +157,6 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 		}
 	}
 
-	private Stream<Tile> foodTiles() {
-		return world.tiles().filter(world::hasFood);
-	}
-
 	private Optional<Tile> preferredFoodLocationFrom(Tile here) {
 		double nearestEnemyDist = distanceToNearestEnemy(here);
 		if (nearestEnemyDist == Double.MAX_VALUE) {
@@ -188,19 +184,28 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 
 	private Optional<Tile> energizerAtMostAway(Tile here, int distance) {
 		//@formatter:off
-		return foodTiles()
+		return world.foodTiles(here.col - distance, here.row - distance, 2 * distance + 1, 2 * distance + 1)
 			.filter(tile -> world.hasFood(ArcadeFood.ENERGIZER, tile))
 			.filter(energizer -> here.manhattanDistance(energizer) <= distance)
 			.findFirst();
 		//@formatter:on
 	}
 
+	/*
+	 * Searches in growing squares around the tile. Food found at Manhattan distance at most the square
+	 * radius is nearer than any food outside of the square.
+	 */
 	private Optional<Tile> nearestFoodFrom(Tile here) {
-		//@formatter:off
-		return foodTiles()
-			.sorted(comparingInt(food -> here.manhattanDistance(food)))
-			.findFirst();
-		//@formatter:on
+		int maxRadius = Math.max(world.width(), world.height());
+		for (int radius = 4;; radius *= 2) {
+			//@formatter:off
+			Optional<Tile> nearest = world.foodTiles(here.col - radius, here.row - radius, 2 * radius + 1, 2 * radius + 1)
+				.min(comparingInt(food -> here.manhattanDistance(food)));
+			//@formatter:on
+			if ((nearest.isPresent() && here.manhattanDistance(nearest.get()) <= radius) || radius >= maxRadius) {
+				return nearest;
+			}
+		}
 	}
 
 	private boolean isGhostFrightened(Ghost ghost) {
@@ -227,8 +232,12 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 		return dangerousGhosts().map(ghost -> here.distance(ghost.tile())).min(Double::compareTo).orElse(Double.MAX_VALUE);
 	}
 
+	/*
+	 * A ghost whose path to Pac-Man has at most the given number of tiles is at most that number of
+	 * tiles away in both directions, so only the ghosts near Pac-Man need a path search.
+	 */
 	private Stream<Ghost> ghostsInRange(int numTiles) {
-		return folks.ghostsInWorld().filter(ghost -> isGhostInRange(ghost, numTiles));
+		return folks.ghostsNear(guy.tile(), numTiles).filter(ghost -> isGhostInRange(ghost, numTiles));
 	}
 
 	private Stream<Direction> aheadThenLeftOrRight() {
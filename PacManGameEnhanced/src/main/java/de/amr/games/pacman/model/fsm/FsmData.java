@@ -1,12 +1,15 @@
 package de.amr.games.pacman.model.fsm;
 
+import static de.amr.games.pacman.model.fsm.FsmRegistry.FSM_REGISTRY;
+
 import de.amr.statemachine.core.StateMachine;
 import de.amr.statemachine.dot.DotPrinter;
 
 /**
  * A finite-state machine together with its textual Graphviz representation. As this text includes
- * information depending on the current state of the machine, it has to be updated at certain
- * intervals.
+ * information depending on the current state of the machine and on annotations computed from the
+ * game, it has to be updated when the machine changes its state or the modification stamp of the
+ * {@link FsmRegistry} changes.
  * 
  * @author Armin Reichert
  */
@@ -14,6 +17,8 @@ public class FsmData implements Comparable<FsmData> {
 
 	private final StateMachine<?, ?> fsm;
 	private String graphVizText;
+	private Object stateAtLastUpdate;
+	private long stampAtLastUpdate;
 
 	public FsmData(StateMachine<?, ?> fsm) {
 		this.fsm = fsm;
@@ -25,8 +30,27 @@ public class FsmData implements Comparable<FsmData> {
 		return fsm.getDescription().compareTo(other.fsm.getDescription());
 	}
 
+	/**
+	 * Updates the Graphviz text if the machine has changed its state or the registry's modification
+	 * stamp has changed since the last update.
+	 * 
+	 * @return {@code true} if the text has been updated
+	 */
+	public boolean updateGraphVizTextIfChanged() {
+		if (fsm.getState() != stateAtLastUpdate || FSM_REGISTRY.modificationStamp() != stampAtLastUpdate) {
+			updateGraphVizText();
+			return true;
+		}
+		return false;
+	}
+
 	public void updateGraphVizText() {
-		graphVizText = DotPrinter.toDotFormat(fsm);
+		stateAtLastUpdate = fsm.getState();
+		stampAtLastUpdate = FSM_REGISTRY.modificationStamp();
+		String text = DotPrinter.toDotFormat(fsm);
+		if (!text.equals(graphVizText)) {
+			graphVizText = text;
+		}
 	}
 
 	public StateMachine<?, ?> getFsm() {
@@ -1,37 +1,79 @@
 package de.amr.games.pacman.model.fsm;
 
 import static de.amr.easy.game.controller.StateMachineRegistry.REGISTRY;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
+import static de.amr.games.pacman.model.fsm.FsmRegistry.FSM_REGISTRY;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import de.amr.games.pacman.model.fsm.FsmRegistry.Change;
+import de.amr.games.pacman.model.fsm.FsmRegistry.ChangeType;
+import de.amr.statemachine.core.StateMachine;
+
 /**
  * Maintains a map of data (state machine, Graphviz representation) that is kept in sync with the
  * currently registered set of state machines.
+ * <p>
+ * Registration changes are received as events and applied incrementally, the Graphviz text is only
+ * regenerated for machines that changed their state since the last update or if the modification
+ * stamp of the registry has changed. A model that is not used anymore must be {@link #dispose()
+ * disposed} to stop receiving registration changes.
  * 
  * @author Armin Reichert
  */
 public class FsmModel {
 
 	private final Map<String, List<FsmData>> dataByCategory = new ConcurrentHashMap<>();
+	private final Queue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+	private final Consumer<Change> changeListener = pendingChanges::add;
 	private boolean setOfMachinesChanged;
 
+	public FsmModel() {
+		FSM_REGISTRY.addListener(changeListener);
+		REGISTRY.categories().forEach(category -> {
+			REGISTRY.machines(category).forEach(fsm -> add(category, fsm));
+		});
+		setOfMachinesChanged = true;
+	}
+
+	/**
+	 * Stops listening to the registry.
+	 */
+	public void dispose() {
+		FSM_REGISTRY.removeListener(changeListener);
+		pendingChanges.clear();
+	}
+
 	public void update() {
-		Set<?> myMachineSet = data().map(FsmData::getFsm).collect(toSet());
-		Set<?> registeredMachineSet = REGISTRY.machines().collect(toSet());
-		setOfMachinesChanged = !registeredMachineSet.equals(myMachineSet);
-		if (setOfMachinesChanged) {
-			dataByCategory.clear();
-			REGISTRY.categories().forEach(category -> {
-				dataByCategory.put(category, REGISTRY.machines(category).map(FsmData::new).collect(toList()));
-			});
-		} else {
-			data().forEach(FsmData::updateGraphVizText);
+		setOfMachinesChanged = false;
+		for (Change change = pendingChanges.poll(); change != null; change = pendingChanges.poll()) {
+			remove(change.fsm);
+			if (change.type == ChangeType.REGISTERED) {
+				add(change.category, change.fsm);
+			}
+			setOfMachinesChanged = true;
+		}
+		data().forEach(FsmData::updateGraphVizTextIfChanged);
+	}
+
+	private void add(String category, StateMachine<?, ?> fsm) {
+		dataByCategory.computeIfAbsent(category, c -> new CopyOnWriteArrayList<>()).add(new FsmData(fsm));
+	}
+
+	private void remove(StateMachine<?, ?> fsm) {
+		for (String category : new ArrayList<>(dataByCategory.keySet())) {
+			List<FsmData> dataList = dataByCategory.get(category);
+			dataList.removeIf(data -> data.getFsm() == fsm);
+			if (dataList.isEmpty()) {
+				dataByCategory.remove(category);
+			}
 		}
 	}
 
@@ -50,4 +92,4 @@ public class FsmModel {
 	public boolean setOfMachinesChanged() {
 		return setOfMachinesChanged;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package de.amr.games.pacman.model.fsm;
+
+import static de.amr.easy.game.controller.StateMachineRegistry.REGISTRY;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import de.amr.statemachine.core.StateMachine;
+
+/**
+ * Front-end of the state machine registry that publishes registration changes to its listeners.
+ * Machines registered or unregistered through this object are also (un)registered in the global
+ * state machine registry.
+ * <p>
+ * The registry also keeps a modification stamp that is increased when machines are registered or
+ * unregistered and when the structure of a registered machine changes. Cached data derived from a
+ * machine is valid only for the stamp it was computed with.
+ * 
+ * @author Armin Reichert
+ */
+public class FsmRegistry {
+
+	public static final FsmRegistry FSM_REGISTRY = new FsmRegistry();
+
+	public enum ChangeType {
+		REGISTERED, UNREGISTERED
+	}
+
+	/**
+	 * Describes the registration change of a single state machine.
+	 */
+	public static class Change {
+
+		public final ChangeType type;
+		public final String category;
+		public final StateMachine<?, ?> fsm;
+
+		public Change(ChangeType type, String category, StateMachine<?, ?> fsm) {
+			this.type = type;
+			this.category = category;
+			this.fsm = fsm;
+		}
+	}
+
+	private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+	private final AtomicLong modificationStamp = new AtomicLong();
+
+	private FsmRegistry() {
+	}
+
+	public void addListener(Consumer<Change> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<Change> listener) {
+		listeners.remove(listener);
+	}
+
+	public void register(String category, Stream<StateMachine<?, ?>> machines) {
+		List<StateMachine<?, ?>> list = machines.collect(toList());
+		REGISTRY.register(category, list.stream());
+		touch();
+		list.forEach(fsm -> publish(new Change(ChangeType.REGISTERED, category, fsm)));
+	}
+
+	public void unregister(Stream<StateMachine<?, ?>> machines) {
+		List<StateMachine<?, ?>> list = machines.collect(toList());
+		REGISTRY.unregister(list.stream());
+		touch();
+		list.forEach(fsm -> publish(new Change(ChangeType.UNREGISTERED, null, fsm)));
+	}
+
+	/**
+	 * Signals that the structure of a registered machine has changed, registering and unregistering
+	 * machines signals this by itself.
+	 */
+	public void touch() {
+		modificationStamp.incrementAndGet();
+	}
+
+	/**
+	 * @return the modification stamp, increased by each registration change and each call of
+	 *         {@link #touch()}
+	 */
+	public long modificationStamp() {
+		return modificationStamp.get();
+	}
+
+	private void publish(Change change) {
+		listeners.forEach(listener -> listener.accept(change));
+	}
+}
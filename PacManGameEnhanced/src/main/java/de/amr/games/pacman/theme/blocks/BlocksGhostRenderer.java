@@ -10,10 +10,20 @@ import de.amr.easy.game.Application;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.theme.api.GhostRenderer;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.view.common.Rendering;
 
 class BlocksGhostRenderer implements GhostRenderer {
 
+	private final BlocksTheme theme;
+	private final Font font;
+	private Font pointsFont;
+
+	public BlocksGhostRenderer(BlocksTheme theme) {
+		this.theme = theme;
+		font = theme.$value(ThemeParameter.FONT);
+	}
+
 	@Override
 	public void render(Graphics2D g, Ghost ghost) {
 		if (!ghost.visible) {
@@ -55,14 +65,16 @@ class BlocksGhostRenderer implements GhostRenderer {
 
 	private void drawEyes(Graphics2D g, Ghost ghost, int width, int height) {
 		int x = centerOffsetX(ghost, width), y = centerOffsetY(ghost, height);
-		g.setColor(BlocksTheme.THEME.ghostColor(ghost));
+		g.setColor(theme.ghostColor(ghost));
 		g.drawRect(x, y, width, height);
 	}
 
 	private void drawPoints(Graphics2D g, Ghost ghost) {
 		g.setColor(Color.GREEN);
-		Font font = BlocksTheme.THEME.$font("font").deriveFont((float) ghost.tf.height);
-		g.setFont(font);
+		if (pointsFont == null || pointsFont.getSize() != ghost.tf.height) {
+			pointsFont = font.deriveFont((float) ghost.tf.height);
+		}
+		g.setFont(pointsFont);
 		FontMetrics fm = g.getFontMetrics();
 		String text = String.valueOf(ghost.bounty);
 		Rectangle2D bounds = fm.getStringBounds(text, g);
@@ -81,7 +93,7 @@ class BlocksGhostRenderer implements GhostRenderer {
 	}
 
 	private void drawColored(Graphics2D g, Ghost ghost, int width, int height, int offsetX, int offsetY) {
-		drawShape(g, ghost, width, height, offsetX, offsetY, BlocksTheme.THEME.ghostColor(ghost));
+		drawShape(g, ghost, width, height, offsetX, offsetY, theme.ghostColor(ghost));
 	}
 
 	private void drawShape(Graphics2D g, Ghost ghost, int width, int height, int offsetX, int offsetY, Color color) {
@@ -16,6 +16,7 @@ import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.theme.arcade.ArcadeSounds;
 import de.amr.games.pacman.theme.core.ThemeParameterMap;
@@ -31,12 +32,25 @@ import de.amr.games.pacman.view.common.Rendering;
  */
 public class BlocksTheme extends ThemeParameterMap implements Theme {
 
+	public static final ThemeParameter<Color> WALL_COLOR = ThemeParameter.of("wall-color", Color.class);
+
 	public static final BlocksTheme THEME = new BlocksTheme();
 
+	private final Color[] ghostColors = new Color[GhostPersonality.values().length];
+	private final Color[] symbolColors = new Color[ArcadeBonus.Symbol.values().length];
+
+	private WorldRenderer worldRenderer;
+	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
+	private GameRenderer levelCounterRenderer;
+	private GameRenderer livesCounterRenderer;
+	private GameRenderer gameScoreRenderer;
+
 	private BlocksTheme() {
-		set("font", Assets.storeTrueTypeFont("ConcertOne", "themes/blocks/ConcertOne-Regular.ttf", Font.PLAIN, 10));
-		set("maze-flash-sec", 0.5f);
-		set("wall-color", new Color(139, 69, 19));
+		set(ThemeParameter.FONT,
+				Assets.storeTrueTypeFont("ConcertOne", "themes/blocks/ConcertOne-Regular.ttf", Font.PLAIN, 10));
+		set(ThemeParameter.MAZE_FLASH_SEC, 0.5f);
+		set(WALL_COLOR, new Color(139, 69, 19));
 		set("ghost-colors", Map.of(
 		//@formatter:off
 			GhostPersonality.SHADOW,  Color.RED,
@@ -58,6 +72,14 @@ public class BlocksTheme extends ThemeParameterMap implements Theme {
 		//@formatter:on
 		));
 		set("sounds", ArcadeSounds.SOUNDS);
+		Map<GhostPersonality, Color> colorByPersonality = $value("ghost-colors");
+		for (GhostPersonality personality : GhostPersonality.values()) {
+			ghostColors[personality.ordinal()] = colorByPersonality.getOrDefault(personality, Color.WHITE);
+		}
+		Map<String, Color> colorBySymbol = $value("symbol-colors");
+		for (ArcadeBonus.Symbol symbol : ArcadeBonus.Symbol.values()) {
+			symbolColors[symbol.ordinal()] = colorBySymbol.getOrDefault(symbol.name(), Color.GREEN);
+		}
 	}
 
 	@Override
@@ -66,47 +88,64 @@ public class BlocksTheme extends ThemeParameterMap implements Theme {
 	}
 
 	Color ghostColor(Ghost ghost) {
-		Map<Integer, Color> colorByPersonality = $value("ghost-colors");
-		return colorByPersonality.getOrDefault(ghost.personality, Color.WHITE);
+		return ghostColors[ghost.personality.ordinal()];
 	}
 
-	Color symbolColor(String symbolName) {
-		Map<String, Color> colorBySymbol = $value("symbol-colors");
-		return colorBySymbol.getOrDefault(symbolName, Color.GREEN);
+	Color symbolColor(ArcadeBonus.Symbol symbol) {
+		return symbolColors[symbol.ordinal()];
 	}
 
 	@Override
 	public WorldRenderer worldRenderer() {
-		return new BlocksWorldRenderer();
+		if (worldRenderer == null) {
+			worldRenderer = new BlocksWorldRenderer(this);
+		}
+		return worldRenderer;
 	}
 
 	@Override
 	public PacManRenderer pacManRenderer() {
-		return new BlocksPacManRenderer();
+		if (pacManRenderer == null) {
+			pacManRenderer = new BlocksPacManRenderer();
+		}
+		return pacManRenderer;
 	}
 
 	@Override
 	public GhostRenderer ghostRenderer() {
-		return new BlocksGhostRenderer();
+		if (ghostRenderer == null) {
+			ghostRenderer = new BlocksGhostRenderer(this);
+		}
+		return ghostRenderer;
 	}
 
 	@Override
 	public MessagesRenderer messagesRenderer() {
 		DefaultMessagesRenderer messagesRenderer = new DefaultMessagesRenderer();
-		messagesRenderer.setFont($font("font").deriveFont(14f));
+		messagesRenderer.setFont($value(ThemeParameter.FONT).deriveFont(14f));
 		messagesRenderer.setTextAntialiasing(true);
 		return messagesRenderer;
 	}
 
 	@Override
 	public GameRenderer gameScoreRenderer() {
-		DefaultGameScoreRenderer r = new DefaultGameScoreRenderer();
-		r.setFont($font("font"));
-		return r;
+		if (gameScoreRenderer == null) {
+			DefaultGameScoreRenderer r = new DefaultGameScoreRenderer();
+			r.setFont($value(ThemeParameter.FONT));
+			gameScoreRenderer = r;
+		}
+		return gameScoreRenderer;
 	}
 
 	@Override
 	public GameRenderer livesCounterRenderer() {
+		if (livesCounterRenderer == null) {
+			livesCounterRenderer = createLivesCounterRenderer();
+		}
+		return livesCounterRenderer;
+	}
+
+	private GameRenderer createLivesCounterRenderer() {
 		return (Graphics2D g, PacManGame level) -> {
 			Rendering.smoothOn(g);
 			g.setColor(Color.YELLOW);
@@ -119,13 +158,20 @@ public class BlocksTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public GameRenderer levelCounterRenderer() {
+		if (levelCounterRenderer == null) {
+			levelCounterRenderer = createLevelCounterRenderer();
+		}
+		return levelCounterRenderer;
+	}
+
+	private GameRenderer createLevelCounterRenderer() {
 		return (Graphics2D g, PacManGame level) -> {
 			Rendering.smoothOn(g);
 			int levels = level.levelCounter.size();
 			for (int i = 0, x = -2 * Tile.SIZE; i < Math.min(7, levels); ++i, x -= 2 * Tile.SIZE) {
 				String symbolName = level.levelCounter.get(levels > 7 ? i + levels - 7 : i);
 				ArcadeBonus.Symbol symbol = ArcadeBonus.Symbol.valueOf(symbolName);
-				g.setColor(BlocksTheme.THEME.symbolColor(symbol.name()));
+				g.setColor(symbolColor(symbol));
 				g.drawOval(x, 0, Tile.SIZE, Tile.SIZE);
 			}
 			Rendering.smoothOff(g);
@@ -3,6 +3,7 @@ package de.amr.games.pacman.theme.blocks;
 import static de.amr.easy.game.Application.app;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics2D;
 
 import de.amr.easy.game.math.Vector2f;
@@ -13,11 +14,23 @@ import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacman.model.world.arcade.ArcadeFood;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
 import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.TiledRectangle;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.view.common.Rendering;
 
 class BlocksWorldRenderer implements WorldRenderer {
 
+	private final BlocksTheme theme;
+	private final Font font;
+	private final Color wallColor;
+
+	public BlocksWorldRenderer(BlocksTheme theme) {
+		this.theme = theme;
+		font = theme.$value(ThemeParameter.FONT);
+		wallColor = theme.$value(BlocksTheme.WALL_COLOR);
+	}
+
 	@Override
 	public void render(Graphics2D g, TiledWorld world) {
 		drawEmptyWorld(g, world);
@@ -33,7 +46,8 @@ class BlocksWorldRenderer implements WorldRenderer {
 
 	private void drawFood(Graphics2D g, TiledWorld world) {
 		Rendering.smoothOn(g);
-		world.tiles().forEach(location -> {
+		TiledRectangle region = WorldRenderer.visibleRegion(g, world);
+		world.foodTiles(region.col(), region.row(), region.width(), region.height()).forEach(location -> {
 			if (world.hasFood(ArcadeFood.ENERGIZER, location)) {
 				drawEnergizer(g, world, location);
 			} else if (world.hasFood(ArcadeFood.PELLET, location)) {
@@ -60,7 +74,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 		drawBonusSymbol(g, center, bonus);
 		try (Pen pen = new Pen(g)) {
 			pen.color(Color.GREEN);
-			pen.font(BlocksTheme.THEME.$font("font"));
+			pen.font(font);
 			String text = bonus.symbol.name().substring(0, 1) + bonus.symbol.name().substring(1).toLowerCase();
 			pen.drawCentered(text, center.x, center.y + Tile.SIZE / 2);
 		}
@@ -69,7 +83,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 	private void drawConsumedBonus(Graphics2D g, Vector2f center, int value) {
 		try (Pen pen = new Pen(g)) {
 			pen.color(Color.GREEN);
-			pen.font(BlocksTheme.THEME.$font("font"));
+			pen.font(font);
 			String text = String.valueOf(value);
 			pen.drawCentered(text, center.x, center.y + 4);
 		}
@@ -77,7 +91,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 
 	private void drawBonusSymbol(Graphics2D g, Vector2f center, ArcadeBonus bonus) {
 		int radius = 4;
-		g.setColor(BlocksTheme.THEME.symbolColor(bonus.symbol.name()));
+		g.setColor(theme.symbolColor(bonus.symbol));
 		g.fillOval(center.roundedX() - radius, center.roundedY() - radius, 2 * radius, 2 * radius);
 	}
 
@@ -103,22 +117,19 @@ class BlocksWorldRenderer implements WorldRenderer {
 	}
 
 	private void drawEmptyWorld(Graphics2D g, TiledWorld world) {
+		TiledRectangle region = WorldRenderer.visibleRegion(g, world);
 		g.setColor(Color.BLACK);
-		g.fillRect(0, 0, world.width() * Tile.SIZE, world.height() * Tile.SIZE);
-		for (int row = 0; row < world.height(); ++row) {
-			for (int col = 0; col < world.width(); ++col) {
-				if (!world.isAccessible(Tile.at(col, row))) {
-					drawWall(g, world, row, col);
-				}
-			}
-		}
+		g.fillRect(region.col() * Tile.SIZE, region.row() * Tile.SIZE, region.width() * Tile.SIZE,
+				region.height() * Tile.SIZE);
+		world.tiles(region.col(), region.row(), region.width(), region.height()).filter(tile -> !world.isAccessible(tile))
+				.forEach(tile -> drawWall(g, world, tile.row, tile.col));
 	}
 
 	private void drawWall(Graphics2D g, TiledWorld world, int row, int col) {
 		if (world.isChanging() && app().clock().getTotalTicks() % 30 < 15) {
 			g.setColor(Color.WHITE);
 		} else {
-			g.setColor(BlocksTheme.THEME.$color("wall-color"));
+			g.setColor(wallColor);
 		}
 		g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE);
 	}
@@ -0,0 +1,94 @@
+package de.amr.games.pacman.theme.letters;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Image containing pre-rasterized glyphs (text in a given font and color). Each glyph is stored in
+ * its own cell, drawing a glyph is an image blit instead of a text layout.
+ * <p>
+ * A cell covers a tile plus a margin of one tile on each side such that glyphs may extend beyond
+ * their tile. The glyph position is given relative to the top-left corner of the tile.
+ * <p>
+ * Glyphs are rasterized at the device scale and with the text antialiasing of the graphics context
+ * they are drawn into, see {@link #matches(float, Object)}.
+ * 
+ * @author Armin Reichert
+ */
+class GlyphAtlas {
+
+	static final int MARGIN = Tile.SIZE;
+	static final int CELL_SIZE = Tile.SIZE + 2 * MARGIN;
+
+	private final BufferedImage image;
+	private final Font font;
+	private final int capacity;
+	private final float scale;
+	private final Object textAntialiasing;
+	private final int cellPixels;
+
+	/**
+	 * @param font             font of the glyphs
+	 * @param capacity         number of glyphs
+	 * @param scale            device scale
+	 * @param textAntialiasing value of {@link RenderingHints#KEY_TEXT_ANTIALIASING}
+	 */
+	public GlyphAtlas(Font font, int capacity, float scale, Object textAntialiasing) {
+		this.font = font;
+		this.capacity = capacity;
+		this.scale = scale;
+		this.textAntialiasing = textAntialiasing;
+		cellPixels = (int) Math.ceil(CELL_SIZE * scale);
+		image = new BufferedImage(capacity * cellPixels, cellPixels, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * @param scale            device scale
+	 * @param textAntialiasing value of {@link RenderingHints#KEY_TEXT_ANTIALIASING}
+	 * @return if the glyphs have been rasterized for this scale and antialiasing
+	 */
+	public boolean matches(float scale, Object textAntialiasing) {
+		return this.scale == scale && this.textAntialiasing.equals(textAntialiasing);
+	}
+
+	/**
+	 * Rasterizes a glyph into the cell with the given index.
+	 * 
+	 * @param index index of the cell
+	 * @param text  text of the glyph
+	 * @param color text color
+	 * @param x     x-position of the text relative to the tile
+	 * @param y     baseline position of the text relative to the tile
+	 */
+	public void put(int index, String text, Color color, int x, int y) {
+		if (index < 0 || index >= capacity) {
+			throw new IllegalArgumentException("Illegal glyph index: " + index);
+		}
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+		g.translate(index * cellPixels, 0);
+		g.scale(scale, scale);
+		g.setFont(font);
+		g.setColor(color);
+		g.drawString(text, MARGIN + x, MARGIN + y);
+		g.dispose();
+	}
+
+	/**
+	 * Draws the glyph with the given index at the tile with the given position.
+	 * 
+	 * @param g     graphics context
+	 * @param index glyph index
+	 * @param x     x-position of the tile
+	 * @param y     y-position of the tile
+	 */
+	public void draw(Graphics2D g, int index, int x, int y) {
+		int sx = index * cellPixels, dx = x - MARGIN, dy = y - MARGIN;
+		g.drawImage(image, dx, dy, dx + CELL_SIZE, dy + CELL_SIZE, sx, 0, sx + cellPixels, cellPixels, null);
+	}
+}
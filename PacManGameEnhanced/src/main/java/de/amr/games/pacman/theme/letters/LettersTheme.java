@@ -6,19 +6,16 @@ import java.awt.Color;
 import java.awt.Font;
 import java.util.Map;
 
-import de.amr.easy.game.Application;
 import de.amr.easy.game.entity.Transform;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
 import de.amr.games.pacman.model.world.api.Tile;
-import de.amr.games.pacman.model.world.arcade.ArcadeFood;
-import de.amr.games.pacman.model.world.components.Door.DoorState;
-import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.theme.api.GameRenderer;
 import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.ThemeParameter;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.theme.arcade.ArcadeSounds;
 import de.amr.games.pacman.theme.core.ThemeParameterMap;
@@ -33,11 +30,25 @@ import de.amr.games.pacman.view.common.Rendering;
  */
 public class LettersTheme extends ThemeParameterMap implements Theme {
 
+	public static final ThemeParameter<Integer> OFFSET_BASELINE = ThemeParameter.of("offset-baseline", Integer.class);
+
 	public static final LettersTheme THEME = new LettersTheme();
 
+	private final Font font;
+	private final int offset_baseline;
+	private final Color[] ghostColors = new Color[GhostPersonality.values().length];
+	private Font creatureFont;
+
+	private WorldRenderer worldRenderer;
+	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
+	private GameRenderer levelCounterRenderer;
+	private GameRenderer livesCounterRenderer;
+	private GameRenderer gameScoreRenderer;
+
 	private LettersTheme() {
-		set("font", new Font(Font.MONOSPACED, Font.BOLD, Tile.SIZE));
-		set("offset-baseline", Tile.SIZE - 1);
+		set(ThemeParameter.FONT, new Font(Font.MONOSPACED, Font.BOLD, Tile.SIZE));
+		set(OFFSET_BASELINE, Tile.SIZE - 1);
 		set("ghost-colors", Map.of(
 		//@formatter:off
 			GhostPersonality.SHADOW,  Color.RED,
@@ -47,6 +58,12 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 		//@formatter:on
 		));
 		set("sounds", ArcadeSounds.SOUNDS);
+		font = $value(ThemeParameter.FONT);
+		offset_baseline = $value(OFFSET_BASELINE);
+		Map<GhostPersonality, Color> colorByPersonality = $value("ghost-colors");
+		for (GhostPersonality personality : GhostPersonality.values()) {
+			ghostColors[personality.ordinal()] = colorByPersonality.getOrDefault(personality, Color.WHITE);
+		}
 	}
 
 	@Override
@@ -55,8 +72,14 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 	}
 
 	Color ghostColor(Ghost ghost) {
-		Map<Integer, Color> colorByPersonality = $value("ghost-colors");
-		return colorByPersonality.getOrDefault(ghost.personality, Color.WHITE);
+		return ghostColors[ghost.personality.ordinal()];
+	}
+
+	Font creatureFont(int size) {
+		if (creatureFont == null || creatureFont.getSize() != size) {
+			creatureFont = font.deriveFont((float) size);
+		}
+		return creatureFont;
 	}
 
 	String ghostLetter(Ghost ghost) {
@@ -76,11 +99,16 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public GhostRenderer ghostRenderer() {
+		if (ghostRenderer == null) {
+			ghostRenderer = createGhostRenderer();
+		}
+		return ghostRenderer;
+	}
+
+	private GhostRenderer createGhostRenderer() {
 		return (g, ghost) -> {
 			if (ghost.visible) {
-				Font font = $font("font");
-				int offset_baseline = $int("offset-baseline");
-				g.setFont(font.deriveFont((float) ghost.tf.width));
+				g.setFont(creatureFont(ghost.tf.width));
 				g.setColor(ghostColor(ghost));
 				if (ghost.bounty > 0) {
 					g.drawString("" + ghost.bounty, ghost.tf.x, ghost.tf.y + offset_baseline);
@@ -93,11 +121,17 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public PacManRenderer pacManRenderer() {
+		if (pacManRenderer == null) {
+			pacManRenderer = createPacManRenderer();
+		}
+		return pacManRenderer;
+	}
+
+	private PacManRenderer createPacManRenderer() {
 		return (g, pacMan) -> {
 			if (pacMan.visible) {
 				Transform tf = pacMan.tf;
-				int offset_baseline = $int("offset-baseline");
-				g.setFont($font("font").deriveFont((float) tf.width));
+				g.setFont(creatureFont(tf.width));
 				g.setColor(Color.YELLOW);
 				String letter = pacMan.ai.is(COLLAPSING) ? "\u2668" : "O";
 				g.drawString(letter, tf.x, tf.y + offset_baseline);
@@ -107,9 +141,14 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public GameRenderer levelCounterRenderer() {
+		if (levelCounterRenderer == null) {
+			levelCounterRenderer = createLevelCounterRenderer();
+		}
+		return levelCounterRenderer;
+	}
+
+	private GameRenderer createLevelCounterRenderer() {
 		return (g, level) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
 			String text = String.format("Level: %d (%s)", level.level, level.bonusSymbol);
 			g.setColor(Color.YELLOW);
 			g.setFont(font);
@@ -119,9 +158,14 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public GameRenderer livesCounterRenderer() {
+		if (livesCounterRenderer == null) {
+			livesCounterRenderer = createLivesCounterRenderer();
+		}
+		return livesCounterRenderer;
+	}
+
+	private GameRenderer createLivesCounterRenderer() {
 		return (g, level) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
 			g.setColor(Color.YELLOW);
 			g.setFont(font);
 			g.drawString(String.format("Lives: %d", level.lives), 0, Tile.SIZE + offset_baseline);
@@ -130,9 +174,14 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public GameRenderer gameScoreRenderer() {
+		if (gameScoreRenderer == null) {
+			gameScoreRenderer = createGameScoreRenderer();
+		}
+		return gameScoreRenderer;
+	}
+
+	private GameRenderer createGameScoreRenderer() {
 		return (g, level) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
 			g.setColor(Color.YELLOW);
 			g.setFont(font);
 			g.drawString(" Score          Highscore        Pellets", 0, offset_baseline);
@@ -144,57 +193,16 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public WorldRenderer worldRenderer() {
-		return (g, world) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			g.setFont(font);
-			for (int row = 3; row < world.height() - 2; ++row) {
-				for (int col = 0; col < world.width(); ++col) {
-					Tile tile = Tile.at(col, row);
-					if (world.isAccessible(tile)) {
-						if (world.hasFood(ArcadeFood.ENERGIZER, tile) && Application.app().clock().getTotalTicks() % 60 < 30) {
-							g.setColor(Color.PINK);
-							g.drawString("Ö", col * Tile.SIZE + 2, row * Tile.SIZE + offset_baseline);
-						}
-						if (world.hasFood(ArcadeFood.PELLET, tile)) {
-							g.setColor(Color.PINK);
-							g.drawString(".", col * Tile.SIZE + 1, row * Tile.SIZE - 3 + offset_baseline);
-						}
-					} else {
-						g.setColor(Rendering.alpha(Color.GREEN, 80));
-						g.drawString("#", col * Tile.SIZE + 1, row * Tile.SIZE + offset_baseline - 1);
-					}
-				}
-				world.temporaryFood().ifPresent(bonus -> {
-					Tile tile = bonus.location();
-					g.setColor(Color.GREEN);
-					String text = "";
-					int col = tile.col;
-					if (bonus.isActive() && !bonus.isConsumed()) {
-						text = "BONUS " + bonus.value();
-						col = tile.col - 1;
-					} else if (bonus.isConsumed()) {
-						text = "WON " + bonus.value() + " POINTS!";
-						col = tile.col - 3;
-					}
-					g.drawString(text, col * Tile.SIZE, tile.row * Tile.SIZE + offset_baseline - 1);
-				});
-			}
-			world.houses().flatMap(House::doors).forEach(door -> {
-				if (door.state == DoorState.CLOSED) {
-					g.setColor(Color.PINK);
-					door.tiles().forEach(tile -> {
-						g.drawString("_", tile.x() + 1, tile.y());
-					});
-				}
-			});
-		};
+		if (worldRenderer == null) {
+			worldRenderer = new LettersWorldRenderer(this);
+		}
+		return worldRenderer;
 	}
 
 	@Override
 	public MessagesRenderer messagesRenderer() {
 		DefaultMessagesRenderer messagesRenderer = new DefaultMessagesRenderer();
-		messagesRenderer.setFont($font("font"));
+		messagesRenderer.setFont(font);
 		return messagesRenderer;
 	}
 
@@ -0,0 +1,120 @@
+package de.amr.games.pacman.theme.letters;
+
+import static de.amr.easy.game.Application.app;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Door.DoorState;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.theme.api.ThemeParameter;
+import de.amr.games.pacman.theme.api.WorldRenderer;
+import de.amr.games.pacman.view.common.Rendering;
+
+/**
+ * Renders the world using letters. Walls are drawn once into a layer image, food and doors are
+ * blitted from a glyph atlas. Atlas and layer are rasterized at the device scale and with the text
+ * antialiasing of the graphics context and are recreated when these change.
+ * 
+ * @author Armin Reichert
+ */
+class LettersWorldRenderer implements WorldRenderer {
+
+	private static final int GLYPH_WALL = 0, GLYPH_PELLET = 1, GLYPH_ENERGIZER = 2, GLYPH_DOOR = 3;
+
+	private final Font font;
+	private final int offset_baseline;
+	private GlyphAtlas atlas;
+
+	private TiledWorld layerWorld;
+	private BufferedImage wallLayer;
+	private Tile[] accessibleTiles;
+
+	public LettersWorldRenderer(LettersTheme theme) {
+		font = theme.$value(ThemeParameter.FONT);
+		offset_baseline = theme.$value(LettersTheme.OFFSET_BASELINE);
+	}
+
+	private void createAtlas(float scale, Object textAntialiasing) {
+		atlas = new GlyphAtlas(font, 4, scale, textAntialiasing);
+		atlas.put(GLYPH_WALL, "#", Rendering.alpha(Color.GREEN, 80), 1, offset_baseline - 1);
+		atlas.put(GLYPH_PELLET, ".", Color.PINK, 1, offset_baseline - 3);
+		atlas.put(GLYPH_ENERGIZER, "Ö", Color.PINK, 2, offset_baseline);
+		atlas.put(GLYPH_DOOR, "_", Color.PINK, 1, 0);
+	}
+
+	private void createLayer(TiledWorld world, float scale) {
+		wallLayer = new BufferedImage((int) Math.ceil(world.width() * Tile.SIZE * scale),
+				(int) Math.ceil(world.height() * Tile.SIZE * scale), BufferedImage.TYPE_INT_ARGB);
+		List<Tile> accessible = new ArrayList<>();
+		Graphics2D g = wallLayer.createGraphics();
+		g.scale(scale, scale);
+		for (int row = 3; row < world.height() - 2; ++row) {
+			for (int col = 0; col < world.width(); ++col) {
+				Tile tile = Tile.at(col, row);
+				if (world.isAccessible(tile)) {
+					accessible.add(tile);
+				} else {
+					atlas.draw(g, GLYPH_WALL, tile.x(), tile.y());
+				}
+			}
+		}
+		g.dispose();
+		accessibleTiles = accessible.toArray(Tile[]::new);
+		layerWorld = world;
+	}
+
+	@Override
+	public void render(Graphics2D g, TiledWorld world) {
+		float scale = Rendering.deviceScale(g);
+		Object textAntialiasing = Objects.requireNonNullElse(g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING),
+				RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT);
+		if (atlas == null || !atlas.matches(scale, textAntialiasing)) {
+			createAtlas(scale, textAntialiasing);
+			layerWorld = null;
+		}
+		if (world != layerWorld) {
+			createLayer(world, scale);
+		}
+		g.drawImage(wallLayer, 0, 0, world.width() * Tile.SIZE, world.height() * Tile.SIZE, null);
+		boolean energizersVisible = app().clock().getTotalTicks() % 60 < 30;
+		for (Tile tile : accessibleTiles) {
+			if (energizersVisible && world.hasFood(ArcadeFood.ENERGIZER, tile)) {
+				atlas.draw(g, GLYPH_ENERGIZER, tile.x(), tile.y());
+			} else if (world.hasFood(ArcadeFood.PELLET, tile)) {
+				atlas.draw(g, GLYPH_PELLET, tile.x(), tile.y());
+			}
+		}
+		world.temporaryFood().ifPresent(bonus -> drawBonus(g, bonus));
+		world.houses().flatMap(House::doors).filter(door -> door.state == DoorState.CLOSED)
+				.forEach(door -> door.tiles().forEach(tile -> atlas.draw(g, GLYPH_DOOR, tile.x(), tile.y())));
+	}
+
+	private void drawBonus(Graphics2D g, TemporaryFood bonus) {
+		Tile tile = bonus.location();
+		String text;
+		int col;
+		if (bonus.isActive() && !bonus.isConsumed()) {
+			text = "BONUS " + bonus.value();
+			col = tile.col - 1;
+		} else if (bonus.isConsumed()) {
+			text = "WON " + bonus.value() + " POINTS!";
+			col = tile.col - 3;
+		} else {
+			return;
+		}
+		g.setFont(font);
+		g.setColor(Color.GREEN);
+		g.drawString(text, col * Tile.SIZE, tile.row * Tile.SIZE + offset_baseline - 1);
+	}
+}
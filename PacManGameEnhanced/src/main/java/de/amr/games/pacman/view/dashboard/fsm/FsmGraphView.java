@@ -4,6 +4,12 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -13,6 +19,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import de.amr.games.pacman.model.fsm.FsmData;
 import guru.nidi.graphviz.engine.Format;
@@ -20,6 +27,10 @@ import guru.nidi.graphviz.engine.Graphviz;
 
 /**
  * Displays a graph stored in GraphViz format.
+ * <p>
+ * Rendering is done by a background thread shared by all graph views. Rendered images are cached
+ * by (DOT text, scaling) such that unchanged graphs are not rendered again. If several render
+ * requests are queued for a view, only the most recent one is executed.
  * 
  * @author Armin Reichert
  */
@@ -31,8 +42,68 @@ public class FsmGraphView extends JPanel {
 	static final double SCALE_MAX = 3.0;
 	static final double SCALE_STEP = 0.2;
 
+	static final int IMAGE_CACHE_SIZE = 32;
+
 	static int rendering_count = 0;
 
+	static final ExecutorService RENDERER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "GraphvizRenderer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Key of a rendered image. The DOT text itself is part of the key, so different graphs never share
+	 * an image.
+	 */
+	static final class ImageKey {
+
+		final String dotText;
+		final int scalingPercent;
+
+		ImageKey(String dotText, double scaling) {
+			this.dotText = Objects.requireNonNull(dotText);
+			this.scalingPercent = (int) Math.round(scaling * 100);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ImageKey)) {
+				return false;
+			}
+			ImageKey key = (ImageKey) other;
+			return scalingPercent == key.scalingPercent && dotText.equals(key.dotText);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * dotText.hashCode() + scalingPercent;
+		}
+	}
+
+	static final Map<ImageKey, BufferedImage> IMAGE_CACHE = new LinkedHashMap<>(IMAGE_CACHE_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ImageKey, BufferedImage> eldest) {
+			return size() > IMAGE_CACHE_SIZE;
+		}
+	};
+
+	static BufferedImage cachedImage(ImageKey key) {
+		synchronized (IMAGE_CACHE) {
+			return IMAGE_CACHE.get(key);
+		}
+	}
+
+	static void cacheImage(ImageKey key, BufferedImage image) {
+		synchronized (IMAGE_CACHE) {
+			IMAGE_CACHE.put(key, image);
+		}
+	}
+
 	public Action actionZoomIn = new AbstractAction("Zoom In", new ImageIcon(getClass().getResource("/zoom_in.png"))) {
 
 		@Override
@@ -54,6 +125,8 @@ public class FsmGraphView extends JPanel {
 	private FsmData data;
 	private JLabel graphDisplay;
 	private double scaling = 0.8;
+	private ImageKey displayedImageKey;
+	private final AtomicLong latestRequest = new AtomicLong();
 
 	public FsmGraphView() {
 		setBackground(Color.WHITE);
@@ -75,18 +148,55 @@ public class FsmGraphView extends JPanel {
 	}
 
 	public void update() {
-		graphDisplay.setIcon(null);
-		if (data != null) {
+		if (data == null) {
+			latestRequest.incrementAndGet();
+			displayedImageKey = null;
+			graphDisplay.setIcon(null);
+			return;
+		}
+		ImageKey key = new ImageKey(data.getGraphVizText(), scaling);
+		if (key.equals(displayedImageKey)) {
+			return;
+		}
+		BufferedImage png = cachedImage(key);
+		if (png != null) {
+			latestRequest.incrementAndGet();
+			display(key, png);
+			return;
+		}
+		long request = latestRequest.incrementAndGet();
+		double renderScaling = scaling;
+		RENDERER.execute(() -> render(request, key, renderScaling));
+	}
+
+	private void render(long request, ImageKey key, double renderScaling) {
+		if (request != latestRequest.get()) {
+			return; // outdated request
+		}
+		BufferedImage png = cachedImage(key);
+		if (png == null) {
 			try {
-				BufferedImage png = Graphviz.fromString(data.getGraphVizText()).totalMemory(GRAPHVIZ_MEMORY).scale(scaling)
-						.render(Format.PNG).toImage();
-				graphDisplay.setIcon(new ImageIcon(png));
+				png = Graphviz.fromString(key.dotText).totalMemory(GRAPHVIZ_MEMORY).scale(renderScaling).render(Format.PNG)
+						.toImage();
+				cacheImage(key, png);
 				++rendering_count;
 			} catch (Exception x) {
 				System.err.println("Graphviz rendering failed for image #" + rendering_count);
 				x.printStackTrace(System.err);
+				return;
 			}
 		}
+		BufferedImage image = png;
+		SwingUtilities.invokeLater(() -> {
+			if (request == latestRequest.get()) {
+				display(key, image);
+			}
+		});
+	}
+
+	private void display(ImageKey key, BufferedImage png) {
+		displayedImageKey = key;
+		graphDisplay.setIcon(new ImageIcon(png));
 	}
 
 	public FsmData getData() {
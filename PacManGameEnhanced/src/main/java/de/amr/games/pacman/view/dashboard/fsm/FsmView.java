@@ -99,7 +99,7 @@ public class FsmView extends JPanel implements Lifecycle {
 		}
 	};
 
-	private FsmModel model = new FsmModel();
+	private FsmModel model;
 	private FsmDashboard dashboard;
 	private FsmTreeModel tree;
 	private FsmTextView fsmEmbeddedTextView;
@@ -172,6 +172,26 @@ public class FsmView extends JPanel implements Lifecycle {
 		tree.getSelectedData().ifPresent(FsmData::updateGraphVizText);
 	}
 
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		if (model == null) {
+			model = new FsmModel();
+		}
+	}
+
+	@Override
+	public void removeNotify() {
+		// the model listens to the registry only while this view is displayable
+		if (dashboard != null) {
+			dashboard.dispose();
+			dashboard = null;
+		}
+		model.dispose();
+		model = null;
+		super.removeNotify();
+	}
+
 	@Override
 	public void init() {
 		// not used
@@ -179,6 +199,9 @@ public class FsmView extends JPanel implements Lifecycle {
 
 	@Override
 	public void update() {
+		if (model == null) {
+			return;
+		}
 		model.update();
 		if (model.setOfMachinesChanged()) {
 			tree.rebuild(model);
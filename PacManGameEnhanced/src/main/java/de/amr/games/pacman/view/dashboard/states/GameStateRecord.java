@@ -25,4 +25,20 @@ class GameStateRecord {
 	public long ticksRemaining;
 	public long duration;
 	public boolean pacManCollision;
+
+	public void copyTo(GameStateRecord other) {
+		other.creature = creature;
+		other.included = included;
+		other.name = name;
+		other.tile = tile;
+		other.target = target;
+		other.moveDir = moveDir;
+		other.wishDir = wishDir;
+		other.speed = speed;
+		other.state = state;
+		other.ghostSanity = ghostSanity;
+		other.ticksRemaining = ticksRemaining;
+		other.duration = duration;
+		other.pacManCollision = pacManCollision;
+	}
 }
\ No newline at end of file
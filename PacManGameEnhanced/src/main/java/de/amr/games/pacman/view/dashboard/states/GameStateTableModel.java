@@ -4,6 +4,8 @@ import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 
+import java.util.Objects;
+
 import javax.swing.table.AbstractTableModel;
 
 import de.amr.games.pacman.controller.bonus.BonusFoodState;
@@ -21,6 +23,9 @@ import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 
 /**
  * Data model of the table displaying actor data.
+ * <p>
+ * Updates are throttled to a configurable rate and only the cells whose values have changed since
+ * the last update are reported to the table.
  * 
  * @author Armin Reichert
  */
@@ -35,6 +40,8 @@ class GameStateTableModel extends AbstractTableModel {
 
 	public static final int NUM_ROWS = 6;
 
+	public static final int DEFAULT_UPDATES_PER_SECOND = 10;
+
 	public enum ColumnInfo {
 
 		//@formatter:off
@@ -69,7 +76,10 @@ class GameStateTableModel extends AbstractTableModel {
 	private GameController gameController;
 	private TiledWorld world;
 	private GameStateRecord[] records;
+	private GameStateRecord[] snapshot;
 	private boolean dummy;
+	private int updatesPerSecond = DEFAULT_UPDATES_PER_SECOND;
+	private long lastUpdateTime;
 
 	public GameStateTableModel() {
 		createEmptyRecords();
@@ -79,24 +89,35 @@ class GameStateTableModel extends AbstractTableModel {
 	public GameStateTableModel(GameController gameController) {
 		this.gameController = gameController;
 		world = gameController.world;
-		addTableModelListener(change -> {
-			if (change.getColumn() == ColumnInfo.OnStage.ordinal()) {
-				handleOnStageStatusChange(change.getFirstRow());
-			}
-		});
 		createEmptyRecords();
 		update();
 		dummy = false;
 	}
 
+	/**
+	 * @return maximum number of table updates per second, 0 means unlimited
+	 */
+	public int getUpdatesPerSecond() {
+		return updatesPerSecond;
+	}
+
+	public void setUpdatesPerSecond(int updatesPerSecond) {
+		if (updatesPerSecond < 0) {
+			throw new IllegalArgumentException("Updates per second must not be negative: " + updatesPerSecond);
+		}
+		this.updatesPerSecond = updatesPerSecond;
+	}
+
 	public boolean isDummy() {
 		return dummy;
 	}
 
 	private void createEmptyRecords() {
 		records = new GameStateRecord[NUM_ROWS];
+		snapshot = new GameStateRecord[NUM_ROWS];
 		for (int i = 0; i < records.length; ++i) {
 			records[i] = new GameStateRecord();
+			snapshot[i] = new GameStateRecord();
 		}
 		// for window builder
 		records[ROW_BLINKY].name = "Blinky";
@@ -124,6 +145,11 @@ class GameStateTableModel extends AbstractTableModel {
 
 	public void update() {
 		if (PacManGame.started()) {
+			long now = System.nanoTime();
+			if (updatesPerSecond > 0 && lastUpdateTime != 0 && now - lastUpdateTime < 1_000_000_000L / updatesPerSecond) {
+				return;
+			}
+			lastUpdateTime = now;
 			GhostCommand ghostCommand = gameController.ghostCommand;
 			Folks folks = gameController.folks;
 			fillGhostRecord(records[ROW_BLINKY], ghostCommand, folks.blinky, folks.pacMan);
@@ -132,7 +158,28 @@ class GameStateTableModel extends AbstractTableModel {
 			fillGhostRecord(records[ROW_CLYDE], ghostCommand, folks.clyde, folks.pacMan);
 			fillPacManRecord(records[ROW_PACMAN], folks.pacMan);
 			fillBonusRecord(records[ROW_BONUS], gameController, world);
-			fireTableDataChanged();
+			fireChangedCells();
+		}
+	}
+
+	private void fireChangedCells() {
+		float prevPacManSpeed = snapshot[ROW_PACMAN].speed;
+		for (int row = 0; row < NUM_ROWS; ++row) {
+			GameStateRecord r = records[row], prev = snapshot[row];
+			for (ColumnInfo column : ColumnInfo.values()) {
+				if (!Objects.equals(value(r, column), value(prev, column))) {
+					fireTableCellUpdated(row, column.ordinal());
+				}
+			}
+			// tile cell is highlighted on collision with Pac-Man
+			if (r.pacManCollision != prev.pacManCollision) {
+				fireTableCellUpdated(row, ColumnInfo.Tile.ordinal());
+			}
+			r.copyTo(prev);
+		}
+		// Blinky's speed cell is highlighted depending on Pac-Man's speed
+		if (records[ROW_PACMAN].speed != prevPacManSpeed) {
+			fireTableCellUpdated(ROW_BLINKY, ColumnInfo.Speed.ordinal());
 		}
 	}
 
@@ -196,8 +243,11 @@ class GameStateTableModel extends AbstractTableModel {
 
 	@Override
 	public Object getValueAt(int row, int col) {
-		GameStateRecord r = records[row];
-		switch (ColumnInfo.at(col)) {
+		return value(records[row], ColumnInfo.at(col));
+	}
+
+	private Object value(GameStateRecord r, ColumnInfo column) {
+		switch (column) {
 		case OnStage:
 			return r.included;
 		case Name:
@@ -231,6 +281,9 @@ class GameStateTableModel extends AbstractTableModel {
 		case OnStage:
 			records[row].included = (boolean) value;
 			fireTableCellUpdated(row, col);
+			if (world != null) {
+				handleOnStageStatusChange(row);
+			}
 			break;
 		default:
 			break;
@@ -11,6 +11,8 @@ import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 
 import de.amr.easy.game.controller.Lifecycle;
@@ -39,6 +41,7 @@ public class GameStateView extends JPanel implements Lifecycle {
 	private GhostHouseStateView ghostHouseStateView;
 	private JLabel lblGameState;
 	private JCheckBox cbDemoMode;
+	private JSpinner spinnerUpdatesPerSecond;
 
 	public GameStateView() {
 		setLayout(new BorderLayout(0, 0));
@@ -83,6 +86,20 @@ public class GameStateView extends JPanel implements Lifecycle {
 		checkBoxesPanel.add(cbDemoMode);
 		cbDemoMode.addActionListener(e -> gameController.toggleDemoMode());
 		cbShowStates.addActionListener(e -> gameController.setShowingStates(cbShowStates.isSelected()));
+
+		checkBoxesPanel.add(new JLabel("Table Updates/sec (0 = every tick)"));
+		spinnerUpdatesPerSecond = new JSpinner(
+				new SpinnerNumberModel(GameStateTableModel.DEFAULT_UPDATES_PER_SECOND, 0, 60, 1));
+		checkBoxesPanel.add(spinnerUpdatesPerSecond);
+		spinnerUpdatesPerSecond.addChangeListener(e -> tableModel().setUpdatesPerSecond(updatesPerSecond()));
+	}
+
+	private GameStateTableModel tableModel() {
+		return (GameStateTableModel) table.getModel();
+	}
+
+	private int updatesPerSecond() {
+		return (Integer) spinnerUpdatesPerSecond.getValue();
 	}
 
 	/**
@@ -103,9 +120,10 @@ public class GameStateView extends JPanel implements Lifecycle {
 	public void update() {
 		if (gameController != null) {
 			if (PacManGame.started()) {
-				GameStateTableModel tableModel = (GameStateTableModel) table.getModel();
-				if (tableModel.isDummy()) {
-					table.setModel(new GameStateTableModel(gameController));
+				if (tableModel().isDummy()) {
+					GameStateTableModel tableModel = new GameStateTableModel(gameController);
+					tableModel.setUpdatesPerSecond(updatesPerSecond());
+					table.setModel(tableModel);
 				}
 			}
 			table.update();
@@ -129,7 +129,7 @@ public class GhostHouseStateView extends JPanel implements Lifecycle {
 
 	@Override
 	public void init() {
-		ArcadeSpritesheet sprites = ArcadeTheme.THEME.$value("sprites");
+		ArcadeSpritesheet sprites = ArcadeTheme.THEME.$value(ArcadeTheme.SPRITES);
 		Image pinkyImage = sprites.makeSprite_ghostColored(GhostColor.PINK, RIGHT).frame(0);
 		Image inkyImage = sprites.makeSprite_ghostColored(GhostColor.CYAN, RIGHT).frame(0);
 		Image clydeImage = sprites.makeSprite_ghostColored(GhostColor.ORANGE, RIGHT).frame(0);
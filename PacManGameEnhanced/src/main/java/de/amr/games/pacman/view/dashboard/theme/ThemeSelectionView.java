@@ -52,7 +52,10 @@ public class ThemeSelectionView extends JPanel implements Lifecycle {
 
 	public void attachTo(GameController gameController) {
 		this.gameController = gameController;
+		// separate folks for the preview, their states are changed for rendering the icons
 		folks = new Folks(gameController.world, gameController.world.house(0).get());
+		// the preview folks are not playing, so they need not listen to the world
+		folks.dispose();
 	}
 
 	public ThemeSelectionView() {
@@ -62,7 +65,7 @@ public class ThemeSelectionView extends JPanel implements Lifecycle {
 		add(lblSelectTheme, "cell 0 0,alignx trailing");
 
 		comboSelectTheme = new JComboBox<>();
-		String[] themeNames = Themes.all().stream().map(Theme::name).sorted().toArray(String[]::new);
+		String[] themeNames = Themes.names().stream().sorted().toArray(String[]::new);
 		comboSelectTheme.setModel(new DefaultComboBoxModel<String>(themeNames));
 		add(comboSelectTheme, "cell 1 0,alignx left");
 
@@ -9,7 +9,9 @@ import de.amr.games.pacman.controller.game.GhostCommand;
 import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.components.TiledRectangle;
 import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.view.common.GridRenderer;
 import de.amr.games.pacman.view.common.Rendering;
 import de.amr.games.pacman.view.common.RoutesRenderer;
@@ -121,7 +123,8 @@ public class ExtendedPlayView extends PlayView {
 	protected void drawWorld(Graphics2D g) {
 		worldRenderer.render(g, world);
 		if (showingGrid) {
-			world.tiles().filter(world::hasEatenFood).forEach(tile -> {
+			TiledRectangle region = WorldRenderer.visibleRegion(g, world);
+			world.eatenFoodTiles(region.col(), region.row(), region.width(), region.height()).forEach(tile -> {
 				Color color = Rendering.patternColor(tile);
 				g.setColor(color);
 				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
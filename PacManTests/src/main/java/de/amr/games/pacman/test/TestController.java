@@ -29,9 +29,9 @@ import de.amr.games.pacman.view.play.ExtendedPlayView;
 public class TestController implements VisualController {
 
 	static {
-		Themes.registerTheme(ArcadeTheme.THEME);
-		Themes.registerTheme(BlocksTheme.THEME);
-		Themes.registerTheme(LettersTheme.THEME);
+		Themes.registerTheme("ARCADE", () -> ArcadeTheme.THEME);
+		Themes.registerTheme("BLOCKS", () -> BlocksTheme.THEME);
+		Themes.registerTheme("LETTERS", () -> LettersTheme.THEME);
 	}
 
 	protected final ArcadeWorld world;
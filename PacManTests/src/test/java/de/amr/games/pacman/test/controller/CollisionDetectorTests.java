@@ -0,0 +1,128 @@
+package de.amr.games.pacman.test.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
+import de.amr.games.pacman.controller.game.CollisionDetector;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.Portal;
+
+public class CollisionDetectorTests {
+
+	private ArcadeWorld world;
+	private Folks folks;
+	private PacMan[] pacMen;
+	private Ghost[] ghosts;
+	private CollisionDetector detector;
+	private List<Ghost> collisions;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		folks = new Folks(world, world.house(0).get());
+		pacMen = new PacMan[] { folks.pacMan };
+		ghosts = folks.ghostArray();
+		detector = new CollisionDetector();
+		collisions = new ArrayList<>();
+		folks.pacMan.init();
+		folks.pacMan.ai.setState(PacManState.AWAKE);
+		world.include(folks.pacMan);
+		for (Ghost ghost : ghosts) {
+			ghost.init();
+			ghost.ai.setState(GhostState.CHASING);
+			world.include(ghost);
+			// far away from Pac-Man unless placed by a test
+			ghost.placeAt(Tile.at(1, 4), 0, 0);
+			ghost.ai.addEventListener(event -> {
+				if (event instanceof PacManGhostCollisionEvent) {
+					collisions.add(((PacManGhostCollisionEvent) event).ghost);
+					// like the game controller: a chasing ghost kills Pac-Man
+					folks.pacMan.ai.setState(PacManState.DEAD);
+				}
+			});
+		}
+		folks.pacMan.placeAt(Tile.at(13, 26), 0, 0);
+	}
+
+	@Test
+	public void testTileMode() {
+		folks.blinky.placeAt(Tile.at(13, 26), 3, 0);
+		folks.pinky.placeAt(Tile.at(14, 26), 0, 0);
+		assertEquals(1, detector.detect(pacMen, ghosts));
+		assertEquals(List.of(folks.blinky), collisions);
+	}
+
+	@Test
+	public void testTileModeIgnoresOverlapAcrossTileBorder() {
+		folks.pacMan.placeAt(Tile.at(13, 26), 6, 0);
+		folks.blinky.placeAt(Tile.at(14, 26), 0, 0);
+		assertEquals(0, detector.detect(pacMen, ghosts));
+		assertTrue(collisions.isEmpty());
+	}
+
+	@Test
+	public void testBoundingBoxModeAcrossTileBorder() {
+		detector.setBoundingBoxMode(true);
+		folks.pacMan.placeAt(Tile.at(13, 26), 6, 0);
+		folks.blinky.placeAt(Tile.at(14, 26), 0, 0);
+		folks.pinky.placeAt(Tile.at(15, 26), 0, 0);
+		assertEquals(1, detector.detect(pacMen, ghosts));
+		assertEquals(List.of(folks.blinky), collisions);
+	}
+
+	@Test
+	public void testBoundingBoxModeNeedsOverlap() {
+		detector.setBoundingBoxMode(true);
+		folks.blinky.placeAt(Tile.at(14, 26), 0, 0);
+		assertEquals(0, detector.detect(pacMen, ghosts));
+		assertTrue(collisions.isEmpty());
+	}
+
+	@Test
+	public void testNoCollisionWithGhostInsidePortal() {
+		Portal portal = world.portals().findFirst().get();
+		Ghost ghost = folks.blinky;
+		ghost.placeAt(portal.either, 0, 0);
+		ghost.moveDir = Direction.LEFT;
+		ghost.forceMoving(Direction.LEFT);
+		ghost.forceMoving(Direction.LEFT);
+		assertTrue(ghost.isInsidePortal());
+		ghost.visible = true; // only the portal check must prevent the collision
+		folks.pacMan.placeAt(portal.either, 0, 0);
+		assertEquals(0, detector.detect(pacMen, ghosts));
+		assertTrue(collisions.isEmpty());
+	}
+
+	@Test
+	public void testTwoGhostsAtPacManTileKillOnlyOnce() {
+		folks.blinky.placeAt(Tile.at(13, 26), 0, 0);
+		folks.pinky.placeAt(Tile.at(13, 26), 2, 0);
+		assertEquals(1, detector.detect(pacMen, ghosts));
+		assertEquals(1, collisions.size());
+		assertTrue(folks.pacMan.ai.is(PacManState.DEAD));
+	}
+
+	@Test
+	public void testTwoGhostsInBoundingBoxKillOnlyOnce() {
+		detector.setBoundingBoxMode(true);
+		folks.pacMan.placeAt(Tile.at(13, 26), 4, 0);
+		folks.blinky.placeAt(Tile.at(13, 26), 0, 0);
+		folks.pinky.placeAt(Tile.at(14, 26), 0, 0);
+		assertEquals(1, detector.detect(pacMen, ghosts));
+		assertEquals(1, collisions.size());
+	}
+}
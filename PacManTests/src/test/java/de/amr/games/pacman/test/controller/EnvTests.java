@@ -0,0 +1,204 @@
+package de.amr.games.pacman.test.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.env.EnvConfig;
+import de.amr.games.pacman.controller.env.EnvMaze;
+import de.amr.games.pacman.controller.env.EnvRules;
+import de.amr.games.pacman.controller.env.PacManEnv;
+import de.amr.games.pacman.controller.env.RewardShaper;
+import de.amr.games.pacman.controller.env.StepEvents;
+import de.amr.games.pacman.controller.env.VectorEnv;
+import de.amr.games.pacman.controller.game.GhostCommand;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+
+public class EnvTests {
+
+	private ArcadeWorld world;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+	}
+
+	@Test
+	public void testPacManEnvironment() {
+		PacManEnv env = new PacManEnv(world), twin = new PacManEnv(world);
+		assertEquals(3 * world.numTiles() + 4 + 4 * 4, env.observationSize());
+		env.reset(42);
+		twin.reset(42);
+		assertEquals(world.totalFoodCount(), env.foodLeft());
+		float[] obs = new float[env.observationSize()], twinObs = new float[twin.observationSize()];
+		int[] actions = { 3, 0, 1, 2, PacManEnv.NO_ACTION };
+		for (int i = 0; i < 500 && !env.isDone(); ++i) {
+			int action = actions[(i / 7) % actions.length];
+			assertEquals(env.step(action), twin.step(action), 0);
+			env.observe(obs, 0);
+			twin.observe(twinObs, 0);
+			for (int j = 0; j < obs.length; ++j) {
+				assertEquals(obs[j], twinObs[j], 0);
+			}
+		}
+		assertTrue(env.score() > 0);
+	}
+
+	private static final int UP = 0, LEFT = 3;
+
+	private int tile(PacManEnv env, int col, int row) {
+		return row * env.maze().width + col;
+	}
+
+	/** Resets the environment and moves the ghosts to the bottom row, far away from Pac-Man's tiles. */
+	private PacManEnv scenario(EnvConfig config, int ghostState) {
+		PacManEnv env = new PacManEnv(new EnvMaze(world), config, RewardShaper.POINTS);
+		env.reset(42);
+		for (int g = 0; g < EnvMaze.NUM_GHOSTS; ++g) {
+			env.placeGhost(g, tile(env, 23 + g, 32), ghostState);
+		}
+		return env;
+	}
+
+	@Test
+	public void testPelletGivesTenPoints() {
+		PacManEnv env = scenario(new EnvConfig(), PacManEnv.GHOST_SCATTERING);
+		// facing the wall, Pac-Man stays on his tile
+		env.placePacMan(tile(env, 1, 32), LEFT);
+		env.step(PacManEnv.NO_ACTION);
+		StepEvents events = env.events();
+		assertEquals(1, events.pellets);
+		assertEquals(0, events.energizers);
+		assertEquals(PacManGame.POINTS_PELLET, events.points);
+		assertEquals(10, env.score());
+		assertEquals(world.totalFoodCount() - 1, env.foodLeft());
+		env.step(PacManEnv.NO_ACTION);
+		assertEquals(0, env.events().points);
+		assertEquals(10, env.score());
+	}
+
+	@Test
+	public void testEnergizerFrightensGhostsForPowerSteps() {
+		PacManEnv env = scenario(new EnvConfig(), PacManEnv.GHOST_SCATTERING);
+		int powerSteps = env.rules().powerSteps;
+		assertTrue(powerSteps > 1);
+		env.placePacMan(tile(env, 1, 6), LEFT);
+		env.step(PacManEnv.NO_ACTION);
+		assertEquals(1, env.events().energizers);
+		assertEquals(PacManGame.POINTS_ENERGIZER, env.events().points);
+		for (int step = 1; step < powerSteps; ++step) {
+			assertEquals(powerSteps - step, env.powerLeft());
+			for (int g = 0; g < EnvMaze.NUM_GHOSTS; ++g) {
+				assertEquals("Step " + step, PacManEnv.GHOST_FRIGHTENED, env.ghostState(g));
+			}
+			env.step(PacManEnv.NO_ACTION);
+		}
+		assertEquals(0, env.powerLeft());
+		for (int g = 0; g < EnvMaze.NUM_GHOSTS; ++g) {
+			int state = env.ghostState(g);
+			assertTrue(state == PacManEnv.GHOST_SCATTERING || state == PacManEnv.GHOST_CHASING);
+		}
+	}
+
+	@Test
+	public void testGhostBountiesDouble() {
+		PacManEnv env = scenario(new EnvConfig(), PacManEnv.GHOST_SCATTERING);
+		assertEquals(200, env.rules().ghostBounty(1));
+		assertEquals(400, env.rules().ghostBounty(2));
+		assertEquals(800, env.rules().ghostBounty(3));
+		assertEquals(1600, env.rules().ghostBounty(4));
+		int energizer = tile(env, 1, 6);
+		env.placePacMan(energizer, LEFT);
+		for (int g = 0; g < EnvMaze.NUM_GHOSTS; ++g) {
+			env.placeGhost(g, energizer, PacManEnv.GHOST_SCATTERING);
+		}
+		env.step(PacManEnv.NO_ACTION);
+		assertEquals(4, env.events().ghostsKilled);
+		assertEquals(PacManGame.POINTS_ENERGIZER + 200 + 400 + 800 + 1600, env.events().points);
+		for (int g = 0; g < EnvMaze.NUM_GHOSTS; ++g) {
+			assertEquals(PacManEnv.GHOST_DEAD, env.ghostState(g));
+		}
+		assertFalse(env.events().pacManKilled);
+		assertFalse(env.isDone());
+	}
+
+	@Test
+	public void testGhostCollisionEndsEpisodeWithLastLife() {
+		EnvConfig config = new EnvConfig();
+		config.lives = 1;
+		PacManEnv env = scenario(config, PacManEnv.GHOST_SCATTERING);
+		env.placePacMan(tile(env, 1, 32), LEFT);
+		env.placeGhost(0, tile(env, 1, 32), PacManEnv.GHOST_CHASING);
+		env.step(PacManEnv.NO_ACTION);
+		assertTrue(env.events().pacManKilled);
+		assertEquals(0, env.lives());
+		assertTrue(env.isDone());
+	}
+
+	@Test
+	public void testGhostCollisionCostsLife() {
+		EnvConfig config = new EnvConfig();
+		config.lives = 2;
+		PacManEnv env = scenario(config, PacManEnv.GHOST_SCATTERING);
+		env.placePacMan(tile(env, 1, 32), LEFT);
+		env.placeGhost(0, tile(env, 1, 32), PacManEnv.GHOST_CHASING);
+		env.step(PacManEnv.NO_ACTION);
+		assertTrue(env.events().pacManKilled);
+		assertEquals(1, env.lives());
+		assertFalse(env.isDone());
+		assertEquals(tile(env, 13, 26), env.pacManTile());
+	}
+
+	@Test
+	public void testVectorEnvResetsFinishedEnvironments() {
+		EnvConfig config = new EnvConfig();
+		config.maxSteps = 3;
+		VectorEnv vec = new VectorEnv(world, 3, config, RewardShaper.POINTS);
+		int size = vec.observationSize();
+		float[] obs = new float[vec.size() * size], expected = new float[size];
+		float[] rewards = new float[vec.size()];
+		boolean[] dones = new boolean[vec.size()];
+		int[] actions = { LEFT, UP, PacManEnv.NO_ACTION };
+		vec.reset(7, obs);
+		// environment 1 runs one step ahead and finishes first
+		vec.env(1).step(PacManEnv.NO_ACTION);
+		for (int round = 1; round <= 3; ++round) {
+			vec.step(actions, rewards, dones, obs);
+			for (int i = 0; i < vec.size(); ++i) {
+				PacManEnv env = vec.env(i);
+				int totalSteps = i == 1 ? round + 1 : round;
+				assertEquals("Round " + round + ", env " + i, totalSteps == config.maxSteps, dones[i]);
+				if (dones[i]) {
+					assertEquals(0, env.steps());
+					assertEquals(0, env.score());
+					assertEquals(world.totalFoodCount(), env.foodLeft());
+				} else {
+					assertEquals(totalSteps % config.maxSteps, env.steps());
+				}
+				env.observe(expected, 0);
+				for (int j = 0; j < size; ++j) {
+					assertEquals("Round " + round + ", env " + i + ", index " + j, expected[j], obs[i * size + j], 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRulesFollowLevelTable() {
+		EnvRules level1 = new EnvRules(PacManGame.levelTable(), 1);
+		EnvRules level21 = new EnvRules(PacManGame.levelTable(), 21);
+		// ghosts returning home are the fastest creatures, so Pac-Man moves less than a tile per step
+		assertEquals(level1.levelData.pacManSpeed / (2 * level1.levelData.ghostSpeed), level1.pacManSpeed, 1e-6);
+		assertTrue(level1.powerSteps > 0);
+		assertEquals(0, level21.powerSteps);
+		assertEquals(2 * GhostCommand.ROUNDS, level1.phaseSteps.length);
+		assertEquals(Integer.MAX_VALUE, level1.phaseSteps[level1.phaseSteps.length - 1]);
+		assertEquals(30, level1.dotLimits[2]);
+		assertEquals(0, level21.dotLimits[2]);
+		assertEquals(1600, level1.ghostBounty(EnvMaze.NUM_GHOSTS));
+	}
+}
@@ -0,0 +1,164 @@
+package de.amr.games.pacman.test.controller;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.steering.api.Steering;
+import de.amr.games.pacman.controller.steering.ghost.EnteringDoorAndGoingToBed;
+import de.amr.games.pacman.controller.steering.ghost.LeavingHouse;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.House;
+
+public class GuyTests {
+
+	private ArcadeWorld world;
+	private House house;
+	private Folks folks;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		house = world.house(0).get();
+		folks = new Folks(world, house);
+	}
+
+	/**
+	 * Moves the guy by the given distance towards its wish direction, like the movement controller
+	 * does, but without depending on the speed of a running game.
+	 */
+	private void moveTowardsWishDir(Ghost ghost, float distance) {
+		Direction dir = ghost.wishDir;
+		ghost.placeAt(ghost.tf.x + dir.dx * distance, ghost.tf.y + dir.dy * distance);
+	}
+
+	@Test
+	public void testWalkAcrossTileFiresOnce() {
+		PacMan pacMan = new PacMan(world, "Pac-Man") {
+
+			@Override
+			public float getSpeed() {
+				return 1;
+			}
+		};
+		pacMan.placeAt(Tile.at(1, 4), 0, 0);
+		pacMan.moveDir = pacMan.wishDir = Direction.RIGHT;
+		List<Tile> entered = new ArrayList<>();
+		pacMan.addTileEnteredListener((guy, tile) -> entered.add(tile));
+		for (int i = 0; i < Tile.SIZE; ++i) {
+			pacMan.makeStep();
+		}
+		assertEquals(List.of(Tile.at(2, 4)), entered);
+		assertEquals(Tile.at(2, 4), pacMan.tile());
+	}
+
+	@Test
+	public void testTileOfFixedPointPosition() {
+		PacMan pacMan = folks.pacMan;
+		pacMan.placeAt(Tile.at(1, 4), 3.99f, 0);
+		assertEquals(Tile.at(1, 4), pacMan.tile());
+		pacMan.placeAt(Tile.at(1, 4), 4, 0);
+		assertTrue(pacMan.enteredNewTile);
+		assertEquals(Tile.at(2, 4), pacMan.tile());
+		// left of the map, e.g. inside a portal
+		pacMan.placeAt(-4.5f, 17 * Tile.SIZE);
+		assertEquals(Tile.at(-1, 17), pacMan.tile());
+		assertEquals(-4.5f, pacMan.tf.x, 0);
+	}
+
+	@Test
+	public void testStepStartsFromFixedPointPosition() {
+		PacMan pacMan = new PacMan(world, "Pac-Man") {
+
+			@Override
+			public float getSpeed() {
+				return 1;
+			}
+		};
+		pacMan.placeAt(Tile.at(1, 4), 0, 0);
+		pacMan.moveDir = pacMan.wishDir = Direction.RIGHT;
+		pacMan.makeStep();
+		// the transform is only written for rendering
+		pacMan.tf.x = 100;
+		pacMan.makeStep();
+		assertEquals(Tile.at(1, 4).x() + 2, pacMan.tf.x, 0);
+		assertEquals(Tile.at(1, 4), pacMan.tile());
+	}
+
+	@Test
+	public void testHouseFlagsAfterLeavingHouse() {
+		Ghost inky = folks.inky;
+		inky.init();
+		assertTrue(inky.isInsideHouse());
+		inky.ai.setState(GhostState.LEAVING_HOUSE);
+		Steering leaving = new LeavingHouse(house);
+		// the step width makes the ghost overshoot the exit so the steering has to correct its position
+		for (int i = 0; i < 100; ++i) {
+			leaving.steer(inky);
+			if (inky.justLeftHouse()) {
+				break;
+			}
+			moveTowardsWishDir(inky, 1.25f);
+		}
+		assertTrue(inky.justLeftHouse());
+		assertFalse(inky.isInsideHouse());
+		assertTrue(inky.isAtHouseEntry());
+	}
+
+	@Test
+	public void testHouseFlagsAfterEnteringHouse() {
+		Ghost blinky = folks.blinky;
+		blinky.init();
+		blinky.placeAt(Tile.at(1, 4), 0, 0);
+		assertFalse(blinky.isInsideHouse());
+		assertFalse(blinky.isAtHouseEntry());
+		blinky.ai.setState(GhostState.ENTERING_HOUSE);
+		EnteringDoorAndGoingToBed entering = new EnteringDoorAndGoingToBed(blinky, house.door(0), house.bed(1));
+		entering.init();
+		assertTrue(blinky.isAtHouseEntry());
+		assertFalse(blinky.isInsideHouse());
+		for (int i = 0; i < 100 && !entering.isComplete(); ++i) {
+			entering.steer(blinky);
+			moveTowardsWishDir(blinky, 1);
+		}
+		assertTrue(entering.isComplete());
+		assertTrue(blinky.isInsideHouse());
+		assertFalse(blinky.isAtHouseEntry());
+	}
+
+	@Test
+	public void testGuysNear() {
+		world.include(folks.pacMan);
+		folks.pacMan.placeAt(Tile.at(13, 26), 0, 0);
+		for (Ghost ghost : folks.ghostArray()) {
+			world.include(ghost);
+			ghost.placeAt(Tile.at(1, 4), 0, 0);
+		}
+		folks.blinky.placeAt(Tile.at(15, 26), 0, 0);
+		folks.pinky.placeAt(Tile.at(13, 23), 0, 0);
+		folks.inky.placeAt(Tile.at(17, 29), 0, 0);
+		Tile here = Tile.at(13, 26);
+		assertEquals(Set.of(folks.pacMan, folks.blinky, folks.pinky), folks.guysNear(here, 3).collect(toSet()));
+		assertEquals(Set.of(folks.blinky, folks.pinky), folks.ghostsNear(here, 3).collect(toSet()));
+		// the index follows moves and world membership
+		folks.pinky.placeAt(Tile.at(13, 22), 0, 0);
+		folks.inky.placeAt(Tile.at(16, 29), 0, 0);
+		world.exclude(folks.blinky);
+		assertEquals(Set.of(folks.inky), folks.ghostsNear(here, 3).collect(toSet()));
+		assertEquals(Set.of(folks.clyde), folks.ghostsNear(Tile.at(1, 4), 0).collect(toSet()));
+	}
+}
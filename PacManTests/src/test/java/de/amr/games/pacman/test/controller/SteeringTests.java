@@ -0,0 +1,78 @@
+package de.amr.games.pacman.test.controller;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.steering.common.HeadingForTargetTile;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+
+public class SteeringTests {
+
+	private ArcadeWorld world;
+	private House house;
+	private Folks folks;
+
+	@Before
+	public void setup() {
+		world = new ArcadeWorld();
+		house = world.house(0).get();
+		folks = new Folks(world, house);
+	}
+
+	/**
+	 * Compares the decisions of a steering using the shared decision table with the decisions computed
+	 * directly, for each accessible tile and move direction.
+	 */
+	private void assertTableDecisionsCorrect(Ghost ghost, Tile target) {
+		HeadingForTargetTile withTable = new HeadingForTargetTile(target);
+		HeadingForTargetTile withoutTable = new HeadingForTargetTile(() -> target);
+		world.tiles().filter(world::isAccessible).forEach(tile -> {
+			for (Direction moveDir : Direction.values()) {
+				ghost.placeAt(tile, 0, 0);
+				ghost.moveDir = moveDir;
+				withoutTable.force();
+				withoutTable.steer(ghost);
+				Direction expected = ghost.wishDir;
+				// twice: the first lookup fills the table entry, the second reads it
+				for (int i = 0; i < 2; ++i) {
+					withTable.force();
+					withTable.steer(ghost);
+					assertEquals(String.format("%s at %s moving %s", ghost.name, tile, moveDir), expected,
+							ghost.wishDir);
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testDecisionTablesForScatterTargets() {
+		Tile[] scatterTargets = { Tile.at(world.width() - 3, 0), Tile.at(2, 0),
+				Tile.at(world.width() - 1, world.height() - 1), Tile.at(0, world.height() - 1) };
+		Ghost[] ghosts = { folks.blinky, folks.pinky, folks.inky, folks.clyde };
+		for (int i = 0; i < ghosts.length; ++i) {
+			ghosts[i].init();
+			ghosts[i].ai.setState(GhostState.SCATTERING);
+			assertTableDecisionsCorrect(ghosts[i], scatterTargets[i]);
+		}
+	}
+
+	@Test
+	public void testDecisionTablesForDeadTarget() {
+		Door door = house.door(0);
+		Tile houseEntry = world.neighbor(door.tiles().findFirst().get(), door.intoHouse.opposite());
+		for (Ghost ghost : new Ghost[] { folks.blinky, folks.pinky, folks.inky, folks.clyde }) {
+			ghost.init();
+			ghost.ai.setState(GhostState.DEAD);
+			assertTableDecisionsCorrect(ghost, houseEntry);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package de.amr.games.pacman.test.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.game.SpeedTable;
+import de.amr.games.pacman.controller.steering.common.StepPattern;
+import de.amr.games.pacman.model.game.LevelTable;
+
+public class StepPatternTests {
+
+	private static final int TICKS = 60 * StepPattern.PERIOD;
+
+	/** Rounding a distance per period to fixed-point is off by at most half a sub-pixel. */
+	private static final float PERIOD_ERROR = 0.5f / StepPattern.ONE;
+
+	private Set<Float> speeds;
+
+	@Before
+	public void setup() {
+		LevelTable levelTable = LevelTable.loadResource(LevelTable.ARCADE);
+		speeds = new TreeSet<>();
+		for (int level = 1; level <= levelTable.size(); ++level) {
+			SpeedTable speedTable = SpeedTable.of(levelTable.level(level));
+			for (GhostState state : GhostState.values()) {
+				for (int elroy = 0; elroy < SpeedTable.ELROY_LEVELS; ++elroy) {
+					speeds.add(speedTable.ghostSpeed(state, false, elroy));
+					speeds.add(speedTable.ghostSpeed(state, true, elroy));
+				}
+			}
+			for (PacManState state : PacManState.values()) {
+				speeds.add(speedTable.pacManSpeed(state));
+			}
+		}
+	}
+
+	/**
+	 * Moves by the step pattern of each speed of the level table and by the speed added each tick (as
+	 * before step patterns were used, but without float rounding). At the end of each period both
+	 * positions must agree up to the fixed-point rounding of the distance per period, in between by less
+	 * than one pixel.
+	 */
+	@Test
+	public void testPatternsMatchFloatMovement() {
+		assertTrue(speeds.size() > 1);
+		for (float speed : speeds) {
+			StepPattern pattern = StepPattern.ofSpeed(speed);
+			int fixedPosition = 0;
+			double floatPosition = 0;
+			for (int tick = 0; tick < TICKS; ++tick) {
+				fixedPosition += pattern.distance(tick);
+				floatPosition += speed;
+				double error = Math.abs(StepPattern.pixels(fixedPosition) - floatPosition);
+				int periods = (tick + 1) / StepPattern.PERIOD;
+				String msg = String.format("speed %.4f at tick %d", speed, tick);
+				if ((tick + 1) % StepPattern.PERIOD == 0) {
+					assertEquals(msg, floatPosition, StepPattern.pixels(fixedPosition), periods * PERIOD_ERROR + 1e-4);
+				} else {
+					assertTrue(msg + ": error " + error, error < 1 + (periods + 1) * PERIOD_ERROR + 1e-4);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPatternRepeatsDistancePerPeriod() {
+		for (float speed : speeds) {
+			StepPattern pattern = StepPattern.ofSpeed(speed);
+			int sum = 0;
+			for (int tick = 0; tick < StepPattern.PERIOD; ++tick) {
+				sum += pattern.distance(tick);
+				assertEquals(pattern.distance(tick), pattern.distance(tick + StepPattern.PERIOD));
+			}
+			assertEquals(pattern.distancePerPeriod, sum);
+			assertEquals(StepPattern.fixed(speed * StepPattern.PERIOD), sum);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package de.amr.games.pacman.test.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.telemetry.TelemetryRing;
+
+public class TelemetryRingTests {
+
+	private static List<long[]> drainAll(TelemetryRing ring) {
+		List<long[]> records = new ArrayList<>();
+		ring.drain((tick, type, actor, x, y, value) -> records.add(new long[] { tick, type, actor, x, y, value }),
+				Integer.MAX_VALUE);
+		return records;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacityMustBePowerOfTwo() {
+		new TelemetryRing(12);
+	}
+
+	@Test
+	public void testFieldsSurviveRoundTrip() {
+		TelemetryRing ring = new TelemetryRing(4);
+		assertTrue(ring.offer(123456789L, 17, 5, -3, 35, -42));
+		List<long[]> records = drainAll(ring);
+		assertEquals(1, records.size());
+		long[] record = records.get(0);
+		assertEquals(123456789L, record[0]);
+		assertEquals(17, record[1]);
+		assertEquals(5, record[2]);
+		assertEquals(-3, record[3]);
+		assertEquals(35, record[4]);
+		assertEquals(-42, record[5]);
+	}
+
+	@Test
+	public void testFullRingDropsAndCounts() {
+		TelemetryRing ring = new TelemetryRing(4);
+		for (int i = 0; i < 4; ++i) {
+			assertTrue(ring.offer(i, 0, 0, 0, 0, i));
+		}
+		assertFalse(ring.offer(4, 0, 0, 0, 0, 4));
+		assertFalse(ring.offer(5, 0, 0, 0, 0, 5));
+		assertEquals(2, ring.dropped());
+		List<long[]> records = drainAll(ring);
+		assertEquals(4, records.size());
+		for (int i = 0; i < 4; ++i) {
+			assertEquals(i, records.get(i)[5]);
+		}
+	}
+
+	@Test
+	public void testOrderIsKeptAcrossWrapAround() {
+		TelemetryRing ring = new TelemetryRing(8);
+		List<Long> drained = new ArrayList<>();
+		long next = 0;
+		// offer and drain in uneven batches so the slots wrap around several times
+		for (int round = 0; round < 20; ++round) {
+			for (int i = 0; i < 5; ++i) {
+				assertTrue(ring.offer(next, 1, 0, 0, 0, (int) next));
+				++next;
+			}
+			ring.drain((tick, type, actor, x, y, value) -> drained.add(tick), round % 2 == 0 ? 3 : 7);
+		}
+		drainAll(ring).forEach(record -> drained.add(record[0]));
+		assertEquals(0, ring.dropped());
+		assertEquals(next, drained.size());
+		for (int i = 0; i < drained.size(); ++i) {
+			assertEquals(i, (long) drained.get(i));
+		}
+	}
+
+	@Test
+	public void testConcurrentProducersKeepPerProducerOrder() throws InterruptedException {
+		int producers = 4, recordsPerProducer = 10_000;
+		TelemetryRing ring = new TelemetryRing(1024);
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; ++p) {
+			int actor = p;
+			threads[p] = new Thread(() -> {
+				for (int i = 0; i < recordsPerProducer; ++i) {
+					while (!ring.offer(i, 0, actor, 0, 0, i)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads[p].start();
+		}
+		int[] nextValue = new int[producers];
+		int total = 0;
+		while (total < producers * recordsPerProducer) {
+			total += ring.drain((tick, type, actor, x, y, value) -> {
+				assertEquals(nextValue[actor], value);
+				nextValue[actor] += 1;
+			}, Integer.MAX_VALUE);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int p = 0; p < producers; ++p) {
+			assertEquals(recordsPerProducer, nextValue[p]);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package de.amr.games.pacman.test.model;
+
+import static de.amr.games.pacman.controller.game.Timing.speed;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.game.SpeedTable;
+import de.amr.games.pacman.model.game.LevelData;
+import de.amr.games.pacman.model.game.LevelTable;
+
+public class LevelTableTests {
+
+	private static final float EPSILON = 1e-6f;
+
+	/** The level data as formerly hard-coded in the game, the last row applies to higher levels. */
+	private static final String[] BONUS = {
+	//@formatter:off
+		"CHERRIES", "STRAWBERRY", "PEACH", "PEACH", "APPLE", "APPLE", "GRAPES", "GRAPES", "GALAXIAN",
+		"GALAXIAN", "BELL", "BELL", "KEY", "KEY", "KEY", "KEY", "KEY", "KEY", "KEY", "KEY", "KEY",
+	//@formatter:on
+	};
+
+	private static final int[][] VALUES = {
+	//@formatter:off
+		{  100,  80,  75, 40,  20,  80, 10,  85,  90, 50, 6, 5 },
+		{  300,  90,  85, 45,  30,  90, 15,  95,  95, 55, 5, 5 },
+		{  500,  90,  85, 45,  40,  90, 20,  95,  95, 55, 4, 5 },
+		{  500,  90,  85, 50,  40, 100, 20,  95,  95, 55, 3, 5 },
+		{  700, 100,  95, 50,  40, 100, 20, 105, 100, 60, 2, 5 },
+		{  700, 100,  95, 50,  50, 100, 25, 105, 100, 60, 5, 5 },
+		{ 1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5 },
+		{ 1000, 100,  95, 50,  50, 100, 25, 105, 100, 60, 2, 5 },
+		{ 2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 1, 3 },
+		{ 2000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 5, 5 },
+		{ 3000, 100,  95, 50,  60, 100, 30, 105, 100, 60, 2, 5 },
+		{ 3000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3 },
+		{ 5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 1, 3 },
+		{ 5000, 100,  95, 50,  80, 100, 40, 105, 100, 60, 3, 5 },
+		{ 5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 1, 3 },
+		{ 5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 3 },
+		{ 5000, 100,  95, 50, 100, 100, 50, 105, 100, 60, 0, 0 },
+		{ 5000, 100,  95, 50, 100, 100, 50, 105,   0,  0, 1, 0 },
+		{ 5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0 },
+		{ 5000, 100,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0 },
+		{ 5000,  90,  95, 50, 120, 100, 60, 105,   0,  0, 0, 0 },
+	//@formatter:on
+	};
+
+	private static int row(int level) {
+		return Math.min(level, VALUES.length) - 1;
+	}
+
+	private static float percent(int value) {
+		return value / 100f;
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File tableFile(String... lines) throws IOException {
+		File file = folder.newFile();
+		Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	public void testArcadeTableMatchesFormerLevelData() {
+		LevelTable table = LevelTable.loadResource(LevelTable.ARCADE);
+		assertEquals(VALUES.length, table.size());
+		for (int level = 1; level <= VALUES.length + 5; ++level) {
+			LevelData data = table.level(level);
+			int[] v = VALUES[row(level)];
+			String msg = "Level " + level;
+			assertEquals(msg, BONUS[row(level)], data.bonusSymbol);
+			assertEquals(msg, v[0], data.bonusValue);
+			assertEquals(msg, percent(v[1]), data.pacManSpeed, EPSILON);
+			assertEquals(msg, percent(v[2]), data.ghostSpeed, EPSILON);
+			assertEquals(msg, percent(v[3]), data.ghostTunnelSpeed, EPSILON);
+			assertEquals(msg, v[4], data.elroy1DotsLeft);
+			assertEquals(msg, percent(v[5]), data.elroy1Speed, EPSILON);
+			assertEquals(msg, v[6], data.elroy2DotsLeft);
+			assertEquals(msg, percent(v[7]), data.elroy2Speed, EPSILON);
+			assertEquals(msg, percent(v[8]), data.pacManPowerSpeed, EPSILON);
+			assertEquals(msg, percent(v[9]), data.ghostFrightenedSpeed, EPSILON);
+			assertEquals(msg, v[10], data.pacManPowerSeconds);
+			assertEquals(msg, v[11], data.numFlashes);
+		}
+	}
+
+	/**
+	 * Compares the speed table of each level with the speeds the actors formerly computed themselves
+	 * from the level data.
+	 */
+	@Test
+	public void testSpeedTableMatchesFormerSpeeds() {
+		LevelTable table = LevelTable.loadResource(LevelTable.ARCADE);
+		for (int level = 1; level <= VALUES.length; ++level) {
+			SpeedTable speeds = SpeedTable.of(table.level(level));
+			int[] v = VALUES[row(level)];
+			float pacManSpeed = percent(v[1]), ghostSpeed = percent(v[2]), tunnelSpeed = percent(v[3]),
+					elroy1Speed = percent(v[5]), elroy2Speed = percent(v[7]), pacManPowerSpeed = percent(v[8]),
+					frightenedSpeed = percent(v[9]);
+			String msg = "Level " + level;
+			assertEquals(msg, speed(pacManSpeed), speeds.pacManSpeed(PacManState.AWAKE), EPSILON);
+			assertEquals(msg, speed(pacManPowerSpeed), speeds.pacManSpeed(PacManState.POWERFUL), EPSILON);
+			assertEquals(msg, speed(ghostSpeed / 2), speeds.ghostSpeed(GhostState.LEAVING_HOUSE, false, 0), EPSILON);
+			assertEquals(msg, speed(ghostSpeed), speeds.ghostSpeed(GhostState.ENTERING_HOUSE, false, 0), EPSILON);
+			for (GhostState state : new GhostState[] { GhostState.SCATTERING, GhostState.CHASING }) {
+				assertEquals(msg, speed(ghostSpeed), speeds.ghostSpeed(state, false, 0), EPSILON);
+				assertEquals(msg, speed(elroy1Speed), speeds.ghostSpeed(state, false, 1), EPSILON);
+				assertEquals(msg, speed(elroy2Speed), speeds.ghostSpeed(state, false, 2), EPSILON);
+				for (int elroy = 0; elroy < SpeedTable.ELROY_LEVELS; ++elroy) {
+					assertEquals(msg, speed(tunnelSpeed), speeds.ghostSpeed(state, true, elroy), EPSILON);
+				}
+			}
+			assertEquals(msg, speed(frightenedSpeed), speeds.ghostSpeed(GhostState.FRIGHTENED, false, 0), EPSILON);
+			assertEquals(msg, speed(tunnelSpeed), speeds.ghostSpeed(GhostState.FRIGHTENED, true, 0), EPSILON);
+			assertEquals(msg, speed(2 * ghostSpeed), speeds.ghostSpeed(GhostState.DEAD, false, 0), EPSILON);
+		}
+	}
+
+	@Test
+	public void testCommentsAndBlankLinesAreSkipped() throws IOException {
+		LevelTable table = LevelTable.loadFile(tableFile(
+		//@formatter:off
+			"# comment",
+			"",
+			"CHERRIES 100 80 75 40 20 80 10 85 90 50 6 5",
+			"   ",
+			"  # indented comment",
+			"STRAWBERRY\t300\t90 85 45 30 90 15 95 95 55 5 5"
+		//@formatter:on
+		));
+		assertEquals(2, table.size());
+		assertEquals("CHERRIES", table.level(1).bonusSymbol);
+		assertEquals("STRAWBERRY", table.level(2).bonusSymbol);
+		assertEquals("STRAWBERRY", table.level(99).bonusSymbol);
+		assertEquals(0.45f, table.level(2).ghostTunnelSpeed, EPSILON);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRowWithTooFewColumnsIsRejected() throws IOException {
+		LevelTable.loadFile(tableFile("CHERRIES 100 80 75 40 20 80 10 85 90 50 6"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRowWithTooManyColumnsIsRejected() throws IOException {
+		LevelTable.loadFile(tableFile("CHERRIES 100 80 75 40 20 80 10 85 90 50 6 5 1"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonNumericValueIsRejected() throws IOException {
+		LevelTable.loadFile(tableFile("CHERRIES 100 80 75 40 20 80 10 85 ninety 50 6 5"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTableWithoutLevelsIsRejected() throws IOException {
+		LevelTable.loadFile(tableFile("# only a comment", ""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingFileIsRejected() {
+		LevelTable.loadFile(new File(folder.getRoot(), "missing.levels"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLevelZeroIsRejected() {
+		LevelTable.loadResource(LevelTable.ARCADE).level(0);
+	}
+}
@@ -0,0 +1,115 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.amr.games.pacman.model.game.score.ScoreEntry;
+import de.amr.games.pacman.model.game.score.ScoreStore;
+
+public class ScoreStoreTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path file;
+	private long now;
+
+	@Before
+	public void setup() {
+		file = folder.getRoot().toPath().resolve("scores.log");
+		now = System.currentTimeMillis();
+	}
+
+	private ScoreStore open(int capacity) {
+		ScoreStore store = new ScoreStore(file, capacity);
+		store.loading().join();
+		return store;
+	}
+
+	private ScoreEntry entry(int game, String mode, int points) {
+		return new ScoreEntry(now + game, now + game, mode, 1, 1, points);
+	}
+
+	private List<ScoreEntry> todaysTop(ScoreStore store, int n) {
+		return store.top(LocalDate.now(ZoneId.systemDefault()), ScoreEntry.MODE_ARCADE, 1, n);
+	}
+
+	@Test
+	public void testDamagedTailIsSkipped() throws IOException {
+		ScoreStore store = null;
+		// one session per game, so the records are logged in this order
+		for (int i = 0; i < 3; ++i) {
+			store = open(10);
+			store.submit(entry(i, ScoreEntry.MODE_ARCADE, 100 * (i + 1)));
+			store.close();
+		}
+		long validSize = Files.size(file);
+
+		// a record that was only partially written: length announced, payload missing
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			out.write(ByteBuffer.allocate(7).putInt(40).put(new byte[] { 1, 2, 3 }).flip());
+		}
+		store = open(10);
+		assertEquals(3, store.size());
+		store.close();
+		assertEquals(validSize, Files.size(file));
+
+		// the last record has a wrong checksum
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - 1] ^= 0xFF;
+		Files.write(file, bytes);
+		store = open(10);
+		assertEquals(2, store.size());
+		assertEquals(200, todaysTop(store, 1).get(0).points);
+		store.close();
+	}
+
+	@Test
+	public void testCompactionKeepsBestEntries() throws IOException {
+		int capacity = 3, games = 1200;
+		ScoreStore store = open(capacity);
+		for (int i = 0; i < games; ++i) {
+			store.submit(entry(i, ScoreEntry.MODE_ARCADE, i));
+		}
+		store.close();
+		long sizeAfterCompaction = Files.size(file);
+
+		store = open(capacity);
+		List<ScoreEntry> top = todaysTop(store, 10);
+		assertEquals(capacity, top.size());
+		for (int i = 0; i < capacity; ++i) {
+			assertEquals(games - 1 - i, top.get(i).points);
+		}
+		store.close();
+		// only the live entries are left, not all submitted records
+		assertTrue(sizeAfterCompaction < 10L * games);
+	}
+
+	@Test
+	public void testBestEntryCoversAllModes() {
+		ScoreStore store = open(10);
+		store.submit(entry(0, ScoreEntry.MODE_ARCADE, 1000));
+		store.submit(entry(1, ScoreEntry.MODE_DEMO, 5000));
+		store.close();
+
+		store = open(10);
+		assertEquals(5000, store.best().get().points);
+		assertEquals(2, store.size());
+		store.close();
+	}
+}
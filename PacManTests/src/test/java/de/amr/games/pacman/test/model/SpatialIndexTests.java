@@ -0,0 +1,74 @@
+package de.amr.games.pacman.test.model;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.core.SpatialIndex;
+
+public class SpatialIndexTests {
+
+	private SpatialIndex<String> index;
+
+	@Before
+	public void setup() {
+		index = new SpatialIndex<>(8);
+	}
+
+	private Set<String> near(int col, int row, int radius) {
+		return index.near(col, row, radius).collect(toSet());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCellSizeMustBePositive() {
+		new SpatialIndex<>(0);
+	}
+
+	@Test
+	public void testNearAcrossCellBorders() {
+		index.put("a", 7, 7);
+		index.put("b", 8, 8);
+		index.put("c", 10, 5);
+		index.put("d", 20, 20);
+		assertEquals(Set.of("a", "b"), near(7, 8, 1));
+		assertEquals(Set.of("a", "b", "c"), near(8, 6, 2));
+		assertEquals(Set.of("a", "b", "c", "d"), near(14, 14, 12));
+		assertTrue(near(30, 30, 9).isEmpty());
+	}
+
+	@Test
+	public void testNegativeCoordinates() {
+		// portal tiles lie outside of the map
+		index.put("a", -1, 17);
+		index.put("b", 0, 17);
+		assertEquals(Set.of("a", "b"), near(0, 17, 1));
+		assertEquals(Set.of("a"), near(-2, 17, 1));
+	}
+
+	@Test
+	public void testMoveAndRemove() {
+		index.put("a", 1, 1);
+		index.put("a", 2, 1);
+		assertEquals(1, index.size());
+		assertEquals(Set.of("a"), near(3, 1, 1));
+		index.put("a", 100, 100);
+		assertTrue(near(3, 1, 1).isEmpty());
+		assertEquals(Set.of("a"), near(100, 100, 0));
+		index.remove("a");
+		assertEquals(0, index.size());
+		assertTrue(near(100, 100, 0).isEmpty());
+	}
+
+	@Test
+	public void testLargeRadiusScansItems() {
+		index.put("a", 0, 0);
+		index.put("b", 999, 999);
+		assertEquals(Set.of("a", "b"), near(500, 500, 500));
+		assertEquals(Set.of("a"), near(0, 0, 998));
+	}
+}
@@ -0,0 +1,158 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.core.MapBasedWorld;
+import de.amr.games.pacman.model.world.core.WorldMapLoader;
+
+public class WorldMapLoaderTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File mapFile;
+	private File sidecar;
+
+	@Before
+	public void setup() throws IOException {
+		mapFile = folder.newFile("arcade.world");
+		try (InputStream in = getClass().getResourceAsStream("/worlds/arcade.world")) {
+			Files.write(mapFile.toPath(), in.readAllBytes());
+		}
+		sidecar = new File(mapFile.getPath() + ".bin");
+	}
+
+	/** The Arcade map as formerly hard-coded in the game: 0 = accessible, 1 = inaccessible, 2 = pellet. */
+	private static final String[] ARCADE_MAP = {
+	//@formatter:off
+		"1111111111111111111111111111",
+		"1111111111111111111111111111",
+		"1111111111111111111111111111",
+		"1111111111111111111111111111",
+		"1222222222222112222222222221",
+		"1211112111112112111112111121",
+		"1211112111112112111112111121",
+		"1211112111112112111112111121",
+		"1222222222222222222222222221",
+		"1211112112111111112112111121",
+		"1211112112111111112112111121",
+		"1222222112222112222112222221",
+		"1111112111110110111112111111",
+		"1111112111110110111112111111",
+		"1111112110000000000112111111",
+		"1111112110111001110112111111",
+		"1111112110100000010112111111",
+		"0000002000100000010002000000",
+		"1111112110100000010112111111",
+		"1111112110111111110112111111",
+		"1111112110000000000112111111",
+		"1111112110111111110112111111",
+		"1111112110111111110112111111",
+		"1222222222222112222222222221",
+		"1211112111112112111112111121",
+		"1211112111112112111112111121",
+		"1222112222222002222222112221",
+		"1112112112111111112112112111",
+		"1112112112111111112112112111",
+		"1222222112222112222112222221",
+		"1211111111112112111111111121",
+		"1211111111112112111111111121",
+		"1222222222222222222222222221",
+		"1111111111111111111111111111",
+		"1111111111111111111111111111",
+		"1111111111111111111111111111",
+	//@formatter:on
+	};
+
+	private static final Set<Tile> ARCADE_ENERGIZERS = Set.of(Tile.at(1, 6), Tile.at(26, 6), Tile.at(1, 26),
+			Tile.at(26, 26));
+
+	private static final int ARCADE_TUNNEL_TILES = 10;
+	private static final int ARCADE_INTERSECTIONS = 34;
+
+	private void assertSameAsArcadeWorld(TiledWorld world) {
+		assertEquals(28, world.width());
+		assertEquals(36, world.height());
+		int foodCount = 0, tunnelTiles = 0, intersections = 0;
+		for (int row = 0; row < ARCADE_MAP.length; ++row) {
+			for (int col = 0; col < ARCADE_MAP[row].length(); ++col) {
+				Tile tile = Tile.at(col, row);
+				char content = ARCADE_MAP[row].charAt(col);
+				assertEquals(tile.toString(), content != '1', world.isAccessible(tile));
+				Optional<Food> expectedFood = Optional.empty();
+				if (content == '2') {
+					expectedFood = Optional.of(ARCADE_ENERGIZERS.contains(tile) ? ArcadeFood.ENERGIZER : ArcadeFood.PELLET);
+					++foodCount;
+				}
+				assertEquals(tile.toString(), expectedFood, world.foodAt(tile));
+				if (world.isTunnel(tile)) {
+					++tunnelTiles;
+					assertEquals(tile.toString(), 17, row);
+				}
+				if (world.isIntersection(tile)) {
+					++intersections;
+				}
+			}
+		}
+		assertEquals(foodCount, world.totalFoodCount());
+		assertEquals(ARCADE_TUNNEL_TILES, tunnelTiles);
+		assertEquals(ARCADE_INTERSECTIONS, intersections);
+		assertEquals(13, world.pacManBed().col());
+		assertEquals(26, world.pacManBed().row());
+		assertEquals(Direction.RIGHT, world.pacManBed().exitDir);
+		assertEquals(Tile.at(13, 20), ((MapBasedWorld) world).bonusLocation());
+		assertEquals(1, world.houses().count());
+		assertEquals(1, world.portals().count());
+		House house = world.house(0).get();
+		assertEquals(40, house.tiles().count());
+		assertTrue(house.includes(Tile.at(10, 15)));
+		assertTrue(house.includes(Tile.at(17, 19)));
+		for (Tile tile : List.of(Tile.at(12, 13), Tile.at(15, 13), Tile.at(12, 25), Tile.at(15, 25))) {
+			assertTrue(tile.toString(), world.isOneWay(tile, Direction.DOWN));
+		}
+		assertEquals(4, world.oneWayTiles().count());
+	}
+
+	@Test
+	public void testSidecarRoundTrip() {
+		MapBasedWorld parsed = new MapBasedWorld(WorldMapLoader.loadFile(mapFile));
+		assertTrue(sidecar.exists());
+		long written = sidecar.lastModified();
+		MapBasedWorld reloaded = new MapBasedWorld(WorldMapLoader.loadFile(mapFile));
+		assertEquals("sidecar must not be rewritten when it is up to date", written, sidecar.lastModified());
+		assertSameAsArcadeWorld(parsed);
+		assertSameAsArcadeWorld(reloaded);
+		File[] leftovers = folder.getRoot().listFiles((dir, name) -> name.endsWith(".tmp"));
+		assertEquals(0, leftovers.length);
+	}
+
+	@Test
+	public void testTruncatedSidecarIsIgnored() throws IOException {
+		WorldMapLoader.loadFile(mapFile);
+		byte[] bytes = Files.readAllBytes(sidecar.toPath());
+		Files.write(sidecar.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+		assertSameAsArcadeWorld(new MapBasedWorld(WorldMapLoader.loadFile(mapFile)));
+		assertEquals(bytes.length, sidecar.length());
+	}
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,6 +24,9 @@ import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
 import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.model.world.components.Portal;
 import de.amr.games.pacman.model.world.components.TiledRectangle;
+import de.amr.games.pacman.model.world.core.ChunkedWorld;
+import de.amr.games.pacman.model.world.generator.MazeGenerator;
+import de.amr.games.pacman.model.world.generator.MazeGenerator.GeneratedMaze;
 
 public class WorldTests {
 
@@ -84,6 +88,27 @@ public class WorldTests {
 		assertTrue(world.foodAt(Tile.at(1, 6)).get() == ENERGIZER);
 	}
 
+	@Test
+	public void testFoodLayer() {
+		assertEquals(240, world.remainingFoodCount(PELLET));
+		assertEquals(4, world.remainingFoodCount(ENERGIZER));
+		List<Tile> removed = new ArrayList<>();
+		world.addFoodListener((location, food) -> removed.add(location));
+		world.removeFood(Tile.at(1, 6));
+		world.removeFood(Tile.at(1, 6));
+		assertEquals(List.of(Tile.at(1, 6)), removed);
+		assertEquals(3, world.remainingFoodCount(ENERGIZER));
+		assertFalse(world.hasFood(ENERGIZER, Tile.at(1, 6)));
+		assertTrue(world.hasEatenFood(Tile.at(1, 6)));
+		List<Tile> energizers = new ArrayList<>();
+		world.forEachRemainingFood(ENERGIZER, energizers::add);
+		assertEquals(3, energizers.size());
+		assertTrue(energizers.stream().allMatch(tile -> world.hasFood(ENERGIZER, tile)));
+		world.restoreFood();
+		assertEquals(4, world.remainingFoodCount(ENERGIZER));
+		assertTrue(world.hasFood(ENERGIZER, Tile.at(1, 6)));
+	}
+
 	@Test
 	public void testTiles() {
 		assertEquals(Tile.at(0, 0), Tile.at(0, 0));
@@ -105,6 +130,51 @@ public class WorldTests {
 				Tile.at(1, 4), Tile.at(2, 4), Tile.at(1, 5), Tile.at(2, 5)), tiles);
 	}
 
+	@Test
+	public void testRegionTiles() {
+		assertEquals(List.of(Tile.at(0, 0), Tile.at(1, 0)), world.tiles(-2, -2, 4, 3).collect(Collectors.toList()));
+		assertEquals(0, world.tiles(world.width(), 0, 5, 5).count());
+		assertEquals(244, world.foodTiles(0, 0, world.width(), world.height()).count());
+		world.removeFood(Tile.at(1, 4));
+		assertEquals(List.of(Tile.at(1, 4)), world.eatenFoodTiles(0, 0, 5, 5).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testChunkedWorld() {
+		ChunkedWorld large = new ChunkedWorld(1000, 1000);
+		large.setAccessible(500, 500, true);
+		large.setAccessible(900, 10, true);
+		large.setFood(500, 500, PELLET);
+		large.setFood(900, 10, ENERGIZER);
+		assertEquals(5, large.usedChunks());
+		assertEquals(2, large.totalFoodCount());
+		assertEquals(List.of(Tile.at(500, 500)), large.foodTiles(490, 490, 20, 20).collect(Collectors.toList()));
+		assertEquals(Optional.of(ENERGIZER), large.foodAt(Tile.at(900, 10)));
+		large.removeFood(Tile.at(500, 500));
+		assertFalse(large.hasFood(Tile.at(500, 500)));
+		assertTrue(large.hasEatenFood(Tile.at(500, 500)));
+		assertEquals(Tile.at(900, 10), large.capes().get(1));
+		assertEquals(Tile.at(500, 500), large.capes().get(2));
+	}
+
+	@Test
+	public void testMazeGenerator() {
+		MazeGenerator generator = new MazeGenerator().size(61, 41).energizers(6).portals(2).oneWayTiles(4);
+		List<GeneratedMaze> mazes = generator.generate(42, 8);
+		assertEquals(8, mazes.size());
+		for (GeneratedMaze maze : mazes) {
+			assertTrue(maze.metrics.isConnected());
+			assertTrue(maze.metrics.intersections > 0);
+			assertEquals(6, maze.metrics.energizers);
+			assertEquals(1, maze.world.houses().count());
+			assertEquals(4, maze.world.house(0).get().beds().count());
+			assertEquals(2, maze.world.portals().count());
+			assertEquals(4, maze.world.oneWayTiles().count());
+			assertTrue(maze.world.isAccessible(Tile.at(maze.world.pacManBed().col(), maze.world.pacManBed().row())));
+		}
+		assertEquals(mazes.get(3).metrics.toString(), generator.generate(45).metrics.toString());
+	}
+
 	@Test
 	public void testPortal() {
 		Portal portal = world.portals().findAny().get();
@@ -159,4 +229,4 @@ public class WorldTests {
 		assertEquals(world.tileToDir(other, Direction.RIGHT, 1), either);
 		assertEquals(world.tileToDir(either, Direction.LEFT, 1), other);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package de.amr.games.pacman.test.view;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.view.common.TextCache;
+
+public class TextCacheTests {
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 8);
+
+	private BufferedImage image;
+	private Graphics2D g;
+
+	@Before
+	public void setup() {
+		image = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+		g = image.createGraphics();
+	}
+
+	@After
+	public void teardown() {
+		g.dispose();
+	}
+
+	@Test
+	public void testSameTextIsRasterizedOnce() {
+		TextCache cache = new TextCache(8);
+		cache.draw(g, "SCORE", FONT, Color.YELLOW, false, 0, 10);
+		cache.draw(g, "SCORE", FONT, Color.YELLOW, false, 20, 10);
+		assertEquals(1, cache.size());
+		cache.draw(g, "SCORE", FONT, Color.WHITE, false, 0, 10);
+		cache.draw(g, "SCORE", FONT, Color.YELLOW, true, 0, 10);
+		cache.draw(g, "LEVEL", FONT, Color.YELLOW, false, 0, 10);
+		assertEquals(4, cache.size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTextsAreDropped() {
+		TextCache cache = new TextCache(2);
+		cache.draw(g, "A", FONT, Color.YELLOW, false, 0, 10);
+		cache.draw(g, "B", FONT, Color.YELLOW, false, 0, 10);
+		cache.draw(g, "C", FONT, Color.YELLOW, false, 0, 10);
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testScaleChangeInvalidatesCache() {
+		TextCache cache = new TextCache(8);
+		cache.draw(g, "SCORE", FONT, Color.YELLOW, false, 0, 10);
+		cache.draw(g, "LEVEL", FONT, Color.YELLOW, false, 0, 10);
+		assertEquals(1, cache.scale(), 0);
+		int width = cache.width("SCORE", FONT, Color.YELLOW, false);
+
+		g.scale(2, 2);
+		cache.draw(g, "SCORE", FONT, Color.YELLOW, false, 0, 10);
+		assertEquals(2, cache.scale(), 0);
+		assertEquals(1, cache.size());
+		// the advance is given in user space and does not depend on the scale
+		assertEquals(width, cache.width("SCORE", FONT, Color.YELLOW, false));
+	}
+}